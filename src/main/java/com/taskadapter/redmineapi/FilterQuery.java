@@ -0,0 +1,223 @@
+package com.taskadapter.redmineapi;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Filters, sort order and paging of a list request, sent the way the Redmine web UI sends them:
+ * <code>f[]=field</code>, <code>op[field]=operator</code> and one <code>v[field][]=value</code> per value. Every
+ * condition is evaluated by the server, including custom fields and operators which the short
+ * <code>field=value</code> form cannot express.
+ * <p>
+ * A query selects exactly what its filters say: unlike short filters, no default status filter is applied. Redmine
+ * ignores short filters of a request with <code>f[]</code>, so do not mix both forms in one request.
+ *
+ * @see IssueQuery
+ * @see TimeEntryQuery
+ */
+public abstract class FilterQuery<Q extends FilterQuery<Q>> {
+
+    /**
+     * Filter operators, by their Redmine codes.
+     */
+    public enum Operator {
+        EQUALS("=", -1),
+        NOT_EQUALS("!", -1),
+        OPEN("o", 0),
+        CLOSED("c", 0),
+        /** field is empty. */
+        NONE("!*", 0),
+        /** field has any value. */
+        ANY("*", 0),
+        GREATER_OR_EQUAL(">=", 1),
+        LESS_OR_EQUAL("<=", 1),
+        BETWEEN("><", 2),
+        CONTAINS("~", 1),
+        NOT_CONTAINS("!~", 1),
+        STARTS_WITH("^", 1),
+        ENDS_WITH("$", 1),
+        TODAY("t", 0),
+        YESTERDAY("ld", 0),
+        THIS_WEEK("w", 0),
+        LAST_WEEK("lw", 0),
+        THIS_MONTH("m", 0),
+        LAST_MONTH("lm", 0),
+        THIS_YEAR("y", 0),
+        /** less than the given number of days ago. */
+        LESS_THAN_DAYS_AGO(">t-", 1),
+        /** more than the given number of days ago. */
+        MORE_THAN_DAYS_AGO("<t-", 1),
+        /** exactly the given number of days ago. */
+        DAYS_AGO("t-", 1);
+
+        private final String code;
+        private final int values;
+
+        /**
+         * @param values number of values, -1 for one or more.
+         */
+        Operator(String code, int values) {
+            this.code = code;
+            this.values = values;
+        }
+
+        public String getCode() {
+            return code;
+        }
+    }
+
+    private final Map<String, Filter> filters = new LinkedHashMap<>();
+    private final List<String> sort = new ArrayList<>();
+    private Integer limit;
+    private Integer offset;
+
+    FilterQuery() {
+    }
+
+    abstract Q self();
+
+    /**
+     * Adds a filter, replacing an earlier filter of the field.
+     *
+     * @param field e.g. <code>status_id</code>, <code>due_date</code> or <code>cf_5</code>.
+     * @throws IllegalArgumentException if the number of values does not fit the operator.
+     */
+    public Q filter(String field, Operator operator, String... values) {
+        final boolean fits = operator.values < 0 ? values.length > 0 : values.length == operator.values;
+        if (!fits) {
+            throw new IllegalArgumentException("Operator " + operator + " of " + field + " does not take "
+                    + values.length + " values");
+        }
+        filters.put(field, new Filter(operator, Arrays.asList(values)));
+        return self();
+    }
+
+    /**
+     * Filters by a custom field, e.g. <code>customField(5, Operator.EQUALS, "Alpha", "Beta")</code>.
+     */
+    public Q customField(int customFieldId, Operator operator, String... values) {
+        return filter("cf_" + customFieldId, operator, values);
+    }
+
+    /**
+     * Sorts by the field, ascending. Every call adds a criterion after the earlier ones.
+     */
+    public Q sort(String field) {
+        sort.add(field);
+        return self();
+    }
+
+    /**
+     * Sorts by the field, descending. Every call adds a criterion after the earlier ones.
+     */
+    public Q sortDescending(String field) {
+        sort.add(field + ":desc");
+        return self();
+    }
+
+    public Q limit(int limit) {
+        this.limit = limit;
+        return self();
+    }
+
+    public Q offset(int offset) {
+        this.offset = offset;
+        return self();
+    }
+
+    /**
+     * @return request parameters of the query.
+     */
+    public Params toParams() {
+        final Params params = filterParams(filters);
+        if (!sort.isEmpty()) {
+            params.add("sort", String.join(",", sort));
+        }
+        if (limit != null) {
+            params.add("limit", String.valueOf(limit));
+        }
+        if (offset != null) {
+            params.add("offset", String.valueOf(offset));
+        }
+        addParams(params);
+        return params;
+    }
+
+    /**
+     * @param facetField field to filter by in addition to the query, replacing a filter of the query on the field.
+     *                   NULL for none.
+     * @param facetValue value of the field, NULL for objects without a value.
+     * @return parameters counting the objects of the query, without sort order, paging and includes.
+     */
+    Params countParams(String facetField, String facetValue) {
+        final Map<String, Filter> countFilters = new LinkedHashMap<>(filters);
+        if (facetField != null) {
+            countFilters.put(facetField, facetValue == null
+                    ? new Filter(Operator.NONE, Collections.emptyList())
+                    : new Filter(Operator.EQUALS, Collections.singletonList(facetValue)));
+        }
+        return filterParams(countFilters);
+    }
+
+    private static Params filterParams(Map<String, Filter> filters) {
+        final Params params = new Params().add("set_filter", "1");
+        if (filters.isEmpty()) {
+            /* an empty field list clears the default filters */
+            params.add("f[]", "");
+        }
+        for (Map.Entry<String, Filter> entry : filters.entrySet()) {
+            final String field = entry.getKey();
+            params.add("f[]", field);
+            params.add("op[" + field + "]", entry.getValue().operator.code);
+            for (String value : entry.getValue().values) {
+                params.add("v[" + field + "][]", value);
+            }
+        }
+        return params;
+    }
+
+    /**
+     * Adds parameters specific to the listed objects.
+     */
+    void addParams(Params params) {
+    }
+
+    /**
+     * @return fields filtered by, in the order added.
+     */
+    public List<String> getFilterFields() {
+        return Collections.unmodifiableList(new ArrayList<>(filters.keySet()));
+    }
+
+    static String[] ids(int... ids) {
+        return Arrays.stream(ids).mapToObj(String::valueOf).toArray(String[]::new);
+    }
+
+    static String[] dates(LocalDate... dates) {
+        return Arrays.stream(dates).map(LocalDate::toString).toArray(String[]::new);
+    }
+
+    /**
+     * @return timestamp to the second, as Redmine accepts it in date filters.
+     */
+    static String timestamp(Instant instant) {
+        return instant.truncatedTo(ChronoUnit.SECONDS).toString();
+    }
+
+    private static final class Filter {
+        final Operator operator;
+        final List<String> values;
+
+        Filter(Operator operator, List<String> values) {
+            this.operator = operator;
+            this.values = values;
+        }
+    }
+}
@@ -5,21 +5,26 @@ import com.taskadapter.redmineapi.bean.IssueCategory;
 import com.taskadapter.redmineapi.bean.IssuePriority;
 import com.taskadapter.redmineapi.bean.IssueRelation;
 import com.taskadapter.redmineapi.bean.IssueStatus;
+import com.taskadapter.redmineapi.bean.IssueTable;
 import com.taskadapter.redmineapi.bean.Project;
+import com.taskadapter.redmineapi.bean.Property;
 import com.taskadapter.redmineapi.bean.SavedQuery;
 import com.taskadapter.redmineapi.bean.Tracker;
 import com.taskadapter.redmineapi.bean.Watcher;
 import com.taskadapter.redmineapi.internal.DirectObjectsSearcher;
 import com.taskadapter.redmineapi.internal.Joiner;
+import com.taskadapter.redmineapi.internal.RedmineJSONParser;
 import com.taskadapter.redmineapi.internal.RequestParam;
 import com.taskadapter.redmineapi.internal.ResultsWrapper;
 import com.taskadapter.redmineapi.internal.Transport;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Works with Issues, Time Entries, Issue Statuses, Issue Relations.
@@ -111,6 +116,86 @@ public class IssueManager {
         return transport.getObjectsListNoPaging(Issue.class, parameters.getList());
     }
 
+    /**
+     * Lists issues matching a typed query. The filters are applied by the server. Like {@link #getIssues(Params)},
+     * this returns one page: set limit and offset on the query.
+     */
+    public ResultsWrapper<Issue> getIssues(IssueQuery query) throws RedmineException {
+        return getIssues(query.toParams());
+    }
+
+    /**
+     * Counts issues matching the query with a request for a single issue, e.g. for a dashboard counter.
+     */
+    public int count(IssueQuery query) throws RedmineException {
+        return QueryCounts.count(transport, Issue.class, query);
+    }
+
+    /**
+     * Counts issues matching the query for every value of the dimension, e.g. per status or per assignee, one
+     * request for a single issue per value. Requests are sent in parallel on the common fork-join pool.
+     * <p>
+     * Sample usage:
+     * <pre>
+     Map&lt;Integer, Integer&gt; openPerAssignee = issueManager.facetCounts(new IssueQuery().project(5).openIssues(),
+         IssueQuery.Dimension.ASSIGNEE, Arrays.asList(7, 8, null));
+     * </pre>
+     *
+     * @param values ids of the dimension, e.g. status ids. NULL counts issues without a value, e.g. unassigned.
+     *               A filter of the query on the dimension is replaced.
+     * @return counts by value, in the order of the values.
+     */
+    public Map<Integer, Integer> facetCounts(IssueQuery query, IssueQuery.Dimension dimension,
+                                             Collection<Integer> values) throws RedmineException {
+        return facetCounts(query, dimension, values, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Same as {@link #facetCounts(IssueQuery, IssueQuery.Dimension, Collection)}, sending the requests on the given
+     * pool.
+     */
+    public Map<Integer, Integer> facetCounts(IssueQuery query, IssueQuery.Dimension dimension,
+                                             Collection<Integer> values, ForkJoinPool pool)
+            throws RedmineException {
+        return QueryCounts.facetCounts(transport, Issue.class, query, dimension.getField(), values, pool);
+    }
+
+    /**
+     * Same as {@link #getIssues(Params)}, but only reads the given issue properties. Other
+     * properties are skipped while parsing the response and stay unset in the returned issues.
+     * <p>
+     * Sample usage:
+     * <pre>
+     ResultsWrapper&lt;Issue&gt; page = issueManager.getIssues(params,
+         Arrays.asList(Issue.SUBJECT, Issue.STATUS_NAME, Issue.ASSIGNEE_NAME, Issue.UPDATED_ON));
+     * </pre>
+     *
+     * @param fields issue properties to read, e.g. {@link Issue#SUBJECT}. Issue id is always read.
+     */
+    public ResultsWrapper<Issue> getIssues(Params parameters, Collection<? extends Property<?>> fields)
+            throws RedmineException {
+        return transport.getObjectsListNoPaging(Issue.class, parameters.getList(),
+                RedmineJSONParser.issueParser(fields));
+    }
+
+    /**
+     * Loads all issues matching the parameters into a columnar {@link IssueTable} instead of
+     * {@link Issue} beans. Paging is done for you, "limit" and "offset" parameters are ignored.
+     * <p>
+     * Sample usage:
+     * <pre>
+     IssueTable table = issueManager.getIssueTable(new Params().add("status_id", "*"));
+     Map&lt;String, Long&gt; issuesPerStatus = table.rows().parallel().boxed()
+         .collect(Collectors.groupingBy(table.statusNames()::get, Collectors.counting()));
+     * </pre>
+     */
+    public IssueTable getIssueTable(Params parameters) throws RedmineException {
+        final IssueTable.Builder table = new IssueTable.Builder();
+        transport.readObjectsList(Issue.class, parameters.getList(),
+                content -> RedmineJSONParser.parseIssueRow(content, table));
+        return table.build();
+    }
+
     /**
      * @param id      Redmine issue Id
      * @param include list of "includes". e.g. "relations", "journals", ...
@@ -178,6 +263,18 @@ public class IssueManager {
      * @see Issue
      */
     public List<Issue> getIssues(String projectKey, Integer queryId, Include... include) throws RedmineException {
+        return getIssues(projectKey, queryId, null, include);
+    }
+
+    /**
+     * Same as {@link #getIssues(String, Integer, Include...)}, but only reads the given issue properties.
+     * Other properties are skipped while parsing the response and stay unset in the returned issues.
+     *
+     * @param fields issue properties to read, e.g. {@link Issue#SUBJECT}. Issue id is always read.
+     *               NULL means all properties.
+     */
+    public List<Issue> getIssues(String projectKey, Integer queryId, Collection<? extends Property<?>> fields,
+                                 Include... include) throws RedmineException {
         List<RequestParam> params = new ArrayList<>();
         if (queryId != null) {
             params.add(new RequestParam("query_id", String.valueOf(queryId)));
@@ -189,7 +286,7 @@ public class IssueManager {
         String includeStr = Joiner.join(",", include);
         params.add(new RequestParam("include", includeStr));
 
-        return transport.getObjectsList(Issue.class, params);
+        return transport.getObjectsList(Issue.class, params, RedmineJSONParser.issueParser(fields));
     }
 
     /**
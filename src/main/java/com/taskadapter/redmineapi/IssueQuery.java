@@ -0,0 +1,169 @@
+package com.taskadapter.redmineapi;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Typed issue filter, evaluated by the server. Sample usage:
+ * <pre>
+ * IssueQuery query = new IssueQuery()
+ *         .project(5)
+ *         .openIssues()
+ *         .tracker(1, 2)
+ *         .assignedToMe()
+ *         .customField(3, FilterQuery.Operator.CONTAINS, "backend")
+ *         .updatedSince(Instant.parse("2020-01-01T00:00:00Z"))
+ *         .sortDescending("priority").sort("id")
+ *         .limit(100);
+ * ResultsWrapper&lt;Issue&gt; page = issueManager.getIssues(query);
+ * </pre>
+ * Without a status filter, issues of all statuses are listed.
+ */
+public final class IssueQuery extends FilterQuery<IssueQuery> {
+
+    /**
+     * Fields issues can be counted by, see
+     * {@link IssueManager#facetCounts(IssueQuery, Dimension, java.util.Collection)}.
+     */
+    public enum Dimension {
+        PROJECT("project_id"),
+        STATUS("status_id"),
+        TRACKER("tracker_id"),
+        PRIORITY("priority_id"),
+        CATEGORY("category_id"),
+        TARGET_VERSION("fixed_version_id"),
+        AUTHOR("author_id"),
+        ASSIGNEE("assigned_to_id");
+
+        private final String field;
+
+        Dimension(String field) {
+            this.field = field;
+        }
+
+        public String getField() {
+            return field;
+        }
+    }
+
+    private final Set<Include> includes = EnumSet.noneOf(Include.class);
+
+    @Override
+    IssueQuery self() {
+        return this;
+    }
+
+    /**
+     * Issues of the project and, depending on the server settings, its subprojects.
+     */
+    public IssueQuery project(int projectId) {
+        return filter("project_id", Operator.EQUALS, ids(projectId));
+    }
+
+    public IssueQuery openIssues() {
+        return filter("status_id", Operator.OPEN);
+    }
+
+    public IssueQuery closedIssues() {
+        return filter("status_id", Operator.CLOSED);
+    }
+
+    public IssueQuery status(int... statusIds) {
+        return filter("status_id", Operator.EQUALS, ids(statusIds));
+    }
+
+    public IssueQuery tracker(int... trackerIds) {
+        return filter("tracker_id", Operator.EQUALS, ids(trackerIds));
+    }
+
+    public IssueQuery priority(int... priorityIds) {
+        return filter("priority_id", Operator.EQUALS, ids(priorityIds));
+    }
+
+    public IssueQuery category(int... categoryIds) {
+        return filter("category_id", Operator.EQUALS, ids(categoryIds));
+    }
+
+    public IssueQuery targetVersion(int... versionIds) {
+        return filter("fixed_version_id", Operator.EQUALS, ids(versionIds));
+    }
+
+    public IssueQuery author(int... userIds) {
+        return filter("author_id", Operator.EQUALS, ids(userIds));
+    }
+
+    /**
+     * @param userIds ids of users or groups.
+     */
+    public IssueQuery assignee(int... userIds) {
+        return filter("assigned_to_id", Operator.EQUALS, ids(userIds));
+    }
+
+    /**
+     * Issues assigned to the user of the API key.
+     */
+    public IssueQuery assignedToMe() {
+        return filter("assigned_to_id", Operator.EQUALS, "me");
+    }
+
+    public IssueQuery unassigned() {
+        return filter("assigned_to_id", Operator.NONE);
+    }
+
+    public IssueQuery subjectContains(String text) {
+        return filter("subject", Operator.CONTAINS, text);
+    }
+
+    public IssueQuery createdOn(Operator operator, LocalDate... dates) {
+        return filter("created_on", operator, dates(dates));
+    }
+
+    /**
+     * Issues created at or after the given second.
+     */
+    public IssueQuery createdSince(Instant since) {
+        return filter("created_on", Operator.GREATER_OR_EQUAL, timestamp(since));
+    }
+
+    public IssueQuery updatedOn(Operator operator, LocalDate... dates) {
+        return filter("updated_on", operator, dates(dates));
+    }
+
+    /**
+     * Issues changed at or after the given second.
+     */
+    public IssueQuery updatedSince(Instant since) {
+        return filter("updated_on", Operator.GREATER_OR_EQUAL, timestamp(since));
+    }
+
+    public IssueQuery closedOn(Operator operator, LocalDate... dates) {
+        return filter("closed_on", operator, dates(dates));
+    }
+
+    public IssueQuery startDate(Operator operator, LocalDate... dates) {
+        return filter("start_date", operator, dates(dates));
+    }
+
+    public IssueQuery dueDate(Operator operator, LocalDate... dates) {
+        return filter("due_date", operator, dates(dates));
+    }
+
+    /**
+     * Loads the associations with every issue.
+     */
+    public IssueQuery include(Include... include) {
+        includes.addAll(Arrays.asList(include));
+        return this;
+    }
+
+    @Override
+    void addParams(Params params) {
+        if (!includes.isEmpty()) {
+            params.add("include", includes.stream().map(Include::name).collect(Collectors.joining(",")));
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.taskadapter.redmineapi;
 
 import com.taskadapter.redmineapi.bean.Membership;
 import com.taskadapter.redmineapi.bean.Project;
+import com.taskadapter.redmineapi.bean.PropertyStorageUtil;
 import com.taskadapter.redmineapi.bean.Role;
 import com.taskadapter.redmineapi.internal.Transport;
 
@@ -91,6 +92,7 @@ public class MembershipManager {
     @Deprecated
     public void update(Membership membership) throws RedmineException {
         transport.updateObject(membership);
+        PropertyStorageUtil.clearChanges(membership.getStorage());
     }
 
 
@@ -139,11 +139,13 @@ public class ProjectManager {
     @Deprecated
     public void update(Project object) throws RedmineException {
         transport.updateObject(object);
+        PropertyStorageUtil.clearChanges(object.getStorage());
     }
 
     @Deprecated
     public void update(Version object) throws RedmineException {
         transport.updateObject(object);
+        PropertyStorageUtil.clearChanges(object.getStorage());
     }
 
     /**
@@ -229,5 +231,6 @@ public class ProjectManager {
     @Deprecated
     public void updateProjectMembership(Membership membership) throws RedmineException {
         transport.updateObject(membership);
+        PropertyStorageUtil.clearChanges(membership.getStorage());
     }
 }
\ No newline at end of file
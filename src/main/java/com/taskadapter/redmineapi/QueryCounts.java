@@ -0,0 +1,60 @@
+package com.taskadapter.redmineapi;
+
+import com.taskadapter.redmineapi.internal.RequestParam;
+import com.taskadapter.redmineapi.internal.Transport;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Counts objects of queries with requests for a single object, which return just <code>total_count</code>, instead
+ * of loading the objects.
+ */
+final class QueryCounts {
+
+    private QueryCounts() {
+    }
+
+    static int count(Transport transport, Class<?> objectClass, FilterQuery<?> query) throws RedmineException {
+        return transport.getObjectsCount(objectClass, query.countParams(null, null).getList());
+    }
+
+    /**
+     * Counts the objects of the query for every value of the field, one request per value sent on the pool.
+     *
+     * @param values ids, NULL counts objects without a value.
+     * @return counts in the order of the values.
+     */
+    static Map<Integer, Integer> facetCounts(Transport transport, Class<?> objectClass, FilterQuery<?> query,
+                                             String field, Collection<Integer> values, ForkJoinPool pool)
+            throws RedmineException {
+        final List<Integer> keys = new ArrayList<>(values);
+        final List<ForkJoinTask<Integer>> counts = new ArrayList<>(keys.size());
+        for (Integer value : keys) {
+            final List<RequestParam> params = query.countParams(field, value == null ? null : value.toString())
+                    .getList();
+            counts.add(pool.submit(() -> transport.getObjectsCount(objectClass, params)));
+        }
+        final Map<Integer, Integer> result = new LinkedHashMap<>();
+        try {
+            for (int i = 0; i < keys.size(); i++) {
+                result.put(keys.get(i), counts.get(i).join());
+            }
+        } catch (RuntimeException e) {
+            counts.forEach(count -> count.cancel(false));
+            /* the pool rethrows exceptions of the tasks wrapped, possibly more than once */
+            for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+                if (cause instanceof RedmineException) {
+                    throw (RedmineException) cause;
+                }
+            }
+            throw e;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,57 @@
+package com.taskadapter.redmineapi;
+
+/**
+ * Request rate limit of one tenant, see {@link RequestQuotas}.
+ * <p>
+ * The limit is a token bucket: the tenant may send <code>burst</code> requests at once, then
+ * <code>requestsPerSecond</code> requests per second. The weight decides the tenant's share when tenants compete for
+ * the global rate: a tenant with weight 2 gets twice as many requests through as a busy tenant with weight 1.
+ * Policies are immutable.
+ */
+public final class QuotaPolicy {
+    public static final QuotaPolicy UNLIMITED = new QuotaPolicy(Double.POSITIVE_INFINITY, 1, 1);
+
+    private final double requestsPerSecond;
+    private final int burst;
+    private final int weight;
+
+    private QuotaPolicy(double requestsPerSecond, int burst, int weight) {
+        if (!(requestsPerSecond > 0)) {
+            throw new IllegalArgumentException("Request rate must be > 0. You provided: " + requestsPerSecond);
+        }
+        if (burst <= 0) {
+            throw new IllegalArgumentException("Burst must be > 0. You provided: " + burst);
+        }
+        if (weight <= 0) {
+            throw new IllegalArgumentException("Weight must be > 0. You provided: " + weight);
+        }
+        this.requestsPerSecond = requestsPerSecond;
+        this.burst = burst;
+        this.weight = weight;
+    }
+
+    public static QuotaPolicy perSecond(double requestsPerSecond, int burst) {
+        return new QuotaPolicy(requestsPerSecond, burst, 1);
+    }
+
+    public QuotaPolicy withWeight(int weight) {
+        return new QuotaPolicy(requestsPerSecond, burst, weight);
+    }
+
+    public double getRequestsPerSecond() {
+        return requestsPerSecond;
+    }
+
+    public int getBurst() {
+        return burst;
+    }
+
+    public int getWeight() {
+        return weight;
+    }
+
+    @Override
+    public String toString() {
+        return "QuotaPolicy [requestsPerSecond=" + requestsPerSecond + ", burst=" + burst + ", weight=" + weight + "]";
+    }
+}
@@ -0,0 +1,209 @@
+package com.taskadapter.redmineapi;
+
+import com.taskadapter.redmineapi.internal.Transport;
+import com.taskadapter.redmineapi.internal.URIConfigurator;
+import com.taskadapter.redmineapi.internal.comm.BaseCommunicator;
+import com.taskadapter.redmineapi.internal.comm.Communicator;
+import com.taskadapter.redmineapi.internal.comm.redmine.RedmineApiKeyAuthenticator;
+import com.taskadapter.redmineapi.internal.comm.redmine.RedmineUserPasswordAuthenticator;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.ssl.ClientTlsStrategyBuilder;
+import org.apache.hc.client5.http.ssl.TlsSocketStrategy;
+import org.apache.hc.core5.http.HttpResponse;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.ssl.SSLContexts;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Creates managers for many credentials (tenants) on a few Redmine servers.
+ * <p>
+ * {@link RedmineManagerFactory} creates a new HTTP client with its own connection pool for every manager. This pool
+ * instead keeps one HTTP client per server (scheme, host and port) and hands out managers which only add their
+ * credentials, so creating a manager per tenant or even per call is cheap and connections are reused between tenants.
+ * <p>
+ * Every tenant may have at most <code>maxRequestsPerTenant</code> requests in progress, further requests of the tenant
+ * wait in arrival order. With the limit below the number of connections per server, one tenant's batch job cannot take
+ * all connections and starve the other tenants. Managers created for the same credentials share the limit.
+ * <p>
+ * Request rates of tenants are limited by {@link RequestQuotas}, which also counts their requests and bytes. Tenants
+ * are named by their login or API key fingerprint unless a name is given, see
+ * {@link #createWithApiKey(String, String, String)}.
+ * <p>
+ * Sample usage:
+ * <pre>
+ * RedmineClientPool pool = new RedmineClientPool();
+ * RedmineManager acme = pool.createWithApiKey("https://redmine.example.com", acmeApiKey);
+ * ...
+ * pool.close();
+ * </pre>
+ * The pool is thread-safe. Closing it closes the connections of all managers created by it.
+ */
+public final class RedmineClientPool implements AutoCloseable {
+    public static final int DEFAULT_MAX_CONNECTIONS_PER_SERVER = 50;
+    public static final int DEFAULT_MAX_REQUESTS_PER_TENANT = 5;
+    public static final long DEFAULT_MAX_WAIT_MILLIS = 60_000;
+
+    private static final String DEFAULT_USER_PASSWORD_AUTHENTICATOR_CHARSET = "UTF-8";
+
+    private final int maxConnectionsPerServer;
+    private final int maxRequestsPerTenant;
+    private final long maxWaitMillis;
+    private final RequestQuotas quotas;
+    private final ConcurrentMap<String, Server> servers = new ConcurrentHashMap<>();
+    private volatile boolean closed;
+
+    public RedmineClientPool() {
+        this(DEFAULT_MAX_CONNECTIONS_PER_SERVER, DEFAULT_MAX_REQUESTS_PER_TENANT, DEFAULT_MAX_WAIT_MILLIS);
+    }
+
+    /**
+     * @param maxConnectionsPerServer size of the connection pool of every server.
+     * @param maxRequestsPerTenant    number of requests one tenant can have in progress at a time, at most
+     *                                <code>maxConnectionsPerServer</code>.
+     * @param maxWaitMillis           time a request waits for its quota and its tenant's turn together before it fails
+     *                                with {@link RedmineTransportException}.
+     */
+    public RedmineClientPool(int maxConnectionsPerServer, int maxRequestsPerTenant, long maxWaitMillis) {
+        this(maxConnectionsPerServer, maxRequestsPerTenant, maxWaitMillis, new RequestQuotas());
+    }
+
+    /**
+     * @param quotas request rate limits of tenants. Requests wait at most <code>maxWaitMillis</code> for their quota.
+     * @see #RedmineClientPool(int, int, long)
+     */
+    public RedmineClientPool(int maxConnectionsPerServer, int maxRequestsPerTenant, long maxWaitMillis,
+                             RequestQuotas quotas) {
+        if (maxConnectionsPerServer <= 0) {
+            throw new IllegalArgumentException("Number of connections must be > 0. You provided: " + maxConnectionsPerServer);
+        }
+        if (maxRequestsPerTenant <= 0 || maxRequestsPerTenant > maxConnectionsPerServer) {
+            throw new IllegalArgumentException("Number of requests per tenant must be between 1 and "
+                    + maxConnectionsPerServer + ". You provided: " + maxRequestsPerTenant);
+        }
+        this.maxConnectionsPerServer = maxConnectionsPerServer;
+        this.maxRequestsPerTenant = maxRequestsPerTenant;
+        this.maxWaitMillis = maxWaitMillis;
+        this.quotas = quotas;
+    }
+
+    /**
+     * Creates a manager authenticating with the API key, see
+     * {@link RedmineManagerFactory#createWithApiKey(String, String)}.
+     */
+    public RedmineManager createWithApiKey(String uri, String apiAccessKey) {
+        return createWithApiKey(uri, apiAccessKey, "key:" + fingerprint(apiAccessKey));
+    }
+
+    /**
+     * Same as {@link #createWithApiKey(String, String)}, but names the tenant, e.g. by the customer id. Managers
+     * with the same tenant name share limits and usage stats even if their API keys differ.
+     */
+    public RedmineManager createWithApiKey(String uri, String apiAccessKey, String tenantName) {
+        final Communicator<HttpResponse> tenant = tenantCommunicator(uri, tenantName);
+        return new RedmineManager(new Transport(new URIConfigurator(uri),
+                new RedmineApiKeyAuthenticator<>(tenant, apiAccessKey)));
+    }
+
+    /**
+     * Creates a manager with user-based authentication, see
+     * {@link RedmineManagerFactory#createWithUserAuth(String, String, String)}.
+     */
+    public RedmineManager createWithUserAuth(String uri, String login, String password) {
+        final Communicator<HttpResponse> tenant = tenantCommunicator(uri, "user:" + login);
+        return new RedmineManager(new Transport(new URIConfigurator(uri),
+                new RedmineUserPasswordAuthenticator<>(tenant, DEFAULT_USER_PASSWORD_AUTHENTICATOR_CHARSET,
+                        login, password)));
+    }
+
+    public RequestQuotas getQuotas() {
+        return quotas;
+    }
+
+    /**
+     * @return number of servers this pool holds HTTP clients for.
+     */
+    public int getServerCount() {
+        return servers.size();
+    }
+
+    /**
+     * Closes HTTP clients of all servers. Managers created by this pool cannot be used afterwards.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        servers.values().forEach(server -> server.client.close(CloseMode.GRACEFUL));
+        servers.clear();
+    }
+
+    private Communicator<HttpResponse> tenantCommunicator(String uri, String tenantKey) {
+        if (closed) {
+            throw new IllegalStateException("The pool is closed");
+        }
+        final Server server = servers.computeIfAbsent(serverKey(uri), key -> new Server(uri));
+        final Semaphore permits = server.tenants.computeIfAbsent(tenantKey,
+                key -> new Semaphore(maxRequestsPerTenant, true));
+        return quotas.communicator(server.communicator, permits, tenantKey, maxWaitMillis);
+    }
+
+    /**
+     * Identifies an API key in usage stats without revealing it.
+     */
+    private static String fingerprint(String apiAccessKey) {
+        if (apiAccessKey == null) {
+            throw new IllegalArgumentException("api key cannot be null");
+        }
+        try {
+            final byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(apiAccessKey.getBytes(StandardCharsets.UTF_8));
+            final StringBuilder result = new StringBuilder();
+            for (int i = 0; i < 6; i++) {
+                result.append(String.format("%02x", digest[i]));
+            }
+            return result.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new RedmineInternalError(e);
+        }
+    }
+
+    private static String serverKey(String uri) {
+        if (uri == null || uri.isEmpty()) {
+            throw new IllegalArgumentException("The host parameter is NULL or empty");
+        }
+        try {
+            final URI parsed = new URI(uri);
+            if (parsed.getScheme() == null || parsed.getRawAuthority() == null) {
+                throw new IllegalArgumentException("Illegal host URL " + uri);
+            }
+            return parsed.getScheme().toLowerCase() + "://" + parsed.getRawAuthority().toLowerCase();
+        } catch (URISyntaxException e) {
+            throw new IllegalArgumentException("Illegal host URL " + uri, e);
+        }
+    }
+
+    private final class Server {
+        final CloseableHttpClient client;
+        final Communicator<HttpResponse> communicator;
+        final ConcurrentMap<String, Semaphore> tenants = new ConcurrentHashMap<>();
+
+        Server(String uri) {
+            final PoolingHttpClientConnectionManager connectionManager = RedmineManagerFactory.createConnectionManager(
+                    (TlsSocketStrategy) ClientTlsStrategyBuilder.create()
+                            .setSslContext(SSLContexts.createSystemDefault())
+                            .build());
+            connectionManager.setMaxTotal(maxConnectionsPerServer);
+            connectionManager.setDefaultMaxPerRoute(maxConnectionsPerServer);
+            this.client = RedmineManagerFactory.getNewHttpClient(uri, connectionManager);
+            this.communicator = new BaseCommunicator(client);
+        }
+    }
+}
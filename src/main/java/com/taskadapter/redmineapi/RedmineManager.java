@@ -16,7 +16,11 @@
 
 package com.taskadapter.redmineapi;
 
+import com.taskadapter.redmineapi.internal.ReferenceCache;
 import com.taskadapter.redmineapi.internal.Transport;
+import com.taskadapter.redmineapi.internal.json.SymbolTable;
+
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Wrapper to hold all manager classes.
@@ -118,6 +122,60 @@ public class RedmineManager {
         transport.setOnBehalfOfUser(loginName);
     }
 
+    /**
+     * Makes issues and wiki pages keep their json text and decode each property on first access.
+     * Useful when only a few properties of many objects are read. Disabled by default.
+     */
+    public void setLazyDecoding(boolean lazyDecoding) {
+        transport.setLazyDecoding(lazyDecoding);
+    }
+
+    /**
+     * Makes issues, projects, users, versions and other objects loaded by this manager immutable snapshots which
+     * can be shared between threads and cached without copying. Such objects cannot be modified, created, updated
+     * or deleted; use their ids with the managers instead. Disabled by default.
+     */
+    public void setSnapshotDecoding(boolean enabled) {
+        transport.setSnapshotDecoding(enabled);
+    }
+
+    /**
+     * Parses pages of at least <code>minObjects</code> objects on the given pool, e.g.
+     * <code>ForkJoinPool.commonPool()</code>. Useful with large pages and includes like journals.
+     * NULL pool disables parallel parsing (default).
+     */
+    public void setParallelDecoding(ForkJoinPool pool, int minObjects) {
+        transport.setParallelDecoding(pool, minObjects);
+    }
+
+    /**
+     * Makes objects loaded by this manager share instances of repeated names (statuses, trackers, priorities,
+     * projects, users, custom fields) through a bounded table owned by this manager. Reduces heap retained by
+     * large result sets. Disabled by default.
+     */
+    public void setStringDeduplication(boolean enabled) {
+        transport.setSymbolTable(enabled ? new SymbolTable() : null);
+    }
+
+    /**
+     * Makes issues loaded by this manager share unmodifiable instances of their trackers, target versions, categories
+     * and journal authors. Such shared objects hold only id and name. Reduces allocation and heap retained by large
+     * result sets. Disabled by default.
+     */
+    public void setReferenceSharing(boolean enabled) {
+        transport.setReferenceCache(enabled ? new ReferenceCache() : null);
+    }
+
+    /**
+     * Returns a manager sending its requests with the given context, e.g. on behalf of another user or with a deadline.
+     * The returned manager shares the HTTP client and the settings of this one, so a view can be created per call and
+     * used concurrently with other views. Unlike {@link #setOnBehalfOfUser(String)}, this does not affect other threads
+     * using this manager.
+     */
+    public RedmineManager withContext(RequestContext context) {
+        return new RedmineManager(transport.withContext(context));
+    }
+
     public Transport getTransport() {
         return transport;
     }
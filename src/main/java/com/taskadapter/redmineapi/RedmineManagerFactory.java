@@ -3,7 +3,6 @@ package com.taskadapter.redmineapi;
 import com.taskadapter.redmineapi.internal.Transport;
 import com.taskadapter.redmineapi.internal.URIConfigurator;
 import com.taskadapter.redmineapi.internal.comm.BaseCommunicator;
-import com.taskadapter.redmineapi.internal.comm.Communicator;
 import com.taskadapter.redmineapi.internal.comm.redmine.RedmineApiKeyAuthenticator;
 import com.taskadapter.redmineapi.internal.comm.redmine.RedmineUserPasswordAuthenticator;
 import org.apache.hc.client5.http.auth.AuthScope;
@@ -119,14 +118,14 @@ public final class RedmineManagerFactory {
      */
     public static RedmineManager createWithApiKey(String uri,
                                                   String apiAccessKey, HttpClient httpClient) {
-        Communicator<HttpResponse> baseCommunicator = new BaseCommunicator(httpClient);
+        BaseCommunicator baseCommunicator = new BaseCommunicator(httpClient);
 
         RedmineApiKeyAuthenticator<HttpResponse> authenticator = new RedmineApiKeyAuthenticator<>(
                 baseCommunicator, apiAccessKey);
 
-        return new RedmineManager(
-                new Transport(new URIConfigurator(uri), authenticator)
-        );
+        Transport transport = new Transport(new URIConfigurator(uri), authenticator);
+        transport.setDefaultRequestConfig(baseCommunicator.getDefaultConfig());
+        return new RedmineManager(transport);
     }
 
     /**
@@ -157,12 +156,13 @@ public final class RedmineManagerFactory {
      */
     public static RedmineManager createWithUserAuth(String uri, String login,
                                                     String password, HttpClient httpClient) {
-        Communicator<HttpResponse> baseCommunicator = new BaseCommunicator(httpClient);
+        BaseCommunicator baseCommunicator = new BaseCommunicator(httpClient);
 
         RedmineUserPasswordAuthenticator<HttpResponse> passwordAuthenticator = new RedmineUserPasswordAuthenticator<>(
                 baseCommunicator, DEFAULT_USER_PASSWORD_AUTHENTICATOR_CHARSET, login, password);
         Transport transport = new Transport(
                 new URIConfigurator(uri), passwordAuthenticator);
+        transport.setDefaultRequestConfig(baseCommunicator.getDefaultConfig());
         return new RedmineManager(transport);
     }
 
@@ -179,12 +179,13 @@ public final class RedmineManagerFactory {
     public static RedmineManager createWithUserAuth(String uri, String authenticationCharset,
                                                     String login,
                                                     String password, HttpClient httpClient) {
-        Communicator<HttpResponse> baseCommunicator = new BaseCommunicator(httpClient);
+        BaseCommunicator baseCommunicator = new BaseCommunicator(httpClient);
 
         RedmineUserPasswordAuthenticator<HttpResponse> passwordAuthenticator = new RedmineUserPasswordAuthenticator<>(
                 baseCommunicator, authenticationCharset, login, password);
         Transport transport = new Transport(
                 new URIConfigurator(uri), passwordAuthenticator);
+        transport.setDefaultRequestConfig(baseCommunicator.getDefaultConfig());
         return new RedmineManager(transport);
     }
 
@@ -296,7 +297,8 @@ public final class RedmineManagerFactory {
      */
     public static CloseableHttpClient getNewHttpClient(String uri, PoolingHttpClientConnectionManager connectionManager) {
 
-        HttpClientBuilder httpClientBuilder = HttpClientBuilder.create();
+        HttpClientBuilder httpClientBuilder = HttpClientBuilder.create()
+                .setConnectionManager(connectionManager);
         HttpHost proxy = configureProxy(uri);
         if (proxy != null) {
             httpClientBuilder.setProxy(proxy);
@@ -0,0 +1,125 @@
+package com.taskadapter.redmineapi;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Settings of requests made through one {@link RedmineManager} view: the user to act on behalf of, page size,
+ * deadline and free-form tags.
+ * <p>
+ * Contexts are immutable, "with" methods return modified copies. Views created with
+ * {@link RedmineManager#withContext(RequestContext)} share the HTTP client and connection pool of the original
+ * manager, so many differently configured views can be used concurrently:
+ * <pre>
+ RequestContext asAnn = RequestContext.DEFAULT.withSwitchUser("ann").withTimeout(Duration.ofSeconds(10));
+ List&lt;Issue&gt; issues = redmineManager.withContext(asAnn).getIssueManager().getIssues(params).getResults();
+ * </pre>
+ */
+public final class RequestContext {
+    public static final RequestContext DEFAULT = new RequestContext(null, 0, null, Collections.emptyMap(),
+            Clock.systemUTC());
+
+    private final String switchUser;
+    private final int pageSize;
+    private final Instant deadline;
+    private final Map<String, String> tags;
+    private final Clock clock;
+
+    private RequestContext(String switchUser, int pageSize, Instant deadline, Map<String, String> tags, Clock clock) {
+        this.switchUser = switchUser;
+        this.pageSize = pageSize;
+        this.deadline = deadline;
+        this.tags = tags;
+        this.clock = clock;
+    }
+
+    /**
+     * Requests are done on behalf of the given user, this only works when the main authentication has led to
+     * Redmine Admin level user. NULL means the authenticated user.
+     *
+     * @see <a href="http://www.redmine.org/issues/11755">Redmine issue 11755</a>
+     */
+    public RequestContext withSwitchUser(String login) {
+        return new RequestContext(login, pageSize, deadline, tags, clock);
+    }
+
+    /**
+     * Number of objects requested from the server in one request while paging. 0 means the page size set on
+     * the manager.
+     */
+    public RequestContext withPageSize(int pageSize) {
+        if (pageSize < 0) {
+            throw new IllegalArgumentException("Page size cannot be negative. You provided: " + pageSize);
+        }
+        return new RequestContext(switchUser, pageSize, deadline, tags, clock);
+    }
+
+    /**
+     * Requests fail with {@link RedmineTransportException} once the deadline passes, also between pages of
+     * a list. Responses are not awaited longer than the time left. NULL means no deadline.
+     */
+    public RequestContext withDeadline(Instant deadline) {
+        return new RequestContext(switchUser, pageSize, deadline, tags, clock);
+    }
+
+    /**
+     * Sets the deadline to now plus the timeout. Mind that the deadline is fixed when this method is called, so
+     * create contexts with timeouts per operation.
+     */
+    public RequestContext withTimeout(Duration timeout) {
+        return withDeadline(clock.instant().plus(timeout));
+    }
+
+    /**
+     * Adds a tag describing the requests, e.g. a tenant or a job id. Tags are written to the debug log with
+     * every request.
+     */
+    public RequestContext withTag(String key, String value) {
+        final Map<String, String> newTags = new LinkedHashMap<>(tags);
+        newTags.put(key, value);
+        return new RequestContext(switchUser, pageSize, deadline, Collections.unmodifiableMap(newTags), clock);
+    }
+
+    /**
+     * Uses the given clock to check deadlines. Meant for tests.
+     */
+    public RequestContext withClock(Clock clock) {
+        return new RequestContext(switchUser, pageSize, deadline, tags, clock);
+    }
+
+    public String getSwitchUser() {
+        return switchUser;
+    }
+
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    public Instant getDeadline() {
+        return deadline;
+    }
+
+    public Map<String, String> getTags() {
+        return tags;
+    }
+
+    /**
+     * @return milliseconds left until the deadline, {@link Long#MAX_VALUE} if there is no deadline.
+     */
+    public long getRemainingMillis() {
+        if (deadline == null) {
+            return Long.MAX_VALUE;
+        }
+        return Duration.between(clock.instant(), deadline).toMillis();
+    }
+
+    @Override
+    public String toString() {
+        return "RequestContext [switchUser=" + switchUser + ", pageSize=" + pageSize + ", deadline=" + deadline
+                + ", tags=" + tags + "]";
+    }
+}
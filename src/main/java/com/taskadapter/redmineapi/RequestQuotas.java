@@ -0,0 +1,131 @@
+package com.taskadapter.redmineapi;
+
+import com.taskadapter.redmineapi.internal.comm.Communicator;
+import com.taskadapter.redmineapi.internal.comm.FairShareScheduler;
+import com.taskadapter.redmineapi.internal.comm.QuotaCommunicator;
+import org.apache.hc.core5.http.HttpResponse;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * Request quotas and usage accounting of the tenants of a {@link RedmineClientPool}.
+ * <p>
+ * Every tenant's requests are limited by its {@link QuotaPolicy}, all tenants together by the global policy. Requests
+ * over the quota wait; when several tenants wait for the global rate, it is shared according to their weights.
+ * Requests which cannot be sent within the pool's wait time fail with {@link RedmineTransportException}.
+ * <p>
+ * Requests and bytes are counted per tenant, see {@link #getUsage()}. The class is thread-safe, policies can be
+ * changed while requests are running.
+ */
+public final class RequestQuotas {
+    private final FairShareScheduler scheduler;
+    private final Map<String, QuotaPolicy> policies = new ConcurrentHashMap<>();
+    private volatile QuotaPolicy defaultPolicy = QuotaPolicy.UNLIMITED;
+
+    /**
+     * Creates quotas without a global limit.
+     */
+    public RequestQuotas() {
+        this(QuotaPolicy.UNLIMITED);
+    }
+
+    /**
+     * @param globalPolicy limit of all tenants together, e.g. the capacity of the server. The weight is not used.
+     */
+    public RequestQuotas(QuotaPolicy globalPolicy) {
+        this(globalPolicy, System::nanoTime);
+    }
+
+    /**
+     * @param nanoTime clock of the quotas, see {@link System#nanoTime()}.
+     */
+    RequestQuotas(QuotaPolicy globalPolicy, LongSupplier nanoTime) {
+        this.scheduler = new FairShareScheduler(globalPolicy.getRequestsPerSecond(), globalPolicy.getBurst(), nanoTime);
+    }
+
+    /**
+     * Sets the policy of tenants without their own policy. Unlimited by default.
+     */
+    public synchronized void setDefaultPolicy(QuotaPolicy policy) {
+        this.defaultPolicy = policy;
+        for (FairShareScheduler.Tenant tenant : scheduler.getTenants()) {
+            if (!policies.containsKey(tenant.getName())) {
+                apply(tenant, policy);
+            }
+        }
+    }
+
+    public synchronized void setPolicy(String tenant, QuotaPolicy policy) {
+        policies.put(tenant, policy);
+        apply(tenant(tenant), policy);
+    }
+
+    public QuotaPolicy getPolicy(String tenant) {
+        return policies.getOrDefault(tenant, defaultPolicy);
+    }
+
+    /**
+     * @return usage of all tenants since they were created or since the last {@link #takeUsage()}, by tenant name.
+     */
+    public Map<String, UsageStats> getUsage() {
+        return collect(LongAdder::sum);
+    }
+
+    /**
+     * Same as {@link #getUsage()}, but also resets the counters, e.g. at the end of a billing period. Requests running
+     * at the same time are counted in exactly one of the periods.
+     */
+    public Map<String, UsageStats> takeUsage() {
+        return collect(LongAdder::sumThenReset);
+    }
+
+    /**
+     * @return number of requests waiting for their quota now.
+     */
+    public int getWaitingCount() {
+        return scheduler.getWaitingCount();
+    }
+
+    Communicator<HttpResponse> communicator(Communicator<HttpResponse> peer, String tenant, long maxWaitMillis) {
+        return new QuotaCommunicator(peer, scheduler, tenant(tenant), maxWaitMillis);
+    }
+
+    /**
+     * Same as {@link #communicator(Communicator, String, long)}, but also limits concurrent requests by the
+     * permits. A request waits at most <code>maxWaitMillis</code> for its quota and a permit together.
+     */
+    Communicator<HttpResponse> communicator(Communicator<HttpResponse> peer, Semaphore permits, String tenant,
+                                            long maxWaitMillis) {
+        return new QuotaCommunicator(peer, permits, scheduler, tenant(tenant), maxWaitMillis);
+    }
+
+    private FairShareScheduler.Tenant tenant(String name) {
+        final QuotaPolicy policy = getPolicy(name);
+        return scheduler.tenant(name, policy.getRequestsPerSecond(), policy.getBurst(), policy.getWeight());
+    }
+
+    private void apply(FairShareScheduler.Tenant tenant, QuotaPolicy policy) {
+        scheduler.setLimits(tenant, policy.getRequestsPerSecond(), policy.getBurst(), policy.getWeight());
+    }
+
+    private Map<String, UsageStats> collect(ToLongFunction<LongAdder> read) {
+        final Map<String, UsageStats> result = new TreeMap<>();
+        for (FairShareScheduler.Tenant tenant : scheduler.getTenants()) {
+            result.put(tenant.getName(), new UsageStats(tenant.getName(),
+                    read.applyAsLong(tenant.requests),
+                    read.applyAsLong(tenant.throttled),
+                    read.applyAsLong(tenant.rejected),
+                    read.applyAsLong(tenant.bytesSent),
+                    read.applyAsLong(tenant.bytesReceived),
+                    TimeUnit.NANOSECONDS.toMillis(read.applyAsLong(tenant.waitNanos))));
+        }
+        return result;
+    }
+}
@@ -7,8 +7,10 @@ import com.taskadapter.redmineapi.internal.RequestParam;
 import com.taskadapter.redmineapi.internal.ResultsWrapper;
 import com.taskadapter.redmineapi.internal.Transport;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Class to operate on Time Entry instances.
@@ -69,6 +71,43 @@ public final class TimeEntryManager {
         return DirectObjectsSearcher.getObjectsListNoPaging(transport, parameters, TimeEntry.class);
     }
 
+    /**
+     * Lists time entries matching a typed query. The filters are applied by the server. Does not handle paging: set
+     * limit and offset on the query.
+     */
+    public ResultsWrapper<TimeEntry> getTimeEntries(TimeEntryQuery query) throws RedmineException {
+        return transport.getObjectsListNoPaging(TimeEntry.class, query.toParams().getList());
+    }
+
+    /**
+     * Counts time entries matching the query with a request for a single entry.
+     */
+    public int count(TimeEntryQuery query) throws RedmineException {
+        return QueryCounts.count(transport, TimeEntry.class, query);
+    }
+
+    /**
+     * Counts time entries matching the query for every value of the dimension, e.g. per user, one request for a
+     * single entry per value. Requests are sent in parallel on the common fork-join pool.
+     *
+     * @param values ids of the dimension, e.g. user ids. NULL counts entries without a value.
+     * @return counts by value, in the order of the values.
+     */
+    public Map<Integer, Integer> facetCounts(TimeEntryQuery query, TimeEntryQuery.Dimension dimension,
+                                             Collection<Integer> values) throws RedmineException {
+        return facetCounts(query, dimension, values, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Same as {@link #facetCounts(TimeEntryQuery, TimeEntryQuery.Dimension, Collection)}, sending the requests on
+     * the given pool.
+     */
+    public Map<Integer, Integer> facetCounts(TimeEntryQuery query, TimeEntryQuery.Dimension dimension,
+                                             Collection<Integer> values, ForkJoinPool pool)
+            throws RedmineException {
+        return QueryCounts.facetCounts(transport, TimeEntry.class, query, dimension.getField(), values, pool);
+    }
+
     @Deprecated
     public TimeEntry createTimeEntry(TimeEntry obj) throws RedmineException {
         return obj.create();
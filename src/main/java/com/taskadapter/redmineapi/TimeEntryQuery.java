@@ -0,0 +1,91 @@
+package com.taskadapter.redmineapi;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Typed time entry filter, evaluated by the server. Sample usage:
+ * <pre>
+ * TimeEntryQuery query = new TimeEntryQuery()
+ *         .project(5)
+ *         .user(7, 8)
+ *         .spentBetween(LocalDate.of(2020, 1, 1), LocalDate.of(2020, 1, 31))
+ *         .hours(FilterQuery.Operator.GREATER_OR_EQUAL, 4)
+ *         .sort("spent_on");
+ * ResultsWrapper&lt;TimeEntry&gt; page = timeEntryManager.getTimeEntries(query);
+ * </pre>
+ */
+public final class TimeEntryQuery extends FilterQuery<TimeEntryQuery> {
+
+    /**
+     * Fields time entries can be counted by, see
+     * {@link TimeEntryManager#facetCounts(TimeEntryQuery, Dimension, java.util.Collection)}.
+     */
+    public enum Dimension {
+        PROJECT("project_id"),
+        ISSUE("issue_id"),
+        USER("user_id"),
+        ACTIVITY("activity_id");
+
+        private final String field;
+
+        Dimension(String field) {
+            this.field = field;
+        }
+
+        public String getField() {
+            return field;
+        }
+    }
+
+    @Override
+    TimeEntryQuery self() {
+        return this;
+    }
+
+    public TimeEntryQuery project(int projectId) {
+        return filter("project_id", Operator.EQUALS, ids(projectId));
+    }
+
+    public TimeEntryQuery issue(int... issueIds) {
+        return filter("issue_id", Operator.EQUALS, ids(issueIds));
+    }
+
+    public TimeEntryQuery user(int... userIds) {
+        return filter("user_id", Operator.EQUALS, ids(userIds));
+    }
+
+    /**
+     * Time entries of the user of the API key.
+     */
+    public TimeEntryQuery userIsMe() {
+        return filter("user_id", Operator.EQUALS, "me");
+    }
+
+    public TimeEntryQuery activity(int... activityIds) {
+        return filter("activity_id", Operator.EQUALS, ids(activityIds));
+    }
+
+    public TimeEntryQuery spentOn(Operator operator, LocalDate... dates) {
+        return filter("spent_on", operator, dates(dates));
+    }
+
+    /**
+     * Time entries spent from one day to another, both included.
+     */
+    public TimeEntryQuery spentBetween(LocalDate from, LocalDate to) {
+        return spentOn(Operator.BETWEEN, from, to);
+    }
+
+    public TimeEntryQuery hours(Operator operator, double... hours) {
+        final String[] values = new String[hours.length];
+        for (int i = 0; i < hours.length; i++) {
+            values[i] = BigDecimal.valueOf(hours[i]).stripTrailingZeros().toPlainString();
+        }
+        return filter("hours", operator, values);
+    }
+
+    public TimeEntryQuery commentsContain(String text) {
+        return filter("comments", Operator.CONTAINS, text);
+    }
+}
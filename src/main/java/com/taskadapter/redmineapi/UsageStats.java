@@ -0,0 +1,78 @@
+package com.taskadapter.redmineapi;
+
+/**
+ * Requests and bytes of one tenant counted by {@link RequestQuotas}, e.g. for billing. Stats are immutable snapshots.
+ */
+public final class UsageStats {
+    private final String tenant;
+    private final long requests;
+    private final long throttledRequests;
+    private final long rejectedRequests;
+    private final long bytesSent;
+    private final long bytesReceived;
+    private final long waitMillis;
+
+    UsageStats(String tenant, long requests, long throttledRequests, long rejectedRequests,
+               long bytesSent, long bytesReceived, long waitMillis) {
+        this.tenant = tenant;
+        this.requests = requests;
+        this.throttledRequests = throttledRequests;
+        this.rejectedRequests = rejectedRequests;
+        this.bytesSent = bytesSent;
+        this.bytesReceived = bytesReceived;
+        this.waitMillis = waitMillis;
+    }
+
+    public String getTenant() {
+        return tenant;
+    }
+
+    /**
+     * @return number of requests sent to the server.
+     */
+    public long getRequests() {
+        return requests;
+    }
+
+    /**
+     * @return number of requests which had to wait for the quota, including rejected ones.
+     */
+    public long getThrottledRequests() {
+        return throttledRequests;
+    }
+
+    /**
+     * @return number of requests which failed because the quota did not allow them in time.
+     */
+    public long getRejectedRequests() {
+        return rejectedRequests;
+    }
+
+    /**
+     * @return bytes of request bodies.
+     */
+    public long getBytesSent() {
+        return bytesSent;
+    }
+
+    /**
+     * @return bytes of response bodies as received, i.e. compressed if the server compressed them.
+     */
+    public long getBytesReceived() {
+        return bytesReceived;
+    }
+
+    /**
+     * @return total time requests spent waiting for the quota.
+     */
+    public long getWaitMillis() {
+        return waitMillis;
+    }
+
+    @Override
+    public String toString() {
+        return "UsageStats [tenant=" + tenant + ", requests=" + requests + ", throttledRequests=" + throttledRequests
+                + ", rejectedRequests=" + rejectedRequests + ", bytesSent=" + bytesSent
+                + ", bytesReceived=" + bytesReceived + ", waitMillis=" + waitMillis + "]";
+    }
+}
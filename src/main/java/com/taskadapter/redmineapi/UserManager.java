@@ -1,6 +1,7 @@
 package com.taskadapter.redmineapi;
 
 import com.taskadapter.redmineapi.bean.Group;
+import com.taskadapter.redmineapi.bean.PropertyStorageUtil;
 import com.taskadapter.redmineapi.bean.Role;
 import com.taskadapter.redmineapi.bean.User;
 import com.taskadapter.redmineapi.internal.DirectObjectsSearcher;
@@ -188,10 +189,12 @@ public class UserManager {
     @Deprecated
     public void update(User obj) throws RedmineException {
         transport.updateObject(obj);
+        PropertyStorageUtil.clearChanges(obj.getStorage());
     }
 
     @Deprecated
     public void update(Group group) throws RedmineException {
         transport.updateObject(group);
+        PropertyStorageUtil.clearChanges(group.getStorage());
     }
 }
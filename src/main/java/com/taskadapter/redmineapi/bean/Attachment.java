@@ -8,22 +8,22 @@ import java.util.Date;
 /**
  * File Attachment for a Redmine issue
  */
-public class Attachment implements Identifiable, FluentStyle {
+public class Attachment implements Identifiable, FluentStyle, Snapshottable<Attachment> {
 
     private final PropertyStorage storage = new PropertyStorage();
 
     /**
      * database numeric Id
      */
-    public final static Property<Integer> DATABASE_ID = new Property<>(Integer.class, "id");
-    public final static Property<String> FILE_NAME = new Property<>(String.class, "fileName");
-    public final static Property<Long> FILE_SIZE = new Property<>(Long.class, "fileSize");
-    public final static Property<String> CONTENT_TYPE = new Property<>(String.class, "contentType");
-    public final static Property<String> CONTENT_URL = new Property<>(String.class, "contentURL");
-    public final static Property<String> DESCRIPTION = new Property<>(String.class, "description");
-    public final static Property<Date> CREATED_ON = new Property<>(Date.class, "createdOn");
-    public final static Property<User> AUTHOR = new Property<>(User.class, "author");
-    public final static Property<String> TOKEN = new Property<>(String.class, "token");
+    public final static Property<Integer> DATABASE_ID = new Property<>(Attachment.class, Integer.class, "id");
+    public final static Property<String> FILE_NAME = new Property<>(Attachment.class, String.class, "fileName");
+    public final static Property<Long> FILE_SIZE = new Property<>(Attachment.class, Long.class, "fileSize");
+    public final static Property<String> CONTENT_TYPE = new Property<>(Attachment.class, String.class, "contentType");
+    public final static Property<String> CONTENT_URL = new Property<>(Attachment.class, String.class, "contentURL");
+    public final static Property<String> DESCRIPTION = new Property<>(Attachment.class, String.class, "description");
+    public final static Property<Date> CREATED_ON = new Property<>(Attachment.class, Date.class, "createdOn");
+    public final static Property<User> AUTHOR = new Property<>(Attachment.class, User.class, "author");
+    public final static Property<String> TOKEN = new Property<>(Attachment.class, String.class, "token");
     private Transport transport;
 
     public Attachment(Transport transport) {
@@ -158,6 +158,21 @@ public class Attachment implements Identifiable, FluentStyle {
         return storage;
     }
 
+    @Override
+    public Attachment snapshot() {
+        if (isSnapshot()) {
+            return this;
+        }
+        final Attachment result = new Attachment(null);
+        result.storage.freezeCopyOf(storage);
+        return result;
+    }
+
+    @Override
+    public boolean isSnapshot() {
+        return storage.isFrozen();
+    }
+
     /**
      * delete the attachment with pre-configured ID from the server.
      * <br>
@@ -171,6 +186,9 @@ public class Attachment implements Identifiable, FluentStyle {
 
     @Override
     public void setTransport(Transport transport) {
+        if (isSnapshot()) {
+            return;
+        }
         this.transport = transport;
         PropertyStorageUtil.updateCollections(storage, transport);
     }
@@ -10,10 +10,10 @@ public class Changeset {
 
     private final PropertyStorage storage;
 
-    public final static Property<String> REVISION = new Property<>(String.class, "revision");
-    public final static Property<User> USER = new Property<>(User.class, "user");
-    public final static Property<String> COMMENTS = new Property<>(String.class, "comments");
-    public final static Property<Date> COMMITTED_ON = new Property<>(Date.class, "committedOn");
+    public final static Property<String> REVISION = new Property<>(Changeset.class, String.class, "revision");
+    public final static Property<User> USER = new Property<>(Changeset.class, User.class, "user");
+    public final static Property<String> COMMENTS = new Property<>(Changeset.class, String.class, "comments");
+    public final static Property<Date> COMMITTED_ON = new Property<>(Changeset.class, Date.class, "committedOn");
 
     public Changeset() {
         storage = new PropertyStorage();
@@ -4,15 +4,15 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 
-public class CustomField {
+public class CustomField implements Snapshottable<CustomField> {
 
     private final PropertyStorage storage = new PropertyStorage();
 
-    public final static Property<Integer> DATABASE_ID = new Property<>(Integer.class, "id");
-    public final static Property<String> NAME = new Property<>(String.class, "name");
-    public final static Property<String> VALUE = new Property<>(String.class, "value");
-    public final static Property<Boolean> MULTIPLE = new Property<>(Boolean.class, "multiple");
-    public final static Property<List<String>> VALUES = (Property<List<String>>) new Property(List.class, "values");
+    public final static Property<Integer> DATABASE_ID = new Property<>(CustomField.class, Integer.class, "id");
+    public final static Property<String> NAME = new Property<>(CustomField.class, String.class, "name");
+    public final static Property<String> VALUE = new Property<>(CustomField.class, String.class, "value");
+    public final static Property<Boolean> MULTIPLE = new Property<>(CustomField.class, Boolean.class, "multiple");
+    public final static Property<List<String>> VALUES = (Property<List<String>>) new Property(CustomField.class, List.class, "values");
 
     public CustomField() {
         initCollections(storage);
@@ -34,6 +34,25 @@ public class CustomField {
         return storage.get(DATABASE_ID);
     }
 
+    public PropertyStorage getStorage() {
+        return storage;
+    }
+
+    @Override
+    public CustomField snapshot() {
+        if (isSnapshot()) {
+            return this;
+        }
+        final CustomField result = new CustomField();
+        result.storage.freezeCopyOf(storage);
+        return result;
+    }
+
+    @Override
+    public boolean isSnapshot() {
+        return storage.isFrozen();
+    }
+
     public String getName() {
         return storage.get(NAME);
     }
@@ -0,0 +1,30 @@
+package com.taskadapter.redmineapi.bean;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Date;
+
+/**
+ * Conversions between legacy <code>Date</code> values and java.time types.
+ * <p>
+ * Redmine dates without time (start date, due date, spent on) are kept as the start of the day in the default
+ * time zone, the same way they are parsed from server responses.
+ */
+final class Dates {
+    private Dates() {
+        throw new UnsupportedOperationException();
+    }
+
+    static Instant toInstant(Date date) {
+        return date == null ? null : date.toInstant();
+    }
+
+    static LocalDate toLocalDate(Date date) {
+        return date == null ? null : LocalDate.ofInstant(date.toInstant(), ZoneId.systemDefault());
+    }
+
+    static Date fromLocalDate(LocalDate date) {
+        return date == null ? null : Date.from(date.atStartOfDay(ZoneId.systemDefault()).toInstant());
+    }
+}
@@ -11,18 +11,18 @@ public class File implements Identifiable, FluentStyle {
   /**
    * database numeric Id
    */
-  public final static Property<Integer> DATABASE_ID = new Property<>(Integer.class, "id");
-  public final static Property<String> FILENAME = new Property<>(String.class, "filename");
-  public final static Property<Long> FILESIZE = new Property<>(Long.class, "filesize");
-  public final static Property<String> CONTENT_TYPE = new Property<>(String.class, "content_type");
-  public final static Property<String> DESCRIPTION = new Property<>(String.class, "description");
-  public final static Property<String> CONTENT_URL = new Property<>(String.class, "content_url");
-  public final static Property<User> AUTHOR = new Property<>(User.class, "author");
-  public final static Property<Date> CREATED_ON = new Property<>(Date.class, "created_on");
-  public final static Property<Version> VERSION = new Property<>(Version.class, "version");
-  public final static Property<String> DIGEST = new Property<>(String.class, "digest");
-  public final static Property<Integer> DOWNLOADS = new Property<>(Integer.class, "downloads");
-  public final static Property<String> TOKEN = new Property<>(String.class, "token");
+  public final static Property<Integer> DATABASE_ID = new Property<>(File.class, Integer.class, "id");
+  public final static Property<String> FILENAME = new Property<>(File.class, String.class, "filename");
+  public final static Property<Long> FILESIZE = new Property<>(File.class, Long.class, "filesize");
+  public final static Property<String> CONTENT_TYPE = new Property<>(File.class, String.class, "content_type");
+  public final static Property<String> DESCRIPTION = new Property<>(File.class, String.class, "description");
+  public final static Property<String> CONTENT_URL = new Property<>(File.class, String.class, "content_url");
+  public final static Property<User> AUTHOR = new Property<>(File.class, User.class, "author");
+  public final static Property<Date> CREATED_ON = new Property<>(File.class, Date.class, "created_on");
+  public final static Property<Version> VERSION = new Property<>(File.class, Version.class, "version");
+  public final static Property<String> DIGEST = new Property<>(File.class, String.class, "digest");
+  public final static Property<Integer> DOWNLOADS = new Property<>(File.class, Integer.class, "downloads");
+  public final static Property<String> TOKEN = new Property<>(File.class, String.class, "token");
 
   private Transport transport;
 
@@ -3,12 +3,12 @@ package com.taskadapter.redmineapi.bean;
 import com.taskadapter.redmineapi.RedmineException;
 import com.taskadapter.redmineapi.internal.Transport;
 
-public class Group implements Identifiable, FluentStyle {
+public class Group implements Identifiable, FluentStyle, Snapshottable<Group> {
 
     private final PropertyStorage storage = new PropertyStorage();
 
-    public final static Property<Integer> ID = new Property<Integer>(Integer.class, "id");
-    public final static Property<String> NAME = new Property<String>(String.class, "name");
+    public final static Property<Integer> ID = new Property<Integer>(Group.class, Integer.class, "id");
+    public final static Property<String> NAME = new Property<String>(Group.class, String.class, "name");
     private Transport transport;
 
     public Group(Transport transport) {
@@ -65,6 +65,21 @@ public class Group implements Identifiable, FluentStyle {
         return storage;
     }
 
+    @Override
+    public Group snapshot() {
+        if (isSnapshot()) {
+            return this;
+        }
+        final Group result = new Group(null);
+        result.storage.freezeCopyOf(storage);
+        return result;
+    }
+
+    @Override
+    public boolean isSnapshot() {
+        return storage.isFrozen();
+    }
+
     /**
      * Creates a new group.
      * <p><strong>This operation requires "Redmine Administrator" permission.</strong>
@@ -77,6 +92,7 @@ public class Group implements Identifiable, FluentStyle {
 
     public void update() throws RedmineException {
         transport.updateObject(this);
+        PropertyStorageUtil.clearChanges(storage);
     }
 
     /**
@@ -89,6 +105,9 @@ public class Group implements Identifiable, FluentStyle {
 
     @Override
     public void setTransport(Transport transport) {
+        if (isSnapshot()) {
+            return;
+        }
         this.transport = transport;
     }
 }
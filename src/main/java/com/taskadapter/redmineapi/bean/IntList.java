@@ -0,0 +1,149 @@
+package com.taskadapter.redmineapi.bean;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.RandomAccess;
+
+/**
+ * Growable list of ints kept in a primitive array.
+ * <p>
+ * Used for collections which only hold ids. The list is also a {@link java.util.List} of {@link Integer}s,
+ * which boxes values on access only. Null elements are not supported.
+ * <p>
+ * Lists held by bean snapshots are unmodifiable.
+ */
+public final class IntList extends AbstractList<Integer> implements RandomAccess {
+    private static final int[] EMPTY = new int[0];
+
+    private int[] values = EMPTY;
+    private int size;
+    private boolean frozen;
+
+    public IntList() {
+    }
+
+    public IntList(Collection<Integer> values) {
+        addAll(values);
+    }
+
+    public static IntList of(int... values) {
+        final IntList result = new IntList();
+        result.values = values.clone();
+        result.size = values.length;
+        return result;
+    }
+
+    public int getInt(int index) {
+        checkIndex(index);
+        return values[index];
+    }
+
+    public void addInt(int value) {
+        checkNotFrozen();
+        if (size == values.length) {
+            values = Arrays.copyOf(values, Math.max(4, size * 2));
+        }
+        values[size++] = value;
+        modCount++;
+    }
+
+    public boolean containsInt(int value) {
+        return indexOfInt(value) >= 0;
+    }
+
+    public int indexOfInt(int value) {
+        for (int i = 0; i < size; i++) {
+            if (values[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return copy of the values.
+     */
+    public int[] toIntArray() {
+        return Arrays.copyOf(values, size);
+    }
+
+    @Override
+    public Integer get(int index) {
+        return getInt(index);
+    }
+
+    @Override
+    public Integer set(int index, Integer value) {
+        checkNotFrozen();
+        checkIndex(index);
+        final int previous = values[index];
+        values[index] = value;
+        return previous;
+    }
+
+    @Override
+    public void add(int index, Integer value) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+        }
+        final int unboxed = value;
+        addInt(unboxed);
+        System.arraycopy(values, index, values, index + 1, size - 1 - index);
+        values[index] = unboxed;
+    }
+
+    @Override
+    public Integer remove(int index) {
+        checkNotFrozen();
+        checkIndex(index);
+        final int previous = values[index];
+        System.arraycopy(values, index + 1, values, index, size - 1 - index);
+        size--;
+        modCount++;
+        return previous;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return o instanceof Integer && containsInt((Integer) o);
+    }
+
+    @Override
+    public int indexOf(Object o) {
+        return o instanceof Integer ? indexOfInt((Integer) o) : -1;
+    }
+
+    @Override
+    public void clear() {
+        checkNotFrozen();
+        size = 0;
+        modCount++;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return unmodifiable copy of this list.
+     */
+    IntList frozenCopy() {
+        final IntList result = of(toIntArray());
+        result.frozen = true;
+        return result;
+    }
+
+    private void checkNotFrozen() {
+        if (frozen) {
+            throw new UnsupportedOperationException("List of ids of a snapshot cannot be modified");
+        }
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", size: " + size);
+        }
+    }
+}
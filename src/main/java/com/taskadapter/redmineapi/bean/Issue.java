@@ -7,6 +7,8 @@ import com.taskadapter.redmineapi.RedmineException;
 import com.taskadapter.redmineapi.internal.RequestParam;
 import com.taskadapter.redmineapi.internal.Transport;
 
+import java.time.Instant;
+import java.time.LocalDate;
 import java.util.*;
 
 /**
@@ -21,61 +23,73 @@ import java.util.*;
  * 
  * @see <a href="http://www.redmine.org/projects/redmine/wiki/Rest_Issues">http://www.redmine.org/projects/redmine/wiki/Rest_Issues</a> 
  */
-public class Issue implements Identifiable, FluentStyle {
-
-    private final PropertyStorage storage = new PropertyStorage();
-
-    public final static Property<Integer> DATABASE_ID = new Property<>(Integer.class, "id");
-    public final static Property<String> SUBJECT = new Property<>(String.class, "subject");
-    public final static Property<Date> START_DATE = new Property<>(Date.class, "startDate");
-    public final static Property<Date> DUE_DATE = new Property<>(Date.class, "dueDate");
-    public final static Property<Date> CREATED_ON = new Property<>(Date.class, "createdOn");
-    public final static Property<Date> UPDATED_ON = new Property<>(Date.class, "updatedOn");
-    public final static Property<Integer> DONE_RATIO = new Property<>(Integer.class, "doneRatio");
-    public final static Property<Integer> PARENT_ID = new Property<>(Integer.class, "parentId");
-    public final static Property<Integer> PRIORITY_ID = new Property<>(Integer.class, "priorityId");
-    public final static Property<Float> ESTIMATED_HOURS = new Property<>(Float.class, "estimatedHours");
-    public final static Property<Float> SPENT_HOURS = new Property<>(Float.class, "spentHours");
-    public final static Property<Integer> ASSIGNEE_ID = new Property<>(Integer.class, "assigneeId");
-    public final static Property<String> ASSIGNEE_NAME = new Property<>(String.class, "assigneeName");
+public class Issue implements Identifiable, FluentStyle, Snapshottable<Issue> {
+
+    private final PropertyStorage storage;
+
+    public final static Property<Integer> DATABASE_ID = new Property<>(Issue.class, Integer.class, "id");
+    public final static Property<String> SUBJECT = new Property<>(Issue.class, String.class, "subject");
+    public final static Property<Date> START_DATE = new Property<>(Issue.class, Date.class, "startDate");
+    public final static Property<Date> DUE_DATE = new Property<>(Issue.class, Date.class, "dueDate");
+    public final static Property<Date> CREATED_ON = new Property<>(Issue.class, Date.class, "createdOn");
+    public final static Property<Date> UPDATED_ON = new Property<>(Issue.class, Date.class, "updatedOn");
+    public final static Property<Integer> DONE_RATIO = new Property<>(Issue.class, Integer.class, "doneRatio");
+    public final static Property<Integer> PARENT_ID = new Property<>(Issue.class, Integer.class, "parentId");
+    public final static Property<Integer> PRIORITY_ID = new Property<>(Issue.class, Integer.class, "priorityId");
+    public final static Property<Float> ESTIMATED_HOURS = new Property<>(Issue.class, Float.class, "estimatedHours");
+    public final static Property<Float> SPENT_HOURS = new Property<>(Issue.class, Float.class, "spentHours");
+    public final static Property<Integer> ASSIGNEE_ID = new Property<>(Issue.class, Integer.class, "assigneeId");
+    public final static Property<String> ASSIGNEE_NAME = new Property<>(Issue.class, String.class, "assigneeName");
 
     /**
      * Some comment describing an issue update.
      */
-    public final static Property<String> NOTES = new Property<String>(String.class, "notes");
-    public final static Property<Boolean> PRIVATE_NOTES = new Property<>(Boolean.class, "notes");
-    public final static Property<String> PRIORITY_TEXT = new Property<>(String.class, "priorityText");
-    public final static Property<Integer> PROJECT_ID = new Property<>(Integer.class, "projectId");
-    public final static Property<String> PROJECT_NAME = new Property<>(String.class, "projectName");
-    public final static Property<Integer> AUTHOR_ID = new Property<>(Integer.class, "authorId");
-    public final static Property<String> AUTHOR_NAME = new Property<>(String.class, "authorName");
-    public final static Property<Tracker> TRACKER = new Property<>(Tracker.class, "tracker");
-    public final static Property<String> DESCRIPTION = new Property<>(String.class, "description");
-    public final static Property<Date> CLOSED_ON = new Property<>(Date.class, "closedOn");
-    public final static Property<Integer> STATUS_ID = new Property<>(Integer.class, "statusId");
-    public final static Property<String> STATUS_NAME = new Property<>(String.class, "statusName");
-    public final static Property<Version> TARGET_VERSION = new Property<>(Version.class, "targetVersion");
-    public final static Property<IssueCategory> ISSUE_CATEGORY = new Property<>(IssueCategory.class, "issueCategory");
-    public final static Property<Boolean> PRIVATE_ISSUE = new Property<>(Boolean.class, "privateIssue");
+    public final static Property<String> NOTES = new Property<String>(Issue.class, String.class, "notes");
+    public final static Property<Boolean> PRIVATE_NOTES = new Property<>(Issue.class, Boolean.class, "notes");
+    public final static Property<String> PRIORITY_TEXT = new Property<>(Issue.class, String.class, "priorityText");
+    public final static Property<Integer> PROJECT_ID = new Property<>(Issue.class, Integer.class, "projectId");
+    public final static Property<String> PROJECT_NAME = new Property<>(Issue.class, String.class, "projectName");
+    public final static Property<Integer> AUTHOR_ID = new Property<>(Issue.class, Integer.class, "authorId");
+    public final static Property<String> AUTHOR_NAME = new Property<>(Issue.class, String.class, "authorName");
+    public final static Property<Tracker> TRACKER = new Property<>(Issue.class, Tracker.class, "tracker");
+    public final static Property<String> DESCRIPTION = new Property<>(Issue.class, String.class, "description");
+    public final static Property<Date> CLOSED_ON = new Property<>(Issue.class, Date.class, "closedOn");
+    public final static Property<Integer> STATUS_ID = new Property<>(Issue.class, Integer.class, "statusId");
+    public final static Property<String> STATUS_NAME = new Property<>(Issue.class, String.class, "statusName");
+    public final static Property<Version> TARGET_VERSION = new Property<>(Issue.class, Version.class, "targetVersion");
+    public final static Property<IssueCategory> ISSUE_CATEGORY = new Property<>(Issue.class, IssueCategory.class, "issueCategory");
+    public final static Property<Boolean> PRIVATE_ISSUE = new Property<>(Issue.class, Boolean.class, "privateIssue");
 
     /**
      * can't have two custom fields with the same ID in the collection, that's why it is declared
      * as a Set, not a List.
      */
-    public final static Property<Set<CustomField>> CUSTOM_FIELDS = (Property<Set<CustomField>>) new Property(Set.class, "customFields");
-    public final static Property<Set<Journal>> JOURNALS = (Property<Set<Journal>>) new Property(Set.class, "journals");
-    public final static Property<Set<IssueRelation>> RELATIONS = (Property<Set<IssueRelation>>) new Property(Set.class, "relations");
-    public final static Property<Set<Attachment>> ATTACHMENTS = (Property<Set<Attachment>>) new Property(Set.class, "attachments");
-    public final static Property<Set<Changeset>> CHANGESETS = (Property<Set<Changeset>>) new Property(Set.class, "changesets");
-    public final static Property<Set<Watcher>> WATCHERS = (Property<Set<Watcher>>) new Property(Set.class, "watchers");
-    public final static Property<Set<Issue>> CHILDREN = (Property<Set<Issue>>) new Property(Set.class, "children");
+    public final static Property<Set<CustomField>> CUSTOM_FIELDS = (Property<Set<CustomField>>) new Property(Issue.class, Set.class, "customFields");
+    public final static Property<Set<Journal>> JOURNALS = (Property<Set<Journal>>) new Property(Issue.class, Set.class, "journals");
+    public final static Property<Set<IssueRelation>> RELATIONS = (Property<Set<IssueRelation>>) new Property(Issue.class, Set.class, "relations");
+    public final static Property<Set<Attachment>> ATTACHMENTS = (Property<Set<Attachment>>) new Property(Issue.class, Set.class, "attachments");
+    public final static Property<Set<Changeset>> CHANGESETS = (Property<Set<Changeset>>) new Property(Issue.class, Set.class, "changesets");
+    public final static Property<Set<Watcher>> WATCHERS = (Property<Set<Watcher>>) new Property(Issue.class, Set.class, "watchers");
+    public final static Property<Set<Issue>> CHILDREN = (Property<Set<Issue>>) new Property(Issue.class, Set.class, "children");
 
     private Transport transport;
 
     public Issue() {
+        storage = new PropertyStorage();
         initCollections(storage);
     }
 
+    private Issue(PropertySource source) {
+        storage = new PropertyStorage(source);
+    }
+
+    /**
+     * Creates an issue which decodes its properties from the given source on first access.
+     */
+    public static Issue lazy(PropertySource source) {
+        return new Issue(source);
+    }
+
     public Issue(Transport transport) {
         this();
         setTransport(transport);
@@ -101,13 +115,13 @@ public class Issue implements Identifiable, FluentStyle {
     }
 
     private void initCollections(PropertyStorage storage) {
-        storage.set(CUSTOM_FIELDS, new HashSet<>());
-        storage.set(CHILDREN, new HashSet<>());
-        storage.set(WATCHERS, new HashSet<>());
-        storage.set(CHANGESETS, new HashSet<>());
-        storage.set(ATTACHMENTS, new HashSet<>());
-        storage.set(RELATIONS, new HashSet<>());
-        storage.set(JOURNALS, new HashSet<>());
+        storage.setEmptySet(CUSTOM_FIELDS);
+        storage.setEmptySet(CHILDREN);
+        storage.setEmptySet(WATCHERS);
+        storage.setEmptySet(CHANGESETS);
+        storage.setEmptySet(ATTACHMENTS);
+        storage.setEmptySet(RELATIONS);
+        storage.setEmptySet(JOURNALS);
     }
 
     public Integer getProjectId() {
@@ -240,6 +254,14 @@ public class Issue implements Identifiable, FluentStyle {
         return this;
     }
 
+    public LocalDate getStartLocalDate() {
+        return Dates.toLocalDate(getStartDate());
+    }
+
+    public Issue setStartLocalDate(LocalDate startDate) {
+        return setStartDate(Dates.fromLocalDate(startDate));
+    }
+
     public Date getDueDate() {
         return storage.get(DUE_DATE);
     }
@@ -249,6 +271,14 @@ public class Issue implements Identifiable, FluentStyle {
         return this;
     }
 
+    public LocalDate getDueLocalDate() {
+        return Dates.toLocalDate(getDueDate());
+    }
+
+    public Issue setDueLocalDate(LocalDate dueDate) {
+        return setDueDate(Dates.fromLocalDate(dueDate));
+    }
+
     public Integer getAuthorId() {
         return storage.get(AUTHOR_ID);
     }
@@ -306,6 +336,10 @@ public class Issue implements Identifiable, FluentStyle {
         return this;
     }
 
+    public Instant getCreatedOnInstant() {
+        return Dates.toInstant(getCreatedOn());
+    }
+
     public Date getUpdatedOn() {
         return storage.get(UPDATED_ON);
     }
@@ -315,6 +349,10 @@ public class Issue implements Identifiable, FluentStyle {
         return this;
     }
 
+    public Instant getUpdatedOnInstant() {
+        return Dates.toInstant(getUpdatedOn());
+    }
+
     public Date getClosedOn() {
         return storage.get(CLOSED_ON);
     }
@@ -324,6 +362,10 @@ public class Issue implements Identifiable, FluentStyle {
         return this;
     }
 
+    public Instant getClosedOnInstant() {
+        return Dates.toInstant(getClosedOn());
+    }
+
     public Integer getStatusId() {
         return storage.get(STATUS_ID);
     }
@@ -462,6 +504,7 @@ public class Issue implements Identifiable, FluentStyle {
 
     public Issue addWatchers(Collection<Watcher> watchers) {
         storage.get(WATCHERS).addAll(watchers);
+        storage.markChanged(WATCHERS);
         return this;
     }
 
@@ -619,6 +662,21 @@ public class Issue implements Identifiable, FluentStyle {
         return storage;
     }
 
+    @Override
+    public Issue snapshot() {
+        if (isSnapshot()) {
+            return this;
+        }
+        final Issue result = new Issue();
+        result.storage.freezeCopyOf(storage);
+        return result;
+    }
+
+    @Override
+    public boolean isSnapshot() {
+        return storage.isFrozen();
+    }
+
     /**
      * @return the newly created Issue.
      *
@@ -634,8 +692,12 @@ public class Issue implements Identifiable, FluentStyle {
         return transport.addObject(this, enrichParams);
     }
 
+    /**
+     * Sends properties changed since this issue was loaded (all set properties for issues created locally).
+     */
     public void update(RequestParam... params) throws RedmineException {
         transport.updateObject(this, params);
+        PropertyStorageUtil.clearChanges(storage);
     }
 
     public void delete() throws RedmineException {
@@ -652,6 +714,9 @@ public class Issue implements Identifiable, FluentStyle {
 
     @Override
     public void setTransport(Transport transport) {
+        if (isSnapshot()) {
+            return;
+        }
         this.transport = transport;
         PropertyStorageUtil.updateCollections(storage, transport);
     }
@@ -10,7 +10,7 @@ import java.io.Serializable;
 /**
  * Redmine issue category.
  */
-public class IssueCategory implements Identifiable, Serializable, FluentStyle {
+public class IssueCategory implements Identifiable, Serializable, FluentStyle, Snapshottable<IssueCategory> {
 	private static final long serialVersionUID = -109010410391968475L;
 
     private final PropertyStorage storage = new PropertyStorage();
@@ -18,11 +18,11 @@ public class IssueCategory implements Identifiable, Serializable, FluentStyle {
     /**
      * database numeric ID.
      */
-    public final static Property<Integer> DATABASE_ID = new Property<>(Integer.class, "id");
-    public final static Property<String> NAME = new Property<>(String.class, "name");
-    public final static Property<Integer> PROJECT_ID = new Property<>(Integer.class, "projectId");
-    public final static Property<Integer> ASSIGNEE_ID = new Property<>(Integer.class, "assigneeId");
-    public final static Property<String> ASSIGNEE_NAME = new Property<>(String.class, "assigneeName");
+    public final static Property<Integer> DATABASE_ID = new Property<>(IssueCategory.class, Integer.class, "id");
+    public final static Property<String> NAME = new Property<>(IssueCategory.class, String.class, "name");
+    public final static Property<Integer> PROJECT_ID = new Property<>(IssueCategory.class, Integer.class, "projectId");
+    public final static Property<Integer> ASSIGNEE_ID = new Property<>(IssueCategory.class, Integer.class, "assigneeId");
+    public final static Property<String> ASSIGNEE_NAME = new Property<>(IssueCategory.class, String.class, "assigneeName");
     private Transport transport;
 
     public IssueCategory(Transport transport) {
@@ -35,6 +35,16 @@ public class IssueCategory implements Identifiable, Serializable, FluentStyle {
         setName(name);
     }
 
+    /**
+     * Creates an unmodifiable category holding only id and name, as it is referenced from issues. Such categories
+     * can be shared between issues.
+     */
+    public static IssueCategory reference(Integer id, String name) {
+        final IssueCategory result = new IssueCategory(null).setId(id).setName(name);
+        result.storage.freeze();
+        return result;
+    }
+
     public Integer getId() {
         return storage.get(DATABASE_ID);
     }
@@ -120,8 +130,26 @@ public class IssueCategory implements Identifiable, Serializable, FluentStyle {
         return storage;
     }
 
+    @Override
+    public IssueCategory snapshot() {
+        if (isSnapshot()) {
+            return this;
+        }
+        final IssueCategory result = new IssueCategory(null);
+        result.storage.freezeCopyOf(storage);
+        return result;
+    }
+
+    @Override
+    public boolean isSnapshot() {
+        return storage.isFrozen();
+    }
+
     @Override
     public void setTransport(Transport transport) {
+        if (isSnapshot()) {
+            return;
+        }
         this.transport = transport;
     }
 
@@ -3,10 +3,9 @@ package com.taskadapter.redmineapi.bean;
 import com.taskadapter.redmineapi.RedmineException;
 import com.taskadapter.redmineapi.internal.Transport;
 
-import java.util.ArrayList;
 import java.util.List;
 
-public class IssueRelation implements Identifiable, FluentStyle {
+public class IssueRelation implements Identifiable, FluentStyle, Snapshottable<IssueRelation> {
     private Transport transport;
 
     public enum TYPE {
@@ -32,15 +31,18 @@ public class IssueRelation implements Identifiable, FluentStyle {
     /**
      * database numeric Id
      */
-    public final static Property<Integer> DATABASE_ID = new Property<>(Integer.class, "id");
-    public final static Property<Integer> ISSUE_ID = new Property<>(Integer.class, "issueId");
-    public final static Property<List<Integer>> ISSUE_TO_ID = new Property(List.class, "issueToId");
+    public final static Property<Integer> DATABASE_ID = new Property<>(IssueRelation.class, Integer.class, "id");
+    public final static Property<Integer> ISSUE_ID = new Property<>(IssueRelation.class, Integer.class, "issueId");
+    /**
+     * Target issue ids, held in an {@link IntList}.
+     */
+    public final static Property<List<Integer>> ISSUE_TO_ID = new Property(IssueRelation.class, List.class, "issueToId");
 
-    public final static Property<String> RELATION_TYPE = new Property<>(String.class, "relationType");
-    public final static Property<Integer> DELAY = new Property<>(Integer.class, "delay");
+    public final static Property<String> RELATION_TYPE = new Property<>(IssueRelation.class, String.class, "relationType");
+    public final static Property<Integer> DELAY = new Property<>(IssueRelation.class, Integer.class, "delay");
 
     private IssueRelation() {
-        storage.set(ISSUE_TO_ID, new ArrayList<>());
+        storage.set(ISSUE_TO_ID, new IntList());
     }
 
     public IssueRelation(Transport transport) {
@@ -76,13 +78,24 @@ public class IssueRelation implements Identifiable, FluentStyle {
     }
 
     public Integer getIssueToId() {
-        return storage.get(ISSUE_TO_ID)
-                .stream()
-                .findFirst().orElse(null);
+        final IntList ids = getIssueToIds();
+        return ids.isEmpty() ? null : ids.getInt(0);
     }
 
+    /**
+     * @return target issue ids. The list is live: ids added to it are sent when the relation is created.
+     */
+    public IntList getIssueToIds() {
+        return (IntList) storage.get(ISSUE_TO_ID);
+    }
+
+    /**
+     * Adds a target issue. Null is ignored.
+     */
     public IssueRelation addIssueToId(Integer issueToId) {
-        storage.get(ISSUE_TO_ID).add(issueToId);
+        if (issueToId != null) {
+            getIssueToIds().addInt(issueToId);
+        }
         return this;
     }
 
@@ -132,8 +145,26 @@ public class IssueRelation implements Identifiable, FluentStyle {
         return storage;
     }
 
+    @Override
+    public IssueRelation snapshot() {
+        if (isSnapshot()) {
+            return this;
+        }
+        final IssueRelation result = new IssueRelation();
+        result.storage.freezeCopyOf(storage);
+        return result;
+    }
+
+    @Override
+    public boolean isSnapshot() {
+        return storage.isFrozen();
+    }
+
     @Override
     public void setTransport(Transport transport) {
+        if (isSnapshot()) {
+            return;
+        }
         this.transport = transport;
     }
 
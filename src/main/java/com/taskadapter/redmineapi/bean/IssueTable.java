@@ -0,0 +1,451 @@
+package com.taskadapter.redmineapi.bean;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Issues stored column by column: one primitive array per property, one row per issue.
+ * <p>
+ * Meant for analytics over many issues where full {@link Issue} beans are too heavy. Only ids, names of
+ * referenced objects, done ratio, hours and dates are kept. Names are dictionary-encoded, dates are
+ * milliseconds since epoch. Missing values are {@link #NO_VALUE} in int columns, {@link Float#NaN} in float
+ * columns and {@link #NO_DATE} in date columns.
+ * <p>
+ * Column getters return the backing arrays (exactly {@link #size()} long) without copying, so scans run
+ * over plain arrays. Do not modify them. Example of a parallel aggregation:
+ * <pre>
+ * IssueTable table = issueManager.getIssueTable(params);
+ * int[] status = table.statusIds();
+ * float[] hours = table.spentHours();
+ * double closedHours = table.rows().parallel()
+ *         .filter(row -&gt; status[row] == closedStatusId &amp;&amp; !Float.isNaN(hours[row]))
+ *         .mapToDouble(row -&gt; hours[row])
+ *         .sum();
+ * </pre>
+ * Tables are immutable and may be shared between threads. Use {@link Builder} to create them.
+ */
+public final class IssueTable {
+    /** Missing value of int columns. */
+    public static final int NO_VALUE = -1;
+    /** Missing value of date columns. */
+    public static final long NO_DATE = Long.MIN_VALUE;
+
+    private final int size;
+    private final int[] ids;
+    private final int[] projectIds;
+    private final int[] trackerIds;
+    private final int[] statusIds;
+    private final int[] priorityIds;
+    private final int[] assigneeIds;
+    private final int[] authorIds;
+    private final int[] doneRatios;
+    private final float[] estimatedHours;
+    private final float[] spentHours;
+    private final long[] startDates;
+    private final long[] dueDates;
+    private final long[] createdOn;
+    private final long[] updatedOn;
+    private final long[] closedOn;
+    private final StringColumn projectNames;
+    private final StringColumn trackerNames;
+    private final StringColumn statusNames;
+    private final StringColumn priorityNames;
+    private final StringColumn assigneeNames;
+
+    private IssueTable(Builder builder) {
+        size = builder.size;
+        ids = Arrays.copyOf(builder.ids, size);
+        projectIds = Arrays.copyOf(builder.projectIds, size);
+        trackerIds = Arrays.copyOf(builder.trackerIds, size);
+        statusIds = Arrays.copyOf(builder.statusIds, size);
+        priorityIds = Arrays.copyOf(builder.priorityIds, size);
+        assigneeIds = Arrays.copyOf(builder.assigneeIds, size);
+        authorIds = Arrays.copyOf(builder.authorIds, size);
+        doneRatios = Arrays.copyOf(builder.doneRatios, size);
+        estimatedHours = Arrays.copyOf(builder.estimatedHours, size);
+        spentHours = Arrays.copyOf(builder.spentHours, size);
+        startDates = Arrays.copyOf(builder.startDates, size);
+        dueDates = Arrays.copyOf(builder.dueDates, size);
+        createdOn = Arrays.copyOf(builder.createdOn, size);
+        updatedOn = Arrays.copyOf(builder.updatedOn, size);
+        closedOn = Arrays.copyOf(builder.closedOn, size);
+        projectNames = builder.projectNames.build(size);
+        trackerNames = builder.trackerNames.build(size);
+        statusNames = builder.statusNames.build(size);
+        priorityNames = builder.priorityNames.build(size);
+        assigneeNames = builder.assigneeNames.build(size);
+    }
+
+    /**
+     * @return number of rows (issues).
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return indexes of all rows, a sequential stream which can be turned {@link IntStream#parallel()}.
+     */
+    public IntStream rows() {
+        return IntStream.range(0, size);
+    }
+
+    /**
+     * @return row of the issue with the given id or -1 if the table does not contain it. Linear scan.
+     */
+    public int rowOf(int issueId) {
+        for (int row = 0; row < size; row++) {
+            if (ids[row] == issueId) {
+                return row;
+            }
+        }
+        return -1;
+    }
+
+    public int[] ids() {
+        return ids;
+    }
+
+    public int[] projectIds() {
+        return projectIds;
+    }
+
+    public int[] trackerIds() {
+        return trackerIds;
+    }
+
+    public int[] statusIds() {
+        return statusIds;
+    }
+
+    public int[] priorityIds() {
+        return priorityIds;
+    }
+
+    public int[] assigneeIds() {
+        return assigneeIds;
+    }
+
+    public int[] authorIds() {
+        return authorIds;
+    }
+
+    public int[] doneRatios() {
+        return doneRatios;
+    }
+
+    public float[] estimatedHours() {
+        return estimatedHours;
+    }
+
+    public float[] spentHours() {
+        return spentHours;
+    }
+
+    public long[] startDates() {
+        return startDates;
+    }
+
+    public long[] dueDates() {
+        return dueDates;
+    }
+
+    public long[] createdOn() {
+        return createdOn;
+    }
+
+    public long[] updatedOn() {
+        return updatedOn;
+    }
+
+    public long[] closedOn() {
+        return closedOn;
+    }
+
+    public StringColumn projectNames() {
+        return projectNames;
+    }
+
+    public StringColumn trackerNames() {
+        return trackerNames;
+    }
+
+    public StringColumn statusNames() {
+        return statusNames;
+    }
+
+    public StringColumn priorityNames() {
+        return priorityNames;
+    }
+
+    public StringColumn assigneeNames() {
+        return assigneeNames;
+    }
+
+    /**
+     * Dictionary-encoded column of strings. Every row holds a code: an index into the dictionary or
+     * {@link #NO_VALUE} for a missing value. Equal strings share one code, so grouping and filtering can
+     * compare codes instead of strings.
+     */
+    public static final class StringColumn {
+        private final int[] codes;
+        private final String[] dictionary;
+
+        private StringColumn(int[] codes, String[] dictionary) {
+            this.codes = codes;
+            this.dictionary = dictionary;
+        }
+
+        /**
+         * @return value of the row, null if missing.
+         */
+        public String get(int row) {
+            final int code = codes[row];
+            return code == NO_VALUE ? null : dictionary[code];
+        }
+
+        public int code(int row) {
+            return codes[row];
+        }
+
+        /**
+         * @return codes of all rows, the backing array. Do not modify it.
+         */
+        public int[] codes() {
+            return codes;
+        }
+
+        /**
+         * @return code of the value or {@link #NO_VALUE} if it is not in the dictionary.
+         */
+        public int codeOf(String value) {
+            for (int code = 0; code < dictionary.length; code++) {
+                if (dictionary[code].equals(value)) {
+                    return code;
+                }
+            }
+            return NO_VALUE;
+        }
+
+        /**
+         * @return distinct values, indexed by code.
+         */
+        public List<String> dictionary() {
+            return Collections.unmodifiableList(Arrays.asList(dictionary));
+        }
+    }
+
+    /**
+     * Appends issues to a table row by row. Call {@link #addRow(int)} first, then set values of that
+     * row. Values which are not set stay missing. Not thread-safe.
+     */
+    public static final class Builder {
+        private static final int INITIAL_CAPACITY = 64;
+
+        private int size;
+        private int[] ids = new int[INITIAL_CAPACITY];
+        private int[] projectIds = new int[INITIAL_CAPACITY];
+        private int[] trackerIds = new int[INITIAL_CAPACITY];
+        private int[] statusIds = new int[INITIAL_CAPACITY];
+        private int[] priorityIds = new int[INITIAL_CAPACITY];
+        private int[] assigneeIds = new int[INITIAL_CAPACITY];
+        private int[] authorIds = new int[INITIAL_CAPACITY];
+        private int[] doneRatios = new int[INITIAL_CAPACITY];
+        private float[] estimatedHours = new float[INITIAL_CAPACITY];
+        private float[] spentHours = new float[INITIAL_CAPACITY];
+        private long[] startDates = new long[INITIAL_CAPACITY];
+        private long[] dueDates = new long[INITIAL_CAPACITY];
+        private long[] createdOn = new long[INITIAL_CAPACITY];
+        private long[] updatedOn = new long[INITIAL_CAPACITY];
+        private long[] closedOn = new long[INITIAL_CAPACITY];
+        private final Dictionary projectNames = new Dictionary();
+        private final Dictionary trackerNames = new Dictionary();
+        private final Dictionary statusNames = new Dictionary();
+        private final Dictionary priorityNames = new Dictionary();
+        private final Dictionary assigneeNames = new Dictionary();
+
+        /**
+         * Starts a new row. All values except the id are missing.
+         */
+        public Builder addRow(int id) {
+            if (size == ids.length) {
+                grow(size * 2);
+            }
+            ids[size] = id;
+            projectIds[size] = NO_VALUE;
+            trackerIds[size] = NO_VALUE;
+            statusIds[size] = NO_VALUE;
+            priorityIds[size] = NO_VALUE;
+            assigneeIds[size] = NO_VALUE;
+            authorIds[size] = NO_VALUE;
+            doneRatios[size] = NO_VALUE;
+            estimatedHours[size] = Float.NaN;
+            spentHours[size] = Float.NaN;
+            startDates[size] = NO_DATE;
+            dueDates[size] = NO_DATE;
+            createdOn[size] = NO_DATE;
+            updatedOn[size] = NO_DATE;
+            closedOn[size] = NO_DATE;
+            size++;
+            projectNames.add(null);
+            trackerNames.add(null);
+            statusNames.add(null);
+            priorityNames.add(null);
+            assigneeNames.add(null);
+            return this;
+        }
+
+        public Builder project(int id, String name) {
+            projectIds[last()] = id;
+            projectNames.set(last(), name);
+            return this;
+        }
+
+        public Builder tracker(int id, String name) {
+            trackerIds[last()] = id;
+            trackerNames.set(last(), name);
+            return this;
+        }
+
+        public Builder status(int id, String name) {
+            statusIds[last()] = id;
+            statusNames.set(last(), name);
+            return this;
+        }
+
+        public Builder priority(int id, String name) {
+            priorityIds[last()] = id;
+            priorityNames.set(last(), name);
+            return this;
+        }
+
+        public Builder assignee(int id, String name) {
+            assigneeIds[last()] = id;
+            assigneeNames.set(last(), name);
+            return this;
+        }
+
+        public Builder author(int id) {
+            authorIds[last()] = id;
+            return this;
+        }
+
+        public Builder doneRatio(int doneRatio) {
+            doneRatios[last()] = doneRatio;
+            return this;
+        }
+
+        public Builder estimatedHours(float hours) {
+            estimatedHours[last()] = hours;
+            return this;
+        }
+
+        public Builder spentHours(float hours) {
+            spentHours[last()] = hours;
+            return this;
+        }
+
+        public Builder startDate(long millis) {
+            startDates[last()] = millis;
+            return this;
+        }
+
+        public Builder dueDate(long millis) {
+            dueDates[last()] = millis;
+            return this;
+        }
+
+        public Builder createdOn(long millis) {
+            createdOn[last()] = millis;
+            return this;
+        }
+
+        public Builder updatedOn(long millis) {
+            updatedOn[last()] = millis;
+            return this;
+        }
+
+        public Builder closedOn(long millis) {
+            closedOn[last()] = millis;
+            return this;
+        }
+
+        /**
+         * @return number of rows added so far.
+         */
+        public int size() {
+            return size;
+        }
+
+        /**
+         * @return table holding rows added so far. The builder may be used further.
+         */
+        public IssueTable build() {
+            return new IssueTable(this);
+        }
+
+        private int last() {
+            if (size == 0) {
+                throw new IllegalStateException("addRow() must be called before setting values");
+            }
+            return size - 1;
+        }
+
+        private void grow(int capacity) {
+            ids = Arrays.copyOf(ids, capacity);
+            projectIds = Arrays.copyOf(projectIds, capacity);
+            trackerIds = Arrays.copyOf(trackerIds, capacity);
+            statusIds = Arrays.copyOf(statusIds, capacity);
+            priorityIds = Arrays.copyOf(priorityIds, capacity);
+            assigneeIds = Arrays.copyOf(assigneeIds, capacity);
+            authorIds = Arrays.copyOf(authorIds, capacity);
+            doneRatios = Arrays.copyOf(doneRatios, capacity);
+            estimatedHours = Arrays.copyOf(estimatedHours, capacity);
+            spentHours = Arrays.copyOf(spentHours, capacity);
+            startDates = Arrays.copyOf(startDates, capacity);
+            dueDates = Arrays.copyOf(dueDates, capacity);
+            createdOn = Arrays.copyOf(createdOn, capacity);
+            updatedOn = Arrays.copyOf(updatedOn, capacity);
+            closedOn = Arrays.copyOf(closedOn, capacity);
+        }
+    }
+
+    /**
+     * String column under construction.
+     */
+    private static final class Dictionary {
+        private final Map<String, Integer> codes = new HashMap<>();
+        private String[] values = new String[16];
+        private int[] rows = new int[Builder.INITIAL_CAPACITY];
+        private int size;
+
+        void add(String value) {
+            if (size == rows.length) {
+                rows = Arrays.copyOf(rows, size * 2);
+            }
+            size++;
+            set(size - 1, value);
+        }
+
+        void set(int row, String value) {
+            rows[row] = value == null ? NO_VALUE : codes.computeIfAbsent(value, this::newCode);
+        }
+
+        StringColumn build(int size) {
+            return new StringColumn(Arrays.copyOf(rows, size), Arrays.copyOf(values, codes.size()));
+        }
+
+        private int newCode(String value) {
+            final int code = codes.size();
+            if (code == values.length) {
+                values = Arrays.copyOf(values, code * 2);
+            }
+            values[code] = value;
+            return code;
+        }
+    }
+}
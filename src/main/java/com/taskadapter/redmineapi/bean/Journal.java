@@ -1,5 +1,6 @@
 package com.taskadapter.redmineapi.bean;
 
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -9,23 +10,35 @@ import java.util.List;
 /**
  * Redmine issue journal field
  */
-public class Journal {
+public class Journal implements Snapshottable<Journal> {
 
-    private final PropertyStorage storage = new PropertyStorage();
+    private final PropertyStorage storage;
 
     /**
      * database numeric ID.
      */
-    public final static Property<Integer> DATABASE_ID = new Property<>(Integer.class, "id");
-    public final static Property<String> NOTES = new Property<String>(String.class, "notes");
-    public final static Property<User> USER = new Property<>(User.class, "user");
-    public final static Property<Date> CREATED_ON = new Property<>(Date.class, "createdOn");
-    public final static Property<List<JournalDetail>> DETAILS = (Property<List<JournalDetail>>) new Property(List.class, "details");
+    public final static Property<Integer> DATABASE_ID = new Property<>(Journal.class, Integer.class, "id");
+    public final static Property<String> NOTES = new Property<String>(Journal.class, String.class, "notes");
+    public final static Property<User> USER = new Property<>(Journal.class, User.class, "user");
+    public final static Property<Date> CREATED_ON = new Property<>(Journal.class, Date.class, "createdOn");
+    public final static Property<List<JournalDetail>> DETAILS = (Property<List<JournalDetail>>) new Property(Journal.class, List.class, "details");
 
     public Journal() {
+        storage = new PropertyStorage();
         storage.set(DETAILS, new ArrayList<>());
     }
 
+    private Journal(PropertySource source) {
+        storage = new PropertyStorage(source);
+    }
+
+    /**
+     * Creates a journal which decodes its properties from the given source on first access.
+     */
+    public static Journal lazy(PropertySource source) {
+        return new Journal(source);
+    }
+
     /**
      * @param id database ID.
      */
@@ -42,6 +55,10 @@ public class Journal {
         storage.set(CREATED_ON, createdOn);
     }
 
+    public Instant getCreatedOnInstant() {
+        return Dates.toInstant(getCreatedOn());
+    }
+
     public Integer getId() {
         return storage.get(DATABASE_ID);
     }
@@ -70,6 +87,25 @@ public class Journal {
         storage.get(DETAILS).addAll(details);
     }
 
+    public PropertyStorage getStorage() {
+        return storage;
+    }
+
+    @Override
+    public Journal snapshot() {
+        if (isSnapshot()) {
+            return this;
+        }
+        final Journal result = new Journal();
+        result.storage.freezeCopyOf(storage);
+        return result;
+    }
+
+    @Override
+    public boolean isSnapshot() {
+        return storage.isFrozen();
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
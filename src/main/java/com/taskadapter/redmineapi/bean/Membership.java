@@ -5,36 +5,35 @@ import com.taskadapter.redmineapi.internal.Transport;
 
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.Set;
 
 /**
  * User or group membership.
  */
-public class Membership implements Identifiable, FluentStyle {
+public class Membership implements Identifiable, FluentStyle, Snapshottable<Membership> {
 
 	private final PropertyStorage storage= new PropertyStorage();
 
 	/**
 	 * database numeric ID.
 	 */
-	public final static Property<Integer> DATABASE_ID = new Property<>(Integer.class, "id");
-	public final static Property<Project> PROJECT = new Property<>(Project.class, "project");
+	public final static Property<Integer> DATABASE_ID = new Property<>(Membership.class, Integer.class, "id");
+	public final static Property<Project> PROJECT = new Property<>(Membership.class, Project.class, "project");
 	/**
 	 * User. Not set for "group" membership.
 	 */
-	public final static Property<Integer> USER_ID = new Property<>(Integer.class, "userId");
-        public final static Property<String> USER_NAME = new Property<>(String.class, "userName");
+	public final static Property<Integer> USER_ID = new Property<>(Membership.class, Integer.class, "userId");
+        public final static Property<String> USER_NAME = new Property<>(Membership.class, String.class, "userName");
         /**
          * Group. Not set for "user" membership.
          */
-	public final static Property<Integer> GROUP_ID = new Property<>(Integer.class, "groupId");
-        public final static Property<String> GROUP_NAME = new Property<>(String.class, "groupName");
-	public final static Property<Set<Role>> ROLES = (Property<Set<Role>>) new Property(Set.class, "roles");
+	public final static Property<Integer> GROUP_ID = new Property<>(Membership.class, Integer.class, "groupId");
+        public final static Property<String> GROUP_NAME = new Property<>(Membership.class, String.class, "groupName");
+	public final static Property<Set<Role>> ROLES = (Property<Set<Role>>) new Property(Membership.class, Set.class, "roles");
 	private Transport transport;
 
 	public Membership(Transport transport) {
-		storage.set(ROLES, new HashSet<>());
+		storage.setEmptySet(ROLES);
 		setTransport(transport);
 	}
 
@@ -135,6 +134,21 @@ public class Membership implements Identifiable, FluentStyle {
 		return storage;
 	}
 
+	@Override
+	public Membership snapshot() {
+		if (isSnapshot()) {
+			return this;
+		}
+		final Membership result = new Membership(null);
+		result.storage.freezeCopyOf(storage);
+		return result;
+	}
+
+	@Override
+	public boolean isSnapshot() {
+		return storage.isFrozen();
+	}
+
 	/**
 	 * Required attributes: 1) project    2) either userId/groupId or roles collection
 	 */
@@ -150,6 +164,7 @@ public class Membership implements Identifiable, FluentStyle {
 
 	public void update() throws RedmineException {
 		transport.updateObject(this);
+		PropertyStorageUtil.clearChanges(storage);
 	}
 
 	/**
@@ -161,6 +176,9 @@ public class Membership implements Identifiable, FluentStyle {
 
 	@Override
 	public void setTransport(Transport transport) {
+		if (isSnapshot()) {
+			return;
+		}
 		this.transport = transport;
 		PropertyStorageUtil.updateCollections(storage, transport);
 	}
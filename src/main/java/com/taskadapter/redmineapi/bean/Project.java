@@ -8,12 +8,13 @@ import com.taskadapter.redmineapi.internal.Transport;
 
 import java.io.Serial;
 import java.io.Serializable;
+import java.time.Instant;
 import java.util.*;
 
 /**
  * Redmine Project.
  */
-public class Project implements Identifiable, Serializable, FluentStyle {
+public class Project implements Identifiable, Serializable, FluentStyle, Snapshottable<Project> {
 	@Serial
     private static final long serialVersionUID = 4529305420978716446L;
 
@@ -22,40 +23,40 @@ public class Project implements Identifiable, Serializable, FluentStyle {
     /**
      * database ID
      */
-    public final static Property<Integer> DATABASE_ID = new Property<>(Integer.class, "id");
+    public final static Property<Integer> DATABASE_ID = new Property<>(Project.class, Integer.class, "id");
 
     /**
      * String "identifier" (human-readable name without spaces and other extra stuff)
      */
-    public final static Property<String> STRING_IDENTIFIER = new Property<>(String.class, "identifier");
+    public final static Property<String> STRING_IDENTIFIER = new Property<>(Project.class, String.class, "identifier");
 
     /**
      * Can contain any symbols
      */
-    public final static Property<String> NAME = new Property<>(String.class, "name");
-    public final static Property<String> DESCRIPTION = new Property<>(String.class, "description");
-    public final static Property<String> HOMEPAGE = new Property<>(String.class, "homepage");
-    public final static Property<Date> CREATED_ON = new Property<>(Date.class, "createdOn");
-    public final static Property<Date> UPDATED_ON = new Property<>(Date.class, "updatedOn");
+    public final static Property<String> NAME = new Property<>(Project.class, String.class, "name");
+    public final static Property<String> DESCRIPTION = new Property<>(Project.class, String.class, "description");
+    public final static Property<String> HOMEPAGE = new Property<>(Project.class, String.class, "homepage");
+    public final static Property<Date> CREATED_ON = new Property<>(Project.class, Date.class, "createdOn");
+    public final static Property<Date> UPDATED_ON = new Property<>(Project.class, Date.class, "updatedOn");
 
     /**
      * This is the *database ID*, not a String-based key.
      */
-    public final static Property<Integer> PARENT_DATABASE_ID = new Property<>(Integer.class, "parentId");
-    public final static Property<Integer> STATUS = new Property<>(Integer.class, "status");
-    public final static Property<Boolean> PUBLIC = new Property<>(Boolean.class, "public");
-    public final static Property<Boolean> INHERIT_MEMBERS = new Property<>(Boolean.class, "inheritMembers");
-    public final static Property<Set<CustomField>> CUSTOM_FIELDS = (Property<Set<CustomField>>) new Property(Set.class, "customFields");
+    public final static Property<Integer> PARENT_DATABASE_ID = new Property<>(Project.class, Integer.class, "parentId");
+    public final static Property<Integer> STATUS = new Property<>(Project.class, Integer.class, "status");
+    public final static Property<Boolean> PUBLIC = new Property<>(Project.class, Boolean.class, "public");
+    public final static Property<Boolean> INHERIT_MEMBERS = new Property<>(Project.class, Boolean.class, "inheritMembers");
+    public final static Property<Set<CustomField>> CUSTOM_FIELDS = (Property<Set<CustomField>>) new Property(Project.class, Set.class, "customFields");
 
     /**
      * Trackers available for this project
      */
-    public final static Property<Set<Tracker>> TRACKERS = (Property<Set<Tracker>>) new Property(Set.class, "trackers");
+    public final static Property<Set<Tracker>> TRACKERS = (Property<Set<Tracker>>) new Property(Project.class, Set.class, "trackers");
     private Transport transport;
 
     public Project(Transport transport) {
         this.transport = transport;
-        storage.set(CUSTOM_FIELDS, new HashSet<>());
+        storage.setEmptySet(CUSTOM_FIELDS);
     }
 
     public Project(Transport transport, String name, String key) {
@@ -131,6 +132,7 @@ public class Project implements Identifiable, Serializable, FluentStyle {
     	if (!storage.isPropertySet(TRACKERS)) //checks because trackers storage is not created for new projects
     		storage.set(TRACKERS, new HashSet<>());
         storage.get(TRACKERS).addAll(trackers);
+        storage.markChanged(TRACKERS);
         return this;
     }
 
@@ -176,6 +178,10 @@ public class Project implements Identifiable, Serializable, FluentStyle {
         return this;
     }
 
+    public Instant getCreatedOnInstant() {
+        return Dates.toInstant(getCreatedOn());
+    }
+
     public Date getUpdatedOn() {
         return storage.get(UPDATED_ON);
     }
@@ -185,6 +191,10 @@ public class Project implements Identifiable, Serializable, FluentStyle {
         return this;
     }
 
+    public Instant getUpdatedOnInstant() {
+        return Dates.toInstant(getUpdatedOn());
+    }
+
     /**
      * Redmine's REST API "get project" operation does NOT return the 
      * parent project ID in redmine 1.1.2 (and maybe earlier). Which means 
@@ -295,8 +305,26 @@ public class Project implements Identifiable, Serializable, FluentStyle {
         return storage;
     }
 
+    @Override
+    public Project snapshot() {
+        if (isSnapshot()) {
+            return this;
+        }
+        final Project result = new Project(null);
+        result.storage.freezeCopyOf(storage);
+        return result;
+    }
+
+    @Override
+    public boolean isSnapshot() {
+        return storage.isFrozen();
+    }
+
     @Override
     public void setTransport(Transport transport) {
+        if (isSnapshot()) {
+            return;
+        }
         this.transport = transport;
         PropertyStorageUtil.updateCollections(storage, transport);
     }
@@ -336,6 +364,7 @@ public class Project implements Identifiable, Serializable, FluentStyle {
 
     public void update() throws RedmineException {
         transport.updateObject(this);
+        PropertyStorageUtil.clearChanges(storage);
     }
 
     /**
@@ -4,10 +4,17 @@ public class Property<T> {
 
     private final Class<T> type;
     private final String name;
+    final PropertyLayout layout;
+    final int slot;
 
-    Property(Class<T> type, String name) {
+    /**
+     * @param owner bean class declaring the property as a constant, defines the slot of the property.
+     */
+    Property(Class<?> owner, Class<T> type, String name) {
         this.type = type;
         this.name = name;
+        this.layout = PropertyLayout.of(owner);
+        this.slot = layout.add(this);
     }
 
     public final String getName() {
@@ -25,4 +32,4 @@ public class Property<T> {
                 ", name='" + name + '\'' +
                 '}';
     }
-}
\ No newline at end of file
+}
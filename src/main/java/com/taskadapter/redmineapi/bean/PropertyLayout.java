@@ -0,0 +1,52 @@
+package com.taskadapter.redmineapi.bean;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Slot numbering of the properties declared by one bean class.
+ * <p>
+ * Every {@link Property} gets the next free slot of the class declaring it, so a {@link PropertyStorage} can keep
+ * values in a plain array and remember set properties in a bit mask.
+ */
+final class PropertyLayout {
+    /** Size of the bit mask used by {@link PropertyStorage}. */
+    static final int MAX_PROPERTIES = 64;
+
+    private static final ConcurrentMap<Class<?>, PropertyLayout> LAYOUTS = new ConcurrentHashMap<>();
+
+    private final Class<?> owner;
+    private final Property<?>[] properties = new Property<?>[MAX_PROPERTIES];
+    private volatile int size;
+
+    private PropertyLayout(Class<?> owner) {
+        this.owner = owner;
+    }
+
+    static PropertyLayout of(Class<?> owner) {
+        return LAYOUTS.computeIfAbsent(owner, PropertyLayout::new);
+    }
+
+    /**
+     * @return slot of a newly declared property.
+     */
+    synchronized int add(Property<?> property) {
+        if (size == MAX_PROPERTIES) {
+            throw new IllegalStateException("Class " + owner.getName() + " declares more than "
+                    + MAX_PROPERTIES + " properties");
+        }
+        properties[size] = property;
+        return size++;
+    }
+
+    Property<?> get(int slot) {
+        return properties[slot];
+    }
+
+    /**
+     * @return number of properties declared so far.
+     */
+    int size() {
+        return size;
+    }
+}
@@ -0,0 +1,29 @@
+package com.taskadapter.redmineapi.bean;
+
+import java.util.Set;
+
+/**
+ * Provides property values which are decoded only when they are first requested.
+ *
+ * @see PropertyStorage
+ */
+public interface PropertySource {
+
+    /**
+     * @return properties this source can provide.
+     */
+    Set<Property<?>> getProperties();
+
+    /**
+     * @return <code>true</code> if the source holds a value of the property, e.g. the json of the object has a
+     * member for it. Other properties of the source load as defaults and are not reported as set.
+     */
+    boolean contains(Property<?> property);
+
+    /**
+     * Decodes a property value. Called at most once for each property, the storage caches the result.
+     *
+     * @param property one of {@link #getProperties()}.
+     */
+    Object load(Property<?> property);
+}
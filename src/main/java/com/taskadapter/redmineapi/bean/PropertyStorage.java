@@ -1,25 +1,376 @@
 package com.taskadapter.redmineapi.bean;
 
+import com.taskadapter.redmineapi.internal.Transport;
+
+import java.lang.invoke.VarHandle;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 
+/**
+ * Property values of a bean.
+ * <p>
+ * Values are kept in an array indexed by the property slot (see {@link PropertyLayout}), set properties are
+ * marked in a bit mask. The array is allocated on the first write. Properties declared by another class than
+ * the first one written (which beans do not do) fall back to a map.
+ * <p>
+ * A storage may be backed by a {@link PropertySource}. Values of such storage are loaded from the source
+ * on first access and cached. Values set explicitly take precedence over the source. Properties which the source
+ * does not contain are read as the defaults of a parsed object, but are not reported as set.
+ * <p>
+ * Storages of objects loaded from the server track changes: {@link #getChanges()} then holds only properties set
+ * after loading, so updates do not resend unchanged values. Storages of objects created locally report all set
+ * properties as changed until {@link #clearChanges()} is called.
+ * <p>
+ * A frozen storage (see {@link #freezeAll()}) is immutable and never changes its state on reads, so it can be
+ * read from many threads.
+ */
 public final class PropertyStorage {
-    private final Map<Property<?>, Object> map = new HashMap<>();
+    /** Marks an empty set which is created on first access. */
+    private static final Object EMPTY_SET = new Object();
+
+    private PropertyLayout layout;
+    private Object[] values;
+    private long setMask;
+    private long changedMask;
+    /** Properties loaded from a source which does not contain them, holding defaults. */
+    private long defaultMask;
+    private boolean tracking;
+    private Map<Property<?>, Object> foreign;
+
+    private final PropertySource source;
+    private Transport transport;
+    private boolean frozen;
+
+    public PropertyStorage() {
+        this(null);
+    }
+
+    PropertyStorage(PropertySource source) {
+        this.source = source;
+        this.tracking = source != null;
+    }
 
     public final <T> T get(Property<T> prop) {
-        return prop.getType().cast(map.get(prop));
+        if (source != null && !isSet(prop) && source.getProperties().contains(prop)) {
+            load(prop);
+        }
+        return prop.getType().cast(value(prop));
     }
 
     final <T> void set(Property<T> prop, T value) {
-        map.put(prop, value);
+        if (frozen) {
+            throw new UnsupportedOperationException("Property " + prop.getName() + " of a shared object cannot be modified");
+        }
+        put(prop, value);
+        if (isLocal(prop)) {
+            changedMask |= 1L << prop.slot;
+            defaultMask &= ~(1L << prop.slot);
+        }
+    }
+
+    /**
+     * Sets an empty set. The set is only created when the property is read.
+     */
+    final void setEmptySet(Property<? extends Set<?>> prop) {
+        set(prop, null);
+        if (isLocal(prop)) {
+            values[prop.slot] = EMPTY_SET;
+        } else {
+            foreign.put(prop, new HashSet<>());
+        }
     }
 
     public final boolean isPropertySet(Property<?> property) {
-        return map.containsKey(property);
+        if (isSet(property)) {
+            return !isLocal(property) || (defaultMask & (1L << property.slot)) == 0;
+        }
+        return source != null && source.contains(property);
     }
 
+    /**
+     * Loads all pending values of a lazy storage.
+     */
     public Set<Map.Entry<Property<?>, Object>> getProperties() {
-        return map.entrySet();
+        loadAll();
+        return new Entries(true);
+    }
+
+    /**
+     * @return values which are already set or loaded. Unlike {@link #getProperties()} does not load
+     * anything from the source and skips empty sets which are not created yet.
+     */
+    Set<Map.Entry<Property<?>, Object>> getLoadedProperties() {
+        return new Entries(false);
+    }
+
+    /**
+     * @return <code>true</code> if the property is set and was changed since the object was loaded. Properties of
+     * locally created objects are changed once they are set.
+     */
+    public final boolean isPropertyChanged(Property<?> property) {
+        if (!isSet(property)) {
+            return false;
+        }
+        /* Properties of other classes are not tracked */
+        return !tracking || !isLocal(property) || (changedMask & (1L << property.slot)) != 0;
+    }
+
+    /**
+     * @return <code>true</code> if any property is changed, see {@link #isPropertyChanged(Property)}.
+     */
+    public final boolean hasChanges() {
+        if (foreign != null && !foreign.isEmpty()) {
+            return true;
+        }
+        return tracking ? changedMask != 0 : setMask != 0;
+    }
+
+    /**
+     * @return storage holding changed properties only. This storage if changes are not tracked.
+     */
+    public PropertyStorage getChanges() {
+        if (!tracking) {
+            return this;
+        }
+        final PropertyStorage result = new PropertyStorage();
+        if (layout != null) {
+            for (int slot = 0; slot < values.length; slot++) {
+                if ((changedMask & (1L << slot)) != 0) {
+                    result.put(layout.get(slot), values[slot]);
+                }
+            }
+        }
+        if (foreign != null) {
+            foreign.forEach(result::put);
+        }
+        return result;
+    }
+
+    /**
+     * Starts tracking changes (if not tracked yet) and forgets changes made so far. Called for objects loaded
+     * from the server and after successful updates.
+     */
+    public void clearChanges() {
+        tracking = true;
+        changedMask = 0;
+    }
+
+    /**
+     * Marks a collection property as changed after its content was modified in place.
+     */
+    final void markChanged(Property<?> property) {
+        if (isLocal(property) && isSet(property)) {
+            changedMask |= 1L << property.slot;
+        }
+    }
+
+    /**
+     * Makes all further {@link #set(Property, Object)} calls fail.
+     */
+    void freeze() {
+        frozen = true;
+    }
+
+    /**
+     * Makes this storage deeply immutable in place: loads pending lazy values, replaces collections with
+     * unmodifiable ones and freezes nested {@link Snapshottable} beans the same way. Does nothing if the
+     * storage is frozen already.
+     */
+    public void freezeAll() {
+        if (frozen) {
+            return;
+        }
+        loadAll();
+        freezeValues(true);
+    }
+
+    /**
+     * Copies all values of the other storage into this one and freezes it. Unlike {@link #freezeAll()},
+     * collections and nested beans are copied, the other storage stays modifiable.
+     */
+    void freezeCopyOf(PropertyStorage other) {
+        for (Map.Entry<Property<?>, Object> entry : other.getProperties()) {
+            put(entry.getKey(), entry.getValue());
+        }
+        if (other.layout == layout) {
+            defaultMask = other.defaultMask;
+        }
+        freezeValues(false);
+    }
+
+    public boolean isFrozen() {
+        return frozen;
+    }
+
+    private void freezeValues(boolean inPlace) {
+        /* Set first: nested beans may refer back to this one */
+        frozen = true;
+        transport = null;
+        if (layout != null) {
+            for (int slot = 0; slot < values.length; slot++) {
+                if ((setMask & (1L << slot)) != 0) {
+                    values[slot] = immutable(values[slot], inPlace);
+                }
+            }
+        }
+        if (foreign != null) {
+            foreign.replaceAll((property, value) -> immutable(value, inPlace));
+        }
+        /* Same guarantee as for final fields: values are visible to threads which see the frozen storage */
+        VarHandle.releaseFence();
+    }
+
+    private static Object immutable(Object value, boolean inPlace) {
+        if (value == EMPTY_SET) {
+            return Collections.emptySet();
+        }
+        if (value instanceof Snapshottable) {
+            final Snapshottable<?> bean = (Snapshottable<?>) value;
+            if (!inPlace) {
+                return bean.snapshot();
+            }
+            bean.getStorage().freezeAll();
+            return bean;
+        }
+        if (value instanceof Tracker) {
+            return ((Tracker) value).frozenCopy();
+        }
+        if (value instanceof IntList) {
+            return ((IntList) value).frozenCopy();
+        }
+        if (value instanceof Set) {
+            final Set<Object> result = new LinkedHashSet<>();
+            for (Object element : (Set<?>) value) {
+                result.add(immutable(element, inPlace));
+            }
+            return Collections.unmodifiableSet(result);
+        }
+        if (value instanceof Collection) {
+            final List<Object> result = new ArrayList<>();
+            for (Object element : (Collection<?>) value) {
+                result.add(immutable(element, inPlace));
+            }
+            return Collections.unmodifiableList(result);
+        }
+        return value;
+    }
+
+    /**
+     * Remembers transport to set on collection elements which are loaded later.
+     */
+    void setTransport(Transport transport) {
+        this.transport = transport;
+    }
+
+    private void loadAll() {
+        if (source != null) {
+            for (Property<?> property : source.getProperties()) {
+                if (!isSet(property)) {
+                    load(property);
+                }
+            }
+        }
+    }
+
+    private void load(Property<?> property) {
+        /* asked first, the source may release its content with the last value */
+        final boolean contained = source.contains(property);
+        final Object value = source.load(property);
+        if (transport != null && value instanceof Collection) {
+            PropertyStorageUtil.updateCollection((Collection<?>) value, transport);
+        }
+        put(property, value);
+        if (isLocal(property) && !contained) {
+            defaultMask |= 1L << property.slot;
+        }
+    }
+
+    private void put(Property<?> prop, Object value) {
+        if (layout == null) {
+            layout = prop.layout;
+            values = new Object[layout.size()];
+        }
+        if (prop.layout != layout) {
+            if (foreign == null) {
+                foreign = new HashMap<>();
+            }
+            foreign.put(prop, value);
+            return;
+        }
+        if (prop.slot >= values.length) {
+            /* The class was still declaring properties when the storage was created */
+            final Object[] grown = new Object[layout.size()];
+            System.arraycopy(values, 0, grown, 0, values.length);
+            values = grown;
+        }
+        values[prop.slot] = value;
+        setMask |= 1L << prop.slot;
+    }
+
+    private boolean isLocal(Property<?> prop) {
+        return prop.layout == layout;
+    }
+
+    private boolean isSet(Property<?> prop) {
+        if (isLocal(prop)) {
+            return (setMask & (1L << prop.slot)) != 0;
+        }
+        return foreign != null && foreign.containsKey(prop);
+    }
+
+    private Object value(Property<?> prop) {
+        if (!isLocal(prop)) {
+            return foreign == null ? null : foreign.get(prop);
+        }
+        if ((setMask & (1L << prop.slot)) == 0) {
+            return null;
+        }
+        Object result = values[prop.slot];
+        if (result == EMPTY_SET) {
+            result = new HashSet<>();
+            values[prop.slot] = result;
+        }
+        return result;
+    }
+
+    /**
+     * Snapshot of set properties in slot order.
+     */
+    private final class Entries extends AbstractSet<Map.Entry<Property<?>, Object>> {
+        private final List<Map.Entry<Property<?>, Object>> entries = new ArrayList<>();
+
+        Entries(boolean includeEmptySets) {
+            if (layout != null) {
+                for (int slot = 0; slot < values.length; slot++) {
+                    if ((setMask & (1L << slot)) != 0 && (includeEmptySets || values[slot] != EMPTY_SET)) {
+                        final Property<?> property = layout.get(slot);
+                        entries.add(new AbstractMap.SimpleImmutableEntry<>(property, value(property)));
+                    }
+                }
+            }
+            if (foreign != null) {
+                entries.addAll(foreign.entrySet());
+            }
+        }
+
+        @Override
+        public Iterator<Map.Entry<Property<?>, Object>> iterator() {
+            return entries.iterator();
+        }
+
+        @Override
+        public int size() {
+            return entries.size();
+        }
     }
 }
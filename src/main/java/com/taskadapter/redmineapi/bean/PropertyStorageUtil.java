@@ -8,19 +8,40 @@ public class PropertyStorageUtil {
     /**
      * go over all properties in the storage and set `transport` on FluentStyle instances inside collections, if any.
      * only process one level, without recursion - to avoid potential cycles and such.
+     * Lazy values which are not loaded yet get the transport when they are loaded.
      */
     public static void updateCollections(PropertyStorage storage, Transport transport) {
-        storage.getProperties().forEach(e -> {
+        storage.setTransport(transport);
+        storage.getLoadedProperties().forEach(e -> {
             if (Collection.class.isAssignableFrom(e.getKey().getType())) {
                 // found a collection in properties
-                ((Collection) e.getValue()).forEach(i -> {
-                    if (i instanceof FluentStyle) {
-                        ((FluentStyle) i).setTransport(transport);
-                    }
-                });
+                updateCollection((Collection) e.getValue(), transport);
+            }
+
+        });
+    }
 
+    /**
+     * Clears changes of the storage and of the custom fields in its collections, after a successful update.
+     */
+    public static void clearChanges(PropertyStorage storage) {
+        storage.clearChanges();
+        storage.getLoadedProperties().forEach(e -> {
+            if (e.getValue() instanceof Collection) {
+                for (Object item : (Collection<?>) e.getValue()) {
+                    if (item instanceof CustomField) {
+                        ((CustomField) item).getStorage().clearChanges();
+                    }
+                }
             }
+        });
+    }
 
+    static void updateCollection(Collection<?> collection, Transport transport) {
+        collection.forEach(i -> {
+            if (i instanceof FluentStyle) {
+                ((FluentStyle) i).setTransport(transport);
+            }
         });
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,23 @@
+package com.taskadapter.redmineapi.bean;
+
+/**
+ * Bean which can create an immutable snapshot of itself.
+ * <p>
+ * A snapshot has no transport and cannot be modified: setters and "add" methods throw
+ * {@link UnsupportedOperationException}, collections are unmodifiable and nested beans are snapshots too.
+ * Snapshots may be published to other threads and shared through caches without copying. Values which are
+ * not beans, like dates, are shared with the original object and must not be modified.
+ *
+ * @param <T> bean type.
+ */
+public interface Snapshottable<T> {
+
+    /**
+     * @return immutable copy of this object, or this object if it is a snapshot already.
+     */
+    T snapshot();
+
+    boolean isSnapshot();
+
+    PropertyStorage getStorage();
+}
@@ -3,46 +3,48 @@ package com.taskadapter.redmineapi.bean;
 import com.taskadapter.redmineapi.RedmineException;
 import com.taskadapter.redmineapi.internal.Transport;
 
+import java.time.Instant;
+import java.time.LocalDate;
 import java.util.Collection;
 import java.util.Date;
 import java.util.HashSet;
 import java.util.Set;
 
-public class TimeEntry implements Identifiable, FluentStyle {
+public class TimeEntry implements Identifiable, FluentStyle, Snapshottable<TimeEntry> {
 
     private final PropertyStorage storage = new PropertyStorage();
 
     /**
      * database numeric Id
      */
-    public final static Property<Integer> DATABASE_ID = new Property<>(Integer.class, "id");
+    public final static Property<Integer> DATABASE_ID = new Property<>(TimeEntry.class, Integer.class, "id");
 
     /**
      * database Id of the Issue
      */
-    public final static Property<Integer> ISSUE_ID = new Property<>(Integer.class, "issueId");
+    public final static Property<Integer> ISSUE_ID = new Property<>(TimeEntry.class, Integer.class, "issueId");
 
     /**
      * database Id of the project
      */
-    public final static Property<Integer> PROJECT_ID = new Property<>(Integer.class, "projectId");
-
-    public final static Property<String> PROJECT_NAME = new Property<>(String.class, "projectName");
-    public final static Property<String> USER_NAME = new Property<>(String.class, "userName");
-    public final static Property<Integer> USER_ID = new Property<>(Integer.class, "userId");
-    public final static Property<String> ACTIVITY_NAME = new Property<>(String.class, "activityName");
-    public final static Property<Integer> ACTIVITY_ID = new Property<>(Integer.class, "activityId");
-    public final static Property<Float> HOURS = new Property<>(Float.class, "hours");
-    public final static Property<String> COMMENT = new Property<>(String.class, "comment");
-    public final static Property<Date> SPENT_ON = new Property<>(Date.class, "spentOn");
-    public final static Property<Date> CREATED_ON = new Property<>(Date.class, "createdOn");
-    public final static Property<Date> UPDATED_ON = new Property<>(Date.class, "updatedOn");
-    public static final Property<Set<CustomField>> CUSTOM_FIELDS = new Property(Set.class, "custom_fields");
+    public final static Property<Integer> PROJECT_ID = new Property<>(TimeEntry.class, Integer.class, "projectId");
+
+    public final static Property<String> PROJECT_NAME = new Property<>(TimeEntry.class, String.class, "projectName");
+    public final static Property<String> USER_NAME = new Property<>(TimeEntry.class, String.class, "userName");
+    public final static Property<Integer> USER_ID = new Property<>(TimeEntry.class, Integer.class, "userId");
+    public final static Property<String> ACTIVITY_NAME = new Property<>(TimeEntry.class, String.class, "activityName");
+    public final static Property<Integer> ACTIVITY_ID = new Property<>(TimeEntry.class, Integer.class, "activityId");
+    public final static Property<Float> HOURS = new Property<>(TimeEntry.class, Float.class, "hours");
+    public final static Property<String> COMMENT = new Property<>(TimeEntry.class, String.class, "comment");
+    public final static Property<Date> SPENT_ON = new Property<>(TimeEntry.class, Date.class, "spentOn");
+    public final static Property<Date> CREATED_ON = new Property<>(TimeEntry.class, Date.class, "createdOn");
+    public final static Property<Date> UPDATED_ON = new Property<>(TimeEntry.class, Date.class, "updatedOn");
+    public static final Property<Set<CustomField>> CUSTOM_FIELDS = new Property(TimeEntry.class, Set.class, "custom_fields");
     private Transport transport;
 
     public TimeEntry(Transport transport) {
         setTransport(transport);
-        storage.set(CUSTOM_FIELDS, new HashSet<>());
+        storage.setEmptySet(CUSTOM_FIELDS);
     }
 
     /**
@@ -136,6 +138,14 @@ public class TimeEntry implements Identifiable, FluentStyle {
         return this;
     }
 
+    public LocalDate getSpentOnLocalDate() {
+        return Dates.toLocalDate(getSpentOn());
+    }
+
+    public TimeEntry setSpentOnLocalDate(LocalDate spentOn) {
+        return setSpentOn(Dates.fromLocalDate(spentOn));
+    }
+
     public Date getCreatedOn() {
         return storage.get(CREATED_ON);
     }
@@ -144,6 +154,10 @@ public class TimeEntry implements Identifiable, FluentStyle {
         storage.set(CREATED_ON, createdOn);
     }
 
+    public Instant getCreatedOnInstant() {
+        return Dates.toInstant(getCreatedOn());
+    }
+
     public Date getUpdatedOn() {
         return storage.get(UPDATED_ON);
     }
@@ -152,6 +166,10 @@ public class TimeEntry implements Identifiable, FluentStyle {
         storage.set(UPDATED_ON, updatedOn);
     }
 
+    public Instant getUpdatedOnInstant() {
+        return Dates.toInstant(getUpdatedOn());
+    }
+
     public String getUserName() {
         return storage.get(USER_NAME);
     }
@@ -211,8 +229,26 @@ public class TimeEntry implements Identifiable, FluentStyle {
         return storage;
     }
 
+    @Override
+    public TimeEntry snapshot() {
+        if (isSnapshot()) {
+            return this;
+        }
+        final TimeEntry result = new TimeEntry(null);
+        result.storage.freezeCopyOf(storage);
+        return result;
+    }
+
+    @Override
+    public boolean isSnapshot() {
+        return storage.isFrozen();
+    }
+
     @Override
     public void setTransport(Transport transport) {
+        if (isSnapshot()) {
+            return;
+        }
         this.transport = transport;
         PropertyStorageUtil.updateCollections(storage, transport);
     }
@@ -226,6 +262,7 @@ public class TimeEntry implements Identifiable, FluentStyle {
     public void update() throws RedmineException {
         validate(this);
         transport.updateObject(this);
+        PropertyStorageUtil.clearChanges(storage);
     }
 
 
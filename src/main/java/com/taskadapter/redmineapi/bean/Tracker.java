@@ -12,11 +12,23 @@ public class Tracker implements Identifiable, Serializable {
      */
     private Integer id;
     private String name;
+    /** Serialized as well, so a shared tracker stays unmodifiable when it is read back. */
+    private boolean frozen;
+
+    /**
+     * Creates an unmodifiable tracker which can be shared between issues referring to it.
+     */
+    public static Tracker reference(Integer id, String name) {
+        final Tracker result = new Tracker().setId(id).setName(name);
+        result.frozen = true;
+        return result;
+    }
 
     /**
      * @param id database ID.
      */
     public Tracker setId(Integer id) {
+        checkNotFrozen();
         this.id = id;
         return this;
     }
@@ -30,10 +42,24 @@ public class Tracker implements Identifiable, Serializable {
     }
 
     public Tracker setName(String name) {
+        checkNotFrozen();
         this.name = name;
         return this;
     }
 
+    /**
+     * @return unmodifiable tracker equal to this one, this tracker if it is unmodifiable already.
+     */
+    Tracker frozenCopy() {
+        return frozen ? this : reference(id, name);
+    }
+
+    private void checkNotFrozen() {
+        if (frozen) {
+            throw new UnsupportedOperationException("Shared tracker " + id + " cannot be modified");
+        }
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -3,6 +3,7 @@ package com.taskadapter.redmineapi.bean;
 import com.taskadapter.redmineapi.RedmineException;
 import com.taskadapter.redmineapi.internal.Transport;
 
+import java.time.Instant;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
@@ -12,7 +13,7 @@ import java.util.Set;
 /**
  * Redmine User.
  */
-public class User implements Identifiable, FluentStyle {
+public class User implements Identifiable, FluentStyle, Snapshottable<User> {
 
     public static final Integer STATUS_ANONYMOUS = 0;
 
@@ -24,24 +25,24 @@ public class User implements Identifiable, FluentStyle {
 
     private final PropertyStorage storage = new PropertyStorage();
 
-    public final static Property<Integer> ID = new Property<>(Integer.class, "id");
-    public final static Property<String> LOGIN = new Property<>(String.class, "login");
-    public final static Property<String> PASSWORD = new Property<>(String.class, "password");
-    public final static Property<String> FIRST_NAME = new Property<>(String.class, "firstName");
-    public final static Property<String> LAST_NAME = new Property<>(String.class, "lastName");
-    public final static Property<String> MAIL = new Property<>(String.class, "mail");
-    public final static Property<String> API_KEY = new Property<>(String.class, "apiKey");
-    public final static Property<Date> CREATED_ON = new Property<>(Date.class, "createdOn");
-    public final static Property<Date> LAST_LOGIN_ON = new Property<>(Date.class, "lastLoginOn");
-    public final static Property<Integer> AUTH_SOURCE_ID = new Property<>(Integer.class, "authSourceId");
-    public final static Property<Integer> STATUS = new Property<>(Integer.class, "status");
-    public final static Property<String> MAIL_NOTIFICATION = new Property<>(String.class, "mail_notification");
-    public final static Property<Boolean> MUST_CHANGE_PASSWD = new Property<>(Boolean.class, "must_change_passwd");
-    public final static Property<Boolean> GENERATE_PASSWORD = new Property<>(Boolean.class, "generate_password");
-
-    public final static Property<Set<CustomField>> CUSTOM_FIELDS = (Property<Set<CustomField>>) new Property(Set.class, "customFields");
-    public final static Property<Set<Membership>> MEMBERSHIP = (Property<Set<Membership>>) new Property(Set.class, "membership");
-    public final static Property<Set<Group>> GROUPS = (Property<Set<Group>>) new Property(Set.class, "groups");
+    public final static Property<Integer> ID = new Property<>(User.class, Integer.class, "id");
+    public final static Property<String> LOGIN = new Property<>(User.class, String.class, "login");
+    public final static Property<String> PASSWORD = new Property<>(User.class, String.class, "password");
+    public final static Property<String> FIRST_NAME = new Property<>(User.class, String.class, "firstName");
+    public final static Property<String> LAST_NAME = new Property<>(User.class, String.class, "lastName");
+    public final static Property<String> MAIL = new Property<>(User.class, String.class, "mail");
+    public final static Property<String> API_KEY = new Property<>(User.class, String.class, "apiKey");
+    public final static Property<Date> CREATED_ON = new Property<>(User.class, Date.class, "createdOn");
+    public final static Property<Date> LAST_LOGIN_ON = new Property<>(User.class, Date.class, "lastLoginOn");
+    public final static Property<Integer> AUTH_SOURCE_ID = new Property<>(User.class, Integer.class, "authSourceId");
+    public final static Property<Integer> STATUS = new Property<>(User.class, Integer.class, "status");
+    public final static Property<String> MAIL_NOTIFICATION = new Property<>(User.class, String.class, "mail_notification");
+    public final static Property<Boolean> MUST_CHANGE_PASSWD = new Property<>(User.class, Boolean.class, "must_change_passwd");
+    public final static Property<Boolean> GENERATE_PASSWORD = new Property<>(User.class, Boolean.class, "generate_password");
+
+    public final static Property<Set<CustomField>> CUSTOM_FIELDS = (Property<Set<CustomField>>) new Property(User.class, Set.class, "customFields");
+    public final static Property<Set<Membership>> MEMBERSHIP = (Property<Set<Membership>>) new Property(User.class, Set.class, "membership");
+    public final static Property<Set<Group>> GROUPS = (Property<Set<Group>>) new Property(User.class, Set.class, "groups");
 
     private Transport transport;
 
@@ -50,10 +51,27 @@ public class User implements Identifiable, FluentStyle {
         setTransport(transport);
     }
 
+    /**
+     * Creates an unmodifiable user holding only id and full name, as it is referenced from journals, news, etc...
+     * Such users can be shared between the referring objects.
+     */
+    public static User reference(Integer id, String fullName) {
+        final User result = new User(null);
+        result.storage.set(ID, id);
+        if (fullName != null) {
+            result.setFullName(fullName);
+        }
+        result.storage.set(CUSTOM_FIELDS, Collections.emptySet());
+        result.storage.set(MEMBERSHIP, Collections.emptySet());
+        result.storage.set(GROUPS, Collections.emptySet());
+        result.storage.freeze();
+        return result;
+    }
+
     private void initCollections() {
-        this.storage.set(CUSTOM_FIELDS, new HashSet<>());
-        this.storage.set(MEMBERSHIP, new HashSet<>());
-        this.storage.set(GROUPS, new HashSet<>());
+        this.storage.setEmptySet(CUSTOM_FIELDS);
+        this.storage.setEmptySet(MEMBERSHIP);
+        this.storage.setEmptySet(GROUPS);
     }
 
     public User setId(int id) {
@@ -119,6 +137,10 @@ public class User implements Identifiable, FluentStyle {
         return this;
     }
 
+    public Instant getCreatedOnInstant() {
+        return Dates.toInstant(getCreatedOn());
+    }
+
     public Date getLastLoginOn() {
         return storage.get(LAST_LOGIN_ON);
     }
@@ -128,6 +150,10 @@ public class User implements Identifiable, FluentStyle {
         return this;
     }
 
+    public Instant getLastLoginOnInstant() {
+        return Dates.toInstant(getLastLoginOn());
+    }
+
     public String getApiKey() {
         return storage.get(API_KEY);
     }
@@ -318,8 +344,26 @@ public class User implements Identifiable, FluentStyle {
         return storage;
     }
 
+    @Override
+    public User snapshot() {
+        if (isSnapshot()) {
+            return this;
+        }
+        final User result = new User(null);
+        result.storage.freezeCopyOf(storage);
+        return result;
+    }
+
+    @Override
+    public boolean isSnapshot() {
+        return storage.isFrozen();
+    }
+
     @Override
     public void setTransport(Transport transport) {
+        if (isSnapshot()) {
+            return;
+        }
         this.transport = transport;
         PropertyStorageUtil.updateCollections(storage, transport);
     }
@@ -330,6 +374,7 @@ public class User implements Identifiable, FluentStyle {
 
     public void update() throws RedmineException {
         transport.updateObject(this);
+        PropertyStorageUtil.clearChanges(storage);
     }
 
     /**
@@ -5,10 +5,11 @@ import com.taskadapter.redmineapi.RedmineAuthenticationException;
 import com.taskadapter.redmineapi.RedmineException;
 import com.taskadapter.redmineapi.internal.Transport;
 
+import java.time.Instant;
+import java.time.LocalDate;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
-import java.util.HashSet;
 import java.util.Set;
 
 /**
@@ -16,7 +17,7 @@ import java.util.Set;
  * <p>
  * REMARK: currently this is only used with Issues, so only id and name are filled
  */
-public class Version implements Identifiable, FluentStyle {
+public class Version implements Identifiable, FluentStyle, Snapshottable<Version> {
     /*
       * <id>1</id> <project name="Redmine" id="1"/> <name>0.7</name>
       * <description/> <status>closed</status> <due_date>2008-04-28</due_date>
@@ -40,18 +41,18 @@ public class Version implements Identifiable, FluentStyle {
     /**
      * database numeric Id
      */
-    public final static Property<Integer> DATABASE_ID = new Property<>(Integer.class, "id");
-
-    public final static Property<Integer> PROJECT_ID = new Property<>(Integer.class, "projectId");
-    public final static Property<String> PROJECT_NAME = new Property<>(String.class, "projectName");
-    public final static Property<String> NAME = new Property<>(String.class, "name");
-    public final static Property<String> DESCRIPTION = new Property<>(String.class, "description");
-    public final static Property<String> STATUS = new Property<>(String.class, "status");
-    public final static Property<String> SHARING = new Property<>(String.class, "sharing");
-    public final static Property<Date> DUE_DATE = new Property<>(Date.class, "dueDate");
-    public final static Property<Date> CREATED_ON = new Property<>(Date.class, "createdOn");
-    public final static Property<Date> UPDATED_ON = new Property<>(Date.class, "updatedOn");
-    public final static Property<Set<CustomField>> CUSTOM_FIELDS = (Property<Set<CustomField>>) new Property(Set.class, "customFields");
+    public final static Property<Integer> DATABASE_ID = new Property<>(Version.class, Integer.class, "id");
+
+    public final static Property<Integer> PROJECT_ID = new Property<>(Version.class, Integer.class, "projectId");
+    public final static Property<String> PROJECT_NAME = new Property<>(Version.class, String.class, "projectName");
+    public final static Property<String> NAME = new Property<>(Version.class, String.class, "name");
+    public final static Property<String> DESCRIPTION = new Property<>(Version.class, String.class, "description");
+    public final static Property<String> STATUS = new Property<>(Version.class, String.class, "status");
+    public final static Property<String> SHARING = new Property<>(Version.class, String.class, "sharing");
+    public final static Property<Date> DUE_DATE = new Property<>(Version.class, Date.class, "dueDate");
+    public final static Property<Date> CREATED_ON = new Property<>(Version.class, Date.class, "createdOn");
+    public final static Property<Date> UPDATED_ON = new Property<>(Version.class, Date.class, "updatedOn");
+    public final static Property<Set<CustomField>> CUSTOM_FIELDS = (Property<Set<CustomField>>) new Property(Version.class, Set.class, "customFields");
     private Transport transport;
 
     public Version() {
@@ -65,13 +66,25 @@ public class Version implements Identifiable, FluentStyle {
         setName(name);
     }
 
+    /**
+     * Creates an unmodifiable version holding only id and name, as it is referenced from issues. Such versions can
+     * be shared between issues.
+     */
+    public static Version reference(Integer id, String name) {
+        final Version result = new Version().setId(id);
+        result.setName(name);
+        result.storage.set(CUSTOM_FIELDS, Collections.emptySet());
+        result.storage.freeze();
+        return result;
+    }
+
     public Version setId(Integer id) {
         storage.set(DATABASE_ID, id);
         return this;
     }
 
     private void initCollections(PropertyStorage storage) {
-        storage.set(CUSTOM_FIELDS, new HashSet<>());
+        storage.setEmptySet(CUSTOM_FIELDS);
     }
 
     /**
@@ -150,6 +163,10 @@ public class Version implements Identifiable, FluentStyle {
         return this;
     }
 
+    public Instant getCreatedOnInstant() {
+        return Dates.toInstant(getCreatedOn());
+    }
+
     public Version setDescription(String description) {
         storage.set(DESCRIPTION, description);
         return this;
@@ -160,6 +177,14 @@ public class Version implements Identifiable, FluentStyle {
         return this;
     }
 
+    public LocalDate getDueLocalDate() {
+        return Dates.toLocalDate(getDueDate());
+    }
+
+    public Version setDueLocalDate(LocalDate dueDate) {
+        return setDueDate(Dates.fromLocalDate(dueDate));
+    }
+
     public Version setName(String name) {
         storage.set(NAME, name);
         return this;
@@ -179,6 +204,10 @@ public class Version implements Identifiable, FluentStyle {
         storage.set(UPDATED_ON, updatedOn);
     }
 
+    public Instant getUpdatedOnInstant() {
+        return Dates.toInstant(getUpdatedOn());
+    }
+
     public Collection<CustomField> getCustomFields() {
         return Collections.unmodifiableCollection(storage.get(CUSTOM_FIELDS));
     }
@@ -209,6 +238,21 @@ public class Version implements Identifiable, FluentStyle {
         return storage;
     }
 
+    @Override
+    public Version snapshot() {
+        if (isSnapshot()) {
+            return this;
+        }
+        final Version result = new Version();
+        result.storage.freezeCopyOf(storage);
+        return result;
+    }
+
+    @Override
+    public boolean isSnapshot() {
+        return storage.isFrozen();
+    }
+
 
     /**
      * creates a new {@link com.taskadapter.redmineapi.bean.Version} for the {@link Project} contained. <br>
@@ -234,6 +278,7 @@ public class Version implements Identifiable, FluentStyle {
      */
     public void update() throws RedmineException {
         transport.updateObject(this);
+        PropertyStorageUtil.clearChanges(storage);
     }
 
     /**
@@ -249,6 +294,9 @@ public class Version implements Identifiable, FluentStyle {
 
     @Override
     public void setTransport(Transport transport) {
+        if (isSnapshot()) {
+            return;
+        }
         this.transport = transport;
         PropertyStorageUtil.updateCollections(storage, transport);
     }
@@ -5,10 +5,10 @@ import java.util.Date;
 public class WikiPage {
     private final PropertyStorage storage = new PropertyStorage();
 
-    public final static Property<String> TITLE = new Property<>(String.class, "title");
-    public final static Property<Integer> VERSION = new Property<>(Integer.class, "version");
-    public final static Property<Date> CREATED_ON = new Property<>(Date.class, "createdOn");
-    public final static Property<Date> UPDATED_ON = new Property<>(Date.class, "updatedOn");
+    public final static Property<String> TITLE = new Property<>(WikiPage.class, String.class, "title");
+    public final static Property<Integer> VERSION = new Property<>(WikiPage.class, Integer.class, "version");
+    public final static Property<Date> CREATED_ON = new Property<>(WikiPage.class, Date.class, "createdOn");
+    public final static Property<Date> UPDATED_ON = new Property<>(WikiPage.class, Date.class, "updatedOn");
 
     public String getTitle() {
         return storage.get(TITLE);
@@ -12,22 +12,35 @@ import java.util.List;
 
 public class WikiPageDetail implements FluentStyle {
 
-    public final static Property<WikiPageDetail> PARENT = new Property<>(WikiPageDetail.class, "parent");
-    public final static Property<String> TEXT = new Property<>(String.class, "text");
-    public final static Property<String> PROJECT_KEY = new Property<>(String.class, "project_key");
-    public final static Property<User> USER = new Property<>(User.class, "user");
-    public final static Property<String> COMMENTS = new Property<>(String.class, "comments");
-    public final static Property<List<Attachment>> ATTACHMENTS = (Property<List<Attachment>>) new Property(List.class, "uploads");
-
-    private final PropertyStorage storage = new PropertyStorage();
+    public final static Property<WikiPageDetail> PARENT = new Property<>(WikiPageDetail.class, WikiPageDetail.class, "parent");
+    public final static Property<String> TEXT = new Property<>(WikiPageDetail.class, String.class, "text");
+    public final static Property<String> PROJECT_KEY = new Property<>(WikiPageDetail.class, String.class, "project_key");
+    public final static Property<User> USER = new Property<>(WikiPageDetail.class, User.class, "user");
+    public final static Property<String> COMMENTS = new Property<>(WikiPageDetail.class, String.class, "comments");
+    public final static Property<List<Attachment>> ATTACHMENTS = (Property<List<Attachment>>) new Property(WikiPageDetail.class, List.class, "uploads");
+
+    private final PropertyStorage storage;
     private final WikiPage wikiPage = new WikiPage();
     private Transport transport;
 
     public WikiPageDetail(Transport transport) {
+        storage = new PropertyStorage();
         storage.set(ATTACHMENTS, new ArrayList<>());
         setTransport(transport);
     }
 
+    private WikiPageDetail(PropertySource source) {
+        storage = new PropertyStorage(source);
+    }
+
+    /**
+     * Creates a wiki page which decodes properties kept in its storage from the given source on first
+     * access. Title, version and dates are not lazy.
+     */
+    public static WikiPageDetail lazy(PropertySource source) {
+        return new WikiPageDetail(source);
+    }
+
     /**
      * @return the comment entered when the wiki page was last edited
      */
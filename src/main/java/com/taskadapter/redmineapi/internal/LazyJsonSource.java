@@ -0,0 +1,88 @@
+package com.taskadapter.redmineapi.internal;
+
+import com.taskadapter.redmineapi.RedmineInternalError;
+import com.taskadapter.redmineapi.bean.Property;
+import com.taskadapter.redmineapi.bean.PropertySource;
+import com.taskadapter.redmineapi.bean.PropertyStorage;
+import com.taskadapter.redmineapi.internal.json.JsonCodecs;
+import com.taskadapter.redmineapi.internal.json.JsonObject;
+import org.json.JSONException;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Property source keeping UTF-8 json text of a single object.
+ * <p>
+ * The text is indexed on first access. Each property is then decoded by a
+ * projection parser reading only that property. The source contains the
+ * properties whose json member is present. The text is released when all
+ * properties are loaded. Not thread-safe.
+ */
+final class LazyJsonSource<T> implements PropertySource {
+
+	/**
+	 * Parser reading only the given properties of an object.
+	 */
+	interface Projection<T> {
+		T parse(JsonObject content, Set<Property<?>> fields) throws JSONException;
+	}
+
+	private final Map<Property<?>, String> members;
+	private final Projection<T> projection;
+	private final Function<T, PropertyStorage> storage;
+
+	private byte[] json;
+	private JsonObject content;
+	private int pending;
+
+	/**
+	 * @param members
+	 *            properties of the source and the json members holding them.
+	 */
+	LazyJsonSource(byte[] json, Map<Property<?>, String> members,
+			Projection<T> projection, Function<T, PropertyStorage> storage) {
+		this.json = json;
+		this.members = members;
+		this.projection = projection;
+		this.storage = storage;
+		this.pending = members.size();
+	}
+
+	@Override
+	public Set<Property<?>> getProperties() {
+		return members.keySet();
+	}
+
+	@Override
+	public boolean contains(Property<?> property) {
+		final String member = members.get(property);
+		/* once the text is released, all properties are loaded */
+		return member != null && json != null && content().has(member);
+	}
+
+	@Override
+	public Object load(Property<?> property) {
+		try {
+			final T bean = projection.parse(content(), Collections.singleton(property));
+			final Object result = storage.apply(bean).get(property);
+			if (--pending == 0) {
+				json = null;
+				content = null;
+			}
+			return result;
+		} catch (JSONException e) {
+			throw new RedmineInternalError("Cannot decode property " + property.getName(), e);
+		}
+	}
+
+	private JsonObject content() {
+		if (content == null) {
+			/* Text came out of a parsed response, so the fast codec is always able to read it */
+			content = JsonCodecs.fast().parse(json);
+		}
+		return content;
+	}
+}
@@ -1,91 +1,258 @@
 package com.taskadapter.redmineapi.internal;
 
 import java.text.ParseException;
-import java.text.SimpleDateFormat;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
 import java.util.Date;
 
+/**
+ * Parses and formats Redmine dates.
+ * <p>
+ * Supported inputs:
+ * <ul>
+ * <li>Redmine 1.x: <code>2015/03/11</code> and <code>2015/03/11 17:22:37 -0700</code></li>
+ * <li>Redmine 2.x: <code>2015-03-11</code> and <code>2015-01-23T00:15:24Z</code></li>
+ * <li>Redmine 3.x: <code>2015-01-29T10:06:19.000Z</code></li>
+ * </ul>
+ * Time zone may be <code>Z</code>, <code>+hh</code>, <code>+hhmm</code> or <code>+hh:mm</code>. Dates without time
+ * are the start of the day in the default time zone.
+ * <p>
+ * Fields are read and written digit by digit, so no intermediate strings or formatter instances are created.
+ * All methods are thread-safe.
+ */
 // side note... can you PLEASE stop changing date formats already? please?
 // I submitted a Redmine feature request to read current date format from the server: http://www.redmine.org/issues/19354
 public final class RedmineDateParser {
+    private static final int SECONDS_PER_DAY = 86400;
+    /** Days from 0000-03-01 to 1970-01-01. */
+    private static final int DAYS_0000_TO_1970 = 719468;
+    private static final int DAYS_PER_ERA = 146097;
+
+    private RedmineDateParser() {
+        throw new UnsupportedOperationException();
+    }
+
+    static Date parse(String dateStr) throws ParseException {
+        return new Date(parseMillis(dateStr));
+    }
+
     /**
-     * Full date format.
+     * @return instant represented by a Redmine date or timestamp.
+     * @throws ParseException if text is not a supported date.
      */
-    public static final LocalDateFormat FULL_DATE_FORMAT = new LocalDateFormat("yyyy/MM/dd HH:mm:ss Z");
+    public static Instant parseInstant(CharSequence text) throws ParseException {
+        return Instant.ofEpochMilli(parseMillis(text));
+    }
 
     /**
-     * Full date format used by Redmine 2.
-     * <p>Example: 2015-01-23T00:15:24Z
+     * @return milliseconds since epoch represented by a Redmine date or timestamp.
+     * @throws ParseException if text is not a supported date.
      */
-    public static final LocalDateFormat FULL_DATE_FORMAT_V2 = new LocalDateFormat("yyyy-MM-dd'T'HH:mm:ssz");
+    public static long parseMillis(CharSequence text) throws ParseException {
+        final int length = text.length();
+        if (length < 10) {
+            throw bad(text, length);
+        }
+        final char separator = text.charAt(4);
+        if ((separator != '-' && separator != '/') || text.charAt(7) != separator) {
+            throw bad(text, 4);
+        }
+        final int year = digits(text, 0, 4);
+        final int month = digits(text, 5, 2);
+        final int day = digits(text, 8, 2);
+        if (month < 1 || month > 12 || day < 1 || day > lengthOfMonth(year, month)) {
+            throw bad(text, 5);
+        }
+        if (length == 10) {
+            return LocalDate.of(year, month, day).atStartOfDay(ZoneId.systemDefault())
+                    .toInstant().toEpochMilli();
+        }
+
+        if (length < 19 || text.charAt(10) != (separator == '/' ? ' ' : 'T')
+                || text.charAt(13) != ':' || text.charAt(16) != ':') {
+            throw bad(text, 10);
+        }
+        final int hour = digits(text, 11, 2);
+        final int minute = digits(text, 14, 2);
+        final int second = digits(text, 17, 2);
+        if (hour > 23 || minute > 59 || second > 60) {
+            throw bad(text, 11);
+        }
+
+        int pos = 19;
+        int millis = 0;
+        if (pos < length && text.charAt(pos) == '.') {
+            final int start = ++pos;
+            int scale = 100;
+            while (pos < length && isDigit(text.charAt(pos))) {
+                millis += (text.charAt(pos) - '0') * scale;
+                scale /= 10;
+                pos++;
+            }
+            if (pos == start) {
+                throw bad(text, pos);
+            }
+        }
+        if (separator == '/' && pos < length && text.charAt(pos) == ' ') {
+            pos++;
+        }
+        final int offset = parseOffset(text, pos);
+
+        final long seconds = epochDay(year, month, day) * SECONDS_PER_DAY
+                + hour * 3600 + minute * 60 + second - offset;
+        return seconds * 1000 + millis;
+    }
 
     /**
-     * Full date format used by Redmine 3.
-     * <p>Example from redmine 3.0.0: 2015-01-29T10:06:19.000Z
+     * @return offset in seconds.
      */
-    public static final LocalDateFormat FULL_DATE_FORMAT_V3 = new LocalDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSSz");
-
-    private static final String SHORT_DATE_PATTERN_V1 = "yyyy/MM/dd";
-    private static final String SHORT_DATE_PATTERN_V2 = "yyyy-MM-dd";
+    private static int parseOffset(CharSequence text, int pos) throws ParseException {
+        final int length = text.length();
+        if (pos >= length) {
+            throw bad(text, pos);
+        }
+        final char sign = text.charAt(pos);
+        if (sign == 'Z') {
+            if (pos + 1 != length) {
+                throw bad(text, pos + 1);
+            }
+            return 0;
+        }
+        if (sign != '+' && sign != '-') {
+            throw bad(text, pos);
+        }
+        final int hours = digits(text, pos + 1, 2);
+        int minutes = 0;
+        int end = pos + 3;
+        if (end < length && text.charAt(end) == ':') {
+            end++;
+        }
+        if (end < length) {
+            minutes = digits(text, end, 2);
+            end += 2;
+        }
+        if (end != length || hours > 18 || minutes > 59) {
+            throw bad(text, pos);
+        }
+        final int offset = hours * 3600 + minutes * 60;
+        return sign == '-' ? -offset : offset;
+    }
 
     /**
-     * Short date format for Redmine v. 1.x.
+     * Formats a date as <code>yyyy-MM-dd</code> in the default time zone.
      */
-    public static final LocalDateFormat SHORT_DATE_FORMAT = new LocalDateFormat(SHORT_DATE_PATTERN_V1);
+    public static String formatShortDate(Date date) {
+        final long seconds = Math.floorDiv(date.getTime(), 1000);
+        final long local = seconds + offsetAt(date.getTime());
+        final char[] result = new char[10];
+        writeDate(result, 0, Math.floorDiv(local, SECONDS_PER_DAY), '-');
+        return new String(result);
+    }
 
     /**
-     * Short date format for Redmine v. 2.x.
+     * Formats a timestamp as <code>yyyy/MM/dd HH:mm:ss Z</code> in the default time zone, e.g.
+     * <code>2015/03/11 17:22:37 -0700</code>.
      */
-    public static final LocalDateFormat SHORT_DATE_FORMAT_V2 = new LocalDateFormat(SHORT_DATE_PATTERN_V2);
+    public static String formatFullDate(Date date) {
+        final long seconds = Math.floorDiv(date.getTime(), 1000);
+        final int offset = offsetAt(date.getTime());
+        final long local = seconds + offset;
+        final int secondOfDay = Math.floorMod(local, SECONDS_PER_DAY);
 
-    private static final int SHORT_DATE_FORMAT_MAX_LENGTH = Math.max(SHORT_DATE_PATTERN_V1.length(), SHORT_DATE_PATTERN_V2.length());
+        final char[] result = new char[25];
+        writeDate(result, 0, Math.floorDiv(local, SECONDS_PER_DAY), '/');
+        result[10] = ' ';
+        write2(result, 11, secondOfDay / 3600);
+        result[13] = ':';
+        write2(result, 14, secondOfDay / 60 % 60);
+        result[16] = ':';
+        write2(result, 17, secondOfDay % 60);
+        result[19] = ' ';
+        result[20] = offset < 0 ? '-' : '+';
+        final int absOffset = Math.abs(offset) / 60;
+        write2(result, 21, absOffset / 60);
+        write2(result, 23, absOffset % 60);
+        return new String(result);
+    }
 
-    static Date parse(String dateStr) throws ParseException {
-        if (dateStr.length() > SHORT_DATE_FORMAT_MAX_LENGTH) {
-            return parseLongFormat(dateStr);
-        }
-        return parseShortFormat(dateStr);
+    private static int offsetAt(long millis) {
+        return ZoneId.systemDefault().getRules().getOffset(Instant.ofEpochMilli(millis)).getTotalSeconds();
     }
 
-    private static Date parseShortFormat(String dateStr) throws ParseException {
-        final SimpleDateFormat format;
-        if (dateStr.length() >= 5 && dateStr.charAt(4) == '/') {
-            format = RedmineDateParser.SHORT_DATE_FORMAT.get();
-        } else {
-            format = RedmineDateParser.SHORT_DATE_FORMAT_V2.get();
-        }
-        return format.parse(dateStr);
+    /**
+     * Writes <code>yyyy?MM?dd</code>. Inverse of {@link #epochDay(int, int, int)}.
+     */
+    private static void writeDate(char[] target, int at, long epochDay, char separator) {
+        final long z = epochDay + DAYS_0000_TO_1970;
+        final long era = Math.floorDiv(z, DAYS_PER_ERA);
+        final long dayOfEra = z - era * DAYS_PER_ERA;
+        final long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        final long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        final long shiftedMonth = (5 * dayOfYear + 2) / 153;
+        final int day = (int) (dayOfYear - (153 * shiftedMonth + 2) / 5 + 1);
+        final int month = (int) (shiftedMonth < 10 ? shiftedMonth + 3 : shiftedMonth - 9);
+        final int year = (int) (yearOfEra + era * 400 + (month <= 2 ? 1 : 0));
+
+        write2(target, at, year / 100);
+        write2(target, at + 2, year % 100);
+        target[at + 4] = separator;
+        write2(target, at + 5, month);
+        target[at + 7] = separator;
+        write2(target, at + 8, day);
     }
 
-    private static Date parseLongFormat(String dateStr) throws ParseException {
-        final SimpleDateFormat format;
-        if (dateStr.length() >= 5 && dateStr.charAt(4) == '/') {
-            format = RedmineDateParser.FULL_DATE_FORMAT.get();
-            return format.parse(dateStr);
-        }
-        dateStr = normalizeTimeZoneInfo(dateStr);
+    private static void write2(char[] target, int at, int value) {
+        target[at] = (char) ('0' + value / 10);
+        target[at + 1] = (char) ('0' + value % 10);
+    }
+
+    /**
+     * @return days since 1970-01-01 of a proleptic Gregorian date.
+     */
+    private static long epochDay(int year, int month, int day) {
+        final int y = month <= 2 ? year - 1 : year;
+        final long era = Math.floorDiv(y, 400);
+        final long yearOfEra = y - era * 400;
+        final long dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        final long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * DAYS_PER_ERA + dayOfEra - DAYS_0000_TO_1970;
+    }
 
-        if (dateStr.indexOf('.') < 0) {
-            format = RedmineDateParser.FULL_DATE_FORMAT_V2.get();
-        } else {
-            format = RedmineDateParser.FULL_DATE_FORMAT_V3.get();
+    private static int lengthOfMonth(int year, int month) {
+        switch (month) {
+            case 2:
+                return (year % 4 == 0 && year % 100 != 0) || year % 400 == 0 ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
         }
-        return format.parse(dateStr);
     }
 
-    private static String normalizeTimeZoneInfo(String dateStr) throws ParseException {
-        if (dateStr.endsWith("Z")) {
-            dateStr = dateStr.substring(0, dateStr.length() - 1)
-                    + "GMT-00:00";
-        } else {
-            final int inset = 6;
-            if (dateStr.length() <= inset) {
-                throw new ParseException("Bad date value " + dateStr, inset);
+    private static int digits(CharSequence text, int at, int count) throws ParseException {
+        if (at + count > text.length()) {
+            throw bad(text, at);
+        }
+        int result = 0;
+        for (int i = at; i < at + count; i++) {
+            final char c = text.charAt(i);
+            if (!isDigit(c)) {
+                throw bad(text, i);
             }
-            String s0 = dateStr.substring(0, dateStr.length() - inset);
-            String s1 = dateStr.substring(dateStr.length() - inset,
-                    dateStr.length());
-            dateStr = s0 + "GMT" + s1;
+            result = result * 10 + (c - '0');
         }
-        return dateStr;
+        return result;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static ParseException bad(CharSequence text, int offset) {
+        return new ParseException("Bad date value " + text, offset);
     }
 }
@@ -5,6 +5,7 @@ import com.taskadapter.redmineapi.bean.Attachment;
 import com.taskadapter.redmineapi.bean.CustomField;
 import com.taskadapter.redmineapi.bean.Group;
 import com.taskadapter.redmineapi.bean.Identifiable;
+import com.taskadapter.redmineapi.bean.IntList;
 import com.taskadapter.redmineapi.bean.Issue;
 import com.taskadapter.redmineapi.bean.IssueCategory;
 import com.taskadapter.redmineapi.bean.IssueRelation;
@@ -20,17 +21,18 @@ import com.taskadapter.redmineapi.bean.Version;
 import com.taskadapter.redmineapi.bean.Watcher;
 import com.taskadapter.redmineapi.bean.WikiPage;
 import com.taskadapter.redmineapi.bean.WikiPageDetail;
+import com.taskadapter.redmineapi.internal.json.JsonCodec;
+import com.taskadapter.redmineapi.internal.json.JsonCodecs;
 import com.taskadapter.redmineapi.internal.json.JsonObjectWriter;
 import com.taskadapter.redmineapi.internal.json.JsonOutput;
+import com.taskadapter.redmineapi.internal.json.JsonWriter;
 import org.json.JSONException;
-import org.json.JSONWriter;
 
-import java.io.StringWriter;
-import java.text.SimpleDateFormat;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Date;
 import java.util.List;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -50,7 +52,7 @@ public class RedmineJSONBuilder {
 	 * @throws JSONException
 	 *             if IO error occurs.
 	 */
-	public static void writeProject(JSONWriter writer, Project project)
+	public static void writeProject(JsonWriter writer, Project project)
 			throws IllegalArgumentException, JSONException {
 		/* Validate project */
 		if (project.getName() == null)
@@ -63,9 +65,22 @@ public class RedmineJSONBuilder {
 		writeProject(project, writer);
 	}
 
-	static void writeTimeEntry(JSONWriter writer, TimeEntry timeEntry)
+	static void writeTimeEntry(JsonWriter writer, TimeEntry timeEntry)
 			throws JSONException {
-		PropertyStorage storage = timeEntry.getStorage();
+		writeTimeEntry(writer, timeEntry, timeEntry.getStorage(), timeEntry.getCustomFields());
+	}
+
+	/**
+	 * Writes properties of the time entry changed since it was loaded.
+	 */
+	static void writeTimeEntryChanges(JsonWriter writer, TimeEntry timeEntry)
+			throws JSONException {
+		writeTimeEntry(writer, timeEntry, timeEntry.getStorage().getChanges(),
+				changed(timeEntry.getCustomFields()));
+	}
+
+	private static void writeTimeEntry(JsonWriter writer, TimeEntry timeEntry,
+			PropertyStorage storage, Collection<CustomField> customFields) throws JSONException {
 		addIfSet(writer, "id", storage, TimeEntry.DATABASE_ID);
 		addIfSet(writer, "project_id", storage, TimeEntry.PROJECT_ID);
 		addIfSet(writer, "issue_id", storage, TimeEntry.ISSUE_ID);
@@ -76,13 +91,14 @@ public class RedmineJSONBuilder {
 		addIfSetShort2(writer, "spent_on", storage, TimeEntry.SPENT_ON);
 		addIfSetFullDate(writer, "created_on", storage, TimeEntry.SPENT_ON);
 		addIfSetFullDate(writer, "updated_on", storage, TimeEntry.SPENT_ON);
-		writeCustomFields(writer, timeEntry.getCustomFields());
+		writeCustomFields(writer, customFields);
 	}
 
-	static void writeRelation(JSONWriter writer, IssueRelation relation)
+	static void writeRelation(JsonWriter writer, IssueRelation relation)
 			throws JSONException {
 		PropertyStorage storage = relation.getStorage();
-		if (storage.get(IssueRelation.ISSUE_TO_ID).isEmpty()) {
+		final IntList issueToIds = relation.getIssueToIds();
+		if (issueToIds.isEmpty()) {
 			throw new IllegalArgumentException("cannot create a relation object with no target issues defined.");
 		}
 
@@ -93,15 +109,30 @@ public class RedmineJSONBuilder {
 		writer.key("issue_to_id");
 		// convert number to string to support Redmine 4.x REST API, which brought a backward incompatible change
 		// in the way issue_to_id works.
-		var value = storage.get(IssueRelation.ISSUE_TO_ID).stream()
-				.map(number -> number+"")
-				.collect(Collectors.joining(","));
-		writer.value(value);
+		final StringBuilder value = new StringBuilder();
+		for (int i = 0; i < issueToIds.size(); i++) {
+			if (i > 0)
+				value.append(',');
+			value.append(issueToIds.getInt(i));
+		}
+		writer.value(value.toString());
 	}
 
-	static void writeVersion(JSONWriter writer, Version version)
+	static void writeVersion(JsonWriter writer, Version version)
 			throws JSONException {
-		PropertyStorage storage = version.getStorage();
+		writeVersion(writer, version.getStorage(), version.getCustomFields());
+	}
+
+	/**
+	 * Writes properties of the version changed since it was loaded.
+	 */
+	static void writeVersionChanges(JsonWriter writer, Version version)
+			throws JSONException {
+		writeVersion(writer, version.getStorage().getChanges(), changed(version.getCustomFields()));
+	}
+
+	private static void writeVersion(JsonWriter writer, PropertyStorage storage,
+			Collection<CustomField> customFields) throws JSONException {
 		addIfSet(writer, "id", storage, Version.DATABASE_ID);
 		addIfSet(writer, "project_id", storage, Version.PROJECT_ID);
 		addIfSet(writer, "name", storage, Version.NAME);
@@ -111,7 +142,7 @@ public class RedmineJSONBuilder {
 		addIfSetShort2(writer, "due_date", storage, Version.DUE_DATE);
 		addIfSetFullDate(writer, "created_on", storage, Version.CREATED_ON);
 		addIfSetFullDate(writer, "updated_on", storage, Version.UPDATED_ON);
-		writeCustomFields(writer, version.getCustomFields());
+		writeCustomFields(writer, customFields);
 	}
 
 	/**
@@ -129,8 +160,28 @@ public class RedmineJSONBuilder {
 	 */
 	public static <T> String toSimpleJSON(String tag, T object,
 			JsonObjectWriter<T> writer) throws RedmineInternalError {
-		final StringWriter swriter = new StringWriter();
-		final JSONWriter jsWriter = new JSONWriter(swriter);
+		return toSimpleJSON(JsonCodecs.getDefault(), tag, object, writer);
+	}
+
+	/**
+	 * Converts object to a "simple" json using the given codec.
+	 * 
+	 * @param codec
+	 *            json backend.
+	 * @param tag
+	 *            object tag.
+	 * @param object
+	 *            object to convert.
+	 * @param writer
+	 *            object writer.
+	 * @return object String representation.
+	 * @throws RedmineInternalError
+	 *             if conversion fails.
+	 */
+	public static <T> String toSimpleJSON(JsonCodec codec, String tag, T object,
+			JsonObjectWriter<T> writer) throws RedmineInternalError {
+		final StringBuilder swriter = new StringBuilder();
+		final JsonWriter jsWriter = codec.newWriter(swriter);
 		try {
 			jsWriter.object();
 			jsWriter.key(tag);
@@ -145,9 +196,21 @@ public class RedmineJSONBuilder {
 		return swriter.toString();
 	}
 
-	public static void writeProject(Project project, final JSONWriter writer)
+	public static void writeProject(Project project, final JsonWriter writer)
+			throws JSONException {
+		writeProject(writer, project.getStorage(), project.getCustomFields());
+	}
+
+	/**
+	 * Writes properties of the project changed since it was loaded.
+	 */
+	static void writeProjectChanges(JsonWriter writer, Project project)
 			throws JSONException {
-		PropertyStorage storage = project.getStorage();
+		writeProject(writer, project.getStorage().getChanges(), changed(project.getCustomFields()));
+	}
+
+	private static void writeProject(JsonWriter writer, PropertyStorage storage,
+			Collection<CustomField> customFields) throws JSONException {
 		addIfSet(writer, "id", storage, Project.DATABASE_ID);
 		addIfSet(writer, "identifier", storage, Project.STRING_IDENTIFIER);
 		addIfSet(writer, "name", storage, Project.NAME);
@@ -155,29 +218,28 @@ public class RedmineJSONBuilder {
 		addIfSet(writer, "homepage", storage, Project.HOMEPAGE);
 		addIfSetFullDate(writer, "created_on", storage, Project.CREATED_ON);
 		addIfSetFullDate(writer, "updated_on", storage, Project.UPDATED_ON);
-		writeCustomFields(writer, project.getCustomFields());
+		writeCustomFields(writer, customFields);
 		addIfSet(writer, "parent_id", storage, Project.PARENT_DATABASE_ID);
 		addIfSet(writer, "status", storage, Project.STATUS);
 		addIfSet(writer, "is_public", storage, Project.PUBLIC);
 		addIfSet(writer, "inherit_members", storage, Project.INHERIT_MEMBERS);
-		writeProjectTrackers(writer, project);
+		writeProjectTrackers(writer, storage);
 	}
-	private static void writeProjectTrackers(JSONWriter writer, Project project) throws JSONException {
+	private static void writeProjectTrackers(JsonWriter writer, PropertyStorage storage) throws JSONException {
 		//skip if storage is not already set to allow new projects get the redmine system default trackers
-		PropertyStorage storage = project.getStorage();
 		if (storage.isPropertySet(Project.TRACKERS)) {
 			Collection<Integer> trackerIds=new ArrayList<>();
-			for (Tracker tracker : project.getTrackers())
+			for (Tracker tracker : storage.get(Project.TRACKERS))
 				trackerIds.add(tracker.getId());
 			JsonOutput.addScalarArray(writer, "tracker_ids", trackerIds, RedmineJSONBuilder::writeScalarValue);			
 		}
 	}
 
-	static void writeScalarValue(JSONWriter writer, Object object) throws JSONException {
+	static void writeScalarValue(JsonWriter writer, Object object) throws JSONException {
 		writer.value(object);
 	}
 
-	public static void writeCategory(final JSONWriter writer, IssueCategory category) throws JSONException {
+	public static void writeCategory(final JsonWriter writer, IssueCategory category) throws JSONException {
 		PropertyStorage storage = category.getStorage();
 		writer.key("id");
 		writer.value(category.getId());
@@ -186,9 +248,21 @@ public class RedmineJSONBuilder {
 		addIfSet(writer, "assigned_to_id", storage, IssueCategory.ASSIGNEE_ID);
 	}
 
-	public static void writeUser(final JSONWriter writer, User user)
+	public static void writeUser(final JsonWriter writer, User user)
+			throws JSONException {
+		writeUser(writer, user.getStorage(), user.getCustomFields());
+	}
+
+	/**
+	 * Writes properties of the user changed since it was loaded.
+	 */
+	static void writeUserChanges(JsonWriter writer, User user)
 			throws JSONException {
-		PropertyStorage storage = user.getStorage();
+		writeUser(writer, user.getStorage().getChanges(), changed(user.getCustomFields()));
+	}
+
+	private static void writeUser(JsonWriter writer, PropertyStorage storage,
+			Collection<CustomField> customFields) throws JSONException {
 		addIfSet(writer, "id", storage, User.ID);
 		addIfSet(writer, "login", storage, User.LOGIN);
 		addIfSet(writer, "password", storage, User.PASSWORD);
@@ -204,18 +278,40 @@ public class RedmineJSONBuilder {
 		addIfSet(writer, "mail_notification", storage, User.MAIL_NOTIFICATION);
 		addIfSet(writer, "must_change_passwd", storage, User.MUST_CHANGE_PASSWD);
 		addIfSet(writer, "generate_password", storage, User.GENERATE_PASSWORD);
-		writeCustomFields(writer, user.getCustomFields());
+		writeCustomFields(writer, customFields);
+
+	}
 
+    public static void writeGroup(final JsonWriter writer, Group group) throws JSONException {
+		writeGroup(writer, group.getStorage());
 	}
 
-    public static void writeGroup(final JSONWriter writer, Group group) throws JSONException {
-		PropertyStorage storage = group.getStorage();
+	/**
+	 * Writes properties of the group changed since it was loaded.
+	 */
+	static void writeGroupChanges(JsonWriter writer, Group group) throws JSONException {
+		writeGroup(writer, group.getStorage().getChanges());
+	}
+
+	private static void writeGroup(JsonWriter writer, PropertyStorage storage) throws JSONException {
 		addIfSet(writer, "id", storage, Group.ID);
 		addIfSet(writer, "name", storage, Group.NAME);
 	}
 
-	public static void writeIssue(final JSONWriter writer, Issue issue) throws JSONException {
-        PropertyStorage storage = issue.getStorage();
+	public static void writeIssue(final JsonWriter writer, Issue issue) throws JSONException {
+		writeIssue(writer, issue, issue.getStorage(), issue.getCustomFields());
+	}
+
+	/**
+	 * Writes properties of the issue changed since it was loaded: changed
+	 * values, custom fields and watchers. Pending uploads are always written.
+	 */
+	static void writeIssueChanges(JsonWriter writer, Issue issue) throws JSONException {
+		writeIssue(writer, issue, issue.getStorage().getChanges(), changed(issue.getCustomFields()));
+	}
+
+	private static void writeIssue(JsonWriter writer, Issue issue, PropertyStorage storage,
+			Collection<CustomField> customFields) throws JSONException {
 		addIfSet(writer, "id", storage, Issue.DATABASE_ID);
 		addIfSet(writer, "subject", storage, Issue.SUBJECT);
 		addIfSet(writer, "parent_issue_id", storage, Issue.PARENT_ID);
@@ -227,8 +323,8 @@ public class RedmineJSONBuilder {
 		addIfSet(writer, "is_private", storage, Issue.PRIVATE_ISSUE);
 		addIfSet(writer, "project_id", storage, Issue.PROJECT_ID);
 		addIfSet(writer, "author_id", storage, Issue.AUTHOR_ID);
-		addIfSet(writer, "start_date", storage, Issue.START_DATE, RedmineDateParser.SHORT_DATE_FORMAT_V2.get());
-		addIfSet(writer, "due_date", storage, Issue.DUE_DATE, RedmineDateParser.SHORT_DATE_FORMAT_V2.get());
+		addIfSetShort2(writer, "start_date", storage, Issue.START_DATE);
+		addIfSetShort2(writer, "due_date", storage, Issue.DUE_DATE);
                 addIfSetIdentifiable(writer, "tracker_id", storage, Issue.TRACKER);
 		addIfSet(writer, "description", storage, Issue.DESCRIPTION);
 
@@ -239,9 +335,9 @@ public class RedmineJSONBuilder {
                 addIfSetIdentifiable(writer, "category_id", storage, Issue.ISSUE_CATEGORY);
                 addIfSet(writer, "notes", storage, Issue.NOTES);
 		addIfSet(writer, "private_notes", storage, Issue.PRIVATE_NOTES);
-		writeCustomFields(writer, issue.getCustomFields());
+		writeCustomFields(writer, customFields);
 
-        Collection<Watcher> issueWatchers = issue.getWatchers();
+        Collection<Watcher> issueWatchers = storage.isPropertySet(Issue.WATCHERS) ? storage.get(Issue.WATCHERS) : null;
         if (issueWatchers != null && !issueWatchers.isEmpty()) {
             writeWatchers(writer, issueWatchers);
         }
@@ -259,24 +355,22 @@ public class RedmineJSONBuilder {
 		 */
 	}
 
-	private static void addIfSet(JSONWriter writer, String jsonKeyName, PropertyStorage storage, Property<?> property) throws JSONException {
+	private static void addIfSet(JsonWriter writer, String jsonKeyName, PropertyStorage storage, Property<?> property) throws JSONException {
 		if (storage.isPropertySet(property)) {
 			writer.key(jsonKeyName);
 			writer.value(storage.get(property));
 		}
 	}
 
-	public static void addIfSetShort2(JSONWriter writer, String jsonKeyName, PropertyStorage storage, Property<Date> property) throws JSONException {
-		final SimpleDateFormat format = RedmineDateParser.SHORT_DATE_FORMAT_V2.get();
-		addIfSet(writer, jsonKeyName, storage, property, format);
+	public static void addIfSetShort2(JsonWriter writer, String jsonKeyName, PropertyStorage storage, Property<Date> property) throws JSONException {
+		addIfSet(writer, jsonKeyName, storage, property, RedmineDateParser::formatShortDate);
 	}
 
-	private static void addIfSetFullDate(JSONWriter writer, String jsonKeyName, PropertyStorage storage, Property<Date> property) throws JSONException {
-		final SimpleDateFormat format = RedmineDateParser.FULL_DATE_FORMAT.get();
-		addIfSet(writer, jsonKeyName, storage, property, format);
+	private static void addIfSetFullDate(JsonWriter writer, String jsonKeyName, PropertyStorage storage, Property<Date> property) throws JSONException {
+		addIfSet(writer, jsonKeyName, storage, property, RedmineDateParser::formatFullDate);
 	}
         
-        private static void addIfSetIdentifiable(JSONWriter writer, String jsonKeyName, PropertyStorage storage, Property<? extends Identifiable> property) throws JSONException {
+        private static void addIfSetIdentifiable(JsonWriter writer, String jsonKeyName, PropertyStorage storage, Property<? extends Identifiable> property) throws JSONException {
                 if (storage.isPropertySet(property)) {
                         final Identifiable propertyValue = storage.get(property);
                         writer.key(jsonKeyName);
@@ -288,13 +382,15 @@ public class RedmineJSONBuilder {
                 } 
         }
 
-	private static void addIfSet(JSONWriter writer, String jsonKeyName, PropertyStorage storage, Property<Date> property, SimpleDateFormat format) throws JSONException {
+	private static void addIfSet(JsonWriter writer, String jsonKeyName, PropertyStorage storage, Property<Date> property, Function<Date, String> format) throws JSONException {
 		if (storage.isPropertySet(property)) {
-			JsonOutput.add(writer, jsonKeyName, storage.get(property), format);
+			final Date value = storage.get(property);
+			writer.key(jsonKeyName);
+			writer.value(value == null ? null : format.apply(value));
 		}
 	}
 
-	public static void writeUpload(JSONWriter writer, Attachment attachment) throws JSONException {
+	public static void writeUpload(JsonWriter writer, Attachment attachment) throws JSONException {
 		PropertyStorage storage = attachment.getStorage();
 		addIfSet(writer, "token", storage, Attachment.TOKEN);
 		addIfSet(writer, "filename", storage, Attachment.FILE_NAME);
@@ -302,7 +398,7 @@ public class RedmineJSONBuilder {
 		addIfSet(writer, "description", storage, Attachment.DESCRIPTION);
 	}
 
-	public static void writeMembership(JSONWriter writer, Membership membership)
+	public static void writeMembership(JsonWriter writer, Membership membership)
 			throws JSONException {
 		final PropertyStorage storage = membership.getStorage();
 		addIfSet(writer, "user_id", storage, Membership.USER_ID);
@@ -311,13 +407,24 @@ public class RedmineJSONBuilder {
 			writer.key("role_ids");
 			writer.array();
 			for (Role role : membership.getRoles()) {
-				writer.value(role.getId().longValue());
+				if (role.getId() != null) {
+					writer.value(role.getId().longValue());
+				}
 			}
 			writer.endArray();
 		}
 	}
 
-	private static void writeCustomFields(JSONWriter writer, Collection<CustomField> customFields) throws JSONException {
+	/**
+	 * @return custom fields added or modified since their owner was loaded.
+	 */
+	private static Collection<CustomField> changed(Collection<CustomField> customFields) {
+		return customFields.stream()
+				.filter(field -> field.getStorage().hasChanges())
+				.collect(Collectors.toList());
+	}
+
+	private static void writeCustomFields(JsonWriter writer, Collection<CustomField> customFields) throws JSONException {
 		if (customFields == null || customFields.isEmpty()) {
             return;
         }
@@ -335,7 +442,7 @@ public class RedmineJSONBuilder {
 		writer.endObject();
 	}
 
-	public static void writeWatchers(JSONWriter writer, Collection<Watcher> watchers)
+	public static void writeWatchers(JsonWriter writer, Collection<Watcher> watchers)
 			throws JSONException {
             if (watchers == null || watchers.isEmpty()) {
                 return;
@@ -351,7 +458,7 @@ public class RedmineJSONBuilder {
             writer.endArray();
 	}
 
-	public static void writeWikiPageDetail(JSONWriter writer, WikiPageDetail detail) throws JSONException {
+	public static void writeWikiPageDetail(JsonWriter writer, WikiPageDetail detail) throws JSONException {
 		PropertyStorage storage = detail.getStorage();
 		addIfSet(writer, "text", storage, WikiPageDetail.TEXT);
 		addIfSet(writer, "comments", storage, WikiPageDetail.COMMENTS);
@@ -11,13 +11,16 @@ import com.taskadapter.redmineapi.bean.IssueCategory;
 import com.taskadapter.redmineapi.bean.IssuePriority;
 import com.taskadapter.redmineapi.bean.IssueRelation;
 import com.taskadapter.redmineapi.bean.IssueStatus;
+import com.taskadapter.redmineapi.bean.IssueTable;
 import com.taskadapter.redmineapi.bean.Journal;
 import com.taskadapter.redmineapi.bean.JournalDetail;
 import com.taskadapter.redmineapi.bean.Membership;
 import com.taskadapter.redmineapi.bean.News;
 import com.taskadapter.redmineapi.bean.Project;
+import com.taskadapter.redmineapi.bean.Property;
 import com.taskadapter.redmineapi.bean.Role;
 import com.taskadapter.redmineapi.bean.SavedQuery;
+import com.taskadapter.redmineapi.bean.Snapshottable;
 import com.taskadapter.redmineapi.bean.TimeEntry;
 import com.taskadapter.redmineapi.bean.TimeEntryActivity;
 import com.taskadapter.redmineapi.bean.Tracker;
@@ -26,23 +29,59 @@ import com.taskadapter.redmineapi.bean.Version;
 import com.taskadapter.redmineapi.bean.Watcher;
 import com.taskadapter.redmineapi.bean.WikiPage;
 import com.taskadapter.redmineapi.bean.WikiPageDetail;
+import com.taskadapter.redmineapi.internal.json.JsonArray;
+import com.taskadapter.redmineapi.internal.json.JsonCodecs;
 import com.taskadapter.redmineapi.internal.json.JsonInput;
-import org.json.JSONArray;
+import com.taskadapter.redmineapi.internal.json.JsonObject;
+import com.taskadapter.redmineapi.internal.json.JsonObjectParser;
 import org.json.JSONException;
-import org.json.JSONObject;
 
 import java.text.ParseException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
 
 /**
  * A parser for JSON items sent by Redmine.
  */
 public final class RedmineJSONParser {
 
+	/**
+	 * Issue properties decoded on demand by lazy issues, with the json members
+	 * holding them.
+	 */
+	private static final Map<Property<?>, String> LAZY_ISSUE_PROPERTIES = members(
+			Issue.SUBJECT, "subject", Issue.PARENT_ID, "parent",
+			Issue.ESTIMATED_HOURS, "estimated_hours", Issue.SPENT_HOURS, "spent_hours",
+			Issue.ASSIGNEE_ID, "assigned_to", Issue.ASSIGNEE_NAME, "assigned_to",
+			Issue.PRIORITY_TEXT, "priority", Issue.PRIORITY_ID, "priority",
+			Issue.DONE_RATIO, "done_ratio", Issue.PROJECT_ID, "project", Issue.PROJECT_NAME, "project",
+			Issue.AUTHOR_ID, "author", Issue.AUTHOR_NAME, "author",
+			Issue.START_DATE, "start_date", Issue.DUE_DATE, "due_date", Issue.TRACKER, "tracker",
+			Issue.DESCRIPTION, "description", Issue.CREATED_ON, "created_on",
+			Issue.UPDATED_ON, "updated_on", Issue.CLOSED_ON, "closed_on",
+			Issue.STATUS_NAME, "status", Issue.STATUS_ID, "status", Issue.PRIVATE_ISSUE, "is_private",
+			Issue.CUSTOM_FIELDS, "custom_fields", Issue.NOTES, "notes", Issue.JOURNALS, "journals",
+			Issue.ATTACHMENTS, "attachments", Issue.RELATIONS, "relations",
+			Issue.TARGET_VERSION, "fixed_version", Issue.ISSUE_CATEGORY, "category",
+			Issue.CHANGESETS, "changesets", Issue.WATCHERS, "watchers", Issue.CHILDREN, "children");
+
+	private static final Map<Property<?>, String> LAZY_JOURNAL_PROPERTIES = members(
+			Journal.CREATED_ON, "created_on", Journal.NOTES, "notes", Journal.USER, "user",
+			Journal.DETAILS, "details");
+
+	private static final Map<Property<?>, String> LAZY_WIKI_PAGE_PROPERTIES = members(
+			WikiPageDetail.TEXT, "text", WikiPageDetail.PARENT, "parent", WikiPageDetail.USER, "author",
+			WikiPageDetail.COMMENTS, "comments", WikiPageDetail.ATTACHMENTS, "attachments");
+
 	/**
 	 * Parses a tracker.
 	 *
@@ -50,9 +89,9 @@ public final class RedmineJSONParser {
 	 *            object to parse.
 	 * @return parsed tracker.
 	 */
-	public static Tracker parseTracker(JSONObject object) throws JSONException {
+	public static Tracker parseTracker(JsonObject object) throws JSONException {
 		final int id = JsonInput.getInt(object, "id");
-		final String name = JsonInput.getStringNotNull(object, "name");
+		final String name = JsonInput.getSymbolNotNull(object, "name");
 		return new Tracker().setId(id).setName(name);
 	}
 
@@ -63,10 +102,10 @@ public final class RedmineJSONParser {
 	 *            object to parse.
 	 * @return parsed tracker.
 	 */
-	public static IssueStatus parseStatus(JSONObject object)
+	public static IssueStatus parseStatus(JsonObject object)
 			throws JSONException {
 		final int id = JsonInput.getInt(object, "id");
-		final String name = JsonInput.getStringNotNull(object, "name");
+		final String name = JsonInput.getSymbolNotNull(object, "name");
 		final IssueStatus result = new IssueStatus().setId(id).setName(name);
 		if (object.has("is_default"))
 			result.setDefaultStatus(JsonInput.getOptionalBool(object,
@@ -76,7 +115,7 @@ public final class RedmineJSONParser {
 		return result;
 	}
 
-	public static SavedQuery parseSavedQuery(JSONObject object)
+	public static SavedQuery parseSavedQuery(JsonObject object)
 			throws JSONException {
 		return new SavedQuery().setId(JsonInput.getIntOrNull(object, "id"))
 				.setName(JsonInput.getStringOrNull(object, "name"))
@@ -84,7 +123,7 @@ public final class RedmineJSONParser {
 				.setProjectId(JsonInput.getIntOrNull(object, "project_id"));
 	}
 
-	public static News parseNews(JSONObject object) throws JSONException {
+	public static News parseNews(JsonObject object) throws JSONException {
 		final News result = new News().setId(JsonInput.getIntOrNull(object, "id"));
 		result.setProject(JsonInput.getObjectOrNull(object, "project", RedmineJSONParser::parseMinimalProject));
 		result.setUser(JsonInput.getObjectOrNull(object, "author", RedmineJSONParser::parseUser));
@@ -95,30 +134,30 @@ public final class RedmineJSONParser {
 		return result;
 	}
 
-	public static TimeEntry parseTimeEntry(JSONObject object)
+	public static TimeEntry parseTimeEntry(JsonObject object)
 			throws JSONException {
 		TimeEntry result = new TimeEntry(null).setId(JsonInput.getIntOrNull(object, "id"));
-		final JSONObject issueObject = JsonInput.getObjectOrNull(object,
+		final JsonObject issueObject = JsonInput.getObjectOrNull(object,
 				"issue");
 		if (issueObject != null)
 			result.setIssueId(JsonInput.getIntOrNull(issueObject, "id"));
-		final JSONObject projectObject = JsonInput.getObjectOrNull(object,
+		final JsonObject projectObject = JsonInput.getObjectOrNull(object,
 				"project");
 		if (projectObject != null) {
 			result.setProjectId(JsonInput.getIntOrNull(projectObject, "id"));
-			result.setProjectName(JsonInput.getStringOrNull(projectObject,
+			result.setProjectName(JsonInput.getSymbolOrNull(projectObject,
 					"name"));
 		}
-		final JSONObject user = JsonInput.getObjectOrNull(object, "user");
+		final JsonObject user = JsonInput.getObjectOrNull(object, "user");
 		if (user != null) {
 			result.setUserId(JsonInput.getIntOrNull(user, "id"));
-			result.setUserName(JsonInput.getStringOrNull(user, "name"));
+			result.setUserName(JsonInput.getSymbolOrNull(user, "name"));
 		}
-		final JSONObject activity = JsonInput.getObjectOrNull(object,
+		final JsonObject activity = JsonInput.getObjectOrNull(object,
 				"activity");
 		if (activity != null) {
 			result.setActivityId(JsonInput.getIntOrNull(activity, "id"));
-			result.setActivityName(JsonInput.getStringOrNull(activity, "name"));
+			result.setActivityName(JsonInput.getSymbolOrNull(activity, "name"));
 		}
 		result.setHours(JsonInput.getFloatOrNull(object, "hours"));
 		result.setComment(JsonInput.getStringOrEmpty(object, "comments"));
@@ -126,6 +165,7 @@ public final class RedmineJSONParser {
 		result.setCreatedOn(getDateOrNull(object, "created_on"));
 		result.setUpdatedOn(getDateOrNull(object, "updated_on"));
 		result.addCustomFields(JsonInput.getListOrEmpty(object, "custom_fields", RedmineJSONParser::parseCustomField));
+		result.getStorage().clearChanges();
 		return result;
 	}
 
@@ -136,11 +176,12 @@ public final class RedmineJSONParser {
 	 *            content to parse.
 	 * @return parsed project.
 	 */
-	public static Project parseMinimalProject(JSONObject content)
+	public static Project parseMinimalProject(JsonObject content)
 			throws JSONException {
 		final Project result = new Project(null).setId(JsonInput.getInt(content, "id"));
-		result.setIdentifier(JsonInput.getStringOrNull(content, "identifier"));
-		result.setName(JsonInput.getStringNotNull(content, "name"));
+		result.setIdentifier(JsonInput.getSymbolOrNull(content, "identifier"));
+		result.setName(JsonInput.getSymbolNotNull(content, "name"));
+		result.getStorage().clearChanges();
 		return result;
 	}
 
@@ -151,7 +192,7 @@ public final class RedmineJSONParser {
 	 *            content to parse.
 	 * @return parsed project.
 	 */
-	public static Project parseProject(JSONObject content) throws JSONException {
+	public static Project parseProject(JsonObject content) throws JSONException {
 		final Project result = new Project(null).setId(JsonInput.getInt(content, "id"));
 		result.setIdentifier(JsonInput.getStringOrNull(content, "identifier"));
 		result.setName(JsonInput.getStringNotNull(content, "name"));
@@ -161,131 +202,364 @@ public final class RedmineJSONParser {
 		result.setHomepage(JsonInput.getStringOrEmpty(content, "homepage"));
 		result.setCreatedOn(getDateOrNull(content, "created_on"));
 		result.setUpdatedOn(getDateOrNull(content, "updated_on"));
-		final JSONObject parentProject = JsonInput.getObjectOrNull(content,
+		final JsonObject parentProject = JsonInput.getObjectOrNull(content,
 				"parent");
 		if (parentProject != null)
 			result.setParentId(JsonInput.getInt(parentProject, "id"));
 		result.setStatus(JsonInput.getIntOrNull(content, "status"));
 		result.addTrackers(JsonInput.getListOrEmpty(content, "trackers", RedmineJSONParser::parseTracker));
         result.addCustomFields(JsonInput.getListOrEmpty(content, "custom_fields", RedmineJSONParser::parseCustomField));
+		result.getStorage().clearChanges();
+		return result;
+	}
+
+	public static Issue parseIssue(JsonObject content) throws JSONException {
+		return parseIssue(content, null, false, null);
+	}
+
+	/**
+	 * Creates a parser making beans produced by the given parser immutable
+	 * snapshots in place, without copying. Objects which are not
+	 * {@link Snapshottable} are returned as parsed.
+	 */
+	public static <T> JsonObjectParser<T> snapshotParser(JsonObjectParser<T> parser) {
+		return content -> {
+			final T result = parser.parse(content);
+			if (result instanceof Snapshottable)
+				((Snapshottable<?>) result).getStorage().freezeAll();
+			return result;
+		};
+	}
+
+	/**
+	 * Parses an issue which decodes its properties on first access. Only the
+	 * issue id is read immediately, the rest of the issue is kept as json text.
+	 */
+	public static Issue parseLazyIssue(JsonObject content) throws JSONException {
+		final Issue result = Issue.lazy(new LazyJsonSource<>(content.toUtf8(),
+				LAZY_ISSUE_PROPERTIES, (object, fields) -> parseIssue(object, fields, true, null),
+				Issue::getStorage));
+		result.setId(JsonInput.getIntOrNull(content, "id"));
+		result.getStorage().clearChanges();
 		return result;
 	}
 
+	/**
+	 * Creates an issue parser which only reads given properties. Other
+	 * members of the issue are skipped and are not set on the resulting bean.
+	 *
+	 * @param fields
+	 *            properties to read, e.g. {@link Issue#SUBJECT}. Issue id is
+	 *            always read. NULL means all properties.
+	 * @return issue parser.
+	 */
+	public static JsonObjectParser<Issue> issueParser(Collection<? extends Property<?>> fields) {
+		if (fields == null)
+			return RedmineJSONParser::parseIssue;
+		final Set<Property<?>> projection = new HashSet<>(fields);
+		return content -> parseIssue(content, projection, false, null);
+	}
+
+	/**
+	 * Creates an issue parser sharing trackers, target versions, categories
+	 * and journal authors through the given cache. Shared objects hold only
+	 * id and name and cannot be modified.
+	 *
+	 * @param references
+	 *            cache defining the scope of sharing.
+	 * @return issue parser.
+	 */
+	public static JsonObjectParser<Issue> issueParser(ReferenceCache references) {
+		if (references == null)
+			throw new IllegalArgumentException("references cannot be null");
+		return content -> parseIssue(content, null, false, references);
+	}
+
+	/**
+	 * Parses an issue.
+	 *
+	 * @param content
+	 *            issue json.
+	 * @param fields
+	 *            properties to read, NULL to read all properties.
+	 * @param lazy
+	 *            whether journals and children are created as lazy beans.
+	 * @param references
+	 *            cache of shared referenced objects, may be null.
+	 */
 	@SuppressWarnings("deprecation")
-	public static Issue parseIssue(JSONObject content) throws JSONException {
-		final Issue result = new Issue().setId(JsonInput.getIntOrNull(content, "id"))
-			.setSubject(JsonInput.getStringOrNull(content, "subject"));
-		final JSONObject parentIssueObject = JsonInput.getObjectOrNull(content,
-				"parent");
-		if (parentIssueObject != null)
-			result.setParentId(JsonInput.getInt(parentIssueObject, "id"));
-		result.setEstimatedHours(JsonInput.getFloatOrNull(content,
-				"estimated_hours"));
-		result.setSpentHours(JsonInput.getFloatOrNull(content, "spent_hours"));
-		JSONObject assignedToObject = JsonInput.getObjectOrNull(content, "assigned_to");
-		if (assignedToObject != null) {
-			result.setAssigneeId(JsonInput.getIntOrNull(assignedToObject, "id"));
-			result.setAssigneeName(JsonInput.getStringNotNull(assignedToObject, "name"));
+	private static Issue parseIssue(JsonObject content, Set<Property<?>> fields,
+			boolean lazy, ReferenceCache references) throws JSONException {
+		final Issue result = new Issue().setId(JsonInput.getIntOrNull(content, "id"));
+		if (wants(fields, Issue.SUBJECT))
+			result.setSubject(JsonInput.getStringOrNull(content, "subject"));
+		if (wants(fields, Issue.PARENT_ID)) {
+			final JsonObject parentIssueObject = JsonInput.getObjectOrNull(content,
+					"parent");
+			if (parentIssueObject != null)
+				result.setParentId(JsonInput.getInt(parentIssueObject, "id"));
+		}
+		if (wants(fields, Issue.ESTIMATED_HOURS))
+			result.setEstimatedHours(JsonInput.getFloatOrNull(content,
+					"estimated_hours"));
+		if (wants(fields, Issue.SPENT_HOURS))
+			result.setSpentHours(JsonInput.getFloatOrNull(content, "spent_hours"));
+		if (wants(fields, Issue.ASSIGNEE_ID, Issue.ASSIGNEE_NAME)) {
+			JsonObject assignedToObject = JsonInput.getObjectOrNull(content, "assigned_to");
+			if (assignedToObject != null) {
+				if (wants(fields, Issue.ASSIGNEE_ID))
+					result.setAssigneeId(JsonInput.getIntOrNull(assignedToObject, "id"));
+				if (wants(fields, Issue.ASSIGNEE_NAME))
+					result.setAssigneeName(JsonInput.getSymbolNotNull(assignedToObject, "name"));
+			}
 		}
 
-		final JSONObject priorityObject = JsonInput.getObjectOrNull(content,
-				"priority");
-		if (priorityObject != null) {
-			result.setPriorityText(JsonInput.getStringOrNull(priorityObject,
-					"name"));
-			result.setPriorityId(JsonInput.getIntOrNull(priorityObject, "id"));
+		if (wants(fields, Issue.PRIORITY_TEXT, Issue.PRIORITY_ID)) {
+			final JsonObject priorityObject = JsonInput.getObjectOrNull(content,
+					"priority");
+			if (priorityObject != null) {
+				if (wants(fields, Issue.PRIORITY_TEXT))
+					result.setPriorityText(JsonInput.getSymbolOrNull(priorityObject,
+							"name"));
+				if (wants(fields, Issue.PRIORITY_ID))
+					result.setPriorityId(JsonInput.getIntOrNull(priorityObject, "id"));
+			}
 		}
 
-		result.setDoneRatio(JsonInput.getIntOrNull(content, "done_ratio"));
-		final Project project = JsonInput.getObjectOrNull(content, "project", RedmineJSONParser::parseMinimalProject);
-		if (project != null) {
-			result.setProjectId(project.getId())
-					.setProjectName(project.getName());
+		if (wants(fields, Issue.DONE_RATIO))
+			result.setDoneRatio(JsonInput.getIntOrNull(content, "done_ratio"));
+		if (wants(fields, Issue.PROJECT_ID, Issue.PROJECT_NAME)) {
+			final Project project = JsonInput.getObjectOrNull(content, "project", RedmineJSONParser::parseMinimalProject);
+			if (project != null) {
+				if (wants(fields, Issue.PROJECT_ID))
+					result.setProjectId(project.getId());
+				if (wants(fields, Issue.PROJECT_NAME))
+					result.setProjectName(project.getName());
+			}
 		}
-		final User author = JsonInput.getObjectOrNull(content, "author", RedmineJSONParser::parseUser);
-		if (author != null) {
-			result.setAuthorId(author.getId());
-			result.setAuthorName(author.getFullName());
+		if (wants(fields, Issue.AUTHOR_ID, Issue.AUTHOR_NAME)) {
+			/* Read the name as is, a full name rebuilt by User would not be shared */
+			final JsonObject authorObject = JsonInput.getObjectOrNull(content, "author");
+			if (authorObject != null) {
+				if (wants(fields, Issue.AUTHOR_ID))
+					result.setAuthorId(JsonInput.getIntOrNull(authorObject, "id"));
+				if (wants(fields, Issue.AUTHOR_NAME))
+					result.setAuthorName(JsonInput.getSymbolOrNull(authorObject, "name"));
+			}
 		}
-		result.setStartDate(getDateOrNull(content, "start_date"));
-		result.setDueDate(getDateOrNull(content, "due_date"));
-		result.setTracker(JsonInput.getObjectOrNull(content, "tracker", RedmineJSONParser::parseTracker));
-		result.setDescription(JsonInput.getStringOrNull(content, "description"));
-		result.setCreatedOn(getDateOrNull(content, "created_on"));
-		result.setUpdatedOn(getDateOrNull(content, "updated_on"));
-		result.setClosedOn(getDateOrNull(content, "closed_on"));
-		final JSONObject statusObject = JsonInput.getObjectOrNull(content,
-				"status");
-		if (statusObject != null) {
-			result.setStatusName(JsonInput
-					.getStringOrNull(statusObject, "name"));
-			result.setStatusId(JsonInput.getIntOrNull(statusObject, "id"));
+		if (wants(fields, Issue.START_DATE))
+			result.setStartDate(getDateOrNull(content, "start_date"));
+		if (wants(fields, Issue.DUE_DATE))
+			result.setDueDate(getDateOrNull(content, "due_date"));
+		if (wants(fields, Issue.TRACKER))
+			result.setTracker(references == null
+					? JsonInput.getObjectOrNull(content, "tracker", RedmineJSONParser::parseTracker)
+					: reference(content, "tracker", references::tracker));
+		if (wants(fields, Issue.DESCRIPTION))
+			result.setDescription(JsonInput.getStringOrNull(content, "description"));
+		if (wants(fields, Issue.CREATED_ON))
+			result.setCreatedOn(getDateOrNull(content, "created_on"));
+		if (wants(fields, Issue.UPDATED_ON))
+			result.setUpdatedOn(getDateOrNull(content, "updated_on"));
+		if (wants(fields, Issue.CLOSED_ON))
+			result.setClosedOn(getDateOrNull(content, "closed_on"));
+		if (wants(fields, Issue.STATUS_NAME, Issue.STATUS_ID)) {
+			final JsonObject statusObject = JsonInput.getObjectOrNull(content,
+					"status");
+			if (statusObject != null) {
+				if (wants(fields, Issue.STATUS_NAME))
+					result.setStatusName(JsonInput
+							.getSymbolOrNull(statusObject, "name"));
+				if (wants(fields, Issue.STATUS_ID))
+					result.setStatusId(JsonInput.getIntOrNull(statusObject, "id"));
+			}
 		}
 
-		result.setPrivateIssue(JsonInput.getOptionalBool(content, "is_private"));
-
-		result.addCustomFields(JsonInput.getListOrEmpty(content,
-				"custom_fields", RedmineJSONParser::parseCustomField));
-		result.setNotes(JsonInput.getStringOrNull(content, "notes"));
-		result.addJournals(JsonInput.getListOrEmpty(content, "journals", RedmineJSONParser::parseJournal));
-		result.addAttachments(
-				JsonInput.getListOrEmpty(content, "attachments",
-						RedmineJSONParser::parseAttachments));
-		result.addRelations(JsonInput.getListOrEmpty(content, "relations", RedmineJSONParser::parseRelation));
-		result.setTargetVersion(JsonInput.getObjectOrNull(content, "fixed_version", RedmineJSONParser::parseVersion));
-		result.setCategory(JsonInput.getObjectOrNull(content, "category",
-				RedmineJSONParser::parseCategory));
-		result.addChangesets(JsonInput.getListOrEmpty(content, "changesets", RedmineJSONParser::parseChangeset));
-		result.addWatchers(JsonInput.getListOrEmpty(content, "watchers", RedmineJSONParser::parseWatcher));
-		result.addChildren(JsonInput.getListOrEmpty(content, "children", RedmineJSONParser::parseIssue));
+		if (wants(fields, Issue.PRIVATE_ISSUE))
+			result.setPrivateIssue(JsonInput.getOptionalBool(content, "is_private"));
+
+		if (wants(fields, Issue.CUSTOM_FIELDS))
+			addIfNotEmpty(JsonInput.getListOrEmpty(content,
+					"custom_fields", RedmineJSONParser::parseCustomField), result::addCustomFields);
+		if (wants(fields, Issue.NOTES))
+			result.setNotes(JsonInput.getStringOrNull(content, "notes"));
+		if (wants(fields, Issue.JOURNALS))
+			addIfNotEmpty(JsonInput.getListOrEmpty(content, "journals", lazy
+					? RedmineJSONParser::parseLazyJournal : journal -> parseJournal(journal, null, references)),
+					result::addJournals);
+		if (wants(fields, Issue.ATTACHMENTS))
+			addIfNotEmpty(JsonInput.getListOrEmpty(content, "attachments",
+					RedmineJSONParser::parseAttachments), result::addAttachments);
+		if (wants(fields, Issue.RELATIONS))
+			addIfNotEmpty(JsonInput.getListOrEmpty(content, "relations", RedmineJSONParser::parseRelation),
+					result::addRelations);
+		if (wants(fields, Issue.TARGET_VERSION))
+			result.setTargetVersion(references == null
+					? JsonInput.getObjectOrNull(content, "fixed_version", RedmineJSONParser::parseVersion)
+					: reference(content, "fixed_version", references::version));
+		if (wants(fields, Issue.ISSUE_CATEGORY))
+			result.setCategory(references == null
+					? JsonInput.getObjectOrNull(content, "category", RedmineJSONParser::parseCategory)
+					: reference(content, "category", references::category));
+		if (wants(fields, Issue.CHANGESETS))
+			addIfNotEmpty(JsonInput.getListOrEmpty(content, "changesets", RedmineJSONParser::parseChangeset),
+					result::addChangesets);
+		if (wants(fields, Issue.WATCHERS))
+			addIfNotEmpty(JsonInput.getListOrEmpty(content, "watchers", RedmineJSONParser::parseWatcher),
+					result::addWatchers);
+		if (wants(fields, Issue.CHILDREN))
+			addIfNotEmpty(JsonInput.getListOrEmpty(content, "children", lazy
+					? RedmineJSONParser::parseLazyIssue : child -> parseIssue(child, fields, false, references)),
+					result::addChildren);
+		result.getStorage().clearChanges();
 		return result;
 	}
 
-	public static IssueCategory parseCategory(JSONObject content)
+	/**
+	 * Adds parsed items to a collection of a bean. Empty lists are skipped,
+	 * so the bean keeps its shared empty collection.
+	 */
+	private static <T> void addIfNotEmpty(List<T> items, Consumer<List<T>> add) {
+		if (!items.isEmpty())
+			add.accept(items);
+	}
+
+	/**
+	 * Appends an issue to a columnar table. Only properties held by the
+	 * table are read, no beans are created.
+	 *
+	 * @param content
+	 *            issue json.
+	 * @param table
+	 *            table to append a row to.
+	 */
+	public static void parseIssueRow(JsonObject content, IssueTable.Builder table) throws JSONException {
+		table.addRow(JsonInput.getInt(content, "id", IssueTable.NO_VALUE));
+		JsonObject reference = JsonInput.getObjectOrNull(content, "project");
+		if (reference != null)
+			table.project(JsonInput.getInt(reference, "id", IssueTable.NO_VALUE), JsonInput.getSymbolOrNull(reference, "name"));
+		reference = JsonInput.getObjectOrNull(content, "tracker");
+		if (reference != null)
+			table.tracker(JsonInput.getInt(reference, "id", IssueTable.NO_VALUE), JsonInput.getSymbolOrNull(reference, "name"));
+		reference = JsonInput.getObjectOrNull(content, "status");
+		if (reference != null)
+			table.status(JsonInput.getInt(reference, "id", IssueTable.NO_VALUE), JsonInput.getSymbolOrNull(reference, "name"));
+		reference = JsonInput.getObjectOrNull(content, "priority");
+		if (reference != null)
+			table.priority(JsonInput.getInt(reference, "id", IssueTable.NO_VALUE), JsonInput.getSymbolOrNull(reference, "name"));
+		reference = JsonInput.getObjectOrNull(content, "assigned_to");
+		if (reference != null)
+			table.assignee(JsonInput.getInt(reference, "id", IssueTable.NO_VALUE), JsonInput.getSymbolOrNull(reference, "name"));
+		reference = JsonInput.getObjectOrNull(content, "author");
+		if (reference != null)
+			table.author(JsonInput.getInt(reference, "id", IssueTable.NO_VALUE));
+		table.doneRatio(JsonInput.getInt(content, "done_ratio", IssueTable.NO_VALUE));
+		table.estimatedHours(getFloat(content, "estimated_hours"));
+		table.spentHours(getFloat(content, "spent_hours"));
+		table.startDate(getMillis(content, "start_date"));
+		table.dueDate(getMillis(content, "due_date"));
+		table.createdOn(getMillis(content, "created_on"));
+		table.updatedOn(getMillis(content, "updated_on"));
+		table.closedOn(getMillis(content, "closed_on"));
+	}
+
+	private static float getFloat(JsonObject content, String field) throws JSONException {
+		if (!content.has(field) || content.isNull(field))
+			return Float.NaN;
+		return (float) content.getDouble(field);
+	}
+
+	private static long getMillis(JsonObject content, String field) throws JSONException {
+		final String text = JsonInput.getStringOrNull(content, field);
+		if (text == null)
+			return IssueTable.NO_DATE;
+		try {
+			return RedmineDateParser.parseMillis(text);
+		} catch (ParseException e) {
+			throw new JSONException("Cannot parse this date: " + text);
+		}
+	}
+
+	/**
+	 * Reads a <code>{"id": 1, "name": "..."}</code> reference to another
+	 * object.
+	 */
+	private static <T> T reference(JsonObject content, String field,
+			BiFunction<Integer, String, T> factory) throws JSONException {
+		final JsonObject object = JsonInput.getObjectOrNull(content, field);
+		if (object == null)
+			return null;
+		return factory.apply(JsonInput.getIntOrNull(object, "id"),
+				JsonInput.getSymbolOrNull(object, "name"));
+	}
+
+	/**
+	 * @param members
+	 *            pairs of a property and the name of its json member.
+	 */
+	private static Map<Property<?>, String> members(Object... members) {
+		final Map<Property<?>, String> result = new HashMap<>();
+		for (int i = 0; i < members.length; i += 2)
+			result.put((Property<?>) members[i], (String) members[i + 1]);
+		return Collections.unmodifiableMap(result);
+	}
+
+	private static boolean wants(Set<Property<?>> fields, Property<?> property) {
+		return fields == null || fields.contains(property);
+	}
+
+	private static boolean wants(Set<Property<?>> fields, Property<?> first, Property<?> second) {
+		return fields == null || fields.contains(first) || fields.contains(second);
+	}
+
+	public static IssueCategory parseCategory(JsonObject content)
 			throws JSONException {
 		final IssueCategory result = new IssueCategory(null).setId(JsonInput.getInt(content, "id"));
-		result.setName(JsonInput.getStringOrNull(content, "name"));
+		result.setName(JsonInput.getSymbolOrNull(content, "name"));
 		final Project project = JsonInput.getObjectOrNull(content, "project", RedmineJSONParser::parseMinimalProject);
 		if (project != null) {
 			result.setProjectId(project.getId());
 		}
-		JSONObject assignedToObject = JsonInput.getObjectOrNull(content, "assigned_to");
+		JsonObject assignedToObject = JsonInput.getObjectOrNull(content, "assigned_to");
 		if (assignedToObject != null) {
 			result.setAssigneeId(JsonInput.getIntOrNull(assignedToObject, "id"));
-			result.setAssigneeName(JsonInput.getStringOrNull(assignedToObject, "name"));
+			result.setAssigneeName(JsonInput.getSymbolOrNull(assignedToObject, "name"));
 		}
+		result.getStorage().clearChanges();
 		return result;
 	}
 
-	public static Version parseVersion(JSONObject content) throws JSONException {
+	public static Version parseVersion(JsonObject content) throws JSONException {
 		Version result = new Version().setId(JsonInput.getIntOrNull(content, "id"));
 		Project project = JsonInput.getObjectOrNull(content, "project", RedmineJSONParser::parseMinimalProject);
 		if (project != null) {
 			result.setProjectId(project.getId());
 			result.setProjectName(project.getName());
 		}
-		result.setName(JsonInput.getStringOrNull(content, "name"));
+		result.setName(JsonInput.getSymbolOrNull(content, "name"));
 		result.setDescription(JsonInput.getStringOrNull(content, "description"));
-		result.setSharing(JsonInput.getStringOrNull(content, "sharing"));
-		result.setStatus(JsonInput.getStringOrNull(content, "status"));
+		result.setSharing(JsonInput.getSymbolOrNull(content, "sharing"));
+		result.setStatus(JsonInput.getSymbolOrNull(content, "status"));
 		result.setDueDate(getDateOrNull(content, "due_date"));
 		result.setCreatedOn(getDateOrNull(content, "created_on"));
 		result.setUpdatedOn(getDateOrNull(content, "updated_on"));
 		result.addCustomFields(JsonInput.getListOrEmpty(content, "custom_fields", RedmineJSONParser::parseCustomField));
+		result.getStorage().clearChanges();
 		return result;
 	}
 
-	public static IssueRelation parseRelation(JSONObject content)
+	public static IssueRelation parseRelation(JsonObject content)
 			throws JSONException {
 		final IssueRelation result = new IssueRelation(null).setId(JsonInput.getIntOrNull(content, "id"));
 		result.setIssueId(JsonInput.getIntOrNull(content, "issue_id"));
-		result.addIssueToId(JsonInput.getIntOrNull(content, "issue_to_id"));
+		if (content.has("issue_to_id") && !content.isNull("issue_to_id"))
+			result.getIssueToIds().addInt(JsonInput.getInt(content, "issue_to_id"));
 		result.setType(JsonInput.getStringOrNull(content, "relation_type"));
 		result.setDelay(JsonInput.getInt(content, "delay", 0));
 		return result;
 	}
 
-	public static Attachment parseAttachments(JSONObject content)
+	public static Attachment parseAttachments(JsonObject content)
 			throws JSONException {
 		return new Attachment(null).setId(JsonInput.getIntOrNull(content, "id"))
 				.setFileName(JsonInput.getStringOrNull(content, "filename"))
@@ -297,20 +571,20 @@ public final class RedmineJSONParser {
 				.setAuthor(JsonInput.getObjectOrNull(content, "author", RedmineJSONParser::parseUser));
 	}
 
-	public static CustomField parseCustomField(JSONObject content)
+	public static CustomField parseCustomField(JsonObject content)
 			throws JSONException {
 		final CustomField result = new CustomField().setId(JsonInput.getInt(content, "id"));
-		result.setName(JsonInput.getStringOrNull(content, "name"));
+		result.setName(JsonInput.getSymbolOrNull(content, "name"));
 
 		if (!content.has("multiple")) {
 			result.setValue(JsonInput.getStringOrNull(content, "value"));
                 } else {
                         ArrayList<String> strings = new ArrayList<>();
-                        Object value = content.get("value");
-                        if(value instanceof JSONArray) {
-                            JSONArray tmp = (JSONArray) value;
+                        Object value = content.opt("value");
+                        if(value instanceof JsonArray) {
+                            JsonArray tmp = (JsonArray) value;
                             for (int i = 0; i < tmp.length(); i++) {
-                                    strings.add(String.valueOf(tmp.get(i)));
+                                    strings.add(String.valueOf(tmp.opt(i)));
                             }
                         } else {
                             // Known issue: Under the condition:
@@ -323,29 +597,50 @@ public final class RedmineJSONParser {
                         }
                         result.setValues(strings);
 		}
-
+		result.getStorage().clearChanges();
 		return result;
 	}
 
-	public static Journal parseJournal(JSONObject content) throws JSONException {
+	public static Journal parseJournal(JsonObject content) throws JSONException {
+		return parseJournal(content, null, null);
+	}
+
+	/**
+	 * Parses a journal which decodes its properties on first access.
+	 */
+	public static Journal parseLazyJournal(JsonObject content) throws JSONException {
+		final Journal result = Journal.lazy(new LazyJsonSource<>(content.toUtf8(),
+				LAZY_JOURNAL_PROPERTIES, (object, fields) -> parseJournal(object, fields, null),
+				Journal::getStorage));
+		return result.setId(JsonInput.getInt(content, "id"));
+	}
+
+	private static Journal parseJournal(JsonObject content, Set<Property<?>> fields,
+			ReferenceCache references) throws JSONException {
 		final Journal result = new Journal().setId(JsonInput.getInt(content, "id"));
-		result.setCreatedOn(getDateOrNull(content, "created_on"));
-		result.setNotes(JsonInput.getStringOrNull(content, "notes"));
-		result.setUser(JsonInput.getObjectOrNull(content, "user", RedmineJSONParser::parseUser));
-		result.addDetails(JsonInput.getListOrEmpty(content, "details", RedmineJSONParser::parseJournalDetail));
+		if (wants(fields, Journal.CREATED_ON))
+			result.setCreatedOn(getDateOrNull(content, "created_on"));
+		if (wants(fields, Journal.NOTES))
+			result.setNotes(JsonInput.getStringOrNull(content, "notes"));
+		if (wants(fields, Journal.USER))
+			result.setUser(references == null
+					? JsonInput.getObjectOrNull(content, "user", RedmineJSONParser::parseUser)
+					: reference(content, "user", references::user));
+		if (wants(fields, Journal.DETAILS))
+			result.addDetails(JsonInput.getListOrEmpty(content, "details", RedmineJSONParser::parseJournalDetail));
 		return result;
 	}
 
-	public static JournalDetail parseJournalDetail(JSONObject content) throws JSONException {
+	public static JournalDetail parseJournalDetail(JsonObject content) throws JSONException {
 	    final JournalDetail result = new JournalDetail();
 	    result.setNewValue(JsonInput.getStringOrNull(content, "new_value"));
         result.setOldValue(JsonInput.getStringOrNull(content, "old_value"));
-        result.setName(JsonInput.getStringOrNull(content, "name"));
-        result.setProperty(JsonInput.getStringOrNull(content, "property"));
+        result.setName(JsonInput.getSymbolOrNull(content, "name"));
+        result.setProperty(JsonInput.getSymbolOrNull(content, "property"));
         return result;
 	}
 
-	public static Changeset parseChangeset(JSONObject content)
+	public static Changeset parseChangeset(JsonObject content)
 			throws JSONException {
 		final Changeset result = new Changeset();
 		result.setRevision(JsonInput.getStringOrNull(content, "revision"));
@@ -355,12 +650,12 @@ public final class RedmineJSONParser {
 		return result;
 	}
 
-	public static User parseUser(JSONObject content) throws JSONException {
+	public static User parseUser(JsonObject content) throws JSONException {
 		final User result = new User(null).setId(JsonInput.getIntOrNull(content, "id"));
-		result.setLogin(JsonInput.getStringOrNull(content, "login"));
+		result.setLogin(JsonInput.getSymbolOrNull(content, "login"));
 		result.setPassword(JsonInput.getStringOrNull(content, "password"));
-		result.setFirstName(JsonInput.getStringOrNull(content, "firstname"));
-		result.setLastName(JsonInput.getStringOrNull(content, "lastname"));
+		result.setFirstName(JsonInput.getSymbolOrNull(content, "firstname"));
+		result.setLastName(JsonInput.getSymbolOrNull(content, "lastname"));
 		result.setMail(JsonInput.getStringOrNull(content, "mail"));
 		result.setAuthSourceId(JsonInput.getIntOrNull(content, "auth_source_id"));
 		result.setCreatedOn(getDateOrNull(content, "created_on"));
@@ -369,7 +664,7 @@ public final class RedmineJSONParser {
 		result.addCustomFields(JsonInput.getListOrEmpty(content,
 				"custom_fields", RedmineJSONParser::parseCustomField));
 		result.setStatus(JsonInput.getIntOrNull(content, "status"));
-		final String name = JsonInput.getStringOrNull(content, "name");
+		final String name = JsonInput.getSymbolOrNull(content, "name");
 		if (name != null)
 			result.setFullName(name);
 		result.addMemberships(JsonInput.getListOrEmpty(content, "memberships",
@@ -379,23 +674,24 @@ public final class RedmineJSONParser {
 		/* Fix user for membership */
 		for (Membership m : result.getMemberships())
 			m.setUserId(result.getId());
-
+		result.getStorage().clearChanges();
 		return result;
 	}
 
-	public static Group parseGroup(JSONObject content) throws JSONException {
+	public static Group parseGroup(JsonObject content) throws JSONException {
 		final Group result = new Group(null).setId(JsonInput.getIntOrNull(content, "id"));
-		result.setName(JsonInput.getStringOrNull(content, "name"));
+		result.setName(JsonInput.getSymbolOrNull(content, "name"));
+		result.getStorage().clearChanges();
 		return result;
 	}
 
-	public static Role parseRole(JSONObject content) throws JSONException {
+	public static Role parseRole(JsonObject content) throws JSONException {
 		final Role role = new Role().setId(JsonInput.getIntOrNull(content, "id"));
-		role.setName(JsonInput.getStringOrNull(content, "name"));
+		role.setName(JsonInput.getSymbolOrNull(content, "name"));
 		role.setInherited(content.has("inherited")
 				&& content.getBoolean("inherited"));
 		if (content.has("permissions")) {
-		    final JSONArray perms = content.getJSONArray("permissions");
+		    final JsonArray perms = content.getArray("permissions");
 		    final Set<String> permSet = new HashSet<>();
 		    for (int i = 0; i < perms.length(); i++)
 		        permSet.add(perms.getString(i));
@@ -404,7 +700,7 @@ public final class RedmineJSONParser {
 		return role;
 	}
 
-	public static Membership parseMembership(JSONObject content)
+	public static Membership parseMembership(JsonObject content)
 			throws JSONException {
 		final Membership result = new Membership(null).setId(JsonInput.getIntOrNull(content, "id"));
 		result.setProject(JsonInput.getObjectOrNull(content, "project",
@@ -423,7 +719,7 @@ public final class RedmineJSONParser {
 		return result;
 	}
 
-    public static IssuePriority parseIssuePriority(JSONObject content)
+    public static IssuePriority parseIssuePriority(JsonObject content)
             throws JSONException {
         final IssuePriority result = new IssuePriority().setId(JsonInput.getInt(content, "id"));
         result.setName(JsonInput.getStringNotNull(content, "name"));
@@ -431,7 +727,7 @@ public final class RedmineJSONParser {
         return result;
     }
 
-	public static TimeEntryActivity parseTimeEntryActivity(JSONObject content)
+	public static TimeEntryActivity parseTimeEntryActivity(JsonObject content)
 			throws JSONException {
 		return new TimeEntryActivity()
 				.setId(JsonInput.getInt(content, "id"))
@@ -439,13 +735,13 @@ public final class RedmineJSONParser {
 				.setDefault(JsonInput.getOptionalBool(content, "is_default"));
 	}
 
-	public static Watcher parseWatcher(JSONObject content) throws JSONException {
+	public static Watcher parseWatcher(JsonObject content) throws JSONException {
 		final Watcher result = new Watcher().setId(JsonInput.getIntOrNull(content, "id"));
 		result.setName(JsonInput.getStringOrNull(content, "name"));
 		return result;
 	}
         
-    public static WikiPage parseWikiPage(JSONObject object) throws JSONException {
+    public static WikiPage parseWikiPage(JsonObject object) throws JSONException {
         WikiPage wikiPage = new WikiPage().setTitle(JsonInput.getStringNotNull(object, "title"));
         wikiPage.setVersion(JsonInput.getIntOrNull(object, "version"));
         wikiPage.setCreatedOn(getDateOrNull(object, "created_on"));
@@ -453,28 +749,56 @@ public final class RedmineJSONParser {
         return wikiPage;
     }
 
-    public static WikiPageDetail parseWikiPageDetail(JSONObject object) throws JSONException {
+    public static WikiPageDetail parseWikiPageDetail(JsonObject object) throws JSONException {
         WikiPageDetail wikiPage = new WikiPageDetail(null);
+        parseWikiPageHeader(object, wikiPage);
+        parseWikiPageContent(object, wikiPage, null);
+        return wikiPage;
+    }
+
+	/**
+	 * Parses a wiki page which decodes its text, parent, author, comments and
+	 * attachments on first access.
+	 */
+	public static WikiPageDetail parseLazyWikiPageDetail(JsonObject object) throws JSONException {
+		final WikiPageDetail wikiPage = WikiPageDetail.lazy(new LazyJsonSource<>(
+				object.toUtf8(), LAZY_WIKI_PAGE_PROPERTIES, (content, fields) -> {
+					final WikiPageDetail result = new WikiPageDetail(null);
+					parseWikiPageContent(content, result, fields);
+					return result;
+				}, WikiPageDetail::getStorage));
+		parseWikiPageHeader(object, wikiPage);
+		return wikiPage;
+	}
 
+	private static void parseWikiPageHeader(JsonObject object, WikiPageDetail wikiPage)
+			throws JSONException {
         wikiPage.setTitle(JsonInput.getStringOrEmpty(object, "title"));
-        wikiPage.setText(JsonInput.getStringOrEmpty(object, "text"));
-        wikiPage.setParent(JsonInput.getObjectOrNull(object, "parent", RedmineJSONParser::parseWikiPageDetail));
-        wikiPage.setUser(JsonInput.getObjectOrNull(object, "author", RedmineJSONParser::parseUser));
         wikiPage.setVersion(JsonInput.getIntOrNull(object, "version"));
         wikiPage.setCreatedOn(getDateOrNull(object, "created_on"));
         wikiPage.setUpdatedOn(getDateOrNull(object, "updated_on"));
-		wikiPage.setComments(JsonInput.getStringOrEmpty(object, "comments"));
-        wikiPage.setAttachments(JsonInput.getListOrNull(object, "attachments", RedmineJSONParser::parseAttachments));
+	}
 
-        return wikiPage;
-    }
+	private static void parseWikiPageContent(JsonObject object, WikiPageDetail wikiPage,
+			Set<Property<?>> fields) throws JSONException {
+		if (wants(fields, WikiPageDetail.TEXT))
+			wikiPage.setText(JsonInput.getStringOrEmpty(object, "text"));
+		if (wants(fields, WikiPageDetail.PARENT))
+			wikiPage.setParent(JsonInput.getObjectOrNull(object, "parent", RedmineJSONParser::parseWikiPageDetail));
+		if (wants(fields, WikiPageDetail.USER))
+			wikiPage.setUser(JsonInput.getObjectOrNull(object, "author", RedmineJSONParser::parseUser));
+		if (wants(fields, WikiPageDetail.COMMENTS))
+			wikiPage.setComments(JsonInput.getStringOrEmpty(object, "comments"));
+		if (wants(fields, WikiPageDetail.ATTACHMENTS))
+			wikiPage.setAttachments(JsonInput.getListOrNull(object, "attachments", RedmineJSONParser::parseAttachments));
+	}
 
 	public static List<String> parseErrors(String responseBody) throws JSONException {
-		final JSONObject body = getResponse(responseBody);
-		final JSONArray errorsList = JsonInput.getArrayNotNull(body, "errors");
+		final JsonObject body = getResponse(responseBody);
+		final JsonArray errorsList = JsonInput.getArrayNotNull(body, "errors");
 		final List<String> result = new ArrayList<>(errorsList.length());
 		for (int i = 0; i < errorsList.length(); i++) {
-			result.add(errorsList.get(i).toString());
+			result.add(String.valueOf(errorsList.opt(i)));
 		}
 		return result;
 	}
@@ -487,7 +811,7 @@ public final class RedmineJSONParser {
 	 * @param field
 	 *            field to get a value from.
 	 */
-	private static Date getDateOrNull(JSONObject obj, String field) throws JSONException {
+	private static Date getDateOrNull(JsonObject obj, String field) throws JSONException {
 		String dateStr = JsonInput.getStringOrNull(obj, field);
 		if (dateStr == null) {
             return null;
@@ -499,16 +823,27 @@ public final class RedmineJSONParser {
 		}
 	}
 
-	public static JSONObject getResponseSingleObject(String body, String key) throws JSONException {
-		final JSONObject bodyJson = new JSONObject(body);
+	/**
+	 * Parses a response body with the default codec and returns the object
+	 * stored under the given key.
+	 *
+	 * @see JsonCodecs#getDefault()
+	 */
+	public static JsonObject getResponseSingleObject(String body, String key) throws JSONException {
+		final JsonObject bodyJson = getResponse(body);
         return JsonInput.getObjectNotNull(bodyJson, key);
 	}
 
-	public static JSONObject getResponse(String body) throws JSONException {
-		return new JSONObject(body);
+	/**
+	 * Parses a response body with the default codec.
+	 *
+	 * @see JsonCodecs#getDefault()
+	 */
+	public static JsonObject getResponse(String body) throws JSONException {
+		return JsonCodecs.getDefault().parse(body);
 	}
 
-        public static CustomFieldDefinition parseCustomFieldDefinition(JSONObject content)
+        public static CustomFieldDefinition parseCustomFieldDefinition(JsonObject content)
                 throws JSONException {
             final CustomFieldDefinition result = new CustomFieldDefinition()
 					.setId(JsonInput.getInt(content, "id"));
@@ -525,16 +860,16 @@ public final class RedmineJSONParser {
             result.setDefaultValue(JsonInput.getStringOrEmpty(content, "default_value"));
             result.setVisible(content.optBoolean("visible"));
             if (content.has("possible_values")) {
-                JSONArray possible_values = content.getJSONArray("possible_values");
+                JsonArray possible_values = content.getArray("possible_values");
                 for (int i = 0; i < possible_values.length(); i++) {
-                    JSONObject valueObject = possible_values.getJSONObject(i);
+                    JsonObject valueObject = possible_values.getObject(i);
                     result.getPossibleValues().add(valueObject.getString("value"));
                 }
             }
             if (content.has("trackers")) {
-                JSONArray possible_values = content.getJSONArray("trackers");
+                JsonArray possible_values = content.getArray("trackers");
                 for (int i = 0; i < possible_values.length(); i++) {
-                    JSONObject valueObject = possible_values.getJSONObject(i);
+                    JsonObject valueObject = possible_values.getObject(i);
                     int id = valueObject.getInt("id");
                     String name = valueObject.getString("name");
                     result.getTrackers().add(
@@ -543,9 +878,9 @@ public final class RedmineJSONParser {
                 }
             }
             if (content.has("roles")) {
-                JSONArray possible_values = content.getJSONArray("roles");
+                JsonArray possible_values = content.getArray("roles");
                 for (int i = 0; i < possible_values.length(); i++) {
-                    JSONObject valueObject = possible_values.getJSONObject(i);
+                    JsonObject valueObject = possible_values.getObject(i);
                     int id = valueObject.getInt("id");
                     String name = valueObject.getString("name");
 					Role role = new Role().setId(id)
@@ -556,7 +891,7 @@ public final class RedmineJSONParser {
             return result;
         }
 
-  public static File parseFiles(JSONObject content) {
+  public static File parseFiles(JsonObject content) {
     return new File(null)
         .setId(content.getInt("id"))
         .setFileName(content.getString("filename"))
@@ -568,6 +903,6 @@ public final class RedmineJSONParser {
         .setCreatedOn(getDateOrNull(content, "created_on"))
         .setVersion(JsonInput.getObjectOrNull(content, "version", RedmineJSONParser::parseVersion))
         .setDigest(content.getString("digest"))
-        .setDownloads(content.optInt("downloads"));
+        .setDownloads(content.optInt("downloads", 0));
   }
 }
@@ -0,0 +1,109 @@
+package com.taskadapter.redmineapi.internal;
+
+import com.taskadapter.redmineapi.bean.IssueCategory;
+import com.taskadapter.redmineapi.bean.Tracker;
+import com.taskadapter.redmineapi.bean.User;
+import com.taskadapter.redmineapi.bean.Version;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Identity map of objects referenced from issues (trackers, target versions,
+ * categories and journal authors).
+ * <p>
+ * Redmine sends such references as <code>{"id": 1, "name": "Bug"}</code>
+ * and a page of issues refers to a handful of distinct ones. Parsers bound to
+ * this cache decode each distinct reference once and share the resulting
+ * unmodifiable bean between all issues. The scope of sharing is the lifetime
+ * of the cache: use one per page, per stream of pages or per
+ * {@link Transport}.
+ * <p>
+ * The number of cached references is bounded. References seen after the
+ * limit is reached are still unmodifiable but are not shared. Thread-safe.
+ */
+public final class ReferenceCache {
+	public static final int DEFAULT_MAX_SIZE = 10000;
+
+	private final ConcurrentMap<Key, Object> references = new ConcurrentHashMap<>();
+	private final int maxSize;
+
+	public ReferenceCache() {
+		this(DEFAULT_MAX_SIZE);
+	}
+
+	public ReferenceCache(int maxSize) {
+		if (maxSize < 0)
+			throw new IllegalArgumentException("maxSize cannot be negative. You provided: " + maxSize);
+		this.maxSize = maxSize;
+	}
+
+	Tracker tracker(Integer id, String name) {
+		final Key key = new Key(Tracker.class, id, name);
+		final Tracker known = (Tracker) references.get(key);
+		return known != null ? known : remember(key, Tracker.reference(id, name));
+	}
+
+	Version version(Integer id, String name) {
+		final Key key = new Key(Version.class, id, name);
+		final Version known = (Version) references.get(key);
+		return known != null ? known : remember(key, Version.reference(id, name));
+	}
+
+	IssueCategory category(Integer id, String name) {
+		final Key key = new Key(IssueCategory.class, id, name);
+		final IssueCategory known = (IssueCategory) references.get(key);
+		return known != null ? known : remember(key, IssueCategory.reference(id, name));
+	}
+
+	User user(Integer id, String name) {
+		final Key key = new Key(User.class, id, name);
+		final User known = (User) references.get(key);
+		return known != null ? known : remember(key, User.reference(id, name));
+	}
+
+	/**
+	 * @return number of shared references.
+	 */
+	public int size() {
+		return references.size();
+	}
+
+	public void clear() {
+		references.clear();
+	}
+
+	@SuppressWarnings("unchecked")
+	private <T> T remember(Key key, T reference) {
+		if (references.size() >= maxSize)
+			return reference;
+		final Object known = references.putIfAbsent(key, reference);
+		return known != null ? (T) known : reference;
+	}
+
+	private static final class Key {
+		private final Class<?> type;
+		private final Integer id;
+		private final String name;
+
+		Key(Class<?> type, Integer id, String name) {
+			this.type = type;
+			this.id = id;
+			this.name = name;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) return true;
+			if (!(o instanceof Key)) return false;
+			final Key key = (Key) o;
+			return type == key.type && Objects.equals(id, key.id) && Objects.equals(name, key.name);
+		}
+
+		@Override
+		public int hashCode() {
+			return (type.hashCode() * 31 + Objects.hashCode(id)) * 31 + Objects.hashCode(name);
+		}
+	}
+}
@@ -5,10 +5,19 @@ import com.taskadapter.redmineapi.bean.*;
 import com.taskadapter.redmineapi.internal.comm.*;
 import com.taskadapter.redmineapi.internal.comm.redmine.RedmineAuthenticator;
 import com.taskadapter.redmineapi.internal.comm.redmine.RedmineErrorHandler;
+import com.taskadapter.redmineapi.internal.json.JsonArray;
+import com.taskadapter.redmineapi.internal.json.JsonCodec;
+import com.taskadapter.redmineapi.internal.json.JsonCodecs;
 import com.taskadapter.redmineapi.internal.json.JsonInput;
+import com.taskadapter.redmineapi.internal.json.JsonObject;
+import com.taskadapter.redmineapi.internal.json.JsonObjectConsumer;
 import com.taskadapter.redmineapi.internal.json.JsonObjectParser;
 import com.taskadapter.redmineapi.internal.json.JsonObjectWriter;
+import com.taskadapter.redmineapi.internal.json.JsonWriter;
+import com.taskadapter.redmineapi.internal.json.ParallelListParser;
+import com.taskadapter.redmineapi.internal.json.SymbolTable;
 import org.apache.hc.client5.http.classic.HttpClient;
+import org.apache.hc.client5.http.config.RequestConfig;
 import org.apache.hc.client5.http.classic.methods.*;
 import org.apache.hc.core5.http.ClassicHttpResponse;
 import org.apache.hc.core5.http.ContentType;
@@ -16,18 +25,18 @@ import org.apache.hc.core5.http.HttpEntityContainer;
 import org.apache.hc.core5.http.io.entity.AbstractHttpEntity;
 import org.apache.hc.core5.http.io.entity.InputStreamEntity;
 import org.apache.hc.core5.http.io.entity.StringEntity;
+import org.apache.hc.core5.util.Timeout;
 import org.json.JSONException;
-import org.json.JSONObject;
-import org.json.JSONWriter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.InputStream;
-import java.io.StringWriter;
 import java.net.URI;
 import java.nio.charset.StandardCharsets;
 import java.nio.charset.UnsupportedCharsetException;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
 
 public class Transport {
 	private static final Map<Class<?>, EntityConfig<?>> OBJECT_CONFIGS = new HashMap<>();
@@ -37,30 +46,36 @@ public class Transport {
 	private static final String KEY_OFFSET = "offset";
 
 	private final Logger logger = LoggerFactory.getLogger(Transport.class);
-	private SimpleCommunicator<String> communicator;
+	private SimpleCommunicator<byte[]> communicator;
 	private Communicator<BasicHttpResponse> errorCheckingCommunicator;
 	private Communicator<ClassicHttpResponse> authenticator;
 
-    private String onBehalfOfUser = null;
+	/** Switch-user, page size and deadline of the requests, replaced as a whole. */
+	private volatile RequestContext context = RequestContext.DEFAULT;
 
     static {
 		OBJECT_CONFIGS.put(
 				Project.class,
 				config("project", "projects",
 						RedmineJSONBuilder::writeProject,
-						RedmineJSONParser::parseProject));
+						RedmineJSONParser::parseProject)
+						.withUpdateWriter(RedmineJSONBuilder::writeProjectChanges));
 		OBJECT_CONFIGS.put(
 				Issue.class,
 				config("issue", "issues", RedmineJSONBuilder::writeIssue,
-						RedmineJSONParser::parseIssue));
+						RedmineJSONParser::parseIssue, RedmineJSONParser::parseLazyIssue,
+						RedmineJSONParser::issueParser)
+						.withUpdateWriter(RedmineJSONBuilder::writeIssueChanges));
 		OBJECT_CONFIGS.put(
 				User.class,
 				config("user", "users", RedmineJSONBuilder::writeUser,
-						RedmineJSONParser::parseUser));
+						RedmineJSONParser::parseUser)
+						.withUpdateWriter(RedmineJSONBuilder::writeUserChanges));
 		OBJECT_CONFIGS.put(
 				Group.class,
 				config("group", "groups", RedmineJSONBuilder::writeGroup,
-						RedmineJSONParser::parseGroup));
+						RedmineJSONParser::parseGroup)
+						.withUpdateWriter(RedmineJSONBuilder::writeGroupChanges));
 		OBJECT_CONFIGS.put(
 				IssueCategory.class,
 				config("issue_category", "issue_categories",
@@ -70,12 +85,14 @@ public class Transport {
 				Version.class,
 				config("version", "versions",
 						RedmineJSONBuilder::writeVersion,
-						RedmineJSONParser::parseVersion));
+						RedmineJSONParser::parseVersion)
+						.withUpdateWriter(RedmineJSONBuilder::writeVersionChanges));
 		OBJECT_CONFIGS.put(
 				TimeEntry.class,
 				config("time_entry", "time_entries",
 						RedmineJSONBuilder::writeTimeEntry,
-						RedmineJSONParser::parseTimeEntry));
+						RedmineJSONParser::parseTimeEntry)
+						.withUpdateWriter(RedmineJSONBuilder::writeTimeEntryChanges));
 		OBJECT_CONFIGS.put(News.class,
 				config("news", "news", null, RedmineJSONParser::parseNews));
 		OBJECT_CONFIGS.put(
@@ -123,7 +140,8 @@ public class Transport {
 
         OBJECT_CONFIGS.put(
                 WikiPageDetail.class,
-                config("wiki_page", null, RedmineJSONBuilder::writeWikiPageDetail, RedmineJSONParser::parseWikiPageDetail)
+                config("wiki_page", null, RedmineJSONBuilder::writeWikiPageDetail, RedmineJSONParser::parseWikiPageDetail,
+                        RedmineJSONParser::parseLazyWikiPageDetail)
         );
         OBJECT_CONFIGS.put(
                 CustomFieldDefinition.class,
@@ -139,19 +157,65 @@ public class Transport {
     }
 
 	private URIConfigurator configurator;
-	private int objectsPerPage = DEFAULT_OBJECTS_PER_PAGE;
+	private volatile int objectsPerPage = DEFAULT_OBJECTS_PER_PAGE;
+	private JsonCodec codec = JsonCodecs.getDefault();
+	/** Codec bound to the symbol table, used to parse responses. */
+	private JsonCodec decoder = codec;
+	private SymbolTable symbols;
+	private ReferenceCache references;
+	private boolean lazyDecoding;
+	private boolean snapshotDecoding;
+	private ParallelListParser listParser;
+	/** Request settings which deadline timeouts are added to. */
+	private RequestConfig defaultRequestConfig = RequestConfig.DEFAULT;
 	private static final String CHARSET = "UTF-8";
 
 	public Transport(URIConfigurator configurator, HttpClient client) {
 		var baseCommunicator = new BaseCommunicator(client);
 		var redmineAuthenticator = new RedmineAuthenticator<>(baseCommunicator, CHARSET);
 		configure(configurator, redmineAuthenticator);
+		this.defaultRequestConfig = baseCommunicator.getDefaultConfig();
 	}
 
 	public Transport(URIConfigurator configurator, Communicator communicator) {
 		configure(configurator, communicator);
 	}
 
+	/**
+	 * Creates a view of the other transport with its own request context.
+	 */
+	private Transport(Transport other, RequestContext context) {
+		this.communicator = other.communicator;
+		this.errorCheckingCommunicator = other.errorCheckingCommunicator;
+		this.authenticator = other.authenticator;
+		this.configurator = other.configurator;
+		this.objectsPerPage = other.objectsPerPage;
+		this.codec = other.codec;
+		this.decoder = other.decoder;
+		this.symbols = other.symbols;
+		this.references = other.references;
+		this.lazyDecoding = other.lazyDecoding;
+		this.snapshotDecoding = other.snapshotDecoding;
+		this.listParser = other.listParser;
+		this.defaultRequestConfig = other.defaultRequestConfig;
+		this.context = context;
+	}
+
+	/**
+	 * Returns a transport which sends requests with the given context. The
+	 * returned transport shares the connection, the configuration and the
+	 * caches of this one, so creating it is cheap. Settings changed later on
+	 * this transport are not applied to the returned one. Objects loaded
+	 * through the returned transport use it for their own requests.
+	 */
+	public Transport withContext(RequestContext context) {
+		return new Transport(this, context);
+	}
+
+	public RequestContext getContext() {
+		return context;
+	}
+
 	private void configure(URIConfigurator configurator, Communicator communicator) {
 		this.configurator = configurator;
 		this.authenticator = communicator;
@@ -160,17 +224,17 @@ public class Transport {
 				authenticator,
 				Communicators.compose(errorProcessor,
 						Communicators.transportDecoder()));
-		Communicator<String> coreCommunicator = Communicators.fmap(errorCheckingCommunicator,
-				Communicators.contentReader());
+		Communicator<byte[]> coreCommunicator = Communicators.fmap(errorCheckingCommunicator,
+				Communicators.byteReader());
 		this.communicator = Communicators.simplify(coreCommunicator,
-				Communicators.<String>identityHandler());
+				Communicators.<byte[]>identityHandler());
 	}
 
 	public User getCurrentUser(RequestParam... params) throws RedmineException {
 		URI uri = getURIConfigurator().createURI("users/current.json", params);
 		HttpGet http = new HttpGet(uri);
-		String response = send(http);
-		return parseResponse(response, "user", RedmineJSONParser::parseUser);
+		byte[] response = send(http);
+		return parseResponse(response, "user", withSnapshots(RedmineJSONParser::parseUser));
 	}
 
 	/**
@@ -192,11 +256,11 @@ public class Transport {
         }
 		URI uri = getURIConfigurator().getObjectsURI(object.getClass(), params);
 		HttpPost httpPost = new HttpPost(uri);
-		String body = RedmineJSONBuilder.toSimpleJSON(config.singleObjectName, object, config.writer);
+		String body = RedmineJSONBuilder.toSimpleJSON(codec, config.singleObjectName, object, config.writer);
 		setEntity(httpPost, body);
-		String response = send(httpPost);
-		logger.debug(response);
-		return parseResponse(response, config.singleObjectName, config.parser);
+		byte[] response = send(httpPost);
+		debug(response);
+		return parseResponse(response, config.singleObjectName, parserOf(config));
 	}
 
 	/**
@@ -218,12 +282,12 @@ public class Transport {
 		URI uri = getURIConfigurator().getChildObjectsURI(parentClass,
 				parentId, object.getClass(), params);
 		HttpPost httpPost = new HttpPost(uri);
-		String body = RedmineJSONBuilder.toSimpleJSON(config.singleObjectName,
+		String body = RedmineJSONBuilder.toSimpleJSON(codec, config.singleObjectName,
 				object, config.writer);
 		setEntity(httpPost, body);
-		String response = send(httpPost);
-		logger.debug(response);
-		return parseResponse(response, config.singleObjectName, config.parser);
+		byte[] response = send(httpPost);
+		debug(response);
+		return parseResponse(response, config.singleObjectName, parserOf(config));
 	}
 
 	/*
@@ -243,8 +307,8 @@ public class Transport {
 		final URI uri = getURIConfigurator().getObjectURI(obj.getClass(),
 				Integer.toString(id), params);
 		final HttpPut http = new HttpPut(uri);
-		final String body = RedmineJSONBuilder.toSimpleJSON(
-				config.singleObjectName, obj, config.writer);
+		final String body = RedmineJSONBuilder.toSimpleJSON(codec,
+				config.singleObjectName, obj, config.updateWriter);
 		setEntity(http, body);
 		send(http);
 	}
@@ -258,7 +322,7 @@ public class Transport {
 		final EntityConfig<T> config = getConfig(obj.getClass());
 		URI uri = getURIConfigurator().getChildIdURI(parentClass, parentId, obj.getClass(), objId, params);
 		final HttpPut http = new HttpPut(uri);
-		final String body = RedmineJSONBuilder.toSimpleJSON(config.singleObjectName, obj, config.writer);
+		final String body = RedmineJSONBuilder.toSimpleJSON(codec, config.singleObjectName, obj, config.writer);
 		setEntity(http, body);
 		send(http);
 	}
@@ -278,8 +342,8 @@ public class Transport {
     public <T> void deleteChildId(Class<?> parentClass, String parentId, T object, Integer value) throws RedmineException {
         URI uri = getURIConfigurator().getChildIdURI(parentClass, parentId, object.getClass(), value);
         HttpDelete httpDelete = new HttpDelete(uri);
-        String response = send(httpDelete);
-        logger.debug(response);
+        byte[] response = send(httpDelete);
+        debug(response);
     }
 
 	/**
@@ -318,9 +382,9 @@ public class Transport {
 		final EntityConfig<T> config = getConfig(classs);
 		final URI uri = getURIConfigurator().getObjectURI(classs, key, params);
 		final HttpGet http = new HttpGet(uri);
-		String response = send(http);
-		logger.debug(response);
-		return parseResponse(response, config.singleObjectName, config.parser);
+		byte[] response = send(http);
+		debug(response);
+		return parseResponse(response, config.singleObjectName, parserOf(config));
 	}
 
 	/**
@@ -338,10 +402,8 @@ public class Transport {
 			ContentHandler<BasicHttpResponse, R> handler)
 			throws RedmineException {
 		final HttpGet request = new HttpGet(uri);
-        if (onBehalfOfUser != null) {
-            request.addHeader("X-Redmine-Switch-User", onBehalfOfUser);
-        }
-        return errorCheckingCommunicator.sendRequest(request, handler);
+		prepare(request);
+		return errorCheckingCommunicator.sendRequest(request, handler);
     }
 
 	/**
@@ -375,7 +437,7 @@ public class Transport {
         final AbstractHttpEntity entity = new InputStreamEntity(content, contentLength, ContentType.APPLICATION_OCTET_STREAM);
 		request.setEntity(entity);
 
-		final String result = send(request);
+		final byte[] result = send(request);
 		return parseResponse(result, "upload", input -> JsonInput.getStringNotNull(input, "token"));
 	}
 
@@ -412,16 +474,31 @@ public class Transport {
 	 */
 	public <T> List<T> getObjectsList(Class<T> objectClass,
 									  Collection<? extends RequestParam> params) throws RedmineException {
+		return getObjectsList(objectClass, params, null);
+	}
+
+	/**
+	 * Same as {@link #getObjectsList(Class, Collection)}, but reads the objects
+	 * with the given parser.
+	 *
+	 * @param parser
+	 *            object parser, e.g. a projection created by
+	 *            {@link RedmineJSONParser#issueParser(Collection)}. NULL means
+	 *            the default parser for the class.
+	 */
+	public <T> List<T> getObjectsList(Class<T> objectClass,
+									  Collection<? extends RequestParam> params,
+									  JsonObjectParser<T> parser) throws RedmineException {
 		final List<T> result = new ArrayList<>();
 		int offset = 0;
 
 		Integer totalObjectsFoundOnServer;
 		do {
 			final List<RequestParam> newParams = new ArrayList<>(params);
-			newParams.add(new RequestParam("limit", String.valueOf(objectsPerPage)));
+			newParams.add(new RequestParam("limit", String.valueOf(pageSize())));
 			newParams.add(new RequestParam("offset", String.valueOf(offset)));
 
-			final ResultsWrapper<T> wrapper = getObjectsListNoPaging(objectClass, newParams);
+			final ResultsWrapper<T> wrapper = getObjectsListNoPaging(objectClass, newParams, parser);
 			result.addAll(wrapper.getResults());
 
 			totalObjectsFoundOnServer = wrapper.getTotalFoundOnServer();
@@ -438,6 +515,87 @@ public class Transport {
 		return result;
 	}
 
+	/**
+	 * Same as {@link #getObjectsList(Class, Collection)}, but hands the json
+	 * of every object to the consumer instead of creating beans. Objects are
+	 * passed in the server order on the calling thread.
+	 *
+	 * @param consumer
+	 *            receives objects of all pages, e.g. a columnar decoder.
+	 */
+	public <T> void readObjectsList(Class<T> objectClass,
+									Collection<? extends RequestParam> params,
+									JsonObjectConsumer consumer) throws RedmineException {
+		int offset = 0;
+
+		Integer totalObjectsFoundOnServer;
+		do {
+			final List<RequestParam> newParams = new ArrayList<>(params);
+			newParams.add(new RequestParam("limit", String.valueOf(pageSize())));
+			newParams.add(new RequestParam("offset", String.valueOf(offset)));
+
+			final int[] objectsOnPage = new int[1];
+			totalObjectsFoundOnServer = readObjectsPage(objectClass, newParams, object -> {
+				objectsOnPage[0]++;
+				consumer.accept(object);
+			});
+			if (totalObjectsFoundOnServer == null || objectsOnPage[0] == 0) {
+				break;
+			}
+			offset += objectsOnPage[0];
+		} while (offset < totalObjectsFoundOnServer);
+	}
+
+	/**
+	 * Reads one page of objects like
+	 * {@link #getObjectsListNoPaging(Class, Collection)}, but hands the json
+	 * of every object to the consumer.
+	 *
+	 * @return <code>total_count</code> reported by the server, NULL if the
+	 *         list is not paged.
+	 */
+	public <T> Integer readObjectsPage(Class<T> objectClass,
+									   Collection<? extends RequestParam> params,
+									   JsonObjectConsumer consumer) throws RedmineException {
+		final EntityConfig<T> config = getConfig(objectClass);
+		try {
+			final JsonObject responseObject = getJsonResponseFromGet(objectClass, params);
+			final JsonArray objects = JsonInput.getArrayOrNull(responseObject, config.multiObjectName);
+			final int count = objects == null ? 0 : objects.length();
+			for (int i = 0; i < count; i++) {
+				consumer.accept(objects.getObject(i));
+			}
+			return JsonInput.getIntOrNull(responseObject, KEY_TOTAL_COUNT);
+		} catch (JSONException e) {
+			throw new RedmineFormatException(e);
+		}
+	}
+
+	/**
+	 * Counts objects matching the parameters with a request for a single
+	 * object, e.g. for a dashboard counter.
+	 *
+	 * @return <code>total_count</code> reported by the server, or the number
+	 *         of objects sent if the list is not paged.
+	 */
+	public <T> int getObjectsCount(Class<T> objectClass,
+								   Collection<? extends RequestParam> params) throws RedmineException {
+		final List<RequestParam> newParams = new ArrayList<>();
+		newParams.add(new RequestParam(KEY_LIMIT, "1"));
+		newParams.addAll(params);
+		final int[] objectsSent = new int[1];
+		final Integer total = readObjectsPage(objectClass, newParams, object -> objectsSent[0]++);
+		return total == null ? objectsSent[0] : total;
+	}
+
+	/**
+	 * @return parser reading objects of the class as this transport is
+	 *         configured, e.g. with lazy or snapshot decoding.
+	 */
+	public <T> JsonObjectParser<T> getParser(Class<T> objectClass) {
+		return parserOf(getConfig(objectClass));
+	}
+
 	/**
 	 * Returns an object list. Provide your own "limit" and "offset" parameters if you need those, otherwise
 	 * this method will return the first page of some default size only (this default is controlled by
@@ -447,10 +605,26 @@ public class Transport {
 	 */
 	public <T> ResultsWrapper<T> getObjectsListNoPaging(Class<T> objectClass,
 											  Collection<? extends RequestParam> params) throws RedmineException {
+		return getObjectsListNoPaging(objectClass, params, null);
+	}
+
+	/**
+	 * Same as {@link #getObjectsListNoPaging(Class, Collection)}, but reads
+	 * the objects with the given parser.
+	 *
+	 * @param parser
+	 *            object parser. NULL means the default parser for the class.
+	 */
+	public <T> ResultsWrapper<T> getObjectsListNoPaging(Class<T> objectClass,
+											  Collection<? extends RequestParam> params,
+											  JsonObjectParser<T> parser) throws RedmineException {
 		final EntityConfig<T> config = getConfig(objectClass);
+		final JsonObjectParser<T> objectParser = parser != null ? withSnapshots(parser) : parserOf(config);
 		try {
-			final JSONObject responseObject = getJsonResponseFromGet(objectClass, params);
-			List<T> results = JsonInput.getListOrNull(responseObject, config.multiObjectName, config.parser);
+			final JsonObject responseObject = getJsonResponseFromGet(objectClass, params);
+			List<T> results = listParser == null
+					? JsonInput.getListOrNull(responseObject, config.multiObjectName, objectParser)
+					: listParser.getListOrNull(responseObject, config.multiObjectName, objectParser);
 			Integer totalFoundOnServer = JsonInput.getIntOrNull(responseObject, KEY_TOTAL_COUNT);
 			Integer limitOnServer = JsonInput.getIntOrNull(responseObject, KEY_LIMIT);
 			Integer offsetOnServer = JsonInput.getIntOrNull(responseObject, KEY_OFFSET);
@@ -468,14 +642,14 @@ public class Transport {
      getJsonResponseFromGet(Issue.class, params);
 	 </pre>
 	 */
-	public <T> JSONObject getJsonResponseFromGet(Class<T> objectClass,
+	public <T> JsonObject getJsonResponseFromGet(Class<T> objectClass,
 												 Collection<? extends RequestParam> params) throws RedmineException, JSONException {
 		final List<RequestParam> newParams = new ArrayList<>(params);
 		List<RequestParam> paramsList = new ArrayList<>(newParams);
 		final URI uri = getURIConfigurator().getObjectsURI(objectClass, paramsList);
 		final HttpGet http = new HttpGet(uri);
-		final String response = send(http);
-		return RedmineJSONParser.getResponse(response);
+		final byte[] response = send(http);
+		return decoder.parse(response);
 	}
 
 	public <T> List<T> getChildEntries(Class<?> parentClass, int parentId, Class<T> classs) throws RedmineException {
@@ -491,16 +665,17 @@ public class Transport {
 	public <T> List<T> getChildEntries(Class<?> parentClass, String parentKey, Class<T> classs) throws RedmineException {
 		final EntityConfig<T> config = getConfig(classs);
 		final URI uri = getURIConfigurator().getChildObjectsURI(parentClass,
-				parentKey, classs, new RequestParam("limit", String.valueOf(objectsPerPage)));
+				parentKey, classs, new RequestParam("limit", String.valueOf(pageSize())));
 
 		HttpGet http = new HttpGet(uri);
-		String response = send(http);
-		final JSONObject responseObject;
+		byte[] response = send(http);
+		final JsonObject responseObject;
 		try {
-			responseObject = RedmineJSONParser.getResponse(response);
-			return JsonInput.getListNotNull(responseObject, config.multiObjectName, config.parser);
+			responseObject = decoder.parse(response);
+			return JsonInput.getListNotNull(responseObject, config.multiObjectName, parserOf(config));
 		} catch (JSONException e) {
-			throw new RedmineFormatException("Bad categories response " + response, e);
+			throw new RedmineFormatException("Bad categories response "
+					+ new String(response, StandardCharsets.UTF_8), e);
 		}
 	}
 
@@ -512,9 +687,9 @@ public class Transport {
         final EntityConfig<T> config = getConfig(classs);
 		final URI uri = getURIConfigurator().getChildIdURI(parentClass, parentId, classs, childId, params);
         HttpGet http = new HttpGet(uri);
-        String response = send(http);
+        byte[] response = send(http);
 
-        return parseResponse(response, config.singleObjectName, config.parser);
+        return parseResponse(response, config.singleObjectName, parserOf(config));
     }
 
     /**
@@ -532,8 +707,8 @@ public class Transport {
 		logger.debug("adding user " + userId + " to group " + groupId + "...");
 		URI uri = getURIConfigurator().getChildObjectsURI(Group.class, Integer.toString(groupId), User.class);
 		HttpPost httpPost = new HttpPost(uri);
-		final StringWriter writer = new StringWriter();
-		final JSONWriter jsonWriter = new JSONWriter(writer);
+		final StringBuilder writer = new StringBuilder();
+		final JsonWriter jsonWriter = codec.newWriter(writer);
 		try {
 			jsonWriter.object().key("user_id").value(userId).endObject();
 		} catch (JSONException e) {
@@ -541,16 +716,16 @@ public class Transport {
 		}
 		String body = writer.toString();
 		setEntity(httpPost, body);
-		String response = send(httpPost);
-		logger.debug(response);
+		byte[] response = send(httpPost);
+		debug(response);
 	}
 
 	public void addWatcherToIssue(int watcherId, int issueId) throws RedmineException {
 		logger.debug("adding watcher " + watcherId + " to issue " + issueId + "...");
 		URI uri = getURIConfigurator().getChildObjectsURI(Issue.class, Integer.toString(issueId), Watcher.class);
 		HttpPost httpPost = new HttpPost(uri);
-		final StringWriter writer = new StringWriter();
-		final JSONWriter jsonWriter = new JSONWriter(writer);
+		final StringBuilder writer = new StringBuilder();
+		final JsonWriter jsonWriter = codec.newWriter(writer);
 		try {
 			jsonWriter.object().key("user_id").value(watcherId).endObject();
 		} catch (JSONException e) {
@@ -558,21 +733,59 @@ public class Transport {
 		}
 		String body = writer.toString();
 		setEntity(httpPost, body);
-		String response = send(httpPost);
-		logger.debug(response);
+		byte[] response = send(httpPost);
+		debug(response);
 	}
 
-    private String send(HttpUriRequestBase http) throws RedmineException {
-        if (onBehalfOfUser != null) {
-            http.addHeader("X-Redmine-Switch-User", onBehalfOfUser);
-        }
+    private byte[] send(HttpUriRequestBase http) throws RedmineException {
+        prepare(http);
         return communicator.sendRequest(http);
     }
 
-	private <T> T parseResponse(String response, String tag,
+	/**
+	 * Applies the request context: adds the switch-user header and limits
+	 * waiting for the response to the time left until the deadline. Paged
+	 * reads call this for every page, so they stop once the deadline passes.
+	 */
+	private void prepare(HttpUriRequestBase http) throws RedmineTransportException {
+		final RequestContext context = this.context;
+		if (context.getSwitchUser() != null) {
+			http.addHeader("X-Redmine-Switch-User", context.getSwitchUser());
+		}
+		if (context.getDeadline() != null) {
+			final long remaining = context.getRemainingMillis();
+			if (remaining <= 0) {
+				throw new RedmineTransportException("Deadline " + context.getDeadline()
+						+ " passed before " + http.getMethod() + " " + http.getRequestUri());
+			}
+			final Timeout timeout = Timeout.ofMilliseconds(remaining);
+			/* a request config replaces the one of the client as a whole */
+			final RequestConfig config = http.getConfig();
+			http.setConfig(RequestConfig.copy(config != null ? config : defaultRequestConfig)
+					.setResponseTimeout(timeout)
+					.setConnectionRequestTimeout(timeout)
+					.build());
+		}
+		if (!context.getTags().isEmpty() && logger.isDebugEnabled()) {
+			logger.debug(http.getMethod() + " " + http.getRequestUri() + " " + context.getTags());
+		}
+	}
+
+	private int pageSize() {
+		final int pageSize = context.getPageSize();
+		return pageSize > 0 ? pageSize : objectsPerPage;
+	}
+
+	private void debug(byte[] response) {
+		if (logger.isDebugEnabled()) {
+			logger.debug(new String(response, StandardCharsets.UTF_8));
+		}
+	}
+
+	private <T> T parseResponse(byte[] response, String tag,
                                      JsonObjectParser<T> parser) throws RedmineFormatException {
 		try {
-			T parse = parser.parse(RedmineJSONParser.getResponseSingleObject(response, tag));
+			T parse = parser.parse(JsonInput.getObjectNotNull(decoder.parse(response), tag));
 			if (parse instanceof FluentStyle) {
 				((FluentStyle) parse).setTransport(this);
 			}
@@ -608,7 +821,32 @@ public class Transport {
 	private static <T> EntityConfig<T> config(String objectField,
 			String urlPrefix, JsonObjectWriter<T> writer,
 			JsonObjectParser<T> parser) {
-		return new EntityConfig<>(objectField, urlPrefix, writer, parser);
+		return config(objectField, urlPrefix, writer, parser, null);
+	}
+
+	private static <T> EntityConfig<T> config(String objectField,
+			String urlPrefix, JsonObjectWriter<T> writer,
+			JsonObjectParser<T> parser, JsonObjectParser<T> lazyParser) {
+		return config(objectField, urlPrefix, writer, parser, lazyParser, null);
+	}
+
+	private static <T> EntityConfig<T> config(String objectField,
+			String urlPrefix, JsonObjectWriter<T> writer,
+			JsonObjectParser<T> parser, JsonObjectParser<T> lazyParser,
+			Function<ReferenceCache, JsonObjectParser<T>> sharingParser) {
+		return new EntityConfig<>(objectField, urlPrefix, writer, parser, lazyParser, sharingParser);
+	}
+
+	private <T> JsonObjectParser<T> parserOf(EntityConfig<T> config) {
+		if (lazyDecoding && config.lazyParser != null)
+			return withSnapshots(config.lazyParser);
+		if (references != null && config.sharingParser != null)
+			return withSnapshots(config.sharingParser.apply(references));
+		return withSnapshots(config.parser);
+	}
+
+	private <T> JsonObjectParser<T> withSnapshots(JsonObjectParser<T> parser) {
+		return snapshotDecoding ? RedmineJSONParser.snapshotParser(parser) : parser;
 	}
 
     /**
@@ -622,9 +860,90 @@ public class Transport {
      * @see <a href="http://www.redmine.org/issues/11755">Redmine issue 11755</a>
      */
     public void setOnBehalfOfUser(String loginName) {
-        this.onBehalfOfUser = loginName;
+        this.context = context.withSwitchUser(loginName);
     }
 
+	/**
+	 * Enables lazy decoding. Issues (with their journals) and wiki pages
+	 * received by this transport then keep their json text and decode each
+	 * property on first access. This saves time and memory when only a few
+	 * properties of the objects are read.
+	 */
+	public void setLazyDecoding(boolean lazyDecoding) {
+		this.lazyDecoding = lazyDecoding;
+	}
+
+	/**
+	 * Makes objects received by this transport immutable snapshots, see
+	 * {@link Snapshottable}. Objects are frozen right after parsing, nothing
+	 * is copied. Snapshots are not bound to this transport. Lazily decoded
+	 * objects are fully decoded when they are frozen.
+	 */
+	public void setSnapshotDecoding(boolean snapshotDecoding) {
+		this.snapshotDecoding = snapshotDecoding;
+	}
+
+	/**
+	 * Sets the request settings of the HTTP client, see
+	 * {@link BaseCommunicator#getDefaultConfig()}. Requests with a deadline
+	 * are sent with these settings and the timeouts of the deadline. Set by
+	 * the constructor taking an HTTP client.
+	 */
+	public void setDefaultRequestConfig(RequestConfig defaultRequestConfig) {
+		this.defaultRequestConfig = defaultRequestConfig;
+	}
+
+	/**
+	 * Enables parallel parsing of large result pages.
+	 *
+	 * @param pool
+	 *            pool to parse objects on, NULL to parse on the calling thread.
+	 * @param minObjects
+	 *            smallest page to parse in parallel. Smaller pages are parsed
+	 *            on the calling thread.
+	 */
+	public void setParallelDecoding(ForkJoinPool pool, int minObjects) {
+		this.listParser = pool == null ? null : new ParallelListParser(pool, minObjects);
+	}
+
+	/**
+	 * Makes issues received by this transport share trackers, target
+	 * versions, categories and journal authors. Shared objects hold only id
+	 * and name and cannot be modified. Not used with lazy decoding.
+	 *
+	 * @param references
+	 *            cache of shared objects, NULL to disable sharing (default).
+	 */
+	public void setReferenceCache(ReferenceCache references) {
+		this.references = references;
+	}
+
+	/**
+	 * Sets json codec used to parse responses and to write requests of this
+	 * transport. Defaults to {@link JsonCodecs#getDefault()}.
+	 */
+	public void setJsonCodec(JsonCodec codec) {
+		if (codec == null) {
+			throw new IllegalArgumentException("Json codec cannot be null");
+		}
+		this.codec = codec;
+		this.decoder = codec.withSymbols(symbols);
+	}
+
+	/**
+	 * Sets a table used to share names (of statuses, trackers, projects,
+	 * users, custom fields, etc...) between all objects parsed by this
+	 * transport. Large result sets repeat these names many times, sharing
+	 * them reduces memory retained by parsed objects.
+	 *
+	 * @param symbols
+	 *            table to use, NULL to disable sharing (default).
+	 */
+	public void setSymbolTable(SymbolTable symbols) {
+		this.symbols = symbols;
+		this.decoder = codec.withSymbols(symbols);
+	}
+
 	/**
 	 * Entity config.
 	 */
@@ -633,14 +952,30 @@ public class Transport {
 		final String multiObjectName;
 		final JsonObjectWriter<T> writer;
 		final JsonObjectParser<T> parser;
+		/** Parser creating lazily decoded objects, may be null. */
+		final JsonObjectParser<T> lazyParser;
+		/** Creates parsers sharing referenced objects, may be null. */
+		final Function<ReferenceCache, JsonObjectParser<T>> sharingParser;
+		/** Writer of update requests, same as writer unless set. */
+		JsonObjectWriter<T> updateWriter;
 
 		public EntityConfig(String objectField, String urlPrefix,
-				JsonObjectWriter<T> writer, JsonObjectParser<T> parser) {
+				JsonObjectWriter<T> writer, JsonObjectParser<T> parser,
+				JsonObjectParser<T> lazyParser,
+				Function<ReferenceCache, JsonObjectParser<T>> sharingParser) {
 			super();
 			this.singleObjectName = objectField;
 			this.multiObjectName = urlPrefix;
 			this.writer = writer;
 			this.parser = parser;
+			this.lazyParser = lazyParser;
+			this.sharingParser = sharingParser;
+			this.updateWriter = writer;
+		}
+
+		EntityConfig<T> withUpdateWriter(JsonObjectWriter<T> updateWriter) {
+			this.updateWriter = updateWriter;
+			return this;
 		}
 	}
 
@@ -35,6 +35,8 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
 import java.util.Objects;
 import java.util.stream.Collectors;
@@ -111,11 +113,17 @@ public class URIConfigurator {
         }
     }
 
+    /**
+     * Keeps the first parameter of every name, so parameters added first take precedence. Array parameters like
+     * <code>f[]</code> or <code>v[status_id][]</code> are repeated on purpose and keep every distinct value.
+     */
     static Collection<RequestParam> distinct(Collection<RequestParam> origParams) {
         return origParams
                 .stream()
                 .filter(Objects::nonNull)
-                .collect(Collectors.toMap(RequestParam::getName, a -> a, (s1, s2) -> s1))
+                .collect(Collectors.toMap(
+                        p -> p.getName().endsWith("[]") ? p.getName() + "=" + p.getValue() : p.getName(),
+                        a -> a, (s1, s2) -> s1, LinkedHashMap::new))
                 .values();
     }
 
@@ -124,7 +132,7 @@ public class URIConfigurator {
                 .stream()
                 .filter(Objects::nonNull)
                 .map(p -> new BasicNameValuePair(p.getName(), p.getValue()))
-                .collect(Collectors.toSet());
+                .collect(Collectors.toCollection(LinkedHashSet::new));
     }
 
     public URI getChildObjectsURI(Class<?> parent, String parentId,
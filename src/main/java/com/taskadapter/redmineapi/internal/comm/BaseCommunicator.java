@@ -5,6 +5,8 @@ import com.taskadapter.redmineapi.RedmineFormatException;
 import com.taskadapter.redmineapi.RedmineTransportException;
 import org.apache.hc.client5.http.ClientProtocolException;
 import org.apache.hc.client5.http.classic.HttpClient;
+import org.apache.hc.client5.http.config.Configurable;
+import org.apache.hc.client5.http.config.RequestConfig;
 import org.apache.hc.client5.http.protocol.HttpClientContext;
 import org.apache.hc.core5.http.ClassicHttpRequest;
 import org.apache.hc.core5.http.ClassicHttpResponse;
@@ -23,6 +25,21 @@ public class BaseCommunicator implements Communicator<HttpResponse> {
         this.client = client;
     }
 
+	/**
+	 * @return default request settings of the client, applied to requests
+	 *         without their own settings. {@link RequestConfig#DEFAULT} if
+	 *         the client does not tell them.
+	 */
+	public RequestConfig getDefaultConfig() {
+		if (client instanceof Configurable) {
+			final RequestConfig config = ((Configurable) client).getConfig();
+			if (config != null) {
+				return config;
+			}
+		}
+		return RequestConfig.DEFAULT;
+	}
+
 	// TODO lots of usages process 404 code themselves, but some don't.
 	// check if we can process 404 code in this method instead of forcing
 	// clients to deal with it.
@@ -1,10 +1,16 @@
 package com.taskadapter.redmineapi.internal.comm;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.io.StringWriter;
 import java.io.UnsupportedEncodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.IllegalCharsetNameException;
+import java.nio.charset.StandardCharsets;
+import java.nio.charset.UnsupportedCharsetException;
 
 import com.taskadapter.redmineapi.RedmineException;
 import com.taskadapter.redmineapi.RedmineTransportException;
@@ -31,6 +37,39 @@ public final class Communicators {
 	private static final ContentHandler<BasicHttpResponse, String> CHAR_CONTENT_READER = compose(
 			Communicators::readAll, CHARACTER_DECODER);
 
+	/**
+	 * Reads content as UTF-8 bytes. Content in other charsets is transcoded.
+	 */
+	private static final ContentHandler<BasicHttpResponse, byte[]> BYTE_CONTENT_READER = content -> {
+		final String charset = content.getCharset();
+		final Charset source;
+		try {
+			source = Charset.forName(charset);
+		} catch (IllegalCharsetNameException | UnsupportedCharsetException e) {
+			throw new RedmineTransportException(
+					"Unsupported response charset " + charset, e);
+		}
+		final byte[] bytes = readAll(content.getStream());
+		if (StandardCharsets.UTF_8.equals(source))
+			return bytes;
+		return new String(bytes, source).getBytes(StandardCharsets.UTF_8);
+	};
+
+	static byte[] readAll(InputStream stream) throws RedmineException {
+		final ByteArrayOutputStream result = new ByteArrayOutputStream();
+		final byte[] buffer = new byte[8192];
+		int readed;
+		try {
+			while ((readed = stream.read(buffer)) > 0) {
+				result.write(buffer, 0, readed);
+			}
+			stream.close();
+			return result.toByteArray();
+		} catch (IOException e) {
+			throw new RedmineTransportException(e);
+		}
+	}
+
 	static String readAll(Reader r) throws RedmineException {
 		final StringWriter writer = new StringWriter();
 		final char[] buffer = new char[4096];
@@ -61,6 +100,13 @@ public final class Communicators {
 		return CHAR_CONTENT_READER;
 	}
 
+	/**
+	 * @return handler reading the whole content as UTF-8 encoded bytes.
+	 */
+	public static ContentHandler<BasicHttpResponse, byte[]> byteReader() {
+		return BYTE_CONTENT_READER;
+	}
+
 	public static <K, I, R> ContentHandler<K, R> compose(
 			ContentHandler<I, R> cont1, ContentHandler<K, I> cont2) {
 		return new ComposingHandler<>(cont1, cont2);
@@ -0,0 +1,278 @@
+package com.taskadapter.redmineapi.internal.comm;
+
+import com.taskadapter.redmineapi.RedmineTransportException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Grants permits to send requests. Every tenant has a token bucket limiting
+ * its request rate, all tenants together share a global bucket.
+ * <p>
+ * Callers which cannot get a permit at once wait in a queue ordered by start
+ * fair queuing: a tenant's request is tagged with the virtual time at which
+ * it would finish if the tenant got the share of the global rate given by
+ * its weight. The waiting request with the lowest tag whose tenant has a
+ * token left is served first, so a tenant with many queued requests does not
+ * delay the others, and a tenant with weight 2 gets twice the rate of a
+ * tenant with weight 1 when both are busy.
+ */
+public final class FairShareScheduler {
+
+	private final ConcurrentMap<String, Tenant> tenants = new ConcurrentHashMap<>();
+	private final ReentrantLock lock = new ReentrantLock();
+	private final Condition changed = lock.newCondition();
+	private final List<Waiter> waiters = new ArrayList<>();
+	private final Bucket global;
+	private final LongSupplier nanoTime;
+	private double virtualTime;
+	private long arrivals;
+
+	/**
+	 * @param requestsPerSecond
+	 *            global rate, {@link Double#POSITIVE_INFINITY} for no limit.
+	 * @param burst
+	 *            number of requests which can be sent at once after a pause.
+	 */
+	public FairShareScheduler(double requestsPerSecond, int burst) {
+		this(requestsPerSecond, burst, System::nanoTime);
+	}
+
+	/**
+	 * @param nanoTime
+	 *            clock measuring waits and refilling buckets, see
+	 *            {@link System#nanoTime()}.
+	 */
+	public FairShareScheduler(double requestsPerSecond, int burst, LongSupplier nanoTime) {
+		this.nanoTime = nanoTime;
+		this.global = new Bucket(nanoTime.getAsLong());
+		global.setLimits(requestsPerSecond, burst);
+	}
+
+	/**
+	 * Returns the tenant with the given name, creating it with the given
+	 * limits if it does not exist yet.
+	 */
+	public Tenant tenant(String name, double requestsPerSecond, int burst, int weight) {
+		return tenants.computeIfAbsent(name, key -> {
+			final Tenant tenant = new Tenant(key, nanoTime.getAsLong());
+			tenant.bucket.setLimits(requestsPerSecond, burst);
+			tenant.weight = weight;
+			return tenant;
+		});
+	}
+
+	public Collection<Tenant> getTenants() {
+		return Collections.unmodifiableCollection(tenants.values());
+	}
+
+	/**
+	 * Changes limits of the tenant. Waiting requests are re-evaluated.
+	 */
+	public void setLimits(Tenant tenant, double requestsPerSecond, int burst, int weight) {
+		lock.lock();
+		try {
+			tenant.bucket.refill(nanoTime.getAsLong());
+			tenant.bucket.setLimits(requestsPerSecond, burst);
+			tenant.weight = weight;
+			changed.signalAll();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * @return number of requests waiting for a permit.
+	 */
+	public int getWaitingCount() {
+		lock.lock();
+		try {
+			return waiters.size();
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	/**
+	 * Waits for a permit of the tenant.
+	 *
+	 * @return nanoseconds spent waiting.
+	 * @throws RedmineTransportException
+	 *             if no permit was granted within the given time or the thread
+	 *             was interrupted.
+	 */
+	public long acquire(Tenant tenant, long maxWaitNanos) throws RedmineTransportException {
+		lock.lock();
+		try {
+			final long start = nanoTime.getAsLong();
+			global.refill(start);
+			tenant.bucket.refill(start);
+			if (waiters.isEmpty() && global.tokens >= 1 && tenant.bucket.tokens >= 1) {
+				grant(tenant, virtualTime);
+				return 0;
+			}
+			final double startTag = Math.max(virtualTime, tenant.lastFinishTag);
+			final Waiter waiter = new Waiter(tenant, startTag, startTag + 1.0 / tenant.weight, arrivals++);
+			tenant.lastFinishTag = waiter.finishTag;
+			waiters.add(waiter);
+			tenant.throttled.increment();
+			try {
+				while (true) {
+					final long now = nanoTime.getAsLong();
+					global.refill(now);
+					final Waiter next = nextEligible(now);
+					if (next == waiter && global.tokens >= 1) {
+						waiters.remove(waiter);
+						grant(tenant, waiter.startTag);
+						changed.signalAll();
+						final long waited = now - start;
+						tenant.waitNanos.add(waited);
+						return waited;
+					}
+					final long remaining = maxWaitNanos - (now - start);
+					if (remaining <= 0) {
+						waiters.remove(waiter);
+						tenant.rejected.increment();
+						changed.signalAll();
+						throw new RedmineTransportException("Request quota of " + tenant.name + " exceeded, no permit within "
+								+ TimeUnit.NANOSECONDS.toMillis(maxWaitNanos) + " ms");
+					}
+					final long wait;
+					if (tenant.bucket.tokens < 1) {
+						wait = tenant.bucket.nanosUntilToken();
+					} else if (global.tokens < 1) {
+						wait = global.nanosUntilToken();
+					} else {
+						/* another request is served first and signals */
+						wait = remaining;
+					}
+					changed.awaitNanos(Math.max(1, Math.min(wait, remaining)));
+				}
+			} catch (InterruptedException e) {
+				waiters.remove(waiter);
+				changed.signalAll();
+				Thread.currentThread().interrupt();
+				throw new RedmineTransportException("Interrupted while waiting for request quota of " + tenant.name, e);
+			}
+		} finally {
+			lock.unlock();
+		}
+	}
+
+	private void grant(Tenant tenant, double startTag) {
+		global.tokens -= 1;
+		tenant.bucket.tokens -= 1;
+		virtualTime = Math.max(virtualTime, startTag);
+	}
+
+	private Waiter nextEligible(long now) {
+		Waiter result = null;
+		for (Waiter waiter : waiters) {
+			waiter.tenant.bucket.refill(now);
+			if (waiter.tenant.bucket.tokens >= 1 && (result == null || waiter.isBefore(result))) {
+				result = waiter;
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Requests of one credential. Counters can be read and reset at any time.
+	 */
+	public static final class Tenant {
+		private final String name;
+		private final Bucket bucket;
+		private volatile int weight = 1;
+		private double lastFinishTag;
+
+		public final LongAdder requests = new LongAdder();
+		public final LongAdder throttled = new LongAdder();
+		public final LongAdder rejected = new LongAdder();
+		public final LongAdder bytesSent = new LongAdder();
+		public final LongAdder bytesReceived = new LongAdder();
+		public final LongAdder waitNanos = new LongAdder();
+
+		private Tenant(String name, long now) {
+			this.name = name;
+			this.bucket = new Bucket(now);
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public int getWeight() {
+			return weight;
+		}
+	}
+
+	private static final class Waiter {
+		final Tenant tenant;
+		final double startTag;
+		final double finishTag;
+		final long arrival;
+
+		Waiter(Tenant tenant, double startTag, double finishTag, long arrival) {
+			this.tenant = tenant;
+			this.startTag = startTag;
+			this.finishTag = finishTag;
+			this.arrival = arrival;
+		}
+
+		boolean isBefore(Waiter other) {
+			if (finishTag != other.finishTag) {
+				return finishTag < other.finishTag;
+			}
+			return arrival < other.arrival;
+		}
+	}
+
+	/**
+	 * Token bucket. Guarded by the scheduler lock.
+	 */
+	private static final class Bucket {
+		private double rate;
+		private int capacity;
+		private double tokens;
+		private long lastRefill;
+
+		Bucket(long now) {
+			this.lastRefill = now;
+		}
+
+		void setLimits(double requestsPerSecond, int burst) {
+			if (!(requestsPerSecond > 0)) {
+				throw new IllegalArgumentException("Request rate must be > 0. You provided: " + requestsPerSecond);
+			}
+			if (burst <= 0) {
+				throw new IllegalArgumentException("Burst must be > 0. You provided: " + burst);
+			}
+			final boolean initial = capacity == 0;
+			this.rate = requestsPerSecond;
+			this.capacity = burst;
+			this.tokens = initial ? burst : Math.min(tokens, burst);
+		}
+
+		void refill(long now) {
+			if (Double.isInfinite(rate)) {
+				tokens = capacity;
+			} else {
+				tokens = Math.min(capacity, tokens + (now - lastRefill) * rate / 1e9);
+			}
+			lastRefill = now;
+		}
+
+		long nanosUntilToken() {
+			return (long) Math.ceil((1 - tokens) * 1e9 / rate);
+		}
+	}
+}
@@ -0,0 +1,73 @@
+package com.taskadapter.redmineapi.internal.comm;
+
+import com.taskadapter.redmineapi.RedmineException;
+import com.taskadapter.redmineapi.RedmineTransportException;
+import org.apache.hc.core5.http.ClassicHttpRequest;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limits the number of requests sent concurrently through the peer. Several
+ * communicators may share one semaphore, e.g. all managers of one tenant.
+ * Waiting callers are served in arrival order if the semaphore is fair.
+ */
+public final class LimitingCommunicator<K> implements Communicator<K> {
+
+	private final Communicator<K> peer;
+	private final Semaphore permits;
+	private final long maxWaitMillis;
+
+	/**
+	 * @param maxWaitMillis
+	 *            time to wait for a free permit before the request fails.
+	 */
+	public LimitingCommunicator(Communicator<K> peer, Semaphore permits, long maxWaitMillis) {
+		this.peer = peer;
+		this.permits = permits;
+		this.maxWaitMillis = maxWaitMillis;
+	}
+
+	@Override
+	public <R> R sendRequest(ClassicHttpRequest request,
+			ContentHandler<K, R> handler) throws RedmineException {
+		return sendRequest(request, handler, TimeUnit.MILLISECONDS.toNanos(maxWaitMillis));
+	}
+
+	/**
+	 * Same as {@link #sendRequest(ClassicHttpRequest, ContentHandler)}, but
+	 * waits for a free permit at most the given time instead of the configured
+	 * one, e.g. what is left of the caller's own time limit.
+	 */
+	public <R> R sendRequest(ClassicHttpRequest request,
+			ContentHandler<K, R> handler, long maxWaitNanos) throws RedmineException {
+		try {
+			if (!permits.tryAcquire(Math.max(0, maxWaitNanos), TimeUnit.NANOSECONDS)) {
+				throw new NoPermitException("No free connection for "
+						+ request.getMethod() + " " + request.getPath()
+						+ " within " + TimeUnit.NANOSECONDS.toMillis(Math.max(0, maxWaitNanos))
+						+ " ms, too many concurrent requests");
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RedmineTransportException("Interrupted while waiting for a free connection", e);
+		}
+		try {
+			return peer.sendRequest(request, handler);
+		} finally {
+			permits.release();
+		}
+	}
+
+	/**
+	 * Thrown if no permit was free within the wait time. The request was not
+	 * sent.
+	 */
+	public static final class NoPermitException extends RedmineTransportException {
+		private static final long serialVersionUID = 1L;
+
+		NoPermitException(String message) {
+			super(message);
+		}
+	}
+}
@@ -0,0 +1,149 @@
+package com.taskadapter.redmineapi.internal.comm;
+
+import com.taskadapter.redmineapi.RedmineException;
+import org.apache.hc.core5.http.ClassicHttpRequest;
+import org.apache.hc.core5.http.ClassicHttpResponse;
+import org.apache.hc.core5.http.HttpEntity;
+import org.apache.hc.core5.http.HttpResponse;
+import org.apache.hc.core5.http.io.entity.HttpEntityWrapper;
+
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sends requests of one tenant after the scheduler grants a permit and counts
+ * requests and transferred bytes of the tenant. Bytes are counted as the
+ * entities are written and read, so streamed uploads and downloads are
+ * accounted too.
+ */
+public final class QuotaCommunicator implements Communicator<HttpResponse> {
+
+	private final Communicator<HttpResponse> sender;
+	/** peer limiting concurrent requests, null if there is no such limit. */
+	private final LimitingCommunicator<HttpResponse> limiter;
+	private final FairShareScheduler scheduler;
+	private final FairShareScheduler.Tenant tenant;
+	private final long maxWaitNanos;
+
+	public QuotaCommunicator(Communicator<HttpResponse> peer, FairShareScheduler scheduler,
+			FairShareScheduler.Tenant tenant, long maxWaitMillis) {
+		this(peer, null, scheduler, tenant, maxWaitMillis);
+	}
+
+	/**
+	 * Also limits concurrent requests by the permits. A request waits at most
+	 * <code>maxWaitMillis</code> for its quota and a permit together. A
+	 * request without a permit in time is counted as rejected.
+	 *
+	 * @param permits
+	 *            NULL for no limit.
+	 */
+	public QuotaCommunicator(Communicator<HttpResponse> peer, Semaphore permits, FairShareScheduler scheduler,
+			FairShareScheduler.Tenant tenant, long maxWaitMillis) {
+		this.sender = new Sender(peer);
+		this.limiter = permits == null ? null : new LimitingCommunicator<>(sender, permits, maxWaitMillis);
+		this.scheduler = scheduler;
+		this.tenant = tenant;
+		this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+	}
+
+	@Override
+	public <R> R sendRequest(ClassicHttpRequest request,
+			ContentHandler<HttpResponse, R> handler) throws RedmineException {
+		final long waited = scheduler.acquire(tenant, maxWaitNanos);
+		if (limiter == null) {
+			return sender.sendRequest(request, handler);
+		}
+		try {
+			return limiter.sendRequest(request, handler, maxWaitNanos - waited);
+		} catch (LimitingCommunicator.NoPermitException e) {
+			tenant.rejected.increment();
+			throw e;
+		}
+	}
+
+	/**
+	 * Counts a request as it is sent and the bytes as they are transferred.
+	 */
+	private final class Sender implements Communicator<HttpResponse> {
+		private final Communicator<HttpResponse> peer;
+
+		Sender(Communicator<HttpResponse> peer) {
+			this.peer = peer;
+		}
+
+		@Override
+		public <R> R sendRequest(ClassicHttpRequest request,
+				ContentHandler<HttpResponse, R> handler) throws RedmineException {
+			tenant.requests.increment();
+			if (request.getEntity() != null) {
+				request.setEntity(new CountingEntity(request.getEntity(), tenant.bytesSent));
+			}
+			return peer.sendRequest(request, response -> {
+				if (response instanceof ClassicHttpResponse) {
+					final ClassicHttpResponse classicResponse = (ClassicHttpResponse) response;
+					if (classicResponse.getEntity() != null) {
+						classicResponse.setEntity(new CountingEntity(classicResponse.getEntity(),
+								tenant.bytesReceived));
+					}
+				}
+				return handler.processContent(response);
+			});
+		}
+	}
+
+	private static final class CountingEntity extends HttpEntityWrapper {
+		private final LongAdder counter;
+
+		CountingEntity(HttpEntity entity, LongAdder counter) {
+			super(entity);
+			this.counter = counter;
+		}
+
+		@Override
+		public InputStream getContent() throws IOException {
+			return new FilterInputStream(super.getContent()) {
+				@Override
+				public int read() throws IOException {
+					final int result = super.read();
+					if (result >= 0) {
+						counter.increment();
+					}
+					return result;
+				}
+
+				@Override
+				public int read(byte[] b, int off, int len) throws IOException {
+					final int result = super.read(b, off, len);
+					if (result > 0) {
+						counter.add(result);
+					}
+					return result;
+				}
+			};
+		}
+
+		@Override
+		public void writeTo(OutputStream outStream) throws IOException {
+			super.writeTo(new FilterOutputStream(outStream) {
+				@Override
+				public void write(int b) throws IOException {
+					out.write(b);
+					counter.increment();
+				}
+
+				@Override
+				public void write(byte[] b, int off, int len) throws IOException {
+					out.write(b, off, len);
+					counter.add(len);
+				}
+			});
+		}
+	}
+}
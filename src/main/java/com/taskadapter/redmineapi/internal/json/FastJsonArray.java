@@ -0,0 +1,72 @@
+package com.taskadapter.redmineapi.internal.json;
+
+import org.json.JSONException;
+
+/**
+ * Json array view over a {@link JsonTape}.
+ * <p>
+ * Elements are located by walking the tape. The last visited element is
+ * remembered, so sequential access costs constant time per element. Not
+ * thread-safe.
+ */
+final class FastJsonArray implements JsonArray {
+	final JsonTape tape;
+	final int token;
+	private final int length;
+
+	private int cursorIndex;
+	private int cursorToken;
+
+	FastJsonArray(JsonTape tape, int token) {
+		this.tape = tape;
+		this.token = token;
+		this.length = tape.count(token);
+		this.cursorIndex = 0;
+		this.cursorToken = token + 1;
+	}
+
+	@Override
+	public int length() {
+		return length;
+	}
+
+	@Override
+	public Object opt(int index) {
+		return tape.value(element(index));
+	}
+
+	@Override
+	public String getString(int index) throws JSONException {
+		final int element = element(index);
+		if (tape.kind(element) != JsonTape.STRING)
+			throw new JSONException("JSONArray[" + index + "] is not a String.");
+		return tape.string(element);
+	}
+
+	@Override
+	public JsonObject getObject(int index) throws JSONException {
+		final int element = element(index);
+		if (tape.kind(element) != JsonTape.OBJECT)
+			throw new JSONException("JSONArray[" + index + "] is not a JSONObject.");
+		return new FastJsonObject(tape, element);
+	}
+
+	private int element(int index) throws JSONException {
+		if (index < 0 || index >= length)
+			throw new JSONException("JSONArray[" + index + "] not found.");
+		if (index < cursorIndex) {
+			cursorIndex = 0;
+			cursorToken = token + 1;
+		}
+		while (cursorIndex < index) {
+			cursorToken = tape.next(cursorToken);
+			cursorIndex++;
+		}
+		return cursorToken;
+	}
+
+	@Override
+	public String toString() {
+		return tape.text(token);
+	}
+}
@@ -0,0 +1,37 @@
+package com.taskadapter.redmineapi.internal.json;
+
+import java.nio.charset.StandardCharsets;
+
+import org.json.JSONException;
+
+/**
+ * Default codec. Parses UTF-8 bytes into a {@link JsonTape} and exposes
+ * lazily decoded views over it.
+ */
+final class FastJsonCodec implements JsonCodec {
+	private final SymbolTable symbols;
+
+	FastJsonCodec(SymbolTable symbols) {
+		this.symbols = symbols;
+	}
+
+	@Override
+	public JsonObject parse(byte[] content) throws JSONException {
+		return new FastJsonObject(JsonTape.parse(content, 0, content.length, symbols), 0);
+	}
+
+	@Override
+	public JsonObject parse(String content) throws JSONException {
+		return parse(content.getBytes(StandardCharsets.UTF_8));
+	}
+
+	@Override
+	public JsonCodec withSymbols(SymbolTable symbols) {
+		return symbols == this.symbols ? this : new FastJsonCodec(symbols);
+	}
+
+	@Override
+	public JsonWriter newWriter(StringBuilder out) {
+		return new FastJsonWriter(out);
+	}
+}
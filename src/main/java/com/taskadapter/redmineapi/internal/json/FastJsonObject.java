@@ -0,0 +1,162 @@
+package com.taskadapter.redmineapi.internal.json;
+
+import java.util.Arrays;
+
+import org.json.JSONException;
+
+/**
+ * Json object view over a {@link JsonTape}.
+ */
+final class FastJsonObject implements JsonObject {
+	final JsonTape tape;
+	final int token;
+
+	FastJsonObject(JsonTape tape, int token) {
+		this.tape = tape;
+		this.token = token;
+	}
+
+	@Override
+	public boolean has(String key) {
+		return tape.find(token, key) >= 0;
+	}
+
+	@Override
+	public boolean isNull(String key) {
+		final int value = tape.find(token, key);
+		return value < 0 || tape.kind(value) == JsonTape.NULL;
+	}
+
+	@Override
+	public Object opt(String key) {
+		final int value = tape.find(token, key);
+		return value < 0 ? null : tape.value(value);
+	}
+
+	@Override
+	public String getString(String key) throws JSONException {
+		final int value = require(key);
+		if (tape.kind(value) != JsonTape.STRING)
+			throw new JSONException("JSONObject[\"" + key + "\"] is not a string.");
+		return tape.string(value);
+	}
+
+	@Override
+	public String getSymbol(String key) throws JSONException {
+		final int value = require(key);
+		if (tape.kind(value) != JsonTape.STRING)
+			throw new JSONException("JSONObject[\"" + key + "\"] is not a string.");
+		return tape.symbol(value);
+	}
+
+	@Override
+	public String optString(String key) {
+		final int value = tape.find(token, key);
+		if (value < 0)
+			return "";
+		switch (tape.kind(value)) {
+		case JsonTape.NULL:
+			return "";
+		case JsonTape.STRING:
+			return tape.string(value);
+		default:
+			return tape.text(value);
+		}
+	}
+
+	@Override
+	public int getInt(String key) throws JSONException {
+		return (int) tape.longValue(require(key));
+	}
+
+	@Override
+	public int optInt(String key, int defaultValue) {
+		final int value = tape.find(token, key);
+		if (value < 0)
+			return defaultValue;
+		try {
+			return (int) tape.longValue(value);
+		} catch (JSONException e) {
+			return defaultValue;
+		}
+	}
+
+	@Override
+	public long getLong(String key) throws JSONException {
+		return tape.longValue(require(key));
+	}
+
+	@Override
+	public double getDouble(String key) throws JSONException {
+		return tape.doubleValue(require(key));
+	}
+
+	@Override
+	public boolean getBoolean(String key) throws JSONException {
+		final int value = require(key);
+		switch (tape.kind(value)) {
+		case JsonTape.TRUE:
+			return true;
+		case JsonTape.FALSE:
+			return false;
+		case JsonTape.STRING:
+			final String text = tape.string(value);
+			if ("true".equalsIgnoreCase(text))
+				return true;
+			if ("false".equalsIgnoreCase(text))
+				return false;
+			break;
+		default:
+			break;
+		}
+		throw new JSONException("JSONObject[\"" + key + "\"] is not a Boolean.");
+	}
+
+	@Override
+	public boolean optBoolean(String key) {
+		final int value = tape.find(token, key);
+		if (value < 0)
+			return false;
+		switch (tape.kind(value)) {
+		case JsonTape.TRUE:
+			return true;
+		case JsonTape.STRING:
+			return "true".equalsIgnoreCase(tape.string(value));
+		default:
+			return false;
+		}
+	}
+
+	@Override
+	public JsonObject getObject(String key) throws JSONException {
+		final int value = require(key);
+		if (tape.kind(value) != JsonTape.OBJECT)
+			throw new JSONException("JSONObject[\"" + key + "\"] is not a JSONObject.");
+		return new FastJsonObject(tape, value);
+	}
+
+	@Override
+	public JsonArray getArray(String key) throws JSONException {
+		final int value = require(key);
+		if (tape.kind(value) != JsonTape.ARRAY)
+			throw new JSONException("JSONObject[\"" + key + "\"] is not a JSONArray.");
+		return new FastJsonArray(tape, value);
+	}
+
+	private int require(String key) throws JSONException {
+		final int value = tape.find(token, key);
+		if (value < 0)
+			throw new JSONException("JSONObject[\"" + key + "\"] not found.");
+		return value;
+	}
+
+	@Override
+	public byte[] toUtf8() {
+		return Arrays.copyOfRange(tape.buf, tape.start(token), tape.end(token));
+	}
+
+	@Override
+	public String toString() {
+		return tape.text(token);
+	}
+}
@@ -0,0 +1,226 @@
+package com.taskadapter.redmineapi.internal.json;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+
+import org.json.JSONException;
+
+/**
+ * Json writer appending directly to a string builder.
+ */
+final class FastJsonWriter implements JsonWriter {
+	private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+	private final StringBuilder out;
+
+	/** Whether the container at given depth has no elements yet. */
+	private boolean[] empty = new boolean[16];
+	private int depth;
+	private boolean afterKey;
+
+	FastJsonWriter(StringBuilder out) {
+		this.out = out;
+	}
+
+	@Override
+	public JsonWriter object() throws JSONException {
+		beforeValue();
+		out.append('{');
+		push();
+		return this;
+	}
+
+	@Override
+	public JsonWriter endObject() throws JSONException {
+		pop();
+		out.append('}');
+		return this;
+	}
+
+	@Override
+	public JsonWriter array() throws JSONException {
+		beforeValue();
+		out.append('[');
+		push();
+		return this;
+	}
+
+	@Override
+	public JsonWriter endArray() throws JSONException {
+		pop();
+		out.append(']');
+		return this;
+	}
+
+	@Override
+	public JsonWriter key(String key) throws JSONException {
+		if (key == null)
+			throw new JSONException("Null key.");
+		if (depth == 0 || afterKey)
+			throw new JSONException("Misplaced key.");
+		separate();
+		quote(key);
+		out.append(':');
+		afterKey = true;
+		return this;
+	}
+
+	@Override
+	public JsonWriter value(Object value) throws JSONException {
+		beforeValue();
+		writeValue(value);
+		return this;
+	}
+
+	@Override
+	public JsonWriter value(long value) throws JSONException {
+		beforeValue();
+		out.append(value);
+		return this;
+	}
+
+	@Override
+	public JsonWriter value(double value) throws JSONException {
+		return value(Double.valueOf(value));
+	}
+
+	@Override
+	public JsonWriter value(boolean value) throws JSONException {
+		beforeValue();
+		out.append(value);
+		return this;
+	}
+
+	private void writeValue(Object value) throws JSONException {
+		if (value == null) {
+			out.append("null");
+		} else if (value instanceof String) {
+			quote((String) value);
+		} else if (value instanceof Number) {
+			writeNumber((Number) value);
+		} else if (value instanceof Boolean) {
+			out.append(((Boolean) value).booleanValue());
+		} else if (value instanceof Collection) {
+			out.append('[');
+			boolean first = true;
+			for (Object item : (Collection<?>) value) {
+				if (!first)
+					out.append(',');
+				first = false;
+				writeValue(item);
+			}
+			out.append(']');
+		} else if (value instanceof Map) {
+			out.append('{');
+			boolean first = true;
+			for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+				if (!first)
+					out.append(',');
+				first = false;
+				quote(String.valueOf(entry.getKey()));
+				out.append(':');
+				writeValue(entry.getValue());
+			}
+			out.append('}');
+		} else {
+			quote(value.toString());
+		}
+	}
+
+	private void writeNumber(Number value) throws JSONException {
+		if (value instanceof Integer || value instanceof Long
+				|| value instanceof Short || value instanceof Byte) {
+			out.append(value.longValue());
+			return;
+		}
+		if ((value instanceof Double && !Double.isFinite(value.doubleValue()))
+				|| (value instanceof Float && !Float.isFinite(value.floatValue())))
+			throw new JSONException("JSON does not allow non-finite numbers.");
+		final String text = value.toString();
+		if (text.indexOf('.') > 0 && text.indexOf('e') < 0
+				&& text.indexOf('E') < 0) {
+			/* 2.50 -> 2.5, 2.0 -> 2 */
+			int end = text.length();
+			while (text.charAt(end - 1) == '0')
+				end--;
+			if (text.charAt(end - 1) == '.')
+				end--;
+			out.append(text, 0, end);
+		} else {
+			out.append(text);
+		}
+	}
+
+	private void quote(String value) {
+		out.append('"');
+		final int length = value.length();
+		int segment = 0;
+		for (int i = 0; i < length; i++) {
+			final char c = value.charAt(i);
+			if (c >= 0x20 && c != '"' && c != '\\' && c != '\u2028'
+					&& c != '\u2029')
+				continue;
+			out.append(value, segment, i);
+			segment = i + 1;
+			switch (c) {
+			case '"':
+				out.append("\\\"");
+				break;
+			case '\\':
+				out.append("\\\\");
+				break;
+			case '\n':
+				out.append("\\n");
+				break;
+			case '\r':
+				out.append("\\r");
+				break;
+			case '\t':
+				out.append("\\t");
+				break;
+			case '\b':
+				out.append("\\b");
+				break;
+			case '\f':
+				out.append("\\f");
+				break;
+			default:
+				out.append("\\u").append(HEX[(c >> 12) & 0xF])
+						.append(HEX[(c >> 8) & 0xF]).append(HEX[(c >> 4) & 0xF])
+						.append(HEX[c & 0xF]);
+			}
+		}
+		out.append(value, segment, length);
+		out.append('"');
+	}
+
+	private void beforeValue() throws JSONException {
+		if (afterKey) {
+			afterKey = false;
+			return;
+		}
+		if (depth > 0)
+			separate();
+	}
+
+	private void separate() {
+		if (empty[depth])
+			empty[depth] = false;
+		else
+			out.append(',');
+	}
+
+	private void push() {
+		depth++;
+		if (depth == empty.length)
+			empty = Arrays.copyOf(empty, depth * 2);
+		empty[depth] = true;
+	}
+
+	private void pop() throws JSONException {
+		if (depth == 0 || afterKey)
+			throw new JSONException("Nesting error.");
+		depth--;
+	}
+}
@@ -0,0 +1,21 @@
+package com.taskadapter.redmineapi.internal.json;
+
+import org.json.JSONException;
+
+/**
+ * Read-only view of a json array produced by a {@link JsonCodec}.
+ */
+public interface JsonArray {
+
+	int length();
+
+	/**
+	 * @return element value or <code>null</code> if element is null. See
+	 *         {@link JsonObject#opt(String)} for possible value types.
+	 */
+	Object opt(int index);
+
+	String getString(int index) throws JSONException;
+
+	JsonObject getObject(int index) throws JSONException;
+}
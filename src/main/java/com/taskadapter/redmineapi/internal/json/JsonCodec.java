@@ -0,0 +1,44 @@
+package com.taskadapter.redmineapi.internal.json;
+
+import org.json.JSONException;
+
+/**
+ * Json backend used by {@link JsonObjectParser}s and {@link JsonObjectWriter}s.
+ * <p>
+ * Use {@link JsonCodecs} to obtain one of the built-in implementations.
+ */
+public interface JsonCodec {
+
+	/**
+	 * Parses a json object from UTF-8 encoded bytes.
+	 *
+	 * @throws JSONException
+	 *             if content is not a valid json object.
+	 */
+	JsonObject parse(byte[] content) throws JSONException;
+
+	/**
+	 * Parses a json object from a string.
+	 *
+	 * @throws JSONException
+	 *             if content is not a valid json object.
+	 */
+	JsonObject parse(String content) throws JSONException;
+
+	/**
+	 * Returns a codec which canonicalizes strings read by
+	 * {@link JsonObject#getSymbol(String)} through the given table. Codecs
+	 * without symbol support return themselves.
+	 *
+	 * @param symbols
+	 *            table to use, NULL to disable sharing.
+	 */
+	default JsonCodec withSymbols(SymbolTable symbols) {
+		return this;
+	}
+
+	/**
+	 * Creates a writer appending json text to <code>out</code>.
+	 */
+	JsonWriter newWriter(StringBuilder out);
+}
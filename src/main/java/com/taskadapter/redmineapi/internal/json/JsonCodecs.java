@@ -0,0 +1,60 @@
+package com.taskadapter.redmineapi.internal.json;
+
+/**
+ * Built-in json codecs.
+ * <p>
+ * The default codec is selected with the <code>redmine.json.codec</code>
+ * system property: <code>fast</code> (default) or <code>org.json</code>.
+ */
+public final class JsonCodecs {
+	public static final String CODEC_PROPERTY = "redmine.json.codec";
+
+	private static final JsonCodec FAST = new FastJsonCodec(null);
+	private static final JsonCodec ORG_JSON = new OrgJsonCodec(null);
+
+	private static volatile JsonCodec defaultCodec = forName(System
+			.getProperty(CODEC_PROPERTY, "fast"));
+
+	private JsonCodecs() {
+		throw new UnsupportedOperationException();
+	}
+
+	/**
+	 * @return codec parsing UTF-8 bytes directly into a compact token index.
+	 *         Values are only decoded when they are accessed.
+	 */
+	public static JsonCodec fast() {
+		return FAST;
+	}
+
+	/**
+	 * @return codec backed by the org.json library. Kept for compatibility.
+	 */
+	public static JsonCodec orgJson() {
+		return ORG_JSON;
+	}
+
+	/**
+	 * @param name
+	 *            "fast" or "org.json".
+	 * @throws IllegalArgumentException
+	 *             if name is unknown.
+	 */
+	public static JsonCodec forName(String name) {
+		if ("fast".equalsIgnoreCase(name))
+			return FAST;
+		if ("org.json".equalsIgnoreCase(name) || "orgjson".equalsIgnoreCase(name))
+			return ORG_JSON;
+		throw new IllegalArgumentException("Unknown json codec " + name);
+	}
+
+	public static JsonCodec getDefault() {
+		return defaultCodec;
+	}
+
+	public static void setDefault(JsonCodec codec) {
+		if (codec == null)
+			throw new IllegalArgumentException("codec cannot be null");
+		defaultCodec = codec;
+	}
+}
@@ -6,9 +6,7 @@ import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 
-import org.json.JSONArray;
 import org.json.JSONException;
-import org.json.JSONObject;
 
 public class JsonInput {
 	/**
@@ -24,13 +22,13 @@ public class JsonInput {
 	 * @throws JSONException
 	 *             if format is invalid.
 	 */
-	public static <T> List<T> getListNotNull(JSONObject obj, String field,
+	public static <T> List<T> getListNotNull(JsonObject obj, String field,
 			JsonObjectParser<T> parser) throws JSONException {
-		final JSONArray items = getArrayNotNull(obj, field);
+		final JsonArray items = getArrayNotNull(obj, field);
 		final int length = items.length();
 		final List<T> result = new ArrayList<>(length);
 		for (int i = 0; i < length; i++)
-			result.add(parser.parse(items.getJSONObject(i)));
+			result.add(parser.parse(items.getObject(i)));
 		return result;
 	}
 
@@ -47,15 +45,15 @@ public class JsonInput {
 	 * @throws JSONException
 	 *             if format is invalid.
 	 */
-	public static <T> List<T> getListOrNull(JSONObject obj, String field,
+	public static <T> List<T> getListOrNull(JsonObject obj, String field,
 			JsonObjectParser<T> parser) throws JSONException {
 		if (!obj.has(field) || obj.isNull(field))
 			return null;
-		final JSONArray items = obj.getJSONArray(field);
+		final JsonArray items = obj.getArray(field);
 		final int length = items.length();
 		final List<T> result = new ArrayList<>(length);
 		for (int i = 0; i < length; i++)
-			result.add(parser.parse(items.getJSONObject(i)));
+			result.add(parser.parse(items.getObject(i)));
 		return result;
 	}
 
@@ -72,17 +70,17 @@ public class JsonInput {
 	 * @throws JSONException
 	 *             if format is invalid.
 	 */
-	public static <T> List<T> getListOrEmpty(JSONObject obj, String field,
+	public static <T> List<T> getListOrEmpty(JsonObject obj, String field,
 			JsonObjectParser<T> parser) throws JSONException {
 		if (!obj.has(field) || obj.isNull(field))
 			return new ArrayList<>();
-		final JSONArray items = obj.getJSONArray(field);
+		final JsonArray items = obj.getArray(field);
 		if (items == null)
 			return new ArrayList<>();
 		final int length = items.length();
 		final List<T> result = new ArrayList<>(length);
 		for (int i = 0; i < length; i++)
-			result.add(parser.parse(items.getJSONObject(i)));
+			result.add(parser.parse(items.getObject(i)));
 		return result;
 	}
 
@@ -99,7 +97,7 @@ public class JsonInput {
 	 * @throws JSONException
 	 *             if error occurs.
 	 */
-	public static Date getDateOrNull(JSONObject obj, String field,
+	public static Date getDateOrNull(JsonObject obj, String field,
 			final SimpleDateFormat dateFormat) throws JSONException {
 		if (!obj.has(field) || obj.isNull(field))
 			return null;
@@ -121,7 +119,7 @@ public class JsonInput {
 	 * @throws JSONException
 	 *             if value is not valid
 	 */
-	public static String getStringOrNull(JSONObject obj, String field)
+	public static String getStringOrNull(JsonObject obj, String field)
 			throws JSONException {
 		if (!obj.has(field) || obj.isNull(field))
 			return null;
@@ -140,7 +138,7 @@ public class JsonInput {
 	 * @throws JSONException
 	 *             if input is not valid (field value is not boolean).
 	 */
-	public static boolean getOptionalBool(JSONObject obj, String field)
+	public static boolean getOptionalBool(JsonObject obj, String field)
 			throws JSONException {
 		if (!obj.has(field) || obj.isNull(field)) {
 			return false;
@@ -159,7 +157,7 @@ public class JsonInput {
 	 * @throws JSONException
 	 *             if value is not valid
 	 */
-	public static String getStringOrEmpty(JSONObject obj, String field)
+	public static String getStringOrEmpty(JsonObject obj, String field)
 			throws JSONException {
 		if (!obj.has(field) || obj.isNull(field))
 			return "";
@@ -176,11 +174,42 @@ public class JsonInput {
 	 * @throws JSONException
 	 *             if value is not valid, not exists, etc...
 	 */
-	public static String getStringNotNull(JSONObject obj, String field)
+	public static String getStringNotNull(JsonObject obj, String field)
 			throws JSONException {
 		return obj.getString(field);
 	}
 
+	/**
+	 * Fetches an optional low-cardinality string (a name of a status, a
+	 * tracker, a user, etc...). Equal values may share one instance, see
+	 * {@link SymbolTable}.
+	 * 
+	 * @param obj
+	 *            object to get a field from.
+	 * @param field
+	 *            field to get a value from.
+	 * @throws JSONException
+	 *             if value is not valid
+	 */
+	public static String getSymbolOrNull(JsonObject obj, String field)
+			throws JSONException {
+		if (!obj.has(field) || obj.isNull(field))
+			return null;
+		return obj.getSymbol(field);
+	}
+
+	/**
+	 * Fetches a low-cardinality string, see
+	 * {@link #getSymbolOrNull(JsonObject, String)}.
+	 * 
+	 * @throws JSONException
+	 *             if value is not valid, not exists, etc...
+	 */
+	public static String getSymbolNotNull(JsonObject obj, String field)
+			throws JSONException {
+		return obj.getSymbol(field);
+	}
+
 	/**
 	 * Fetches an int from an object.
 	 * 
@@ -191,7 +220,7 @@ public class JsonInput {
 	 * @throws JSONException
 	 *             if value is not valid, not exists, etc...
 	 */
-	public static int getInt(JSONObject obj, String field) throws JSONException {
+	public static int getInt(JsonObject obj, String field) throws JSONException {
 		return obj.getInt(field);
 	}
 
@@ -207,7 +236,7 @@ public class JsonInput {
 	 * @throws JSONException
 	 *             if value is not valid, not exists, etc...
 	 */
-	public static int getInt(JSONObject obj, String field, int deflt)
+	public static int getInt(JsonObject obj, String field, int deflt)
 			throws JSONException {
 		return obj.optInt(field, deflt);
 	}
@@ -222,7 +251,7 @@ public class JsonInput {
 	 * @throws JSONException
 	 *             if value is not valid, not exists, etc...
 	 */
-	public static Integer getIntOrNull(JSONObject obj, String field)
+	public static Integer getIntOrNull(JsonObject obj, String field)
 			throws JSONException {
 		if (!obj.has(field) || obj.isNull(field))
 			return null;
@@ -239,7 +268,7 @@ public class JsonInput {
 	 * @throws JSONException
 	 *             if value is not valid, not exists, etc...
 	 */
-	public static long getLong(JSONObject obj, String field)
+	public static long getLong(JsonObject obj, String field)
 			throws JSONException {
 		return obj.getLong(field);
 	}
@@ -254,7 +283,7 @@ public class JsonInput {
 	 * @throws JSONException
 	 *             if value is not valid, not exists, etc...
 	 */
-	public static Long getLongOrNull(JSONObject obj, String field)
+	public static Long getLongOrNull(JsonObject obj, String field)
 			throws JSONException {
 		if (!obj.has(field) || obj.isNull(field))
 			return null;
@@ -271,7 +300,7 @@ public class JsonInput {
 	 * @throws JSONException
 	 *             if value is not valid, not exists, etc...
 	 */
-	public static Float getFloatOrNull(JSONObject obj, String field)
+	public static Float getFloatOrNull(JsonObject obj, String field)
 			throws JSONException {
 		if (!obj.has(field) || obj.isNull(field))
 			return null;
@@ -291,11 +320,11 @@ public class JsonInput {
 	 * @throws JSONException
 	 *             if value is not valid.
 	 */
-	public static <T> T getObjectOrNull(JSONObject obj, String field,
+	public static <T> T getObjectOrNull(JsonObject obj, String field,
 			JsonObjectParser<T> parser) throws JSONException {
 		if (!obj.has(field) || obj.isNull(field))
 			return null;
-		return parser.parse(obj.getJSONObject(field));
+		return parser.parse(obj.getObject(field));
 	}
 
 	/**
@@ -307,11 +336,11 @@ public class JsonInput {
 	 *            field to get a value from.
 	 * @return json array.
 	 */
-	public static JSONArray getArrayOrNull(JSONObject obj, String field)
+	public static JsonArray getArrayOrNull(JsonObject obj, String field)
 			throws JSONException {
 		if (!obj.has(field) || obj.isNull(field))
 			return null;
-		return obj.getJSONArray(field);
+		return obj.getArray(field);
 	}
 
 	/**
@@ -323,9 +352,9 @@ public class JsonInput {
 	 *            field to get a value from.
 	 * @return json array.
 	 */
-	public static JSONArray getArrayNotNull(JSONObject obj, String field)
+	public static JsonArray getArrayNotNull(JsonObject obj, String field)
 			throws JSONException {
-		return obj.getJSONArray(field);
+		return obj.getArray(field);
 	}
 
 	/**
@@ -339,9 +368,9 @@ public class JsonInput {
 	 * @throws JSONException
 	 *             if target field is not an object.
 	 */
-	public static JSONObject getObjectNotNull(JSONObject obj, String field)
+	public static JsonObject getObjectNotNull(JsonObject obj, String field)
 			throws JSONException {
-		return obj.getJSONObject(field);
+		return obj.getObject(field);
 	}
 
 	/**
@@ -355,10 +384,10 @@ public class JsonInput {
 	 * @throws JSONException
 	 *             if target field is not an object.
 	 */
-	public static JSONObject getObjectOrNull(JSONObject obj, String field)
+	public static JsonObject getObjectOrNull(JsonObject obj, String field)
 			throws JSONException {
 		if (!obj.has(field) || obj.isNull(field))
 			return null;
-		return obj.getJSONObject(field);
+		return obj.getObject(field);
 	}
 }
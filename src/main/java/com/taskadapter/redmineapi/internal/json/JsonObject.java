@@ -0,0 +1,71 @@
+package com.taskadapter.redmineapi.internal.json;
+
+import org.json.JSONException;
+
+/**
+ * Read-only view of a json object produced by a {@link JsonCodec}.
+ * <p>
+ * Values returned by {@link #opt(String)} are one of <code>String</code>,
+ * <code>Number</code>, <code>Boolean</code>, {@link JsonObject},
+ * {@link JsonArray} or <code>null</code> for absent and null fields.
+ */
+public interface JsonObject {
+
+	/**
+	 * @return <code>true</code> if field is present (even if it is null).
+	 */
+	boolean has(String key);
+
+	/**
+	 * @return <code>true</code> if field is absent or set to null.
+	 */
+	boolean isNull(String key);
+
+	/**
+	 * @return field value or <code>null</code> if field is absent or null.
+	 */
+	Object opt(String key);
+
+	String getString(String key) throws JSONException;
+
+	/**
+	 * Reads a string which is likely repeated in other objects. The result
+	 * may be an instance shared through the {@link SymbolTable} the codec is
+	 * bound to.
+	 */
+	default String getSymbol(String key) throws JSONException {
+		return getString(key);
+	}
+
+	/**
+	 * @return string representation of a field or an empty string if field
+	 *         is absent or null.
+	 */
+	String optString(String key);
+
+	int getInt(String key) throws JSONException;
+
+	int optInt(String key, int defaultValue);
+
+	long getLong(String key) throws JSONException;
+
+	double getDouble(String key) throws JSONException;
+
+	boolean getBoolean(String key) throws JSONException;
+
+	/**
+	 * @return boolean field value or <code>false</code> if field is absent,
+	 *         null or not a boolean.
+	 */
+	boolean optBoolean(String key);
+
+	JsonObject getObject(String key) throws JSONException;
+
+	JsonArray getArray(String key) throws JSONException;
+
+	/**
+	 * @return json text of this object encoded in UTF-8. The result is not
+	 *         shared with this object.
+	 */
+	byte[] toUtf8();
+}
@@ -0,0 +1,11 @@
+package com.taskadapter.redmineapi.internal.json;
+
+import org.json.JSONException;
+
+/**
+ * Receives json objects one by one, e.g. to decode them into something else
+ * than beans.
+ */
+public interface JsonObjectConsumer {
+	void accept(JsonObject input) throws JSONException;
+}
@@ -1,7 +1,6 @@
 package com.taskadapter.redmineapi.internal.json;
 
 import org.json.JSONException;
-import org.json.JSONObject;
 
 /**
  * Json object parser.
@@ -9,5 +8,5 @@ import org.json.JSONObject;
  * @param <T> parsing result type.
  */
 public interface JsonObjectParser<T> {
-	T parse(JSONObject input) throws JSONException;
+	T parse(JsonObject input) throws JSONException;
 }
@@ -1,11 +1,10 @@
 package com.taskadapter.redmineapi.internal.json;
 
 import org.json.JSONException;
-import org.json.JSONWriter;
 
 /**
  * Json object writer.
  */
 public interface JsonObjectWriter<T> {
-	void write(JSONWriter writer, T object) throws JSONException;
+	void write(JsonWriter writer, T object) throws JSONException;
 }
@@ -5,7 +5,6 @@ import java.util.Collection;
 import java.util.Date;
 
 import org.json.JSONException;
-import org.json.JSONWriter;
 
 public class JsonOutput {
 
@@ -21,7 +20,7 @@ public class JsonOutput {
 	 * @throws JSONException
 	 *             if io error occurs.
 	 */
-	public static void addIfNotNull(JSONWriter writer, String field,
+	public static void addIfNotNull(JsonWriter writer, String field,
 			String value) throws JSONException {
 		if (value == null)
 			return;
@@ -41,7 +40,7 @@ public class JsonOutput {
 	 * @throws JSONException
 	 *             if io error occurs.
 	 */
-	public static void addIfNotNull(JSONWriter writer, String field,
+	public static void addIfNotNull(JsonWriter writer, String field,
 			Integer value) throws JSONException {
 		if (value == null)
 			return;
@@ -61,7 +60,7 @@ public class JsonOutput {
 	 * @throws JSONException
 	 *             if io error occurs.
 	 */
-	public static void addIfNotNull(JSONWriter writer, String field, Float value)
+	public static void addIfNotNull(JsonWriter writer, String field, Float value)
 			throws JSONException {
 		if (value == null)
 			return;
@@ -83,7 +82,7 @@ public class JsonOutput {
 	 * @throws JSONException
 	 *             if io error occurs.
 	 */
-	public static void addIfNotNull(JSONWriter writer, String field,
+	public static void addIfNotNull(JsonWriter writer, String field,
 			Date value, final SimpleDateFormat format) throws JSONException {
 		if (value == null)
 			return;
@@ -103,7 +102,7 @@ public class JsonOutput {
 	 * @throws JSONException
 	 *             if io error occurs.
 	 */
-	public static void addIfNotNull(JSONWriter writer, String field,
+	public static void addIfNotNull(JsonWriter writer, String field,
 			Boolean value) throws JSONException {
 		if (value == null)
 			return;
@@ -125,7 +124,7 @@ public class JsonOutput {
 	 * @throws JSONException
 	 *             if io error occurs.
 	 */
-	public static void add(JSONWriter writer, String field,
+	public static void add(JsonWriter writer, String field,
  Date value,
 			final SimpleDateFormat format) throws JSONException {
 		writer.key(field);
@@ -149,7 +148,7 @@ public class JsonOutput {
 	 * @throws JSONException
 	 *             if io error occurs.
 	 */
-	public static <T> void addIfNotNull(JSONWriter writer, String field,
+	public static <T> void addIfNotNull(JsonWriter writer, String field,
 			T value, JsonObjectWriter<T> objWriter) throws JSONException {
 		if (value == null)
 			return;
@@ -171,7 +170,7 @@ public class JsonOutput {
 	 * @param objWriter
 	 *            single value writer.
 	 */
-	public static <T> void addScalarArray(JSONWriter writer, String field,
+	public static <T> void addScalarArray(JsonWriter writer, String field,
 			Collection<T> items, JsonObjectWriter<T> objWriter)
 			throws JSONException {
 		writer.key(field);
@@ -194,7 +193,7 @@ public class JsonOutput {
 	 * @param objWriter
 	 *            single object writer.
 	 */
-	public static <T> void addArrayIfNotEmpty(JSONWriter writer, String field,
+	public static <T> void addArrayIfNotEmpty(JsonWriter writer, String field,
 			Collection<T> items, JsonObjectWriter<T> objWriter)
 			throws JSONException {
 		if (items == null || items.size() == 0)
@@ -202,7 +201,7 @@ public class JsonOutput {
 		addCollection(writer, field, items, objWriter);
 	}
 
-	private static <T> void addCollection(JSONWriter writer, String field,
+	private static <T> void addCollection(JsonWriter writer, String field,
 			Collection<T> items, JsonObjectWriter<T> objWriter)
 			throws JSONException {
 		writer.key(field);
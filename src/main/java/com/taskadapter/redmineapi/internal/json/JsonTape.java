@@ -0,0 +1,555 @@
+package com.taskadapter.redmineapi.internal.json;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+import org.json.JSONException;
+
+/**
+ * Token index over UTF-8 encoded json text.
+ * <p>
+ * Parsing validates the text and records one entry per value (and per object
+ * key) into a flat int array. Every entry holds the value kind, its byte range
+ * and the index of the entry following the value, so containers can be skipped
+ * in constant time. Strings and numbers are decoded only when they are
+ * accessed, which means no intermediate objects are allocated for fields
+ * nobody reads.
+ */
+final class JsonTape {
+	static final int OBJECT = 1;
+	static final int ARRAY = 2;
+	static final int STRING = 3;
+	static final int NUMBER = 4;
+	static final int TRUE = 5;
+	static final int FALSE = 6;
+	static final int NULL = 7;
+
+	private static final int KIND_MASK = 0x0F;
+	/** String contains escape sequences. */
+	private static final int ESCAPED = 0x10;
+	/** Number has a fraction or an exponent. */
+	private static final int FRACTION = 0x20;
+	/** Container element count is stored above this shift. */
+	private static final int COUNT_SHIFT = 8;
+
+	private static final int SLOTS = 4;
+	private static final int MAX_DEPTH = 512;
+
+	final byte[] buf;
+	/** Table for strings read as symbols, may be null. */
+	private final SymbolTable symbols;
+	private int[] tape;
+	private int size;
+
+	private int pos;
+	private final int limit;
+
+	private JsonTape(byte[] buf, int offset, int length, SymbolTable symbols) {
+		this.buf = buf;
+		this.symbols = symbols;
+		this.pos = offset;
+		this.limit = offset + length;
+		this.tape = new int[Math.max(64, length / 4) & ~(SLOTS - 1)];
+	}
+
+	/**
+	 * Indexes a json text which must be a single object.
+	 *
+	 * @param symbols
+	 *            table used by {@link #symbol(int)}, NULL to never share
+	 *            strings.
+	 * @return index. The root object is token 0.
+	 * @throws JSONException
+	 *             if text is not a valid json object.
+	 */
+	static JsonTape parse(byte[] buf, int offset, int length,
+			SymbolTable symbols) throws JSONException {
+		final JsonTape result = new JsonTape(buf, offset, length, symbols);
+		result.skipWhitespace();
+		if (result.pos >= result.limit || buf[result.pos] != '{')
+			throw result.error("A JSONObject text must begin with '{'");
+		result.parseValue(0);
+		result.skipWhitespace();
+		if (result.pos < result.limit)
+			throw result.error("Unexpected trailing content");
+		return result;
+	}
+
+	int kind(int token) {
+		return tape[token * SLOTS] & KIND_MASK;
+	}
+
+	int start(int token) {
+		return tape[token * SLOTS + 1];
+	}
+
+	int end(int token) {
+		return tape[token * SLOTS + 2];
+	}
+
+	/**
+	 * @return index of the first token after the value (including nested
+	 *         values).
+	 */
+	int next(int token) {
+		return tape[token * SLOTS + 3];
+	}
+
+	/**
+	 * @return number of members or elements in a container.
+	 */
+	int count(int token) {
+		return tape[token * SLOTS] >>> COUNT_SHIFT;
+	}
+
+	/**
+	 * Finds an object member.
+	 *
+	 * @return value token or -1 if member is absent.
+	 */
+	int find(int object, String key) {
+		final int last = next(object);
+		int token = object + 1;
+		while (token < last) {
+			if (keyEquals(token, key))
+				return token + 1;
+			token = next(token + 1);
+		}
+		return -1;
+	}
+
+	private boolean keyEquals(int token, String key) {
+		if ((tape[token * SLOTS] & ESCAPED) != 0)
+			return string(token).equals(key);
+		final int start = start(token);
+		final int available = end(token) - start;
+		final int length = key.length();
+		for (int i = 0; i < length; i++) {
+			final char c = key.charAt(i);
+			if (c >= 0x80)
+				return string(token).equals(key);
+			if (i >= available || buf[start + i] != (byte) c)
+				return false;
+		}
+		return available == length;
+	}
+
+	String string(int token) {
+		final int start = start(token);
+		final int end = end(token);
+		if ((tape[token * SLOTS] & ESCAPED) == 0)
+			return new String(buf, start, end - start, StandardCharsets.UTF_8);
+		return unescape(start, end);
+	}
+
+	/**
+	 * Decodes a string through the symbol table. Escaped strings are rare in
+	 * names, so they are decoded first and canonicalized afterwards.
+	 */
+	String symbol(int token) {
+		if (symbols == null)
+			return string(token);
+		if ((tape[token * SLOTS] & ESCAPED) != 0)
+			return symbols.intern(string(token));
+		return symbols.intern(buf, start(token), end(token));
+	}
+
+	/**
+	 * @return raw text of a value as it appears in the source.
+	 */
+	String text(int token) {
+		return new String(buf, start(token), end(token) - start(token),
+				StandardCharsets.UTF_8);
+	}
+
+	long longValue(int token) throws JSONException {
+		switch (kind(token)) {
+		case NUMBER:
+			if ((tape[token * SLOTS] & FRACTION) != 0)
+				return new BigDecimal(text(token)).longValue();
+			return parseLong(start(token), end(token));
+		case STRING:
+			return parseNumericString(token).longValue();
+		default:
+			throw new JSONException("Value " + text(token) + " is not a number.");
+		}
+	}
+
+	double doubleValue(int token) throws JSONException {
+		switch (kind(token)) {
+		case NUMBER:
+			if ((tape[token * SLOTS] & FRACTION) == 0
+					&& end(token) - start(token) < 16)
+				return parseLong(start(token), end(token));
+			return Double.parseDouble(text(token));
+		case STRING:
+			return parseNumericString(token).doubleValue();
+		default:
+			throw new JSONException("Value " + text(token) + " is not a number.");
+		}
+	}
+
+	/**
+	 * Returns a boxed value, see {@link JsonObject#opt(String)}.
+	 */
+	Object value(int token) {
+		switch (kind(token)) {
+		case OBJECT:
+			return new FastJsonObject(this, token);
+		case ARRAY:
+			return new FastJsonArray(this, token);
+		case STRING:
+			return string(token);
+		case NUMBER:
+			if ((tape[token * SLOTS] & FRACTION) != 0)
+				return Double.valueOf(text(token));
+			if (end(token) - start(token) > 18)
+				return new BigDecimal(text(token));
+			final long value = parseLong(start(token), end(token));
+			if (value == (int) value)
+				return Integer.valueOf((int) value);
+			return Long.valueOf(value);
+		case TRUE:
+			return Boolean.TRUE;
+		case FALSE:
+			return Boolean.FALSE;
+		default:
+			return null;
+		}
+	}
+
+	private long parseLong(int start, int end) throws JSONException {
+		int i = start;
+		final boolean negative = buf[i] == '-';
+		if (negative)
+			i++;
+		if (end - i > 18)
+			return new BigDecimal(new String(buf, start, end - start,
+					StandardCharsets.US_ASCII)).longValue();
+		long result = 0;
+		for (; i < end; i++)
+			result = result * 10 + (buf[i] - '0');
+		return negative ? -result : result;
+	}
+
+	private BigDecimal parseNumericString(int token) throws JSONException {
+		final String text = string(token).trim();
+		try {
+			return new BigDecimal(text);
+		} catch (NumberFormatException e) {
+			throw new JSONException("Value \"" + text + "\" is not a number.");
+		}
+	}
+
+	private String unescape(int start, int end) throws JSONException {
+		final StringBuilder result = new StringBuilder(end - start);
+		int segment = start;
+		int i = start;
+		while (i < end) {
+			if (buf[i] != '\\') {
+				i++;
+				continue;
+			}
+			if (segment < i)
+				result.append(new String(buf, segment, i - segment,
+						StandardCharsets.UTF_8));
+			final byte c = buf[i + 1];
+			i += 2;
+			switch (c) {
+			case 'b':
+				result.append('\b');
+				break;
+			case 't':
+				result.append('\t');
+				break;
+			case 'n':
+				result.append('\n');
+				break;
+			case 'f':
+				result.append('\f');
+				break;
+			case 'r':
+				result.append('\r');
+				break;
+			case 'u':
+				result.append((char) hex4(i));
+				i += 4;
+				break;
+			case '"':
+			case '\\':
+			case '/':
+				result.append((char) c);
+				break;
+			default:
+				throw new JSONException("Illegal escape at " + (i - 2));
+			}
+			segment = i;
+		}
+		if (segment < end)
+			result.append(new String(buf, segment, end - segment,
+					StandardCharsets.UTF_8));
+		return result.toString();
+	}
+
+	private int hex4(int at) throws JSONException {
+		int result = 0;
+		for (int i = at; i < at + 4; i++) {
+			final int digit = Character.digit(buf[i], 16);
+			if (digit < 0)
+				throw new JSONException("Illegal escape at " + i);
+			result = (result << 4) | digit;
+		}
+		return result;
+	}
+
+	/* Parsing */
+
+	private int parseValue(int depth) throws JSONException {
+		if (depth > MAX_DEPTH)
+			throw error("Nesting too deep");
+		skipWhitespace();
+		if (pos >= limit)
+			throw error("Unexpected end of input");
+		switch (buf[pos]) {
+		case '{':
+			return parseObject(depth);
+		case '[':
+			return parseArray(depth);
+		case '"':
+			return parseString();
+		case 't':
+			return parseLiteral("true", TRUE);
+		case 'f':
+			return parseLiteral("false", FALSE);
+		case 'n':
+			return parseLiteral("null", NULL);
+		default:
+			return parseNumber();
+		}
+	}
+
+	private int parseObject(int depth) throws JSONException {
+		final int token = add(OBJECT, pos);
+		pos++;
+		int count = 0;
+		skipWhitespace();
+		if (pos < limit && buf[pos] == '}') {
+			pos++;
+			return close(token, count);
+		}
+		while (true) {
+			skipWhitespace();
+			if (pos >= limit)
+				throw error("Expected a key");
+			if (buf[pos] == '"')
+				parseString();
+			else
+				parseBareKey();
+			skipWhitespace();
+			if (pos >= limit || buf[pos] != ':')
+				throw error("Expected a ':' after a key");
+			pos++;
+			parseValue(depth + 1);
+			count++;
+			skipWhitespace();
+			if (pos >= limit)
+				throw error("Unterminated object");
+			final byte c = buf[pos++];
+			if (c == '}')
+				return close(token, count);
+			if (c != ',')
+				throw error("Expected a ',' or '}'");
+		}
+	}
+
+	private int parseArray(int depth) throws JSONException {
+		final int token = add(ARRAY, pos);
+		pos++;
+		int count = 0;
+		skipWhitespace();
+		if (pos < limit && buf[pos] == ']') {
+			pos++;
+			return close(token, count);
+		}
+		while (true) {
+			parseValue(depth + 1);
+			count++;
+			skipWhitespace();
+			if (pos >= limit)
+				throw error("Unterminated array");
+			final byte c = buf[pos++];
+			if (c == ']')
+				return close(token, count);
+			if (c != ',')
+				throw error("Expected a ',' or ']'");
+		}
+	}
+
+	private int parseString() throws JSONException {
+		final int start = ++pos;
+		int flags = 0;
+		while (pos < limit) {
+			final byte c = buf[pos];
+			if (c == '"') {
+				final int token = add(STRING | flags, start);
+				set(token, pos, size);
+				pos++;
+				return token;
+			}
+			if (c == '\\') {
+				flags = ESCAPED;
+				if (pos + 1 >= limit)
+					break;
+				if (buf[pos + 1] == 'u' && pos + 5 >= limit)
+					break;
+				if (!isEscape(buf[pos + 1]))
+					throw error("Illegal escape");
+				if (buf[pos + 1] == 'u')
+					hex4(pos + 2);
+				pos += 2;
+				continue;
+			}
+			if (c >= 0 && c < 0x20)
+				throw error("Unescaped control character in a string");
+			pos++;
+		}
+		throw error("Unterminated string");
+	}
+
+	private static boolean isEscape(byte c) {
+		switch (c) {
+		case '"':
+		case '\\':
+		case '/':
+		case 'b':
+		case 'f':
+		case 'n':
+		case 'r':
+		case 't':
+		case 'u':
+			return true;
+		default:
+			return false;
+		}
+	}
+
+	/**
+	 * Parses an unquoted key. Such keys are not valid json, but org.json
+	 * accepts them and some Redmine versions produce them.
+	 */
+	private int parseBareKey() throws JSONException {
+		final int start = pos;
+		while (pos < limit) {
+			final byte c = buf[pos];
+			if (c == ':' || c == ' ' || c == '\t' || c == '\r' || c == '\n')
+				break;
+			if (c == ',' || c == '{' || c == '}' || c == '[' || c == ']'
+					|| c == '"' || c == '\\')
+				throw error("Expected a key");
+			pos++;
+		}
+		if (pos == start)
+			throw error("Expected a key");
+		final int token = add(STRING, start);
+		set(token, pos, size);
+		return token;
+	}
+
+	/**
+	 * Parses a number of the json grammar: an integer without leading zeros,
+	 * an optional fraction and an optional exponent.
+	 */
+	private int parseNumber() throws JSONException {
+		final int start = pos;
+		int flags = 0;
+		if (pos < limit && buf[pos] == '-')
+			pos++;
+		if (pos < limit && buf[pos] == '0') {
+			pos++;
+			if (pos < limit && isDigit(buf[pos]))
+				throw error("Leading zero in a number");
+		} else if (skipDigits() == 0) {
+			throw error("Unexpected character");
+		}
+		if (pos < limit && buf[pos] == '.') {
+			flags = FRACTION;
+			pos++;
+			if (skipDigits() == 0)
+				throw error("Expected a digit");
+		}
+		if (pos < limit && (buf[pos] == 'e' || buf[pos] == 'E')) {
+			flags = FRACTION;
+			pos++;
+			if (pos < limit && (buf[pos] == '+' || buf[pos] == '-'))
+				pos++;
+			if (skipDigits() == 0)
+				throw error("Expected a digit");
+		}
+		final int token = add(NUMBER | flags, start);
+		set(token, pos, size);
+		return token;
+	}
+
+	/**
+	 * @return number of digits skipped.
+	 */
+	private int skipDigits() {
+		final int start = pos;
+		while (pos < limit && isDigit(buf[pos]))
+			pos++;
+		return pos - start;
+	}
+
+	private static boolean isDigit(byte c) {
+		return c >= '0' && c <= '9';
+	}
+
+	private int parseLiteral(String literal, int kind) throws JSONException {
+		final int length = literal.length();
+		if (pos + length > limit)
+			throw error("Unexpected end of input");
+		for (int i = 0; i < length; i++)
+			if (buf[pos + i] != literal.charAt(i))
+				throw error("Unexpected character");
+		final int token = add(kind, pos);
+		pos += length;
+		set(token, pos, size);
+		return token;
+	}
+
+	private int add(int kindAndFlags, int start) {
+		if ((size + 1) * SLOTS > tape.length) {
+			final int[] grown = new int[tape.length * 2];
+			System.arraycopy(tape, 0, grown, 0, size * SLOTS);
+			tape = grown;
+		}
+		final int base = size * SLOTS;
+		tape[base] = kindAndFlags;
+		tape[base + 1] = start;
+		return size++;
+	}
+
+	private void set(int token, int end, int next) {
+		tape[token * SLOTS + 2] = end;
+		tape[token * SLOTS + 3] = next;
+	}
+
+	private int close(int token, int count) {
+		tape[token * SLOTS] |= count << COUNT_SHIFT;
+		set(token, pos, size);
+		return token;
+	}
+
+	private void skipWhitespace() {
+		while (pos < limit) {
+			final byte c = buf[pos];
+			if (c != ' ' && c != '\n' && c != '\r' && c != '\t')
+				return;
+			pos++;
+		}
+	}
+
+	private JSONException error(String message) {
+		return new JSONException(message + " at " + pos);
+	}
+}
@@ -0,0 +1,36 @@
+package com.taskadapter.redmineapi.internal.json;
+
+import org.json.JSONException;
+
+/**
+ * Streaming json writer. Method set follows <code>org.json.JSONWriter</code>
+ * so writers can be chained the same way:
+ *
+ * <pre>
+ * writer.object().key(&quot;user_id&quot;).value(userId).endObject();
+ * </pre>
+ */
+public interface JsonWriter {
+
+	JsonWriter object() throws JSONException;
+
+	JsonWriter endObject() throws JSONException;
+
+	JsonWriter array() throws JSONException;
+
+	JsonWriter endArray() throws JSONException;
+
+	JsonWriter key(String key) throws JSONException;
+
+	/**
+	 * Writes a value. Supports <code>null</code>, strings, numbers, booleans,
+	 * collections and maps of those.
+	 */
+	JsonWriter value(Object value) throws JSONException;
+
+	JsonWriter value(long value) throws JSONException;
+
+	JsonWriter value(double value) throws JSONException;
+
+	JsonWriter value(boolean value) throws JSONException;
+}
@@ -0,0 +1,42 @@
+package com.taskadapter.redmineapi.internal.json;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+
+/**
+ * {@link JsonArray} adapter for org.json arrays.
+ */
+final class OrgJsonArray implements JsonArray {
+	private final JSONArray peer;
+	private final SymbolTable symbols;
+
+	OrgJsonArray(JSONArray peer, SymbolTable symbols) {
+		this.peer = peer;
+		this.symbols = symbols;
+	}
+
+	@Override
+	public int length() {
+		return peer.length();
+	}
+
+	@Override
+	public Object opt(int index) {
+		return OrgJsonObject.wrap(peer.opt(index), symbols);
+	}
+
+	@Override
+	public String getString(int index) throws JSONException {
+		return peer.getString(index);
+	}
+
+	@Override
+	public JsonObject getObject(int index) throws JSONException {
+		return new OrgJsonObject(peer.getJSONObject(index), symbols);
+	}
+
+	@Override
+	public String toString() {
+		return peer.toString();
+	}
+}
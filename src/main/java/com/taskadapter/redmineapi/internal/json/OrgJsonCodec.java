@@ -0,0 +1,37 @@
+package com.taskadapter.redmineapi.internal.json;
+
+import java.nio.charset.StandardCharsets;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+/**
+ * Codec backed by the org.json library.
+ */
+final class OrgJsonCodec implements JsonCodec {
+	private final SymbolTable symbols;
+
+	OrgJsonCodec(SymbolTable symbols) {
+		this.symbols = symbols;
+	}
+
+	@Override
+	public JsonObject parse(byte[] content) throws JSONException {
+		return parse(new String(content, StandardCharsets.UTF_8));
+	}
+
+	@Override
+	public JsonObject parse(String content) throws JSONException {
+		return new OrgJsonObject(new JSONObject(content), symbols);
+	}
+
+	@Override
+	public JsonCodec withSymbols(SymbolTable symbols) {
+		return symbols == this.symbols ? this : new OrgJsonCodec(symbols);
+	}
+
+	@Override
+	public JsonWriter newWriter(StringBuilder out) {
+		return new OrgJsonWriter(out);
+	}
+}
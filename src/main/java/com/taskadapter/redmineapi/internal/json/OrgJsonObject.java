@@ -0,0 +1,111 @@
+package com.taskadapter.redmineapi.internal.json;
+
+import java.nio.charset.StandardCharsets;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+/**
+ * {@link JsonObject} adapter for org.json objects.
+ */
+final class OrgJsonObject implements JsonObject {
+	private final JSONObject peer;
+	private final SymbolTable symbols;
+
+	OrgJsonObject(JSONObject peer, SymbolTable symbols) {
+		this.peer = peer;
+		this.symbols = symbols;
+	}
+
+	static Object wrap(Object value, SymbolTable symbols) {
+		if (value == null || value == JSONObject.NULL)
+			return null;
+		if (value instanceof JSONObject)
+			return new OrgJsonObject((JSONObject) value, symbols);
+		if (value instanceof JSONArray)
+			return new OrgJsonArray((JSONArray) value, symbols);
+		return value;
+	}
+
+	@Override
+	public boolean has(String key) {
+		return peer.has(key);
+	}
+
+	@Override
+	public boolean isNull(String key) {
+		return peer.isNull(key);
+	}
+
+	@Override
+	public Object opt(String key) {
+		return wrap(peer.opt(key), symbols);
+	}
+
+	@Override
+	public String getString(String key) throws JSONException {
+		return peer.getString(key);
+	}
+
+	@Override
+	public String getSymbol(String key) throws JSONException {
+		final String value = peer.getString(key);
+		return symbols == null ? value : symbols.intern(value);
+	}
+
+	@Override
+	public String optString(String key) {
+		return peer.optString(key);
+	}
+
+	@Override
+	public int getInt(String key) throws JSONException {
+		return peer.getInt(key);
+	}
+
+	@Override
+	public int optInt(String key, int defaultValue) {
+		return peer.optInt(key, defaultValue);
+	}
+
+	@Override
+	public long getLong(String key) throws JSONException {
+		return peer.getLong(key);
+	}
+
+	@Override
+	public double getDouble(String key) throws JSONException {
+		return peer.getDouble(key);
+	}
+
+	@Override
+	public boolean getBoolean(String key) throws JSONException {
+		return peer.getBoolean(key);
+	}
+
+	@Override
+	public boolean optBoolean(String key) {
+		return peer.optBoolean(key);
+	}
+
+	@Override
+	public JsonObject getObject(String key) throws JSONException {
+		return new OrgJsonObject(peer.getJSONObject(key), symbols);
+	}
+
+	@Override
+	public JsonArray getArray(String key) throws JSONException {
+		return new OrgJsonArray(peer.getJSONArray(key), symbols);
+	}
+
+	@Override
+	public byte[] toUtf8() {
+		return peer.toString().getBytes(StandardCharsets.UTF_8);
+	}
+
+	@Override
+	public String toString() {
+		return peer.toString();
+	}
+}
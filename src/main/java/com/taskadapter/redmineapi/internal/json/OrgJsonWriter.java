@@ -0,0 +1,69 @@
+package com.taskadapter.redmineapi.internal.json;
+
+import org.json.JSONException;
+import org.json.JSONWriter;
+
+/**
+ * {@link JsonWriter} adapter for the org.json writer.
+ */
+final class OrgJsonWriter implements JsonWriter {
+	private final JSONWriter peer;
+
+	OrgJsonWriter(Appendable out) {
+		this.peer = new JSONWriter(out);
+	}
+
+	@Override
+	public JsonWriter object() throws JSONException {
+		peer.object();
+		return this;
+	}
+
+	@Override
+	public JsonWriter endObject() throws JSONException {
+		peer.endObject();
+		return this;
+	}
+
+	@Override
+	public JsonWriter array() throws JSONException {
+		peer.array();
+		return this;
+	}
+
+	@Override
+	public JsonWriter endArray() throws JSONException {
+		peer.endArray();
+		return this;
+	}
+
+	@Override
+	public JsonWriter key(String key) throws JSONException {
+		peer.key(key);
+		return this;
+	}
+
+	@Override
+	public JsonWriter value(Object value) throws JSONException {
+		peer.value(value);
+		return this;
+	}
+
+	@Override
+	public JsonWriter value(long value) throws JSONException {
+		peer.value(value);
+		return this;
+	}
+
+	@Override
+	public JsonWriter value(double value) throws JSONException {
+		peer.value(value);
+		return this;
+	}
+
+	@Override
+	public JsonWriter value(boolean value) throws JSONException {
+		peer.value(value);
+		return this;
+	}
+}
@@ -0,0 +1,99 @@
+package com.taskadapter.redmineapi.internal.json;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import org.json.JSONException;
+
+/**
+ * Parses elements of large json arrays in parallel.
+ * <p>
+ * Element objects are located sequentially, then split into ranges which are
+ * parsed on a fork-join pool. Results keep the element order. Arrays shorter
+ * than the threshold are parsed on the calling thread. Parsers must not share
+ * mutable state between elements.
+ */
+public final class ParallelListParser {
+	private final ForkJoinPool pool;
+	private final int minElements;
+
+	/**
+	 * @param pool
+	 *            pool to run the parsers on.
+	 * @param minElements
+	 *            smallest array to parse in parallel.
+	 */
+	public ParallelListParser(ForkJoinPool pool, int minElements) {
+		if (pool == null)
+			throw new IllegalArgumentException("pool cannot be null");
+		if (minElements < 2)
+			throw new IllegalArgumentException("minElements must be >= 2. You provided: " + minElements);
+		this.pool = pool;
+		this.minElements = minElements;
+	}
+
+	/**
+	 * Parallel counterpart of
+	 * {@link JsonInput#getListOrNull(JsonObject, String, JsonObjectParser)}.
+	 *
+	 * @throws JSONException
+	 *             if format is invalid.
+	 */
+	public <T> List<T> getListOrNull(JsonObject obj, String field,
+			JsonObjectParser<T> parser) throws JSONException {
+		if (!obj.has(field) || obj.isNull(field))
+			return null;
+		final JsonArray items = obj.getArray(field);
+		final int length = items.length();
+		if (length < minElements)
+			return JsonInput.getListOrNull(obj, field, parser);
+		final JsonObject[] elements = new JsonObject[length];
+		for (int i = 0; i < length; i++)
+			elements[i] = items.getObject(i);
+		final Object[] result = new Object[length];
+		final int grain = Math.max(1, length / (pool.getParallelism() * 4));
+		pool.invoke(new Range<>(elements, result, parser, 0, length, grain));
+		@SuppressWarnings("unchecked")
+		final List<T> list = (List<T>) new ArrayList<>(Arrays.asList(result));
+		return list;
+	}
+
+	/**
+	 * Parses a range of elements, splitting it while it is larger than the grain.
+	 */
+	private static final class Range<T> extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+
+		private final JsonObject[] elements;
+		private final Object[] result;
+		private final JsonObjectParser<T> parser;
+		private final int from;
+		private final int to;
+		private final int grain;
+
+		Range(JsonObject[] elements, Object[] result,
+				JsonObjectParser<T> parser, int from, int to, int grain) {
+			this.elements = elements;
+			this.result = result;
+			this.parser = parser;
+			this.from = from;
+			this.to = to;
+			this.grain = grain;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from <= grain) {
+				for (int i = from; i < to; i++)
+					result[i] = parser.parse(elements[i]);
+				return;
+			}
+			final int middle = (from + to) >>> 1;
+			invokeAll(new Range<>(elements, result, parser, from, middle, grain),
+					new Range<>(elements, result, parser, middle, to, grain));
+		}
+	}
+}
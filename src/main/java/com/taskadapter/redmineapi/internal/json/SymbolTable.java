@@ -0,0 +1,117 @@
+package com.taskadapter.redmineapi.internal.json;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Bounded table of canonical strings.
+ * <p>
+ * Used to share one instance of names repeated across many objects (statuses,
+ * trackers, priorities, project and user names, custom field names). Read
+ * them with {@link JsonInput#getSymbolOrNull(JsonObject, String)} from an
+ * object parsed by a codec bound to a table with
+ * {@link JsonCodec#withSymbols(SymbolTable)}.
+ * <p>
+ * The table is a direct-mapped cache: every string maps to a single slot and
+ * a miss replaces the slot content. Memory use is therefore bounded by the
+ * capacity and the maximal symbol length no matter how many distinct values
+ * are seen. Strings longer than the limit are never stored. The table is
+ * thread-safe; concurrent updates may only cause an extra miss.
+ */
+public final class SymbolTable {
+	public static final int DEFAULT_CAPACITY = 4096;
+	public static final int DEFAULT_MAX_LENGTH = 64;
+
+	private final String[] slots;
+	private final int mask;
+	private final int maxLength;
+
+	public SymbolTable() {
+		this(DEFAULT_CAPACITY, DEFAULT_MAX_LENGTH);
+	}
+
+	/**
+	 * @param capacity
+	 *            number of slots, rounded up to a power of two.
+	 * @param maxLength
+	 *            longest string (in chars) to canonicalize.
+	 */
+	public SymbolTable(int capacity, int maxLength) {
+		if (capacity < 1 || capacity > 1 << 30)
+			throw new IllegalArgumentException("capacity must be between 1 and 2^30. You provided: " + capacity);
+		if (maxLength < 1)
+			throw new IllegalArgumentException("maxLength must be positive. You provided: " + maxLength);
+		final int size = Integer.highestOneBit(Math.max(1, capacity - 1)) << 1;
+		this.slots = new String[size];
+		this.mask = size - 1;
+		this.maxLength = maxLength;
+	}
+
+	/**
+	 * @return canonical instance equal to the value, or the value itself if it
+	 *         is null or too long.
+	 */
+	public String intern(String value) {
+		if (value == null || value.length() > maxLength)
+			return value;
+		final int slot = slot(value.hashCode());
+		final String known = slots[slot];
+		if (value.equals(known))
+			return known;
+		slots[slot] = value;
+		return value;
+	}
+
+	/**
+	 * Canonicalizes an UTF-8 encoded string without escapes. A new string is
+	 * only created on a miss.
+	 */
+	String intern(byte[] buf, int start, int end) {
+		final int length = end - start;
+		if (length > maxLength)
+			return new String(buf, start, length, StandardCharsets.UTF_8);
+		/* Same as String.hashCode() while all characters are ASCII */
+		int hash = 0;
+		for (int i = start; i < end; i++) {
+			final byte c = buf[i];
+			if (c < 0)
+				return intern(new String(buf, start, length, StandardCharsets.UTF_8));
+			hash = 31 * hash + c;
+		}
+		final int slot = slot(hash);
+		final String known = slots[slot];
+		if (known != null && asciiEquals(known, buf, start, end))
+			return known;
+		final String value = new String(buf, start, length, StandardCharsets.ISO_8859_1);
+		slots[slot] = value;
+		return value;
+	}
+
+	/**
+	 * @return number of strings currently held.
+	 */
+	public int size() {
+		int result = 0;
+		for (String slot : slots)
+			if (slot != null)
+				result++;
+		return result;
+	}
+
+	public void clear() {
+		for (int i = 0; i < slots.length; i++)
+			slots[i] = null;
+	}
+
+	private int slot(int hash) {
+		return (hash ^ (hash >>> 16)) & mask;
+	}
+
+	private static boolean asciiEquals(String known, byte[] buf, int start, int end) {
+		if (known.length() != end - start)
+			return false;
+		for (int i = start; i < end; i++)
+			if (known.charAt(i - start) != buf[i])
+				return false;
+		return true;
+	}
+}
@@ -0,0 +1,461 @@
+package com.taskadapter.redmineapi.mirror;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Compressed set of non-negative ids. Ids are grouped by their upper 16 bits into chunks; a chunk with up to 4096
+ * ids is a sorted array of the lower 16 bits, a fuller chunk is a plain 65536 bit bitmap. Sparse sets, e.g. the
+ * issues of a small project, take two bytes per id, dense ones one bit per possible id.
+ * <p>
+ * Not thread-safe.
+ */
+final class IdBitmap {
+    private static final int ARRAY_MAX = 4096;
+    private static final int WORDS = 1024;
+
+    private char[] keys = new char[0];
+    private Chunk[] chunks = new Chunk[0];
+    private int chunkCount;
+
+    /**
+     * @return <code>true</code> if the id was not in the set yet.
+     */
+    boolean add(int id) {
+        final char key = (char) (id >>> 16);
+        int at = find(key);
+        if (at < 0) {
+            at = -at - 1;
+            insertChunk(at, key, new ArrayChunk());
+        }
+        final int before = chunks[at].cardinality;
+        chunks[at] = chunks[at].add((char) id);
+        return chunks[at].cardinality > before;
+    }
+
+    /**
+     * @return <code>true</code> if the id was in the set.
+     */
+    boolean remove(int id) {
+        final int at = find((char) (id >>> 16));
+        if (at < 0) {
+            return false;
+        }
+        final int before = chunks[at].cardinality;
+        chunks[at] = chunks[at].remove((char) id);
+        final boolean removed = chunks[at].cardinality < before;
+        if (chunks[at].cardinality == 0) {
+            System.arraycopy(keys, at + 1, keys, at, chunkCount - at - 1);
+            System.arraycopy(chunks, at + 1, chunks, at, chunkCount - at - 1);
+            chunks[--chunkCount] = null;
+        }
+        return removed;
+    }
+
+    boolean contains(int id) {
+        final int at = find((char) (id >>> 16));
+        return at >= 0 && chunks[at].contains((char) id);
+    }
+
+    int cardinality() {
+        int result = 0;
+        for (int i = 0; i < chunkCount; i++) {
+            result += chunks[i].cardinality;
+        }
+        return result;
+    }
+
+    boolean isEmpty() {
+        return chunkCount == 0;
+    }
+
+    /**
+     * Passes ids to the consumer in ascending order.
+     */
+    void forEach(IntConsumer consumer) {
+        for (int i = 0; i < chunkCount; i++) {
+            chunks[i].forEach(keys[i] << 16, consumer);
+        }
+    }
+
+    int[] toArray() {
+        final int[] result = new int[cardinality()];
+        final int[] position = new int[1];
+        forEach(id -> result[position[0]++] = id);
+        return result;
+    }
+
+    IdBitmap copy() {
+        final IdBitmap result = new IdBitmap();
+        result.keys = Arrays.copyOf(keys, chunkCount);
+        result.chunks = new Chunk[chunkCount];
+        for (int i = 0; i < chunkCount; i++) {
+            result.chunks[i] = chunks[i].copy();
+        }
+        result.chunkCount = chunkCount;
+        return result;
+    }
+
+    static IdBitmap and(IdBitmap a, IdBitmap b) {
+        final IdBitmap result = new IdBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < a.chunkCount && j < b.chunkCount) {
+            if (a.keys[i] < b.keys[j]) {
+                i++;
+            } else if (a.keys[i] > b.keys[j]) {
+                j++;
+            } else {
+                final Chunk chunk = a.chunks[i].and(b.chunks[j]);
+                if (chunk.cardinality > 0) {
+                    result.appendChunk(a.keys[i], chunk);
+                }
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    static IdBitmap or(IdBitmap a, IdBitmap b) {
+        final IdBitmap result = new IdBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < a.chunkCount || j < b.chunkCount) {
+            if (j == b.chunkCount || i < a.chunkCount && a.keys[i] < b.keys[j]) {
+                result.appendChunk(a.keys[i], a.chunks[i].copy());
+                i++;
+            } else if (i == a.chunkCount || a.keys[i] > b.keys[j]) {
+                result.appendChunk(b.keys[j], b.chunks[j].copy());
+                j++;
+            } else {
+                result.appendChunk(a.keys[i], a.chunks[i].or(b.chunks[j]));
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return ids of <code>a</code> which are not in <code>b</code>.
+     */
+    static IdBitmap andNot(IdBitmap a, IdBitmap b) {
+        final IdBitmap result = new IdBitmap();
+        int j = 0;
+        for (int i = 0; i < a.chunkCount; i++) {
+            while (j < b.chunkCount && b.keys[j] < a.keys[i]) {
+                j++;
+            }
+            final Chunk chunk = j < b.chunkCount && b.keys[j] == a.keys[i]
+                    ? a.chunks[i].andNot(b.chunks[j])
+                    : a.chunks[i].copy();
+            if (chunk.cardinality > 0) {
+                result.appendChunk(a.keys[i], chunk);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return size of the intersection, without building it.
+     */
+    static int andCardinality(IdBitmap a, IdBitmap b) {
+        int result = 0;
+        int i = 0;
+        int j = 0;
+        while (i < a.chunkCount && j < b.chunkCount) {
+            if (a.keys[i] < b.keys[j]) {
+                i++;
+            } else if (a.keys[i] > b.keys[j]) {
+                j++;
+            } else {
+                result += a.chunks[i].andCardinality(b.chunks[j]);
+                i++;
+                j++;
+            }
+        }
+        return result;
+    }
+
+    private int find(char key) {
+        return Arrays.binarySearch(keys, 0, chunkCount, key);
+    }
+
+    private void insertChunk(int at, char key, Chunk chunk) {
+        if (chunkCount == keys.length) {
+            final int capacity = Math.max(4, chunkCount * 2);
+            keys = Arrays.copyOf(keys, capacity);
+            chunks = Arrays.copyOf(chunks, capacity);
+        }
+        System.arraycopy(keys, at, keys, at + 1, chunkCount - at);
+        System.arraycopy(chunks, at, chunks, at + 1, chunkCount - at);
+        keys[at] = key;
+        chunks[at] = chunk;
+        chunkCount++;
+    }
+
+    private void appendChunk(char key, Chunk chunk) {
+        insertChunk(chunkCount, key, chunk);
+    }
+
+    private abstract static class Chunk {
+        int cardinality;
+
+        abstract Chunk add(char value);
+
+        abstract Chunk remove(char value);
+
+        abstract boolean contains(char value);
+
+        abstract void forEach(int high, IntConsumer consumer);
+
+        abstract Chunk copy();
+
+        abstract BitmapChunk toBitmap();
+
+        Chunk and(Chunk other) {
+            if (this instanceof ArrayChunk) {
+                return ((ArrayChunk) this).filter(other, true);
+            }
+            if (other instanceof ArrayChunk) {
+                return ((ArrayChunk) other).filter(this, true);
+            }
+            final BitmapChunk result = (BitmapChunk) copy();
+            result.and((BitmapChunk) other);
+            return result.shrink();
+        }
+
+        Chunk andNot(Chunk other) {
+            if (this instanceof ArrayChunk) {
+                return ((ArrayChunk) this).filter(other, false);
+            }
+            final BitmapChunk result = (BitmapChunk) copy();
+            result.andNot(other.toBitmap());
+            return result.shrink();
+        }
+
+        Chunk or(Chunk other) {
+            if (this instanceof ArrayChunk && other instanceof ArrayChunk
+                    && cardinality + other.cardinality <= ARRAY_MAX) {
+                return ((ArrayChunk) this).merge((ArrayChunk) other);
+            }
+            final BitmapChunk result = toBitmap() == this ? (BitmapChunk) copy() : toBitmap();
+            result.or(other.toBitmap());
+            return result;
+        }
+
+        int andCardinality(Chunk other) {
+            if (this instanceof ArrayChunk) {
+                return ((ArrayChunk) this).countIn(other);
+            }
+            if (other instanceof ArrayChunk) {
+                return ((ArrayChunk) other).countIn(this);
+            }
+            final long[] a = ((BitmapChunk) this).words;
+            final long[] b = ((BitmapChunk) other).words;
+            int result = 0;
+            for (int i = 0; i < WORDS; i++) {
+                result += Long.bitCount(a[i] & b[i]);
+            }
+            return result;
+        }
+    }
+
+    private static final class ArrayChunk extends Chunk {
+        char[] values = new char[4];
+
+        @Override
+        Chunk add(char value) {
+            final int at = Arrays.binarySearch(values, 0, cardinality, value);
+            if (at >= 0) {
+                return this;
+            }
+            if (cardinality == ARRAY_MAX) {
+                return toBitmap().add(value);
+            }
+            final int insertAt = -at - 1;
+            if (cardinality == values.length) {
+                values = Arrays.copyOf(values, Math.min(ARRAY_MAX, cardinality * 2));
+            }
+            System.arraycopy(values, insertAt, values, insertAt + 1, cardinality - insertAt);
+            values[insertAt] = value;
+            cardinality++;
+            return this;
+        }
+
+        @Override
+        Chunk remove(char value) {
+            final int at = Arrays.binarySearch(values, 0, cardinality, value);
+            if (at >= 0) {
+                System.arraycopy(values, at + 1, values, at, cardinality - at - 1);
+                cardinality--;
+            }
+            return this;
+        }
+
+        @Override
+        boolean contains(char value) {
+            return Arrays.binarySearch(values, 0, cardinality, value) >= 0;
+        }
+
+        @Override
+        void forEach(int high, IntConsumer consumer) {
+            for (int i = 0; i < cardinality; i++) {
+                consumer.accept(high | values[i]);
+            }
+        }
+
+        @Override
+        Chunk copy() {
+            final ArrayChunk result = new ArrayChunk();
+            result.values = Arrays.copyOf(values, Math.max(4, cardinality));
+            result.cardinality = cardinality;
+            return result;
+        }
+
+        @Override
+        BitmapChunk toBitmap() {
+            final BitmapChunk result = new BitmapChunk();
+            for (int i = 0; i < cardinality; i++) {
+                result.words[values[i] >>> 6] |= 1L << values[i];
+            }
+            result.cardinality = cardinality;
+            return result;
+        }
+
+        /**
+         * @return values which are (or are not) in the other chunk.
+         */
+        ArrayChunk filter(Chunk other, boolean keepContained) {
+            final ArrayChunk result = new ArrayChunk();
+            result.values = new char[Math.max(4, cardinality)];
+            for (int i = 0; i < cardinality; i++) {
+                if (other.contains(values[i]) == keepContained) {
+                    result.values[result.cardinality++] = values[i];
+                }
+            }
+            return result;
+        }
+
+        ArrayChunk merge(ArrayChunk other) {
+            final ArrayChunk result = new ArrayChunk();
+            result.values = new char[Math.max(4, cardinality + other.cardinality)];
+            int i = 0;
+            int j = 0;
+            while (i < cardinality || j < other.cardinality) {
+                final char next;
+                if (j == other.cardinality || i < cardinality && values[i] < other.values[j]) {
+                    next = values[i++];
+                } else if (i == cardinality || values[i] > other.values[j]) {
+                    next = other.values[j++];
+                } else {
+                    next = values[i++];
+                    j++;
+                }
+                result.values[result.cardinality++] = next;
+            }
+            return result;
+        }
+
+        int countIn(Chunk other) {
+            int result = 0;
+            for (int i = 0; i < cardinality; i++) {
+                if (other.contains(values[i])) {
+                    result++;
+                }
+            }
+            return result;
+        }
+    }
+
+    private static final class BitmapChunk extends Chunk {
+        final long[] words = new long[WORDS];
+
+        @Override
+        Chunk add(char value) {
+            final long bit = 1L << value;
+            if ((words[value >>> 6] & bit) == 0) {
+                words[value >>> 6] |= bit;
+                cardinality++;
+            }
+            return this;
+        }
+
+        @Override
+        Chunk remove(char value) {
+            final long bit = 1L << value;
+            if ((words[value >>> 6] & bit) != 0) {
+                words[value >>> 6] &= ~bit;
+                cardinality--;
+            }
+            return shrink();
+        }
+
+        @Override
+        boolean contains(char value) {
+            return (words[value >>> 6] & 1L << value) != 0;
+        }
+
+        @Override
+        void forEach(int high, IntConsumer consumer) {
+            for (int i = 0; i < WORDS; i++) {
+                long word = words[i];
+                while (word != 0) {
+                    consumer.accept(high | i << 6 | Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+        }
+
+        @Override
+        Chunk copy() {
+            final BitmapChunk result = new BitmapChunk();
+            System.arraycopy(words, 0, result.words, 0, WORDS);
+            result.cardinality = cardinality;
+            return result;
+        }
+
+        @Override
+        BitmapChunk toBitmap() {
+            return this;
+        }
+
+        void and(BitmapChunk other) {
+            cardinality = 0;
+            for (int i = 0; i < WORDS; i++) {
+                words[i] &= other.words[i];
+                cardinality += Long.bitCount(words[i]);
+            }
+        }
+
+        void andNot(BitmapChunk other) {
+            cardinality = 0;
+            for (int i = 0; i < WORDS; i++) {
+                words[i] &= ~other.words[i];
+                cardinality += Long.bitCount(words[i]);
+            }
+        }
+
+        void or(BitmapChunk other) {
+            cardinality = 0;
+            for (int i = 0; i < WORDS; i++) {
+                words[i] |= other.words[i];
+                cardinality += Long.bitCount(words[i]);
+            }
+        }
+
+        /**
+         * @return an array chunk with the same values if it is small enough.
+         */
+        Chunk shrink() {
+            if (cardinality > ARRAY_MAX / 2) {
+                return this;
+            }
+            final ArrayChunk result = new ArrayChunk();
+            result.values = new char[Math.max(4, cardinality)];
+            forEach(0, value -> result.values[result.cardinality++] = (char) value);
+            return result;
+        }
+    }
+}
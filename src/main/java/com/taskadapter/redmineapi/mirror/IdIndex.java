@@ -0,0 +1,122 @@
+package com.taskadapter.redmineapi.mirror;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * Memory-mapped table of record offsets indexed by object id. Redmine ids are dense, so slot <code>id</code> of
+ * the file holds the offset of the object's latest record plus one (0 for no record). Opening the index only maps
+ * the file.
+ */
+final class IdIndex implements Closeable {
+    /** Ids above need more than 2 GB of slots. */
+    static final int MAX_ID = (Integer.MAX_VALUE >> 3) - 1;
+
+    private static final int SLOT_SIZE = 8;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final FileChannel channel;
+    private MappedByteBuffer slots;
+    private int capacity;
+    private int count = -1;
+
+    IdIndex(Path file) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        map(Math.max(INITIAL_CAPACITY, (int) (channel.size() / SLOT_SIZE)));
+    }
+
+    /**
+     * @return offset of the object's record, -1 if there is none.
+     */
+    long get(int id) {
+        if (id <= 0 || id >= capacity) {
+            return -1;
+        }
+        return slots.getLong(id * SLOT_SIZE) - 1;
+    }
+
+    /**
+     * @return previous offset, -1 if there was none.
+     */
+    long put(int id, long offset) throws IOException {
+        if (id <= 0 || id > MAX_ID) {
+            throw new IllegalArgumentException("Id " + id + " is out of range 1.." + MAX_ID);
+        }
+        if (id >= capacity) {
+            map((int) Math.min(MAX_ID + 1L, Math.max((long) capacity * 2, id + 1L)));
+        }
+        final long previous = slots.getLong(id * SLOT_SIZE) - 1;
+        slots.putLong(id * SLOT_SIZE, offset + 1);
+        if (previous < 0 && count >= 0) {
+            count++;
+        }
+        return previous;
+    }
+
+    /**
+     * @return previous offset, -1 if there was none.
+     */
+    long remove(int id) {
+        final long previous = get(id);
+        if (previous >= 0) {
+            slots.putLong(id * SLOT_SIZE, 0);
+            if (count >= 0) {
+                count--;
+            }
+        }
+        return previous;
+    }
+
+    /**
+     * @return number of ids, counted on the first call.
+     */
+    int count() {
+        if (count < 0) {
+            int result = 0;
+            for (int id = 1; id < capacity; id++) {
+                if (slots.getLong(id * SLOT_SIZE) != 0) {
+                    result++;
+                }
+            }
+            count = result;
+        }
+        return count;
+    }
+
+    /**
+     * @return ids in ascending order.
+     */
+    int[] ids() {
+        int[] result = new int[Math.max(16, count >= 0 ? count : 16)];
+        int size = 0;
+        for (int id = 1; id < capacity; id++) {
+            if (slots.getLong(id * SLOT_SIZE) != 0) {
+                if (size == result.length) {
+                    result = Arrays.copyOf(result, size * 2);
+                }
+                result[size++] = id;
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    void force() {
+        slots.force();
+    }
+
+    @Override
+    public void close() throws IOException {
+        slots = null;
+        channel.close();
+    }
+
+    private void map(int newCapacity) throws IOException {
+        slots = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) newCapacity * SLOT_SIZE);
+        capacity = newCapacity;
+    }
+}
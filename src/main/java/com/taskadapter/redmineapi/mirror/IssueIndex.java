@@ -0,0 +1,513 @@
+package com.taskadapter.redmineapi.mirror;
+
+import com.taskadapter.redmineapi.Params;
+import com.taskadapter.redmineapi.bean.CustomField;
+import com.taskadapter.redmineapi.bean.Identifiable;
+import com.taskadapter.redmineapi.bean.Issue;
+import com.taskadapter.redmineapi.bean.IssueStatus;
+import com.taskadapter.redmineapi.internal.RedmineJSONParser;
+import com.taskadapter.redmineapi.internal.RequestParam;
+import com.taskadapter.redmineapi.internal.json.JsonCodecs;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * Answers issue filters locally from in-memory indexes instead of asking the server.
+ * <p>
+ * Filters are given as {@link Params} with the same names and values as for
+ * {@link com.taskadapter.redmineapi.IssueManager#getIssues(Params)}, so one filter can run on the server or locally:
+ * <pre>
+ * IssueIndex index = IssueIndex.attach(mirror, issueManager.getStatuses());
+ * Params filter = new Params()
+ *     .add("project_id", "1|2")
+ *     .add("assigned_to_id", "!*")
+ *     .add("cf_5", "High")
+ *     .add("updated_on", "&gt;=2020-01-01");
+ * int[] ids = index.find(filter);
+ * Map&lt;String, Integer&gt; byTracker = index.facetCounts(filter, "tracker_id");
+ * </pre>
+ * Supported filters are <code>issue_id</code>, <code>project_id</code>, <code>status_id</code> (ids,
+ * <code>open</code>, <code>closed</code> or <code>*</code>; open issues if missing, as on the server),
+ * <code>tracker_id</code>, <code>priority_id</code>, <code>assigned_to_id</code>, <code>author_id</code>,
+ * <code>category_id</code>, <code>fixed_version_id</code>, <code>parent_id</code>, custom fields (<code>cf_N</code>)
+ * and the dates <code>created_on</code>, <code>updated_on</code>, <code>closed_on</code>, <code>start_date</code>,
+ * <code>due_date</code>. Values are <code>a|b</code>, <code>!a|b</code>, <code>*</code> (any) and <code>!*</code>
+ * (none); dates also <code>&gt;=</code>, <code>&lt;=</code> and <code>&gt;&lt;from|to</code> with days or
+ * timestamps. Unlike the server, <code>project_id</code> does not include subprojects and user ids must be numeric
+ * (no <code>me</code>). <code>sort</code>, <code>limit</code>, <code>offset</code> and <code>include</code> are
+ * ignored. Other filters fail with {@link IllegalArgumentException}.
+ * <p>
+ * Every value of a field has a compressed bitmap of the ids of issues with that value; a filter combines the
+ * bitmaps, so queries take microseconds to a few milliseconds regardless of the number of matching issues.
+ * <p>
+ * The index is thread-safe.
+ */
+public final class IssueIndex implements MirrorListener {
+    /**
+     * Facet key of issues without a value.
+     */
+    public static final String NONE = "!*";
+
+    private static final long DAY = 24 * 60 * 60 * 1000L;
+    private static final Set<String> IGNORED = Set.of("sort", "limit", "offset", "include", "set_filter");
+    private static final Set<String> OPEN_CLOSED = Set.of("open", "o", "closed", "c");
+    private static final Map<String, Function<Issue, Integer>> ID_FIELDS = new LinkedHashMap<>();
+
+    static {
+        ID_FIELDS.put("project_id", Issue::getProjectId);
+        ID_FIELDS.put("status_id", Issue::getStatusId);
+        ID_FIELDS.put("tracker_id", issue -> idOf(issue.getTracker()));
+        ID_FIELDS.put("priority_id", Issue::getPriorityId);
+        ID_FIELDS.put("assigned_to_id", Issue::getAssigneeId);
+        ID_FIELDS.put("author_id", Issue::getAuthorId);
+        ID_FIELDS.put("category_id", issue -> idOf(issue.getCategory()));
+        ID_FIELDS.put("fixed_version_id", issue -> idOf(issue.getTargetVersion()));
+        ID_FIELDS.put("parent_id", Issue::getParentId);
+    }
+
+    private static final Map<String, Function<Issue, Instant>> DATE_FIELDS = new LinkedHashMap<>();
+
+    static {
+        DATE_FIELDS.put("created_on", Issue::getCreatedOnInstant);
+        DATE_FIELDS.put("updated_on", Issue::getUpdatedOnInstant);
+        DATE_FIELDS.put("closed_on", Issue::getClosedOnInstant);
+    }
+
+    private final Set<String> closedStatuses = new HashSet<>();
+    private final ZoneId zone;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final IdBitmap all = new IdBitmap();
+    private final Map<String, ValueField> valueFields = new HashMap<>();
+    private final Map<Integer, List<Posting>> postings = new HashMap<>();
+    private final Map<String, DateField> dateFields = new HashMap<>();
+
+    /**
+     * @param statuses all issue statuses, to tell open and closed issues apart.
+     */
+    public IssueIndex(Collection<IssueStatus> statuses) {
+        this(statuses, ZoneOffset.UTC);
+    }
+
+    /**
+     * @param zone time zone of days in date filters, the server filters by the time zone of the current user.
+     */
+    public IssueIndex(Collection<IssueStatus> statuses, ZoneId zone) {
+        for (IssueStatus status : statuses) {
+            if (status.isClosed()) {
+                closedStatuses.add(String.valueOf(status.getId()));
+            }
+        }
+        this.zone = zone;
+        for (String name : List.of("created_on", "updated_on", "closed_on", "start_date", "due_date")) {
+            dateFields.put(name, new DateField());
+        }
+    }
+
+    /**
+     * Creates an index of the issues in the store, which follows changes of the store.
+     */
+    public static IssueIndex attach(MirrorStore store, Collection<IssueStatus> statuses) {
+        final IssueIndex result = new IssueIndex(statuses);
+        store.addListener(result);
+        return result;
+    }
+
+    /**
+     * Adds the issue or replaces its previous version.
+     */
+    public void put(Issue issue) {
+        final int id = issue.getId();
+        lock.writeLock().lock();
+        try {
+            removeUnlocked(id);
+            all.add(id);
+            ID_FIELDS.forEach((name, getter) -> {
+                final Integer value = getter.apply(issue);
+                if (value != null) {
+                    addValue(name, String.valueOf(value), id);
+                }
+            });
+            for (CustomField field : issue.getCustomFields()) {
+                final List<String> values = field.isMultiple() ? field.getValues() : List.of(nullToEmpty(field.getValue()));
+                for (String value : values) {
+                    if (!value.isEmpty()) {
+                        addValue("cf_" + field.getId(), value, id);
+                    }
+                }
+            }
+            DATE_FIELDS.forEach((name, getter) -> {
+                final Instant value = getter.apply(issue);
+                if (value != null) {
+                    dateFields.get(name).add(id, value.toEpochMilli());
+                }
+            });
+            putDay("start_date", id, issue.getStartLocalDate());
+            putDay("due_date", id, issue.getDueLocalDate());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(int id) {
+        lock.writeLock().lock();
+        try {
+            removeUnlocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return all.cardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return ids of matching issues in ascending order.
+     */
+    public int[] find(Params filter) {
+        lock.readLock().lock();
+        try {
+            return match(filter.getList()).toArray();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return number of matching issues.
+     */
+    public int count(Params filter) {
+        lock.readLock().lock();
+        try {
+            return match(filter.getList()).cardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Counts matching issues by the values of a field, e.g. by <code>status_id</code> or <code>cf_5</code>. An issue
+     * with several values of a multi-value custom field is counted for each of them.
+     *
+     * @return counts by value in descending order, {@link #NONE} for issues without a value. Values without matching
+     * issues are left out.
+     */
+    public Map<String, Integer> facetCounts(Params filter, String field) {
+        lock.readLock().lock();
+        try {
+            final IdBitmap matching = match(filter.getList());
+            final ValueField values = valueFieldOrFail(field);
+            final List<Map.Entry<String, Integer>> counts = new ArrayList<>();
+            values.values.forEach((value, ids) -> {
+                final int count = IdBitmap.andCardinality(matching, ids);
+                if (count > 0) {
+                    counts.add(Map.entry(value, count));
+                }
+            });
+            final int none = matching.cardinality() - IdBitmap.andCardinality(matching, values.any);
+            if (none > 0) {
+                counts.add(Map.entry(NONE, none));
+            }
+            counts.sort(Map.Entry.<String, Integer>comparingByValue().reversed()
+                    .thenComparing(Map.Entry.comparingByKey()));
+            final Map<String, Integer> result = new LinkedHashMap<>();
+            counts.forEach(entry -> result.put(entry.getKey(), entry.getValue()));
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void onPut(Class<?> objectClass, int id, long updatedMillis, byte[] json) {
+        if (objectClass == Issue.class) {
+            put(RedmineJSONParser.parseIssue(JsonCodecs.getDefault().parse(json)));
+        }
+    }
+
+    @Override
+    public void onDelete(Class<?> objectClass, int id) {
+        if (objectClass == Issue.class) {
+            remove(id);
+        }
+    }
+
+    private IdBitmap match(List<RequestParam> filter) {
+        IdBitmap result = all;
+        boolean statusGiven = false;
+        for (RequestParam param : filter) {
+            final String name = param.getName();
+            if (IGNORED.contains(name)) {
+                continue;
+            }
+            statusGiven |= name.equals("status_id");
+            result = IdBitmap.and(result, matchOne(name, param.getValue()));
+        }
+        if (!statusGiven) {
+            result = IdBitmap.and(result, matchStatus("open"));
+        }
+        return result;
+    }
+
+    private IdBitmap matchOne(String name, String expression) {
+        if (name.equals("issue_id")) {
+            return matchIssueIds(expression);
+        }
+        if (dateFields.containsKey(name)) {
+            return matchDates(dateFields.get(name), expression);
+        }
+        final ValueField field = valueFieldOrFail(name);
+        if (name.equals("status_id") && OPEN_CLOSED.contains(expression)) {
+            return matchStatus(expression);
+        }
+        if (expression.equals("*")) {
+            return field.any;
+        }
+        if (expression.equals(NONE)) {
+            return IdBitmap.andNot(all, field.any);
+        }
+        final boolean negate = expression.startsWith("!");
+        IdBitmap result = new IdBitmap();
+        for (String value : (negate ? expression.substring(1) : expression).split("\\|")) {
+            final IdBitmap ids = field.values.get(value);
+            if (ids != null) {
+                result = IdBitmap.or(result, ids);
+            }
+        }
+        /* like the server, "!" also matches issues without a value */
+        return negate ? IdBitmap.andNot(all, result) : result;
+    }
+
+    private IdBitmap matchStatus(String expression) {
+        final boolean open = expression.equals("open") || expression.equals("o");
+        IdBitmap closed = new IdBitmap();
+        for (String status : closedStatuses) {
+            final IdBitmap ids = valueFieldOrFail("status_id").values.get(status);
+            if (ids != null) {
+                closed = IdBitmap.or(closed, ids);
+            }
+        }
+        return open ? IdBitmap.andNot(all, closed) : closed;
+    }
+
+    private IdBitmap matchIssueIds(String expression) {
+        final IdBitmap result = new IdBitmap();
+        if (expression.startsWith(">=") || expression.startsWith("<=") || expression.startsWith("><")) {
+            final String[] bounds = expression.substring(2).split("\\|");
+            final int low = expression.startsWith("<=") ? 0 : Integer.parseInt(bounds[0].trim());
+            final int high = expression.startsWith(">=") ? Integer.MAX_VALUE
+                    : Integer.parseInt(bounds[expression.startsWith("><") ? 1 : 0].trim());
+            all.forEach(id -> {
+                if (id >= low && id <= high) {
+                    result.add(id);
+                }
+            });
+            return result;
+        }
+        for (String id : expression.split("[,|]")) {
+            final int value = Integer.parseInt(id.trim());
+            if (all.contains(value)) {
+                result.add(value);
+            }
+        }
+        return result;
+    }
+
+    private IdBitmap matchDates(DateField field, String expression) {
+        if (expression.equals("*")) {
+            return field.any;
+        }
+        if (expression.equals(NONE)) {
+            return IdBitmap.andNot(all, field.any);
+        }
+        final long low;
+        final long high;
+        if (expression.startsWith(">=")) {
+            low = startOf(expression.substring(2));
+            high = Long.MAX_VALUE;
+        } else if (expression.startsWith("<=")) {
+            low = Long.MIN_VALUE;
+            high = endOf(expression.substring(2));
+        } else if (expression.startsWith("><")) {
+            final String[] bounds = expression.substring(2).split("\\|");
+            low = startOf(bounds[0]);
+            high = endOf(bounds[1]);
+        } else {
+            low = startOf(expression);
+            high = endOf(expression);
+        }
+        return field.between(low, high);
+    }
+
+    /**
+     * @return first millisecond of the day or the timestamp.
+     */
+    private long startOf(String value) {
+        final String text = value.trim();
+        try {
+            return text.length() == 10
+                    ? LocalDate.parse(text).atStartOfDay(zone).toInstant().toEpochMilli()
+                    : Instant.parse(text).toEpochMilli();
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Illegal date " + value, e);
+        }
+    }
+
+    /**
+     * @return last millisecond of the day or the timestamp.
+     */
+    private long endOf(String value) {
+        final String text = value.trim();
+        return text.length() == 10
+                ? startOf(LocalDate.parse(text).plusDays(1).toString()) - 1
+                : startOf(text);
+    }
+
+    private void putDay(String name, int id, LocalDate day) {
+        if (day != null) {
+            dateFields.get(name).add(id, day.atStartOfDay(zone).toInstant().toEpochMilli());
+        }
+    }
+
+    private void addValue(String name, String value, int id) {
+        final ValueField field = valueFields.computeIfAbsent(name, key -> new ValueField());
+        field.add(value, id);
+        postings.computeIfAbsent(id, key -> new ArrayList<>(12)).add(new Posting(field, value));
+    }
+
+    private void removeUnlocked(int id) {
+        if (!all.remove(id)) {
+            return;
+        }
+        final List<Posting> previous = postings.remove(id);
+        if (previous != null) {
+            previous.forEach(posting -> posting.field.remove(posting.value, id));
+        }
+        for (DateField field : dateFields.values()) {
+            field.remove(id);
+        }
+    }
+
+    private ValueField valueFieldOrFail(String name) {
+        if (!ID_FIELDS.containsKey(name) && !name.matches("cf_\\d+")) {
+            throw new IllegalArgumentException("Filter " + name + " is not supported by the local index");
+        }
+        return valueFields.getOrDefault(name, ValueField.EMPTY);
+    }
+
+    private static Integer idOf(Identifiable object) {
+        return object == null ? null : object.getId();
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+
+    /**
+     * Ids of issues by value.
+     */
+    private static final class ValueField {
+        static final ValueField EMPTY = new ValueField();
+
+        final Map<String, IdBitmap> values = new HashMap<>();
+        final IdBitmap any = new IdBitmap();
+
+        void add(String value, int id) {
+            values.computeIfAbsent(value, key -> new IdBitmap()).add(id);
+            any.add(id);
+        }
+
+        void remove(String value, int id) {
+            final IdBitmap ids = values.get(value);
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                values.remove(value);
+            }
+            any.remove(id);
+        }
+    }
+
+    private static final class Posting {
+        final ValueField field;
+        final String value;
+
+        Posting(ValueField field, String value) {
+            this.field = field;
+            this.value = value;
+        }
+    }
+
+    /**
+     * Ids of issues by day, with the exact time of every issue for filters by timestamp.
+     */
+    private static final class DateField {
+        final NavigableMap<Long, IdBitmap> days = new TreeMap<>();
+        final Map<Integer, Long> millis = new HashMap<>();
+        final IdBitmap any = new IdBitmap();
+
+        void add(int id, long value) {
+            millis.put(id, value);
+            days.computeIfAbsent(Math.floorDiv(value, DAY), key -> new IdBitmap()).add(id);
+            any.add(id);
+        }
+
+        void remove(int id) {
+            final Long value = millis.remove(id);
+            if (value != null) {
+                final long day = Math.floorDiv(value, DAY);
+                final IdBitmap ids = days.get(day);
+                ids.remove(id);
+                if (ids.isEmpty()) {
+                    days.remove(day);
+                }
+                any.remove(id);
+            }
+        }
+
+        IdBitmap between(long low, long high) {
+            IdBitmap result = new IdBitmap();
+            final long firstDay = low == Long.MIN_VALUE ? Long.MIN_VALUE : Math.floorDiv(low, DAY);
+            final long lastDay = high == Long.MAX_VALUE ? Long.MAX_VALUE : Math.floorDiv(high, DAY);
+            if (firstDay > lastDay) {
+                return result;
+            }
+            for (Map.Entry<Long, IdBitmap> day : days.subMap(firstDay, true, lastDay, true).entrySet()) {
+                final long start = day.getKey() * DAY;
+                if (start >= low && start + DAY - 1 <= high) {
+                    result = IdBitmap.or(result, day.getValue());
+                } else {
+                    final IdBitmap partial = result;
+                    day.getValue().forEach(id -> {
+                        final long value = millis.get(id);
+                        if (value >= low && value <= high) {
+                            partial.add(id);
+                        }
+                    });
+                }
+            }
+            return result;
+        }
+    }
+}
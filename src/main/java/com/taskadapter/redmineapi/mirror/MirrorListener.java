@@ -0,0 +1,16 @@
+package com.taskadapter.redmineapi.mirror;
+
+/**
+ * Receives changes of a {@link MirrorStore}, e.g. to keep an index up to date. Methods are called while the store
+ * is locked for writing, in the order of the changes, and should return quickly.
+ */
+public interface MirrorListener {
+
+    /**
+     * @param updatedMillis <code>updated_on</code> of the object, 0 if unknown.
+     * @param json          json of the object as stored, must not be modified.
+     */
+    void onPut(Class<?> objectClass, int id, long updatedMillis, byte[] json);
+
+    void onDelete(Class<?> objectClass, int id);
+}
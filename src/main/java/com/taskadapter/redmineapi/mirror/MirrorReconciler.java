@@ -0,0 +1,288 @@
+package com.taskadapter.redmineapi.mirror;
+
+import com.taskadapter.redmineapi.Params;
+import com.taskadapter.redmineapi.RedmineException;
+import com.taskadapter.redmineapi.RedmineFormatException;
+import com.taskadapter.redmineapi.bean.Issue;
+import com.taskadapter.redmineapi.internal.RedmineDateParser;
+import com.taskadapter.redmineapi.internal.RequestParam;
+import com.taskadapter.redmineapi.internal.Transport;
+import com.taskadapter.redmineapi.internal.json.JsonArray;
+import com.taskadapter.redmineapi.internal.json.JsonInput;
+import com.taskadapter.redmineapi.internal.json.JsonObject;
+import org.json.JSONException;
+
+import java.io.IOException;
+import java.text.ParseException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Finds issues of a {@link MirrorStore} which were deleted on the server, or moved out of the mirrored filter, and
+ * repairs issues whose changes were missed. Redmine has no feed of deletions, so without this only a full listing
+ * finds them.
+ * <p>
+ * The id range of all issues is compared with one request returning just <code>total_count</code> and the most
+ * recently updated issue of the range (<code>issue_id=&gt;&lt;from|to</code>, <code>limit=1</code>). When the
+ * number of issues or the latest <code>updated_on</code> differs from the mirror, the range is split in halves and
+ * each half is compared the same way; ranges that match are not looked at again. Ranges of at most
+ * {@link #setLeafSize(int) leaf size} issues are listed and compared issue by issue. A few deleted issues among
+ * 500,000 take a few dozen requests.
+ * <p>
+ * Issues are compared by count and latest update only: a deleted and a new issue in the same range which the
+ * mirror does not know yet cancel out. Sync new issues with {@link com.taskadapter.redmineapi.sync.SyncEngine}
+ * before reconciling.
+ * <p>
+ * Sample usage:
+ * <pre>
+ * MirrorReconciler reconciler = new MirrorReconciler(transport, mirror);
+ * MirrorReconciler.Result result = reconciler.reconcile();
+ * </pre>
+ */
+public final class MirrorReconciler {
+    public static final int DEFAULT_LEAF_SIZE = 100;
+
+    private final Transport transport;
+    private final MirrorStore store;
+    private final List<RequestParam> filter;
+    private int leafSize = DEFAULT_LEAF_SIZE;
+
+    /**
+     * Reconciles all issues, open and closed.
+     */
+    public MirrorReconciler(Transport transport, MirrorStore store) {
+        this(transport, store, new Params().add("status_id", "*"));
+    }
+
+    /**
+     * @param filter issues mirrored by the store, e.g. <code>project_id</code> and <code>status_id=*</code>. The
+     *               mirror is expected to hold exactly the issues matching the filter.
+     */
+    public MirrorReconciler(Transport transport, MirrorStore store, Params filter) {
+        this.transport = transport;
+        this.store = store;
+        this.filter = new ArrayList<>(filter.getList());
+    }
+
+    /**
+     * @param leafSize number of issues below which ranges are listed instead of split, at most 100 (one page).
+     */
+    public void setLeafSize(int leafSize) {
+        if (leafSize < 1 || leafSize > 100) {
+            throw new IllegalArgumentException("Leaf size must be between 1 and 100. You provided: " + leafSize);
+        }
+        this.leafSize = leafSize;
+    }
+
+    /**
+     * Compares the mirror with the server, deletes issues which are gone and stores issues which differ.
+     */
+    public Result reconcile() throws RedmineException, IOException {
+        final int[] ids = store.getIds(Issue.class);
+        final long[] updated = new long[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            final Instant updatedOn = store.getUpdatedOn(Issue.class, ids[i]);
+            updated[i] = updatedOn == null ? 0 : updatedOn.toEpochMilli();
+        }
+        final Run run = new Run(ids, updated);
+        final Probe newest = run.probe(new RequestParam("sort", "id:desc"));
+        final int maxId = Math.max(ids.length == 0 ? 0 : ids[ids.length - 1], newest.firstId);
+        if (maxId > 0) {
+            run.compare(1, maxId);
+        }
+        return new Result(run.requests, run.ranges, run.deleted, run.stored);
+    }
+
+    /**
+     * State of one {@link #reconcile()} call.
+     */
+    private final class Run {
+        final int[] ids;
+        final long[] updated;
+        int requests;
+        int ranges;
+        int deleted;
+        int stored;
+
+        Run(int[] ids, long[] updated) {
+            this.ids = ids;
+            this.updated = updated;
+        }
+
+        void compare(int low, int high) throws RedmineException, IOException {
+            ranges++;
+            final int from = lowerBound(low);
+            final int to = lowerBound(high + 1);
+            final Probe server = probe(range(low, high), new RequestParam("sort", "updated_on:desc"));
+            long localNewest = 0;
+            for (int i = from; i < to; i++) {
+                localNewest = Math.max(localNewest, updated[i]);
+            }
+            if (server.totalCount == to - from && server.firstUpdated == localNewest) {
+                return;
+            }
+            if (server.totalCount == 0) {
+                for (int i = from; i < to; i++) {
+                    deleteLocal(ids[i]);
+                }
+            } else if (server.totalCount <= leafSize || low == high) {
+                compareIssues(low, high, from, to);
+            } else {
+                final int middle = low + (high - low) / 2;
+                compare(low, middle);
+                compare(middle + 1, high);
+            }
+        }
+
+        /**
+         * Lists the issues of the range and compares them one by one.
+         */
+        private void compareIssues(int low, int high, int from, int to) throws RedmineException, IOException {
+            final JsonArray issues;
+            final int[] serverIds;
+            final List<JsonObject> changed = new ArrayList<>();
+            try {
+                issues = JsonInput.getArrayOrNull(get(range(low, high), new RequestParam("sort", "id"),
+                        new RequestParam("limit", "100")), "issues");
+                serverIds = new int[issues == null ? 0 : issues.length()];
+                for (int i = 0; i < serverIds.length; i++) {
+                    final JsonObject issue = issues.getObject(i);
+                    serverIds[i] = JsonInput.getInt(issue, "id");
+                    final int local = Arrays.binarySearch(ids, serverIds[i]);
+                    if (local < 0 || updated[local] != updatedOf(issue)) {
+                        changed.add(issue);
+                    }
+                }
+            } catch (JSONException e) {
+                throw new RedmineFormatException(e);
+            }
+            for (JsonObject issue : changed) {
+                store.put(Issue.class, issue);
+                stored++;
+            }
+            Arrays.sort(serverIds);
+            for (int i = from; i < to; i++) {
+                if (Arrays.binarySearch(serverIds, ids[i]) < 0) {
+                    deleteLocal(ids[i]);
+                }
+            }
+        }
+
+        private void deleteLocal(int id) throws IOException {
+            if (store.delete(Issue.class, id)) {
+                deleted++;
+            }
+        }
+
+        Probe probe(RequestParam... params) throws RedmineException {
+            final List<RequestParam> query = new ArrayList<>(Arrays.asList(params));
+            query.add(new RequestParam("limit", "1"));
+            try {
+                final JsonObject response = get(query.toArray(new RequestParam[0]));
+                final JsonArray issues = JsonInput.getArrayOrNull(response, "issues");
+                final Integer total = JsonInput.getIntOrNull(response, "total_count");
+                if (issues == null || issues.length() == 0) {
+                    return new Probe(total == null ? 0 : total, 0, 0);
+                }
+                final JsonObject first = issues.getObject(0);
+                return new Probe(total == null ? issues.length() : total, JsonInput.getInt(first, "id"),
+                        updatedOf(first));
+            } catch (JSONException e) {
+                throw new RedmineFormatException(e);
+            }
+        }
+
+        /**
+         * Sends a request with the given parameters and the filter. Given parameters take precedence.
+         */
+        private JsonObject get(RequestParam... params) throws RedmineException, JSONException {
+            final List<RequestParam> query = new ArrayList<>(Arrays.asList(params));
+            query.addAll(filter);
+            requests++;
+            return transport.getJsonResponseFromGet(Issue.class, query);
+        }
+
+        private int lowerBound(int id) {
+            final int at = Arrays.binarySearch(ids, id);
+            return at >= 0 ? at : -at - 1;
+        }
+    }
+
+    private static RequestParam range(int low, int high) {
+        return new RequestParam("issue_id", "><" + low + "|" + high);
+    }
+
+    private static long updatedOf(JsonObject issue) {
+        final String updated = JsonInput.getStringOrNull(issue, "updated_on");
+        try {
+            return updated == null ? 0 : RedmineDateParser.parseMillis(updated);
+        } catch (ParseException e) {
+            throw new JSONException(e);
+        }
+    }
+
+    private static final class Probe {
+        final int totalCount;
+        final int firstId;
+        final long firstUpdated;
+
+        Probe(int totalCount, int firstId, long firstUpdated) {
+            this.totalCount = totalCount;
+            this.firstId = firstId;
+            this.firstUpdated = firstUpdated;
+        }
+    }
+
+    /**
+     * Outcome of {@link #reconcile()}.
+     */
+    public static final class Result {
+        private final int requests;
+        private final int ranges;
+        private final int deleted;
+        private final int stored;
+
+        Result(int requests, int ranges, int deleted, int stored) {
+            this.requests = requests;
+            this.ranges = ranges;
+            this.deleted = deleted;
+            this.stored = stored;
+        }
+
+        /**
+         * @return number of requests sent to the server.
+         */
+        public int getRequests() {
+            return requests;
+        }
+
+        /**
+         * @return number of compared id ranges.
+         */
+        public int getRanges() {
+            return ranges;
+        }
+
+        /**
+         * @return number of issues deleted from the mirror.
+         */
+        public int getDeleted() {
+            return deleted;
+        }
+
+        /**
+         * @return number of issues stored because they were missing or outdated in the mirror.
+         */
+        public int getStored() {
+            return stored;
+        }
+
+        @Override
+        public String toString() {
+            return "Result{requests=" + requests + ", ranges=" + ranges + ", deleted=" + deleted
+                    + ", stored=" + stored + '}';
+        }
+    }
+}
@@ -0,0 +1,498 @@
+package com.taskadapter.redmineapi.mirror;
+
+import com.taskadapter.redmineapi.RedmineException;
+import com.taskadapter.redmineapi.RedmineFormatException;
+import com.taskadapter.redmineapi.internal.RedmineDateParser;
+import com.taskadapter.redmineapi.internal.RequestParam;
+import com.taskadapter.redmineapi.internal.Transport;
+import com.taskadapter.redmineapi.internal.json.JsonCodec;
+import com.taskadapter.redmineapi.internal.json.JsonCodecs;
+import com.taskadapter.redmineapi.internal.json.JsonInput;
+import com.taskadapter.redmineapi.internal.json.JsonObject;
+import com.taskadapter.redmineapi.sync.SyncEngine;
+import com.taskadapter.redmineapi.sync.SyncScope;
+import org.json.JSONException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.text.ParseException;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Local replica of issues, projects, users and time entries.
+ * <p>
+ * Objects are kept as the json received from the server in an append-only log; every change appends a record and
+ * deletions append a tombstone. An id index per type points to the latest record of every object. Both the log and
+ * the indexes are memory-mapped, so opening a store maps the files and checks the records written after the last
+ * {@link #flush()} instead of reading everything. {@link #compact()} rewrites the log without replaced records.
+ * <p>
+ * The store is fed through {@link #attach(SyncEngine, SyncScope)} with incremental changes, or with
+ * {@link #load(Transport, Class, Collection)} for types without <code>updated_on</code> such as users. Reads parse
+ * the stored json into beans, which are not connected to a server. Indexes such as {@link IssueIndex} follow the
+ * store through {@link #addListener(MirrorListener)}.
+ * <p>
+ * Sample usage:
+ * <pre>
+ * MirrorStore mirror = MirrorStore.open(Paths.get("mirror"));
+ * mirror.attach(syncEngine, SyncScope.issues());
+ * syncEngine.poll();
+ * Issue issue = mirror.get(Issue.class, 123);
+ * </pre>
+ * The store is thread-safe: reads run concurrently, writes and compaction exclusively. It must not be opened by
+ * more than one process.
+ */
+public final class MirrorStore implements Closeable {
+    public static final int DEFAULT_SEGMENT_SIZE = 64 << 20;
+
+    private static final String META_FILE = "mirror.meta";
+    private static final String KEY_GENERATION = "generation";
+    private static final String KEY_SIZE = "size";
+    private static final String KEY_GARBAGE = "garbage";
+
+    private final Path directory;
+    private final int segmentSize;
+    private final JsonCodec codec = JsonCodecs.getDefault();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final List<MirrorListener> listeners = new CopyOnWriteArrayList<>();
+    private int generation;
+    private RecordLog log;
+    private Map<MirrorType, IdIndex> indexes;
+    private long garbage;
+
+    private MirrorStore(Path directory, int segmentSize) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+    }
+
+    public static MirrorStore open(Path directory) throws IOException {
+        return open(directory, DEFAULT_SEGMENT_SIZE);
+    }
+
+    /**
+     * @param segmentSize size of the mapped parts of the log, limits the size of one object's json.
+     */
+    public static MirrorStore open(Path directory, int segmentSize) throws IOException {
+        final MirrorStore result = new MirrorStore(directory, segmentSize);
+        result.openFiles();
+        return result;
+    }
+
+    /**
+     * Stores the object's json unless the same json is stored for it already.
+     *
+     * @param updatedMillis <code>updated_on</code> of the object, 0 if unknown.
+     */
+    public void put(Class<?> objectClass, int id, long updatedMillis, byte[] json) throws IOException {
+        final MirrorType type = MirrorType.of(objectClass);
+        lock.writeLock().lock();
+        try {
+            final IdIndex index = indexes.get(type);
+            final long previous = index.get(id);
+            if (previous >= 0 && log.updated(previous) == updatedMillis && Arrays.equals(log.payload(previous), json)) {
+                return;
+            }
+            final long offset = log.append(type.code, (byte) 0, id, updatedMillis, json);
+            if (index.put(id, offset) >= 0) {
+                garbage += log.length(previous);
+            }
+            for (MirrorListener listener : listeners) {
+                listener.onPut(objectClass, id, updatedMillis, json);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return <code>true</code> if the object was stored.
+     */
+    public boolean delete(Class<?> objectClass, int id) throws IOException {
+        final MirrorType type = MirrorType.of(objectClass);
+        lock.writeLock().lock();
+        try {
+            final IdIndex index = indexes.get(type);
+            final long previous = index.get(id);
+            if (previous < 0) {
+                return false;
+            }
+            final long offset = log.append(type.code, RecordLog.FLAG_DELETED, id, 0, new byte[0]);
+            index.remove(id);
+            garbage += log.length(previous) + log.length(offset);
+            for (MirrorListener listener : listeners) {
+                listener.onDelete(objectClass, id);
+            }
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return stored object, NULL if there is none.
+     */
+    public <T> T get(Class<T> objectClass, int id) throws RedmineFormatException {
+        final byte[] json = getJson(objectClass, id);
+        return json == null ? null : parse(objectClass, json);
+    }
+
+    /**
+     * @return json of the object as received from the server, NULL if there is none.
+     */
+    public byte[] getJson(Class<?> objectClass, int id) {
+        final MirrorType type = MirrorType.of(objectClass);
+        lock.readLock().lock();
+        try {
+            final long offset = indexes.get(type).get(id);
+            return offset < 0 ? null : log.payload(offset);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return <code>updated_on</code> of the stored object, NULL if there is none or it is unknown.
+     */
+    public Instant getUpdatedOn(Class<?> objectClass, int id) {
+        final MirrorType type = MirrorType.of(objectClass);
+        lock.readLock().lock();
+        try {
+            final long offset = indexes.get(type).get(id);
+            final long updated = offset < 0 ? 0 : log.updated(offset);
+            return updated == 0 ? null : Instant.ofEpochMilli(updated);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return ids of stored objects in ascending order.
+     */
+    public int[] getIds(Class<?> objectClass) {
+        final MirrorType type = MirrorType.of(objectClass);
+        lock.readLock().lock();
+        try {
+            return indexes.get(type).ids();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size(Class<?> objectClass) {
+        final MirrorType type = MirrorType.of(objectClass);
+        lock.writeLock().lock();
+        try {
+            /* the first call counts and caches */
+            return indexes.get(type).count();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Passes all stored objects of the type to the consumer in the order of their ids.
+     */
+    public <T> void forEach(Class<T> objectClass, Consumer<? super T> consumer) throws RedmineFormatException {
+        for (int id : getIds(objectClass)) {
+            final T object = get(objectClass, id);
+            if (object != null) {
+                consumer.accept(object);
+            }
+        }
+    }
+
+    /**
+     * Passes all stored objects to the listener, then registers it for later changes. No change is made in between.
+     */
+    public void addListener(MirrorListener listener) {
+        lock.writeLock().lock();
+        try {
+            for (MirrorType type : MirrorType.values()) {
+                final IdIndex index = indexes.get(type);
+                for (int id : index.ids()) {
+                    final long offset = index.get(id);
+                    listener.onPut(type.objectClass, id, log.updated(offset), log.payload(offset));
+                }
+            }
+            listeners.add(listener);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeListener(MirrorListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Registers the scope with the engine, so changes found by its polls are stored here. The objects are still
+     * parsed into beans, but the json received from the server is stored.
+     */
+    public <T> void attach(SyncEngine engine, SyncScope<T> scope) {
+        final MirrorType type = MirrorType.of(scope.getObjectClass());
+        final Class<T> objectClass = scope.getObjectClass();
+        final Map<Integer, byte[]> received = new ConcurrentHashMap<>();
+        engine.register(scope.withParser(json -> {
+            received.put(JsonInput.getInt(json, "id"), json.toUtf8());
+            return objectClass.cast(type.parser.parse(json));
+        }), batch -> {
+            /* listed scopes parse the whole listing before delivering it in several batches, so only the delivered
+               objects are dropped. The json of unchanged objects is replaced when they are parsed again. */
+            try {
+                for (T object : batch.getChanges()) {
+                    final int id = scope.idOf(object);
+                    put(objectClass, id, scope.updatedOf(object), received.remove(id));
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * Stores all objects of the type matching the filter, e.g. all users. Objects are not parsed into beans.
+     */
+    public void load(Transport transport, Class<?> objectClass, Collection<? extends RequestParam> params)
+            throws RedmineException, IOException {
+        MirrorType.of(objectClass);
+        try {
+            transport.readObjectsList(objectClass, params, json -> {
+                try {
+                    put(objectClass, json);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Stores the object's json as received, with <code>updated_on</code> read from it.
+     */
+    void put(Class<?> objectClass, JsonObject json) throws IOException {
+        final String updated = JsonInput.getStringOrNull(json, "updated_on");
+        try {
+            put(objectClass, JsonInput.getInt(json, "id"),
+                    updated == null ? 0 : RedmineDateParser.parseMillis(updated), json.toUtf8());
+        } catch (ParseException e) {
+            throw new JSONException(e);
+        }
+    }
+
+    /**
+     * Writes changes to disk. Changes made after the last flush survive a process crash (the mapped memory is
+     * written by the operating system), but not a system crash.
+     */
+    public void flush() throws IOException {
+        lock.writeLock().lock();
+        try {
+            log.force();
+            indexes.values().forEach(IdIndex::force);
+            writeMeta(generation, log.size(), garbage);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Rewrites the log with the latest records of stored objects only. Readers wait until the compaction is done.
+     * A crash during compaction leaves the store as it was before.
+     */
+    public void compact() throws IOException {
+        lock.writeLock().lock();
+        try {
+            final int newGeneration = generation + 1;
+            final RecordLog newLog = new RecordLog(logFile(newGeneration), segmentSize);
+            newLog.recover(0, offset -> {
+            });
+            final Map<MirrorType, IdIndex> newIndexes = new EnumMap<>(MirrorType.class);
+            for (MirrorType type : MirrorType.values()) {
+                final IdIndex index = indexes.get(type);
+                final IdIndex newIndex = new IdIndex(indexFile(type, newGeneration));
+                for (int id : index.ids()) {
+                    final long offset = index.get(id);
+                    newIndex.put(id, newLog.append(type.code, (byte) 0, id, log.updated(offset), log.payload(offset)));
+                }
+                newIndex.force();
+                newIndexes.put(type, newIndex);
+            }
+            newLog.force();
+            writeMeta(newGeneration, newLog.size(), 0);
+
+            closeFiles();
+            deleteFiles(generation);
+            generation = newGeneration;
+            log = newLog;
+            indexes = newIndexes;
+            garbage = 0;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return bytes used by the log, including replaced records.
+     */
+    public long getLogSize() {
+        lock.readLock().lock();
+        try {
+            return log.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return bytes of replaced and deleted records, which {@link #compact()} would free.
+     */
+    public long getGarbageSize() {
+        lock.readLock().lock();
+        try {
+            return garbage;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Flushes and closes the files.
+     */
+    @Override
+    public void close() throws IOException {
+        flush();
+        lock.writeLock().lock();
+        try {
+            closeFiles();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private <T> T parse(Class<T> objectClass, byte[] json) throws RedmineFormatException {
+        try {
+            final JsonObject object = codec.parse(json);
+            return objectClass.cast(MirrorType.of(objectClass).parser.parse(object));
+        } catch (JSONException e) {
+            throw new RedmineFormatException(e);
+        }
+    }
+
+    private void openFiles() throws IOException {
+        Files.createDirectories(directory);
+        final Properties meta = new Properties();
+        final Path metaFile = directory.resolve(META_FILE);
+        if (Files.exists(metaFile)) {
+            try (InputStream in = Files.newInputStream(metaFile)) {
+                meta.load(in);
+            }
+        }
+        generation = Integer.parseInt(meta.getProperty(KEY_GENERATION, "0"));
+        garbage = Long.parseLong(meta.getProperty(KEY_GARBAGE, "0"));
+        deleteOtherGenerations();
+
+        log = new RecordLog(logFile(generation), segmentSize);
+        indexes = new EnumMap<>(MirrorType.class);
+        for (MirrorType type : MirrorType.values()) {
+            indexes.put(type, new IdIndex(indexFile(type, generation)));
+        }
+        final IOException[] failure = new IOException[1];
+        log.recover(Long.parseLong(meta.getProperty(KEY_SIZE, "0")), offset -> {
+            try {
+                replay(offset);
+            } catch (IOException e) {
+                failure[0] = e;
+            }
+        });
+        if (failure[0] != null) {
+            throw failure[0];
+        }
+    }
+
+    /**
+     * Applies a record found after the last flush to the index.
+     */
+    private void replay(long offset) throws IOException {
+        final IdIndex index = indexes.get(MirrorType.of(log.type(offset)));
+        final int id = log.id(offset);
+        if (index.get(id) == offset) {
+            return;
+        }
+        final long previous = (log.flags(offset) & RecordLog.FLAG_DELETED) != 0
+                ? index.remove(id)
+                : index.put(id, offset);
+        if (previous >= 0) {
+            garbage += log.length(previous);
+        }
+        if ((log.flags(offset) & RecordLog.FLAG_DELETED) != 0) {
+            garbage += log.length(offset);
+        }
+    }
+
+    private void writeMeta(int generation, long size, long garbage) throws IOException {
+        final Properties meta = new Properties();
+        meta.setProperty(KEY_GENERATION, String.valueOf(generation));
+        meta.setProperty(KEY_SIZE, String.valueOf(size));
+        meta.setProperty(KEY_GARBAGE, String.valueOf(garbage));
+        final Path temp = directory.resolve(META_FILE + ".tmp");
+        try (OutputStream out = Files.newOutputStream(temp)) {
+            meta.store(out, "Redmine mirror");
+        }
+        Files.move(temp, directory.resolve(META_FILE), StandardCopyOption.REPLACE_EXISTING,
+                StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void closeFiles() throws IOException {
+        log.close();
+        for (IdIndex index : indexes.values()) {
+            index.close();
+        }
+    }
+
+    private void deleteFiles(int generation) throws IOException {
+        Files.deleteIfExists(logFile(generation));
+        for (MirrorType type : MirrorType.values()) {
+            Files.deleteIfExists(indexFile(type, generation));
+        }
+    }
+
+    /**
+     * Deletes leftovers of an interrupted compaction.
+     */
+    private void deleteOtherGenerations() throws IOException {
+        final String suffix = "-" + generation + ".";
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*-*.{log,idx}")) {
+            for (Path file : files) {
+                if (!file.getFileName().toString().contains(suffix)) {
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+
+    private Path logFile(int generation) {
+        return directory.resolve("data-" + generation + ".log");
+    }
+
+    private Path indexFile(MirrorType type, int generation) {
+        return directory.resolve(type.fileName + "-" + generation + ".idx");
+    }
+}
@@ -0,0 +1,48 @@
+package com.taskadapter.redmineapi.mirror;
+
+import com.taskadapter.redmineapi.bean.Issue;
+import com.taskadapter.redmineapi.bean.Project;
+import com.taskadapter.redmineapi.bean.TimeEntry;
+import com.taskadapter.redmineapi.bean.User;
+import com.taskadapter.redmineapi.internal.RedmineJSONParser;
+import com.taskadapter.redmineapi.internal.json.JsonObjectParser;
+
+/**
+ * Object types kept by {@link MirrorStore}. Codes are written to the log and must not change.
+ */
+enum MirrorType {
+    ISSUE(1, "issues", Issue.class, RedmineJSONParser::parseIssue),
+    PROJECT(2, "projects", Project.class, RedmineJSONParser::parseProject),
+    USER(3, "users", User.class, RedmineJSONParser::parseUser),
+    TIME_ENTRY(4, "time_entries", TimeEntry.class, RedmineJSONParser::parseTimeEntry);
+
+    final byte code;
+    final String fileName;
+    final Class<?> objectClass;
+    final JsonObjectParser<?> parser;
+
+    <T> MirrorType(int code, String fileName, Class<T> objectClass, JsonObjectParser<T> parser) {
+        this.code = (byte) code;
+        this.fileName = fileName;
+        this.objectClass = objectClass;
+        this.parser = parser;
+    }
+
+    static MirrorType of(Class<?> objectClass) {
+        for (MirrorType type : values()) {
+            if (type.objectClass == objectClass) {
+                return type;
+            }
+        }
+        throw new IllegalArgumentException("Objects of " + objectClass.getSimpleName() + " cannot be mirrored");
+    }
+
+    static MirrorType of(byte code) {
+        for (MirrorType type : values()) {
+            if (type.code == code) {
+                return type;
+            }
+        }
+        throw new IllegalStateException("Unknown record type " + code);
+    }
+}
@@ -0,0 +1,199 @@
+package com.taskadapter.redmineapi.mirror;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Append-only file of records, mapped into memory in segments of a fixed size.
+ * <p>
+ * A record is <code>length(int) type(byte) flags(byte) id(int) updated(long) payload crc(int)</code>, the checksum
+ * covers everything between length and checksum. Records never cross segments: a record which does not fit is
+ * preceded by a padding marker (length -1) and written at the start of the next segment. Length 0 marks the end.
+ * <p>
+ * Not thread-safe for writing. Reads use absolute positions only and may run concurrently with each other.
+ */
+final class RecordLog implements Closeable {
+    static final int HEADER_SIZE = 18;
+    static final byte FLAG_DELETED = 1;
+
+    private static final int TRAILER_SIZE = 4;
+    private static final int PADDING = -1;
+
+    private final FileChannel channel;
+    private final int segmentSize;
+    private final List<MappedByteBuffer> segments = new ArrayList<>();
+    private long size;
+
+    RecordLog(Path file, int segmentSize) throws IOException {
+        this.segmentSize = segmentSize;
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        final long length = channel.size();
+        for (long start = 0; start < length; start += segmentSize) {
+            segments.add(channel.map(FileChannel.MapMode.READ_WRITE, start, segmentSize));
+        }
+    }
+
+    long size() {
+        return size;
+    }
+
+    /**
+     * Sets the end of the log after opening. Records after the end are checked and kept as long as they are valid,
+     * which recovers records appended after the last flush.
+     *
+     * @param consumer receives offsets of the recovered records.
+     */
+    void recover(long flushedSize, RecordConsumer consumer) {
+        long position = flushedSize;
+        while (true) {
+            position = skipPadding(position);
+            if (!isValid(position)) {
+                break;
+            }
+            consumer.accept(position);
+            position += length(position);
+        }
+        size = position;
+        /* clear what is left of a torn write, so it is not taken for a record later */
+        if (size < (long) segments.size() * segmentSize) {
+            final MappedByteBuffer segment = segment(size);
+            for (int i = offsetInSegment(size); i < segmentSize; i++) {
+                segment.put(i, (byte) 0);
+            }
+        }
+    }
+
+    /**
+     * @return offset of the written record.
+     */
+    long append(byte type, byte flags, int id, long updated, byte[] payload) throws IOException {
+        final int length = HEADER_SIZE + payload.length + TRAILER_SIZE;
+        if (length > segmentSize) {
+            throw new IllegalArgumentException("Record of " + length + " bytes does not fit into a segment of " + segmentSize + " bytes");
+        }
+        int inSegment = offsetInSegment(size);
+        if (inSegment + length > segmentSize) {
+            if (segmentSize - inSegment >= 4 && size < (long) segments.size() * segmentSize) {
+                segment(size).putInt(inSegment, PADDING);
+            }
+            size += segmentSize - inSegment;
+            inSegment = 0;
+        }
+        while (size / segmentSize >= segments.size()) {
+            segments.add(channel.map(FileChannel.MapMode.READ_WRITE, (long) segments.size() * segmentSize, segmentSize));
+        }
+        final MappedByteBuffer segment = segment(size);
+        segment.putInt(inSegment, length);
+        segment.put(inSegment + 4, type);
+        segment.put(inSegment + 5, flags);
+        segment.putInt(inSegment + 6, id);
+        segment.putLong(inSegment + 10, updated);
+        segment.put(inSegment + HEADER_SIZE, payload);
+        segment.putInt(inSegment + length - TRAILER_SIZE, checksum(segment, inSegment, length));
+        final long result = size;
+        size += length;
+        return result;
+    }
+
+    int length(long offset) {
+        return segment(offset).getInt(offsetInSegment(offset));
+    }
+
+    byte type(long offset) {
+        return segment(offset).get(offsetInSegment(offset) + 4);
+    }
+
+    byte flags(long offset) {
+        return segment(offset).get(offsetInSegment(offset) + 5);
+    }
+
+    int id(long offset) {
+        return segment(offset).getInt(offsetInSegment(offset) + 6);
+    }
+
+    long updated(long offset) {
+        return segment(offset).getLong(offsetInSegment(offset) + 10);
+    }
+
+    byte[] payload(long offset) {
+        final int inSegment = offsetInSegment(offset);
+        final MappedByteBuffer segment = segment(offset);
+        final byte[] result = new byte[segment.getInt(inSegment) - HEADER_SIZE - TRAILER_SIZE];
+        segment.get(inSegment + HEADER_SIZE, result);
+        return result;
+    }
+
+    /**
+     * @return offset of the record following the given one, or {@link #size()}.
+     */
+    long next(long offset) {
+        return skipPadding(offset + length(offset));
+    }
+
+    /**
+     * @return offset of the first record, or {@link #size()} if the log is empty.
+     */
+    long first() {
+        return skipPadding(0);
+    }
+
+    void force() {
+        segments.forEach(MappedByteBuffer::force);
+    }
+
+    @Override
+    public void close() throws IOException {
+        segments.clear();
+        channel.close();
+    }
+
+    private long skipPadding(long position) {
+        while (position < (long) segments.size() * segmentSize) {
+            final int inSegment = offsetInSegment(position);
+            if (segmentSize - inSegment < 4 || segment(position).getInt(inSegment) == PADDING) {
+                position += segmentSize - inSegment;
+            } else {
+                break;
+            }
+        }
+        return position;
+    }
+
+    private boolean isValid(long position) {
+        if (position >= (long) segments.size() * segmentSize) {
+            return false;
+        }
+        final int inSegment = offsetInSegment(position);
+        final MappedByteBuffer segment = segment(position);
+        final int length = segment.getInt(inSegment);
+        if (length < HEADER_SIZE + TRAILER_SIZE || inSegment + length > segmentSize) {
+            return false;
+        }
+        return segment.getInt(inSegment + length - TRAILER_SIZE) == checksum(segment, inSegment, length);
+    }
+
+    private static int checksum(MappedByteBuffer segment, int inSegment, int length) {
+        final CRC32 crc = new CRC32();
+        crc.update(segment.slice(inSegment + 4, length - 4 - TRAILER_SIZE));
+        return (int) crc.getValue();
+    }
+
+    private MappedByteBuffer segment(long offset) {
+        return segments.get((int) (offset / segmentSize));
+    }
+
+    private int offsetInSegment(long offset) {
+        return (int) (offset % segmentSize);
+    }
+
+    interface RecordConsumer {
+        void accept(long offset);
+    }
+}
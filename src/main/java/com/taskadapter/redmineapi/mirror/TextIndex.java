@@ -0,0 +1,589 @@
+package com.taskadapter.redmineapi.mirror;
+
+import com.taskadapter.redmineapi.bean.Issue;
+import com.taskadapter.redmineapi.bean.Journal;
+import com.taskadapter.redmineapi.internal.RedmineJSONParser;
+import com.taskadapter.redmineapi.internal.json.JsonCodecs;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Full-text index of issue subjects, descriptions and journal notes, answering searches without the server's
+ * <code>~</code> filter or <code>/search</code>.
+ * <p>
+ * Texts are split into lower-case words without accents. A search returns issues containing all words of the
+ * query, a word ending with <code>*</code> matches all words starting with it. Results are ranked by BM25, words
+ * in the subject count three times.
+ * <p>
+ * Issues are added one by one, e.g. as they are fetched, or by following a {@link MirrorStore}:
+ * <pre>
+ * TextIndex index = TextIndex.attach(mirror, Paths.get("mirror/text.idx"));
+ * List&lt;TextIndex.Hit&gt; hits = index.search("timeout proxy*", 20);
+ * ...
+ * index.close();
+ * </pre>
+ * Journal notes are only present if issues are fetched with {@link com.taskadapter.redmineapi.Include#journals};
+ * an issue without journals keeps the notes indexed for it before.
+ * <p>
+ * The index is kept in memory and written to its file by {@link #save()} and {@link #close()}. The file holds the
+ * sorted word list with shared prefixes left out and the words of every issue as variable-length numbers, postings
+ * are rebuilt when the file is read. The index is thread-safe.
+ */
+public final class TextIndex implements MirrorListener, Closeable {
+    private static final int MAGIC = 0x524d5449;
+    private static final int VERSION = 1;
+    private static final int SUBJECT_WEIGHT = 3;
+    private static final int MAX_WORD_LENGTH = 40;
+    private static final int MAX_PREFIX_EXPANSIONS = 1000;
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+
+    private final Path file;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final NavigableMap<String, Postings> postings = new TreeMap<>();
+    private final Map<Integer, Document> documents = new HashMap<>();
+    private long totalLength;
+
+    private TextIndex(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Reads the index from the file, or starts an empty one if the file does not exist.
+     */
+    public static TextIndex open(Path file) throws IOException {
+        final TextIndex result = new TextIndex(file);
+        if (Files.exists(file)) {
+            result.read();
+        }
+        return result;
+    }
+
+    /**
+     * Opens the index, adds issues of the store which changed since the index was saved and drops issues which
+     * were deleted from it. The index follows later changes of the store.
+     */
+    public static TextIndex attach(MirrorStore store, Path file) throws IOException {
+        final TextIndex result = open(file);
+        store.addListener(result);
+        result.retain(store.getIds(Issue.class));
+        return result;
+    }
+
+    /**
+     * Adds the issue or replaces its previous version.
+     */
+    public void put(Issue issue) {
+        final long updated = issue.getUpdatedOnInstant() == null ? 0 : issue.getUpdatedOnInstant().toEpochMilli();
+        final Map<String, Integer> text = new HashMap<>();
+        count(issue.getSubject(), SUBJECT_WEIGHT, text);
+        count(issue.getDescription(), 1, text);
+        final Map<String, Integer> notes = new HashMap<>();
+        for (Journal journal : issue.getJournals()) {
+            count(journal.getNotes(), 1, notes);
+        }
+        lock.writeLock().lock();
+        try {
+            final Document previous = documents.get(issue.getId());
+            final Terms noteTerms = issue.getJournals().isEmpty() && previous != null
+                    ? previous.notes
+                    : Terms.of(notes);
+            putUnlocked(issue.getId(), new Document(updated, Terms.of(text), noteTerms));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(int id) {
+        lock.writeLock().lock();
+        try {
+            removeUnlocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes every issue not in <code>ids</code>.
+     */
+    private void retain(int[] ids) {
+        final Set<Integer> kept = new HashSet<>(ids.length * 2);
+        for (int id : ids) {
+            kept.add(id);
+        }
+        lock.writeLock().lock();
+        try {
+            for (Integer id : new ArrayList<>(documents.keySet())) {
+                if (!kept.contains(id)) {
+                    removeUnlocked(id);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return number of indexed issues.
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return number of distinct words.
+     */
+    public int getWordCount() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return best matching issues first, at most <code>limit</code>. Empty if the query has no words.
+     */
+    public List<Hit> search(String query, int limit) {
+        final List<String> words = new ArrayList<>();
+        final List<Boolean> prefixes = new ArrayList<>();
+        for (String part : query.trim().split("\\s+")) {
+            final boolean prefix = part.endsWith("*");
+            final List<String> tokens = tokenize(prefix ? part.substring(0, part.length() - 1) : part);
+            for (int i = 0; i < tokens.size(); i++) {
+                words.add(tokens.get(i));
+                prefixes.add(prefix && i == tokens.size() - 1);
+            }
+        }
+        if (words.isEmpty()) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            Map<Integer, Double> scores = null;
+            for (int i = 0; i < words.size(); i++) {
+                final Map<Integer, Double> wordScores = score(words.get(i), prefixes.get(i));
+                if (scores == null) {
+                    scores = wordScores;
+                } else {
+                    final Map<Integer, Double> both = new HashMap<>();
+                    final Map<Integer, Double> smaller = scores.size() <= wordScores.size() ? scores : wordScores;
+                    final Map<Integer, Double> larger = smaller == scores ? wordScores : scores;
+                    smaller.forEach((id, score) -> {
+                        final Double other = larger.get(id);
+                        if (other != null) {
+                            both.put(id, score + other);
+                        }
+                    });
+                    scores = both;
+                }
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+            final List<Hit> result = new ArrayList<>(scores.size());
+            scores.forEach((id, score) -> result.add(new Hit(id, score)));
+            result.sort(Comparator.comparingDouble(Hit::getScore).reversed()
+                    .thenComparing(Comparator.comparingInt(Hit::getId).reversed()));
+            return result.size() > limit ? new ArrayList<>(result.subList(0, limit)) : result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void onPut(Class<?> objectClass, int id, long updatedMillis, byte[] json) {
+        if (objectClass != Issue.class) {
+            return;
+        }
+        lock.readLock().lock();
+        try {
+            final Document indexed = documents.get(id);
+            if (indexed != null && updatedMillis != 0 && indexed.updated == updatedMillis) {
+                return;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        put(RedmineJSONParser.parseIssue(JsonCodecs.getDefault().parse(json)));
+    }
+
+    @Override
+    public void onDelete(Class<?> objectClass, int id) {
+        if (objectClass == Issue.class) {
+            remove(id);
+        }
+    }
+
+    /**
+     * Writes the index to its file, replacing the file atomically.
+     */
+    public void save() throws IOException {
+        lock.readLock().lock();
+        try {
+            write();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        save();
+    }
+
+    /**
+     * Splits the text into words: lower case, accents removed, letters and digits only. Single letters are left out.
+     */
+    static List<String> tokenize(String text) {
+        final List<String> result = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return result;
+        }
+        final String normalized = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFKD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= normalized.length(); i++) {
+            final boolean wordChar = i < normalized.length() && Character.isLetterOrDigit(normalized.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                final String word = normalized.substring(start, Math.min(i, start + MAX_WORD_LENGTH));
+                if (word.length() > 1 || Character.isDigit(word.charAt(0))) {
+                    result.add(word);
+                }
+                start = -1;
+            }
+        }
+        return result;
+    }
+
+    private static void count(String text, int weight, Map<String, Integer> counts) {
+        for (String word : tokenize(text)) {
+            counts.merge(word, weight, Integer::sum);
+        }
+    }
+
+    private Map<Integer, Double> score(String word, boolean prefix) {
+        final Collection<Postings> matching;
+        if (prefix) {
+            matching = new ArrayList<>();
+            for (Postings candidate : postings.subMap(word, true, word + Character.MAX_VALUE, false).values()) {
+                if (matching.size() == MAX_PREFIX_EXPANSIONS) {
+                    break;
+                }
+                matching.add(candidate);
+            }
+        } else {
+            final Postings exact = postings.get(word);
+            matching = exact == null ? List.of() : List.of(exact);
+        }
+        final Map<Integer, Double> result = new HashMap<>();
+        final double averageLength = documents.isEmpty() ? 1 : Math.max(1.0, (double) totalLength / documents.size());
+        for (Postings list : matching) {
+            final double idf = Math.log(1 + (documents.size() - list.size + 0.5) / (list.size + 0.5));
+            for (int i = 0; i < list.size; i++) {
+                final int id = list.ids[i];
+                final double frequency = list.frequencies[i];
+                final double norm = 1 - B + B * documents.get(id).length / averageLength;
+                result.merge(id, idf * frequency * (K1 + 1) / (frequency + K1 * norm), Double::sum);
+            }
+        }
+        return result;
+    }
+
+    private void putUnlocked(int id, Document document) {
+        removeUnlocked(id);
+        documents.put(id, document);
+        totalLength += document.length;
+        final Map<String, Integer> frequencies = new HashMap<>();
+        document.text.forEachTerm(frequencies);
+        document.notes.forEachTerm(frequencies);
+        frequencies.forEach((word, frequency) -> postings.computeIfAbsent(word, key -> new Postings()).put(id, frequency));
+    }
+
+    private void removeUnlocked(int id) {
+        final Document previous = documents.remove(id);
+        if (previous == null) {
+            return;
+        }
+        totalLength -= previous.length;
+        for (Terms terms : List.of(previous.text, previous.notes)) {
+            for (String word : terms.words) {
+                final Postings list = postings.get(word);
+                if (list != null && list.remove(id) && list.size == 0) {
+                    postings.remove(word);
+                }
+            }
+        }
+    }
+
+    private void write() throws IOException {
+        final String[] words = postings.keySet().toArray(new String[0]);
+        final Map<String, Integer> wordIds = new HashMap<>(words.length * 2);
+        for (int i = 0; i < words.length; i++) {
+            wordIds.put(words[i], i);
+        }
+        final Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            writeVarInt(out, words.length);
+            String previous = "";
+            for (String word : words) {
+                int shared = 0;
+                while (shared < Math.min(previous.length(), word.length())
+                        && previous.charAt(shared) == word.charAt(shared)) {
+                    shared++;
+                }
+                writeVarInt(out, shared);
+                out.writeUTF(word.substring(shared));
+                previous = word;
+            }
+            final Integer[] ids = documents.keySet().toArray(new Integer[0]);
+            Arrays.sort(ids);
+            writeVarInt(out, ids.length);
+            int previousId = 0;
+            for (int id : ids) {
+                final Document document = documents.get(id);
+                writeVarInt(out, id - previousId);
+                out.writeLong(document.updated);
+                writeTerms(out, document.text, wordIds);
+                writeTerms(out, document.notes, wordIds);
+                previousId = id;
+            }
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void read() throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("Not a text index or unsupported version: " + file);
+            }
+            final String[] words = new String[readVarInt(in)];
+            String previous = "";
+            for (int i = 0; i < words.length; i++) {
+                final int shared = readVarInt(in);
+                words[i] = previous.substring(0, shared) + in.readUTF();
+                previous = words[i];
+            }
+            final int count = readVarInt(in);
+            int id = 0;
+            for (int i = 0; i < count; i++) {
+                id += readVarInt(in);
+                final long updated = in.readLong();
+                final Terms text = readTerms(in, words);
+                putUnlocked(id, new Document(updated, text, readTerms(in, words)));
+            }
+        }
+    }
+
+    private static void writeTerms(DataOutputStream out, Terms terms, Map<String, Integer> wordIds) throws IOException {
+        /* word id in the upper half, frequency in the lower half, sorted by word id */
+        final long[] pairs = new long[terms.words.length];
+        for (int i = 0; i < pairs.length; i++) {
+            pairs[i] = (long) wordIds.get(terms.words[i]) << 32 | terms.frequencies[i];
+        }
+        Arrays.sort(pairs);
+        writeVarInt(out, pairs.length);
+        int previous = 0;
+        for (long pair : pairs) {
+            final int wordId = (int) (pair >>> 32);
+            writeVarInt(out, wordId - previous);
+            writeVarInt(out, (int) pair);
+            previous = wordId;
+        }
+    }
+
+    private static Terms readTerms(DataInputStream in, String[] words) throws IOException {
+        final int count = readVarInt(in);
+        final String[] result = new String[count];
+        final int[] frequencies = new int[count];
+        int wordId = 0;
+        for (int i = 0; i < count; i++) {
+            wordId += readVarInt(in);
+            result[i] = words[wordId];
+            frequencies[i] = readVarInt(in);
+        }
+        return new Terms(result, frequencies);
+    }
+
+    private static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7f) != 0) {
+            out.writeByte(value & 0x7f | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readVarInt(DataInputStream in) throws IOException {
+        int result = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            final int b = in.readUnsignedByte();
+            result |= (b & 0x7f) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new IOException("Malformed number in text index");
+    }
+
+    /**
+     * An issue found by {@link #search(String, int)}.
+     */
+    public static final class Hit {
+        private final int id;
+        private final double score;
+
+        Hit(int id, double score) {
+            this.id = id;
+            this.score = score;
+        }
+
+        public int getId() {
+            return id;
+        }
+
+        /**
+         * @return relevance, only comparable between hits of one search.
+         */
+        public double getScore() {
+            return score;
+        }
+
+        @Override
+        public String toString() {
+            return "Hit{id=" + id + ", score=" + score + '}';
+        }
+    }
+
+    /**
+     * Words of one issue with their weighted frequencies.
+     */
+    private static final class Terms {
+        static final Terms EMPTY = new Terms(new String[0], new int[0]);
+
+        final String[] words;
+        final int[] frequencies;
+
+        Terms(String[] words, int[] frequencies) {
+            this.words = words;
+            this.frequencies = frequencies;
+        }
+
+        static Terms of(Map<String, Integer> counts) {
+            if (counts.isEmpty()) {
+                return EMPTY;
+            }
+            final String[] words = new String[counts.size()];
+            final int[] frequencies = new int[counts.size()];
+            int i = 0;
+            for (Map.Entry<String, Integer> entry : counts.entrySet()) {
+                words[i] = entry.getKey().intern();
+                frequencies[i++] = entry.getValue();
+            }
+            return new Terms(words, frequencies);
+        }
+
+        void forEachTerm(Map<String, Integer> target) {
+            for (int i = 0; i < words.length; i++) {
+                target.merge(words[i], frequencies[i], Integer::sum);
+            }
+        }
+
+        int length() {
+            int result = 0;
+            for (int frequency : frequencies) {
+                result += frequency;
+            }
+            return result;
+        }
+    }
+
+    private static final class Document {
+        final long updated;
+        final Terms text;
+        final Terms notes;
+        final int length;
+
+        Document(long updated, Terms text, Terms notes) {
+            this.updated = updated;
+            this.text = text;
+            this.notes = notes;
+            this.length = text.length() + notes.length();
+        }
+    }
+
+    /**
+     * Ids of issues containing a word, in ascending order, with the word's frequency in each.
+     */
+    private static final class Postings {
+        int[] ids = new int[2];
+        int[] frequencies = new int[2];
+        int size;
+
+        void put(int id, int frequency) {
+            int at = size > 0 && ids[size - 1] < id ? -size - 1 : Arrays.binarySearch(ids, 0, size, id);
+            if (at >= 0) {
+                frequencies[at] = frequency;
+                return;
+            }
+            at = -at - 1;
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            System.arraycopy(ids, at, ids, at + 1, size - at);
+            System.arraycopy(frequencies, at, frequencies, at + 1, size - at);
+            ids[at] = id;
+            frequencies[at] = frequency;
+            size++;
+        }
+
+        /**
+         * @return <code>true</code> if the id was in the list.
+         */
+        boolean remove(int id) {
+            final int at = Arrays.binarySearch(ids, 0, size, id);
+            if (at < 0) {
+                return false;
+            }
+            System.arraycopy(ids, at + 1, ids, at, size - at - 1);
+            System.arraycopy(frequencies, at + 1, frequencies, at, size - at - 1);
+            size--;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.taskadapter.redmineapi.sync;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Objects which were created or updated since the previous poll, in the order of their <code>updated_on</code>.
+ * One poll delivers a batch per page of server results.
+ */
+public final class ChangeBatch<T> {
+    private final String scope;
+    private final List<T> changes;
+    private final Instant highWaterMark;
+
+    ChangeBatch(String scope, List<T> changes, Instant highWaterMark) {
+        this.scope = scope;
+        this.changes = changes;
+        this.highWaterMark = highWaterMark;
+    }
+
+    /**
+     * @return key of the {@link SyncScope} the objects belong to.
+     */
+    public String getScope() {
+        return scope;
+    }
+
+    public List<T> getChanges() {
+        return changes;
+    }
+
+    /**
+     * @return latest <code>updated_on</code> seen in this scope, including this batch.
+     */
+    public Instant getHighWaterMark() {
+        return highWaterMark;
+    }
+
+    @Override
+    public String toString() {
+        return "ChangeBatch [scope=" + scope + ", changes=" + changes.size() + ", highWaterMark=" + highWaterMark + "]";
+    }
+}
@@ -0,0 +1,11 @@
+package com.taskadapter.redmineapi.sync;
+
+/**
+ * Receives changed objects from {@link SyncEngine}.
+ * <p>
+ * The high-water mark is saved only after the listener returns, so if it throws, the batch is delivered again by the
+ * next poll. Listeners must therefore tolerate objects they have already seen.
+ */
+public interface ChangeListener<T> {
+    void onChanges(ChangeBatch<? extends T> batch);
+}
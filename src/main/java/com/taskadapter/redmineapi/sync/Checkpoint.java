@@ -0,0 +1,261 @@
+package com.taskadapter.redmineapi.sync;
+
+import com.taskadapter.redmineapi.Params;
+import com.taskadapter.redmineapi.internal.RequestParam;
+
+import java.io.Serializable;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Position of a {@link ListCursor}: the listed type and filter, the key and offset of the next page, and the latest
+ * <code>updated_on</code> of the objects listed so far. Checkpoints are immutable; persist them with
+ * {@link #encode()} or Java serialization and continue with {@link ListCursor#resume}.
+ * <p>
+ * The high-water mark tells where to start an incremental sync once the listing is done, so changes made while a
+ * long export runs are not lost.
+ */
+public final class Checkpoint implements Serializable {
+    private static final long serialVersionUID = 1L;
+    private static final long NO_MARK = Long.MIN_VALUE;
+    private static final long NO_KEY = Long.MIN_VALUE;
+
+    private final String objectClass;
+    private final List<String> paramNames;
+    private final List<String> paramValues;
+    private final ListCursor.Paging paging;
+    private final long key;
+    private final int keyId;
+    private final int offset;
+    private final long delivered;
+    private final Integer totalCount;
+    private final long markMillis;
+    private final boolean done;
+
+    private Checkpoint(String objectClass, List<String> paramNames, List<String> paramValues, ListCursor.Paging paging,
+                       long key, int keyId, int offset, long delivered, Integer totalCount, long markMillis,
+                       boolean done) {
+        this.objectClass = objectClass;
+        this.paramNames = paramNames;
+        this.paramValues = paramValues;
+        this.paging = paging;
+        this.key = key;
+        this.keyId = keyId;
+        this.offset = offset;
+        this.delivered = delivered;
+        this.totalCount = totalCount;
+        this.markMillis = markMillis;
+        this.done = done;
+    }
+
+    static Checkpoint start(Class<?> objectClass, List<RequestParam> params, ListCursor.Paging paging) {
+        final List<String> names = new ArrayList<>();
+        final List<String> values = new ArrayList<>();
+        for (RequestParam param : params) {
+            names.add(param.getName());
+            values.add(param.getValue());
+        }
+        return new Checkpoint(objectClass.getName(), Collections.unmodifiableList(names),
+                Collections.unmodifiableList(values), paging, NO_KEY, 0, 0, 0, null, NO_MARK, false);
+    }
+
+    /**
+     * @return checkpoint after a page of <code>count</code> objects read by offset.
+     */
+    Checkpoint next(int count, Integer totalCount, long pageMarkMillis, boolean done) {
+        return next(key, keyId, offset + count, count, totalCount, pageMarkMillis, done);
+    }
+
+    /**
+     * @return checkpoint after a page of <code>count</code> objects read by keyset, the last one with the given key
+     * and id, continuing at <code>offset</code> from the key.
+     */
+    Checkpoint next(long key, int keyId, int offset, int count, Integer totalCount, long pageMarkMillis,
+                    boolean done) {
+        return new Checkpoint(objectClass, paramNames, paramValues, paging, key, keyId, offset, delivered + count,
+                totalCount, Math.max(markMillis, pageMarkMillis), done);
+    }
+
+    String getObjectClassName() {
+        return objectClass;
+    }
+
+    /**
+     * @return id or <code>updated_on</code> second (in milliseconds) of the last page read by keyset, NULL before
+     * the first page or when reading by offset.
+     */
+    Long getKey() {
+        return key == NO_KEY ? null : key;
+    }
+
+    /**
+     * @return id of the last object read by keyset.
+     */
+    int getKeyId() {
+        return keyId;
+    }
+
+    List<RequestParam> getParamList() {
+        final List<RequestParam> result = new ArrayList<>();
+        for (int i = 0; i < paramNames.size(); i++) {
+            result.add(new RequestParam(paramNames.get(i), paramValues.get(i)));
+        }
+        return result;
+    }
+
+    /**
+     * @return filter of the listing.
+     */
+    public Params getParams() {
+        final Params result = new Params();
+        for (int i = 0; i < paramNames.size(); i++) {
+            result.add(paramNames.get(i), paramValues.get(i));
+        }
+        return result;
+    }
+
+    public ListCursor.Paging getPaging() {
+        return paging;
+    }
+
+    /**
+     * @return offset of the next page, relative to the key when paging by keyset.
+     */
+    public int getOffset() {
+        return offset;
+    }
+
+    /**
+     * @return number of objects listed so far.
+     */
+    public long getDelivered() {
+        return delivered;
+    }
+
+    /**
+     * @return <code>total_count</code> reported with the last page, NULL before the first page or if the list is not
+     * paged.
+     */
+    public Integer getTotalCount() {
+        return totalCount;
+    }
+
+    /**
+     * @return latest <code>updated_on</code> of the objects listed so far, NULL if none had one.
+     */
+    public Instant getHighWaterMark() {
+        return markMillis == NO_MARK ? null : Instant.ofEpochMilli(markMillis);
+    }
+
+    /**
+     * @return <code>true</code> if all objects were listed.
+     */
+    public boolean isDone() {
+        return done;
+    }
+
+    /**
+     * @return text form, e.g. <code>type=...Issue&amp;paging=ID&amp;key=200&amp;...&amp;param=project_id:5</code>.
+     */
+    public String encode() {
+        final StringBuilder result = new StringBuilder()
+                .append("type=").append(objectClass)
+                .append("&paging=").append(paging)
+                .append("&key=").append(key == NO_KEY ? "" : key)
+                .append("&keyId=").append(keyId)
+                .append("&offset=").append(offset)
+                .append("&delivered=").append(delivered)
+                .append("&total=").append(totalCount == null ? "" : totalCount)
+                .append("&mark=").append(markMillis)
+                .append("&done=").append(done);
+        for (int i = 0; i < paramNames.size(); i++) {
+            result.append("&param=").append(urlEncode(paramNames.get(i)))
+                    .append(':').append(urlEncode(paramValues.get(i)));
+        }
+        return result.toString();
+    }
+
+    public static Checkpoint decode(String text) {
+        String objectClass = null;
+        ListCursor.Paging paging = ListCursor.Paging.OFFSET;
+        long key = NO_KEY;
+        int keyId = 0;
+        int offset = 0;
+        long delivered = 0;
+        Integer totalCount = null;
+        long markMillis = NO_MARK;
+        boolean done = false;
+        final List<String> names = new ArrayList<>();
+        final List<String> values = new ArrayList<>();
+        try {
+            for (String field : text.split("&")) {
+                final int equals = field.indexOf('=');
+                final String name = field.substring(0, equals);
+                final String value = field.substring(equals + 1);
+                switch (name) {
+                    case "type":
+                        objectClass = value;
+                        break;
+                    case "paging":
+                        paging = ListCursor.Paging.valueOf(value);
+                        break;
+                    case "key":
+                        key = value.isEmpty() ? NO_KEY : Long.parseLong(value);
+                        break;
+                    case "keyId":
+                        keyId = Integer.parseInt(value);
+                        break;
+                    case "offset":
+                        offset = Integer.parseInt(value);
+                        break;
+                    case "delivered":
+                        delivered = Long.parseLong(value);
+                        break;
+                    case "total":
+                        totalCount = value.isEmpty() ? null : Integer.valueOf(value);
+                        break;
+                    case "mark":
+                        markMillis = Long.parseLong(value);
+                        break;
+                    case "done":
+                        done = Boolean.parseBoolean(value);
+                        break;
+                    case "param":
+                        final int colon = value.indexOf(':');
+                        names.add(urlDecode(value.substring(0, colon)));
+                        values.add(urlDecode(value.substring(colon + 1)));
+                        break;
+                    default:
+                        /* written by a later version */
+                }
+            }
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Illegal checkpoint " + text, e);
+        }
+        if (objectClass == null) {
+            throw new IllegalArgumentException("Illegal checkpoint " + text);
+        }
+        return new Checkpoint(objectClass, Collections.unmodifiableList(names), Collections.unmodifiableList(values),
+                paging, key, keyId, offset, delivered, totalCount, markMillis, done);
+    }
+
+    private static String urlEncode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private static String urlDecode(String value) {
+        return URLDecoder.decode(value, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public String toString() {
+        return "Checkpoint [paging=" + paging + ", key=" + getKey() + ", offset=" + offset
+                + ", delivered=" + delivered + ", total=" + totalCount
+                + ", highWaterMark=" + getHighWaterMark() + ", done=" + done + "]";
+    }
+}
@@ -0,0 +1,54 @@
+package com.taskadapter.redmineapi.sync;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Properties;
+
+/**
+ * Keeps states of all scopes in one properties file. The file is replaced atomically on every save, so a crash
+ * leaves either the old or the new state.
+ */
+public final class FileSyncStateStore implements SyncStateStore {
+    private final Path file;
+    private final Properties states = new Properties();
+
+    public FileSyncStateStore(Path file) throws IOException {
+        this.file = file;
+        if (Files.exists(file)) {
+            try (InputStream in = Files.newInputStream(file)) {
+                states.load(in);
+            }
+        }
+    }
+
+    @Override
+    public synchronized SyncState load(String scope) {
+        final String value = states.getProperty(scope);
+        return value == null ? null : SyncState.decode(value);
+    }
+
+    @Override
+    public synchronized void save(String scope, SyncState state) throws IOException {
+        states.setProperty(scope, state.encode());
+        write();
+    }
+
+    @Override
+    public synchronized void remove(String scope) throws IOException {
+        if (states.remove(scope) != null) {
+            write();
+        }
+    }
+
+    private void write() throws IOException {
+        final Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (OutputStream out = Files.newOutputStream(temp)) {
+            states.store(out, "Redmine sync high-water marks");
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
@@ -0,0 +1,290 @@
+package com.taskadapter.redmineapi.sync;
+
+import com.taskadapter.redmineapi.Params;
+import com.taskadapter.redmineapi.RedmineException;
+import com.taskadapter.redmineapi.bean.Issue;
+import com.taskadapter.redmineapi.bean.TimeEntry;
+import com.taskadapter.redmineapi.internal.RedmineDateParser;
+import com.taskadapter.redmineapi.internal.RequestParam;
+import com.taskadapter.redmineapi.internal.Transport;
+import com.taskadapter.redmineapi.internal.json.JsonInput;
+import com.taskadapter.redmineapi.internal.json.JsonObject;
+import com.taskadapter.redmineapi.internal.json.JsonObjectConsumer;
+import com.taskadapter.redmineapi.internal.json.JsonObjectParser;
+import org.json.JSONException;
+
+import java.text.ParseException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Lists objects page by page and keeps a {@link Checkpoint} after every page, so a long listing can continue where
+ * it stopped after a failure or restart instead of starting over:
+ * <pre>
+ * ListCursor&lt;Issue&gt; cursor = saved == null
+ *     ? ListCursor.open(transport, Issue.class, new Params().add("status_id", "*").add("sort", "id"))
+ *     : ListCursor.resume(transport, Issue.class, Checkpoint.decode(saved));
+ * while (!cursor.isDone()) {
+ *     export(cursor.nextPage());
+ *     saved = cursor.getCheckpoint().encode();
+ * }
+ * </pre>
+ * The checkpoint moves on when a page was read completely. A page being processed when the process died is read
+ * again on resume, so consumers should tolerate seeing some objects twice.
+ * <p>
+ * By default pages are read by offset. Sort by a stable key such as <code>id</code>, otherwise objects may move
+ * between pages while the listing runs. Deep offsets get slower on large tables, and objects created or deleted
+ * before the current offset still shift the later pages. {@link Paging#ID} and {@link Paging#UPDATED_ON} read by
+ * keyset instead: each page is filtered to start after the last object read, so it costs the same at any depth:
+ * <pre>
+ * ListCursor&lt;Issue&gt; cursor = ListCursor.open(transport, Issue.class, filter, ListCursor.Paging.ID);
+ * </pre>
+ * A cursor is not thread-safe.
+ */
+public final class ListCursor<T> {
+    public static final int DEFAULT_PAGE_SIZE = 100;
+
+    /**
+     * How pages follow each other.
+     */
+    public enum Paging {
+        /**
+         * By <code>offset</code>, in the order of the filter's <code>sort</code>.
+         */
+        OFFSET,
+        /**
+         * Issues by <code>id</code>, each page filtered by <code>issue_id&gt;=</code> the last id read plus one.
+         * Issues created while the listing runs are listed at the end, deleted ones do not shift other issues.
+         */
+        ID,
+        /**
+         * Issues or time entries by <code>updated_on</code> and id, each page filtered by
+         * <code>updated_on&gt;=</code> the second of the last object read and offset by the objects of that second
+         * already read. The last object is read again with the next page; if it moved, the second is read again
+         * from its start, listing its objects read already once more. Objects changed while the listing runs are
+         * listed again at the end, with their changes.
+         */
+        UPDATED_ON
+    }
+
+    private final Transport transport;
+    private final Class<T> objectClass;
+    private Checkpoint checkpoint;
+    private int pageSize = DEFAULT_PAGE_SIZE;
+
+    private ListCursor(Transport transport, Class<T> objectClass, Checkpoint checkpoint) {
+        this.transport = transport;
+        this.objectClass = objectClass;
+        this.checkpoint = checkpoint;
+    }
+
+    /**
+     * Starts listing objects matching the filter by offset.
+     */
+    public static <T> ListCursor<T> open(Transport transport, Class<T> objectClass, Params filter) {
+        return open(transport, objectClass, filter, Paging.OFFSET);
+    }
+
+    /**
+     * Starts listing objects matching the filter.
+     *
+     * @param filter with keyset paging, the filter must not set <code>sort</code> nor filter by the key.
+     * @throws IllegalArgumentException if the objects cannot be filtered by the key of the paging, or the filter
+     *                                  conflicts with it.
+     */
+    public static <T> ListCursor<T> open(Transport transport, Class<T> objectClass, Params filter, Paging paging) {
+        final List<RequestParam> params = filter.getList();
+        if (paging != Paging.OFFSET) {
+            if (objectClass != Issue.class && (paging == Paging.ID || objectClass != TimeEntry.class)) {
+                throw new IllegalArgumentException(objectClass.getSimpleName() + " cannot be listed by " + paging);
+            }
+            final String keyFilter = paging == Paging.ID ? "issue_id" : "updated_on";
+            for (RequestParam param : params) {
+                if (param.getName().equals("sort") || param.getName().equals(keyFilter)) {
+                    throw new IllegalArgumentException("Listing by " + paging + " sets " + param.getName()
+                            + " itself");
+                }
+            }
+        }
+        return new ListCursor<>(transport, objectClass, Checkpoint.start(objectClass, params, paging));
+    }
+
+    /**
+     * Continues a listing after the page of the checkpoint.
+     *
+     * @throws IllegalArgumentException if the checkpoint is of a listing of another type.
+     */
+    public static <T> ListCursor<T> resume(Transport transport, Class<T> objectClass, Checkpoint checkpoint) {
+        if (!objectClass.getName().equals(checkpoint.getObjectClassName())) {
+            throw new IllegalArgumentException("Checkpoint of " + checkpoint.getObjectClassName()
+                    + " cannot be resumed as " + objectClass.getName());
+        }
+        return new ListCursor<>(transport, objectClass, checkpoint);
+    }
+
+    /**
+     * @param pageSize objects per request, the server may send fewer.
+     */
+    public void setPageSize(int pageSize) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Page size must be > 0. You provided: " + pageSize);
+        }
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * @return position after the last page read.
+     */
+    public Checkpoint getCheckpoint() {
+        return checkpoint;
+    }
+
+    public boolean isDone() {
+        return checkpoint.isDone();
+    }
+
+    /**
+     * @return objects of the next page, empty when the listing is done.
+     */
+    public List<T> nextPage() throws RedmineException {
+        final JsonObjectParser<T> parser = transport.getParser(objectClass);
+        final List<T> result = new ArrayList<>(pageSize);
+        nextPage(json -> result.add(parser.parse(json)));
+        return result;
+    }
+
+    /**
+     * Hands the json of the objects of the next page to the consumer instead of creating beans. If the consumer
+     * fails, the checkpoint stays before the page.
+     *
+     * @return number of objects of the page, 0 when the listing is done.
+     */
+    public int nextPage(JsonObjectConsumer consumer) throws RedmineException {
+        if (checkpoint.isDone()) {
+            return 0;
+        }
+        final Paging paging = checkpoint.getPaging();
+        int offset = checkpoint.getOffset();
+        /* by updated_on, read the last object again to see whether objects of its second moved meanwhile */
+        boolean anchored = paging == Paging.UPDATED_ON && offset > 0;
+        while (true) {
+            final int requestOffset = anchored ? offset - 1 : offset;
+            final Page page = new Page(paging, checkpoint, requestOffset, anchored, consumer);
+            final int limit = anchored ? pageSize + 1 : pageSize;
+            final Integer total = transport.readObjectsPage(objectClass, request(requestOffset, limit), page);
+            final boolean done = page.read == 0 || total == null || requestOffset + page.read >= total;
+            if (page.shifted) {
+                /* objects before the anchor were changed or deleted: read the second again from its start */
+                anchored = false;
+                offset = 0;
+                continue;
+            }
+            if (page.count == 0 && !done) {
+                /* only the anchor came back, although more objects are listed */
+                anchored = false;
+                offset = requestOffset + page.read;
+                continue;
+            }
+            /* total_count counts the objects from the key on, and the objects before the offset were read */
+            final Integer listed = total == null ? null
+                    : (int) (checkpoint.getDelivered() + page.count + total - requestOffset - page.read);
+            if (paging == Paging.OFFSET || page.count == 0) {
+                checkpoint = checkpoint.next(page.count, listed, page.mark, done);
+            } else if (paging == Paging.ID) {
+                checkpoint = checkpoint.next(page.lastId, page.lastId, 0, page.count, listed, page.mark, done);
+            } else {
+                checkpoint = checkpoint.next(page.lastSecond, page.lastId, page.nextOffset, page.count, listed,
+                        page.mark, done);
+            }
+            return page.count;
+        }
+    }
+
+    private List<RequestParam> request(int offset, int limit) {
+        final Long key = checkpoint.getKey();
+        final List<RequestParam> params = new ArrayList<>();
+        params.add(new RequestParam("limit", String.valueOf(limit)));
+        params.add(new RequestParam("offset", String.valueOf(offset)));
+        if (checkpoint.getPaging() == Paging.ID) {
+            if (key != null) {
+                params.add(new RequestParam("issue_id", ">=" + (key + 1)));
+            }
+            params.add(new RequestParam("sort", "id"));
+        } else if (checkpoint.getPaging() == Paging.UPDATED_ON) {
+            if (key != null) {
+                params.add(new RequestParam("updated_on", ">=" + Instant.ofEpochMilli(key)));
+            }
+            params.add(new RequestParam("sort", "updated_on,id"));
+        }
+        params.addAll(checkpoint.getParamList());
+        return params;
+    }
+
+    /**
+     * Hands the objects of a response to the consumer, except the anchor, and keeps the keys of the last object
+     * handed over. Objects of the key second are positioned by offset only: their ids are not ordered by second,
+     * as the list is sorted by the full time of <code>updated_on</code>.
+     */
+    private static final class Page implements JsonObjectConsumer {
+        private final JsonObjectConsumer consumer;
+        private final Long keySecond;
+        private final int keyId;
+        private final int requestOffset;
+        private final boolean anchored;
+
+        int read;
+        int count;
+        boolean shifted;
+        long mark = Long.MIN_VALUE;
+        int lastId;
+        long lastSecond;
+        int nextOffset;
+        private long second;
+        private int secondStart;
+
+        Page(Paging paging, Checkpoint checkpoint, int requestOffset, boolean anchored,
+             JsonObjectConsumer consumer) {
+            this.consumer = consumer;
+            this.keySecond = paging == Paging.UPDATED_ON ? checkpoint.getKey() : null;
+            this.keyId = checkpoint.getKeyId();
+            this.requestOffset = requestOffset;
+            this.anchored = anchored;
+        }
+
+        @Override
+        public void accept(JsonObject json) throws JSONException {
+            final int position = requestOffset + read++;
+            if (shifted) {
+                return;
+            }
+            final int id = JsonInput.getInt(json, "id");
+            final long updated = updatedOf(json);
+            final long objectSecond = updated - Math.floorMod(updated, 1000);
+            if (position == requestOffset || objectSecond != second) {
+                /* the key second starts at offset 0 of the filtered list */
+                second = objectSecond;
+                secondStart = keySecond != null && keySecond == objectSecond ? 0 : position;
+            }
+            if (anchored && position == requestOffset) {
+                shifted = id != keyId || keySecond != objectSecond;
+                return;
+            }
+            consumer.accept(json);
+            count++;
+            mark = Math.max(mark, updated);
+            lastId = id;
+            lastSecond = objectSecond;
+            nextOffset = position + 1 - secondStart;
+        }
+    }
+
+    private static long updatedOf(JsonObject json) throws JSONException {
+        final String updated = JsonInput.getStringOrNull(json, "updated_on");
+        try {
+            return updated == null ? 0 : RedmineDateParser.parseMillis(updated);
+        } catch (ParseException e) {
+            throw new JSONException(e);
+        }
+    }
+}
@@ -0,0 +1,379 @@
+package com.taskadapter.redmineapi.sync;
+
+import com.taskadapter.redmineapi.Params;
+import com.taskadapter.redmineapi.RedmineException;
+import com.taskadapter.redmineapi.bean.Issue;
+import com.taskadapter.redmineapi.bean.TimeEntry;
+import com.taskadapter.redmineapi.internal.RedmineDateParser;
+import com.taskadapter.redmineapi.internal.RequestParam;
+import com.taskadapter.redmineapi.internal.Transport;
+import com.taskadapter.redmineapi.internal.json.JsonInput;
+import com.taskadapter.redmineapi.internal.json.JsonObject;
+import com.taskadapter.redmineapi.internal.json.JsonObjectConsumer;
+import com.taskadapter.redmineapi.internal.json.JsonObjectParser;
+import org.json.JSONException;
+
+import java.text.ParseException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Lists a large query in parallel by splitting it into windows of an id or date range, e.g. issues by
+ * <code>created_on</code> or time entries by <code>spent_on</code>. Parallel offsets of one query still make the
+ * server evaluate the whole query for every page; windows keep every request small.
+ * <p>
+ * The range is the span between the smallest and the largest value, read with two requests. Each window is sized
+ * with a request returning just <code>total_count</code> (<code>limit=1</code>). A window with more than
+ * {@link #setWindowSize(int) window size} objects is split into equal parts, which are sized the same way, so dense
+ * parts of the range end up in smaller windows. Windows are tasks of a {@link ForkJoinPool}: idle threads steal
+ * the parts of dense windows from busy ones. The pages of a window are read in parallel by offset.
+ * <p>
+ * Sample usage:
+ * <pre>
+ * ShardedLister&lt;Issue&gt; lister = new ShardedLister&lt;&gt;(transport, Issue.class,
+ *         new Params().add("status_id", "*"), ShardedLister.Dimension.CREATED_ON);
+ * lister.setPool(new ForkJoinPool(8));
+ * List&lt;Issue&gt; issues = lister.list();
+ * </pre>
+ * Objects are returned in the order of the dimension and id. An object whose value changes while the listing runs
+ * may be listed twice or missed, so prefer <code>id</code> or <code>created_on</code> over <code>updated_on</code>.
+ * Timestamps are split at whole seconds.
+ */
+public final class ShardedLister<T> {
+    public static final int DEFAULT_WINDOW_SIZE = 1000;
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int MAX_PARTS = 64;
+
+    /**
+     * Field the range is split by.
+     */
+    public enum Dimension {
+        /**
+         * Issue id, filtered by <code>issue_id</code>.
+         */
+        ID("issue_id"),
+        /**
+         * Creation time of issues or time entries, split at whole seconds.
+         */
+        CREATED_ON("created_on"),
+        /**
+         * Time of the last change of issues or time entries, split at whole seconds.
+         */
+        UPDATED_ON("updated_on"),
+        /**
+         * Day of time entries, split at whole days.
+         */
+        SPENT_ON("spent_on");
+
+        private final String filterName;
+
+        Dimension(String filterName) {
+            this.filterName = filterName;
+        }
+
+        String sort(boolean descending) {
+            final String direction = descending ? ":desc" : "";
+            return this == ID ? "id" + direction : filterName + direction + ",id" + direction;
+        }
+
+        boolean supports(Class<?> objectClass) {
+            switch (this) {
+                case ID:
+                    return objectClass == Issue.class;
+                case SPENT_ON:
+                    return objectClass == TimeEntry.class;
+                default:
+                    return objectClass == Issue.class || objectClass == TimeEntry.class;
+            }
+        }
+
+        /**
+         * @return value of the object as a number of ids, seconds or days.
+         */
+        long valueOf(JsonObject json) throws JSONException {
+            if (this == ID) {
+                return JsonInput.getInt(json, "id");
+            }
+            final String text = JsonInput.getStringOrNull(json, filterName);
+            if (text == null) {
+                throw new JSONException("No " + filterName + " in " + json);
+            }
+            if (this == SPENT_ON) {
+                return LocalDate.parse(text).toEpochDay();
+            }
+            try {
+                return Math.floorDiv(RedmineDateParser.parseMillis(text), 1000);
+            } catch (ParseException e) {
+                throw new JSONException(e);
+            }
+        }
+
+        String format(long value) {
+            switch (this) {
+                case ID:
+                    return String.valueOf(value);
+                case SPENT_ON:
+                    return LocalDate.ofEpochDay(value).toString();
+                default:
+                    return Instant.ofEpochSecond(value).toString();
+            }
+        }
+    }
+
+    private final Transport transport;
+    private final Class<T> objectClass;
+    private final List<RequestParam> filter;
+    private final Dimension dimension;
+    private ForkJoinPool pool = ForkJoinPool.commonPool();
+    private int windowSize = DEFAULT_WINDOW_SIZE;
+    private int pageSize = DEFAULT_PAGE_SIZE;
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicInteger windows = new AtomicInteger();
+
+    /**
+     * @param filter objects to list. Must not set <code>sort</code>, <code>limit</code>, <code>offset</code> nor
+     *               filter by the dimension.
+     * @throws IllegalArgumentException if the objects cannot be filtered by the dimension, or the filter conflicts
+     *                                  with it.
+     */
+    public ShardedLister(Transport transport, Class<T> objectClass, Params filter, Dimension dimension) {
+        if (!dimension.supports(objectClass)) {
+            throw new IllegalArgumentException(objectClass.getSimpleName() + " cannot be split by " + dimension);
+        }
+        for (RequestParam param : filter.getList()) {
+            final String name = param.getName();
+            if (name.equals("sort") || name.equals("limit") || name.equals("offset")
+                    || name.equals(dimension.filterName)) {
+                throw new IllegalArgumentException("Listing split by " + dimension + " sets " + name + " itself");
+            }
+        }
+        this.transport = transport;
+        this.objectClass = objectClass;
+        this.filter = new ArrayList<>(filter.getList());
+        this.dimension = dimension;
+    }
+
+    /**
+     * @param pool pool running the requests, as many threads as requests may be sent at a time. The common pool
+     *             by default.
+     */
+    public void setPool(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * @param windowSize number of objects above which a window is split.
+     */
+    public void setWindowSize(int windowSize) {
+        if (windowSize <= 0) {
+            throw new IllegalArgumentException("Window size must be > 0. You provided: " + windowSize);
+        }
+        this.windowSize = windowSize;
+    }
+
+    /**
+     * @param pageSize objects per request, the server may send fewer.
+     */
+    public void setPageSize(int pageSize) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Page size must be > 0. You provided: " + pageSize);
+        }
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * @return all objects matching the filter, in the order of the dimension and id.
+     */
+    public List<T> list() throws RedmineException {
+        requests.set(0);
+        windows.set(0);
+        final JsonObjectParser<T> parser = transport.getParser(objectClass);
+        try {
+            return pool.invoke(new RecursiveTask<List<T>>() {
+                @Override
+                protected List<T> compute() {
+                    final Probe first = probe(null, dimension.sort(false));
+                    if (first.count == 0) {
+                        return Collections.emptyList();
+                    }
+                    final Probe last = probe(null, dimension.sort(true));
+                    return new Window(first.value, Math.max(first.value, last.value), first.count, parser).compute();
+                }
+            });
+        } catch (RuntimeException e) {
+            /* the pool may rethrow a copy of the exception of another thread */
+            for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+                if (cause instanceof RedmineException) {
+                    throw (RedmineException) cause;
+                }
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * @return number of requests sent by the last {@link #list()}.
+     */
+    public int getRequests() {
+        return requests.get();
+    }
+
+    /**
+     * @return number of windows read by the last {@link #list()}.
+     */
+    public int getWindows() {
+        return windows.get();
+    }
+
+    private Probe probe(Window window, String sort) {
+        final List<RequestParam> params = new ArrayList<>();
+        params.add(new RequestParam("limit", "1"));
+        params.add(new RequestParam("sort", sort));
+        if (window != null) {
+            params.add(window.range());
+        }
+        params.addAll(filter);
+        final long[] value = new long[1];
+        final Integer total = read(params, json -> value[0] = dimension.valueOf(json));
+        return new Probe(total == null ? 0 : total, value[0]);
+    }
+
+    private Integer read(List<RequestParam> params, JsonObjectConsumer consumer) {
+        requests.incrementAndGet();
+        try {
+            return transport.readObjectsPage(objectClass, params, consumer);
+        } catch (RedmineException e) {
+            throw new ShardFailure(e);
+        }
+    }
+
+    /**
+     * Objects with dimension values from <code>low</code> to <code>high</code>, both included.
+     */
+    private final class Window extends RecursiveTask<List<T>> {
+        private static final long serialVersionUID = 1L;
+
+        private final long low;
+        private final long high;
+        private final int count;
+        private final JsonObjectParser<T> parser;
+
+        /**
+         * @param count number of objects, negative if not known yet.
+         */
+        Window(long low, long high, int count, JsonObjectParser<T> parser) {
+            this.low = low;
+            this.high = high;
+            this.count = count;
+            this.parser = parser;
+        }
+
+        RequestParam range() {
+            return new RequestParam(dimension.filterName, "><" + dimension.format(low) + "|"
+                    + dimension.format(high));
+        }
+
+        @Override
+        protected List<T> compute() {
+            final int size = count >= 0 ? count : probe(this, dimension.sort(false)).count;
+            if (size == 0) {
+                return Collections.emptyList();
+            }
+            if (size > windowSize && high > low) {
+                final long width = high - low + 1;
+                final int wanted = Math.max(2, Math.min(MAX_PARTS, (size + windowSize - 1) / windowSize));
+                final int parts = (int) Math.min(width, wanted);
+                final List<Window> children = new ArrayList<>(parts);
+                for (int i = 0; i < parts; i++) {
+                    final long from = low + width * i / parts;
+                    final long to = low + width * (i + 1) / parts - 1;
+                    children.add(new Window(from, to, -1, parser));
+                }
+                return concat(invokeAll(children));
+            }
+            windows.incrementAndGet();
+            final List<Page> pages = new ArrayList<>();
+            for (int offset = 0; offset < size; offset += pageSize) {
+                pages.add(new Page(this, offset));
+            }
+            final List<T> result = concat(invokeAll(pages));
+            /* objects added since the window was sized */
+            int offset = pages.size() * pageSize;
+            Page page = pages.get(pages.size() - 1);
+            while (page.total != null && offset < page.total && page.read == pageSize) {
+                page = new Page(this, offset);
+                result.addAll(page.compute());
+                offset += pageSize;
+            }
+            return result;
+        }
+    }
+
+    /**
+     * A page of a window.
+     */
+    private final class Page extends RecursiveTask<List<T>> {
+        private static final long serialVersionUID = 1L;
+
+        private final Window window;
+        private final int offset;
+        Integer total;
+        int read;
+
+        Page(Window window, int offset) {
+            this.window = window;
+            this.offset = offset;
+        }
+
+        @Override
+        protected List<T> compute() {
+            final List<RequestParam> params = new ArrayList<>();
+            params.add(new RequestParam("limit", String.valueOf(pageSize)));
+            params.add(new RequestParam("offset", String.valueOf(offset)));
+            params.add(new RequestParam("sort", dimension.sort(false)));
+            params.add(window.range());
+            params.addAll(filter);
+            final List<T> result = new ArrayList<>(pageSize);
+            total = read(params, json -> {
+                read++;
+                result.add(window.parser.parse(json));
+            });
+            return result;
+        }
+    }
+
+    private static <T> List<T> concat(Iterable<? extends RecursiveTask<List<T>>> tasks) {
+        final List<T> result = new ArrayList<>();
+        for (RecursiveTask<List<T>> task : tasks) {
+            result.addAll(task.join());
+        }
+        return result;
+    }
+
+    private static final class Probe {
+        final int count;
+        final long value;
+
+        Probe(int count, long value) {
+            this.count = count;
+            this.value = value;
+        }
+    }
+
+    /**
+     * Carries a failed request out of the pool.
+     */
+    private static final class ShardFailure extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+
+        ShardFailure(RedmineException cause) {
+            super(cause);
+        }
+    }
+}
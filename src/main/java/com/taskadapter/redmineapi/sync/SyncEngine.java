@@ -0,0 +1,234 @@
+package com.taskadapter.redmineapi.sync;
+
+import com.taskadapter.redmineapi.RedmineException;
+import com.taskadapter.redmineapi.bean.Project;
+import com.taskadapter.redmineapi.bean.Version;
+import com.taskadapter.redmineapi.internal.RequestParam;
+import com.taskadapter.redmineapi.internal.ResultsWrapper;
+import com.taskadapter.redmineapi.internal.Transport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Polls Redmine for objects changed since the previous poll and passes them to listeners.
+ * <p>
+ * Every registered {@link SyncScope} keeps a high-water mark ({@link SyncState}) in a {@link SyncStateStore}. A poll
+ * asks the server only for objects with <code>updated_on</code> at or after the mark minus an overlap, sorted by
+ * <code>updated_on</code> and id, so its cost depends on the number of changes instead of the number of objects.
+ * Pages are read by keyset: the next page starts at the <code>updated_on</code> of the last object read, so
+ * objects updated during the poll move behind the read position instead of shifting unread objects to earlier pages.
+ * <p>
+ * The first poll of a scope delivers all its objects. Changes are delivered at least once: the mark is saved after
+ * each batch is handled, a batch interrupted by a failure is delivered again.
+ * <p>
+ * Sample usage:
+ * <pre>
+ * SyncEngine engine = new SyncEngine(redmineManager.getTransport(), new FileSyncStateStore(Paths.get("sync.properties")));
+ * engine.register(SyncScope.issues(), batch -&gt; mirror.putAll(batch.getChanges()));
+ * // every minute
+ * engine.poll();
+ * </pre>
+ * The engine is not thread-safe, poll from one thread.
+ */
+public final class SyncEngine {
+    public static final Duration DEFAULT_OVERLAP = Duration.ofMinutes(1);
+    public static final int DEFAULT_PAGE_SIZE = 100;
+
+    private static final String KEY_UPDATED_ON = "updated_on";
+
+    private final Logger logger = LoggerFactory.getLogger(SyncEngine.class);
+    private final Transport transport;
+    private final SyncStateStore store;
+    private final Map<String, Registration<?>> registrations = new LinkedHashMap<>();
+    private long overlapMillis = DEFAULT_OVERLAP.toMillis();
+    private int pageSize = DEFAULT_PAGE_SIZE;
+
+    public SyncEngine(Transport transport, SyncStateStore store) {
+        this.transport = transport;
+        this.store = store;
+    }
+
+    /**
+     * How long before the high-water mark the server is asked again, to catch updates which were committed after
+     * later ones. Objects within the overlap are remembered in the state and not delivered twice.
+     */
+    public void setOverlap(Duration overlap) {
+        if (overlap.isNegative()) {
+            throw new IllegalArgumentException("Overlap cannot be negative. You provided: " + overlap);
+        }
+        this.overlapMillis = overlap.toMillis();
+    }
+
+    /**
+     * Number of objects requested in one request, at most 100 for the default Redmine configuration.
+     */
+    public void setPageSize(int pageSize) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Page size must be > 0. You provided: " + pageSize);
+        }
+        this.pageSize = pageSize;
+    }
+
+    public <T> void register(SyncScope<T> scope, ChangeListener<? super T> listener) {
+        if (registrations.putIfAbsent(scope.getKey(), new Registration<>(scope, listener)) != null) {
+            throw new IllegalArgumentException("Scope " + scope.getKey() + " is registered already");
+        }
+    }
+
+    /**
+     * Polls all registered scopes in the order of registration.
+     *
+     * @return number of changed objects delivered.
+     */
+    public int poll() throws RedmineException, IOException {
+        int result = 0;
+        for (Registration<?> registration : registrations.values()) {
+            result += poll(registration);
+        }
+        return result;
+    }
+
+    /**
+     * Forgets the high-water mark of the scope, so the next poll delivers all its objects again.
+     */
+    public void reset(SyncScope<?> scope) throws IOException {
+        store.remove(scope.getKey());
+    }
+
+    public SyncState getState(SyncScope<?> scope) throws IOException {
+        final SyncState state = store.load(scope.getKey());
+        return state == null ? SyncState.INITIAL : state;
+    }
+
+    private <T> int poll(Registration<T> registration) throws RedmineException, IOException {
+        final SyncScope<T> scope = registration.scope;
+        final SyncState start = getState(scope);
+        final int result = scope.isFilteredOnServer()
+                ? pollFiltered(registration, start)
+                : pollListed(registration, start);
+        logger.debug("Polled " + scope.getKey() + ": " + result + " changes");
+        return result;
+    }
+
+    private <T> int pollFiltered(Registration<T> registration, SyncState start) throws RedmineException, IOException {
+        final SyncScope<T> scope = registration.scope;
+        SyncState state = start;
+        Long since = start.isInitial() ? null : start.getMarkMillis() - overlapMillis;
+        int offset = 0;
+        long previous = Long.MIN_VALUE;
+        boolean sorted = true;
+        final Map<Integer, Long> seen = new LinkedHashMap<>();
+        int result = 0;
+        while (true) {
+            final List<RequestParam> params = new ArrayList<>(scope.getFilter());
+            if (since != null) {
+                params.add(new RequestParam(KEY_UPDATED_ON, ">=" + formatSecond(since)));
+            }
+            params.add(new RequestParam("sort", "updated_on,id"));
+            params.add(new RequestParam("limit", String.valueOf(pageSize)));
+            params.add(new RequestParam("offset", String.valueOf(offset)));
+            final ResultsWrapper<T> wrapper = transport.getObjectsListNoPaging(scope.getObjectClass(), params,
+                    scope.getParser());
+            final List<T> page = wrapper.getResults();
+
+            final List<T> changes = new ArrayList<>();
+            final Map<Integer, Long> pageSeen = new LinkedHashMap<>();
+            for (T object : page) {
+                final int id = scope.idOf(object);
+                final long updated = scope.updatedOf(object);
+                sorted &= updated >= previous;
+                previous = updated;
+                final Long before = seen.put(id, updated);
+                if ((before == null || before < updated) && start.isChanged(id, updated, overlapMillis)) {
+                    changes.add(object);
+                }
+                pageSeen.put(id, updated);
+            }
+            state = state.advance(pageSeen, overlapMillis);
+            result += deliver(registration, changes, state, sorted);
+
+            final Integer total = wrapper.getTotalFoundOnServer();
+            if (page.size() < pageSize || (total != null && offset + page.size() >= total)) {
+                break;
+            }
+            if (sorted) {
+                /* keyset: continue after the objects of the last second already read */
+                final long last = previous - Math.floorMod(previous, 1000);
+                int sameSecond = 0;
+                for (int i = page.size() - 1; i >= 0 && scope.updatedOf(page.get(i)) >= last; i--) {
+                    sameSecond++;
+                }
+                offset = since != null && since == last ? offset + page.size() : sameSecond;
+                since = last;
+            } else {
+                /* server ignored the sort order, read the fixed filter page by page */
+                offset += page.size();
+            }
+        }
+        if (!sorted) {
+            logger.warn("Server did not sort " + scope.getKey() + " by updated_on, high-water mark saved after the whole poll");
+            store.save(scope.getKey(), state);
+        }
+        return result;
+    }
+
+    private <T> int pollListed(Registration<T> registration, SyncState start) throws RedmineException, IOException {
+        final SyncScope<T> scope = registration.scope;
+        final List<T> all = scope.getProjectId() != null
+                ? transport.getChildEntries(Project.class, scope.getProjectId(), scope.getObjectClass())
+                : transport.getObjectsList(scope.getObjectClass(), scope.getFilter(), scope.getParser());
+        final List<T> changed = new ArrayList<>();
+        for (T object : all) {
+            if (start.isChanged(scope.idOf(object), scope.updatedOf(object), overlapMillis)) {
+                changed.add(object);
+            }
+        }
+        changed.sort(Comparator.<T>comparingLong(scope::updatedOf).thenComparingInt(scope::idOf));
+
+        SyncState state = start;
+        int result = 0;
+        for (int from = 0; from < changed.size(); from += pageSize) {
+            final List<T> batch = changed.subList(from, Math.min(changed.size(), from + pageSize));
+            final Map<Integer, Long> batchSeen = new LinkedHashMap<>();
+            batch.forEach(object -> batchSeen.put(scope.idOf(object), scope.updatedOf(object)));
+            state = state.advance(batchSeen, overlapMillis);
+            result += deliver(registration, new ArrayList<>(batch), state, true);
+        }
+        return result;
+    }
+
+    private <T> int deliver(Registration<T> registration, List<T> changes, SyncState state, boolean save)
+            throws IOException {
+        if (!changes.isEmpty()) {
+            registration.listener.onChanges(new ChangeBatch<>(registration.scope.getKey(), changes,
+                    state.getHighWaterMark()));
+        }
+        if (save) {
+            store.save(registration.scope.getKey(), state);
+        }
+        return changes.size();
+    }
+
+    private static String formatSecond(long millis) {
+        return Instant.ofEpochSecond(Math.floorDiv(millis, 1000)).toString();
+    }
+
+    private static final class Registration<T> {
+        final SyncScope<T> scope;
+        final ChangeListener<? super T> listener;
+
+        Registration(SyncScope<T> scope, ChangeListener<? super T> listener) {
+            this.scope = scope;
+            this.listener = listener;
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.taskadapter.redmineapi.sync;
+
+import com.taskadapter.redmineapi.Params;
+import com.taskadapter.redmineapi.bean.Issue;
+import com.taskadapter.redmineapi.bean.Project;
+import com.taskadapter.redmineapi.bean.TimeEntry;
+import com.taskadapter.redmineapi.bean.Version;
+import com.taskadapter.redmineapi.internal.RequestParam;
+import com.taskadapter.redmineapi.internal.json.JsonObjectParser;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Set of objects synchronized by {@link SyncEngine}: an entity type plus a filter. Every scope has its own
+ * high-water mark, identified by {@link #getKey()}, so do not change the filter of a named scope between runs.
+ * <p>
+ * Issues and time entries are filtered by <code>updated_on</code> on the server, so a poll only transfers the changed
+ * objects. Redmine cannot filter projects and versions this way; those scopes list all objects and pass on the
+ * changed ones, which is fine for their usual size.
+ */
+public final class SyncScope<T> {
+    private final String key;
+    private final Class<T> objectClass;
+    private final List<RequestParam> filter;
+    private final Integer projectId;
+    private final Function<T, Integer> id;
+    private final Function<T, Date> updatedOn;
+    private final JsonObjectParser<T> parser;
+
+    private SyncScope(String key, Class<T> objectClass, List<RequestParam> filter, Integer projectId,
+                      Function<T, Integer> id, Function<T, Date> updatedOn) {
+        this(key, objectClass, filter, projectId, id, updatedOn, null);
+    }
+
+    private SyncScope(String key, Class<T> objectClass, List<RequestParam> filter, Integer projectId,
+                      Function<T, Integer> id, Function<T, Date> updatedOn, JsonObjectParser<T> parser) {
+        this.key = key;
+        this.objectClass = objectClass;
+        this.filter = filter;
+        this.projectId = projectId;
+        this.id = id;
+        this.updatedOn = updatedOn;
+        this.parser = parser;
+    }
+
+    /**
+     * All issues, open and closed.
+     */
+    public static SyncScope<Issue> issues() {
+        return issues("all", new Params());
+    }
+
+    /**
+     * Issues matching the filter, e.g. <code>new Params().add("project_id", "5")</code>. Closed issues are included
+     * unless the filter has a <code>status_id</code>.
+     *
+     * @param name name of the scope, unique among issue scopes.
+     */
+    public static SyncScope<Issue> issues(String name, Params filter) {
+        final List<RequestParam> params = new ArrayList<>(filter.getList());
+        if (params.stream().noneMatch(param -> param.getName().equals("status_id"))) {
+            params.add(new RequestParam("status_id", "*"));
+        }
+        return new SyncScope<>("issues/" + name, Issue.class, Collections.unmodifiableList(params), null,
+                Issue::getId, Issue::getUpdatedOn);
+    }
+
+    /**
+     * Time entries matching the filter, e.g. <code>new Params().add("project_id", "5")</code>. Needs a server which
+     * can sort time entries by <code>updated_on</code>.
+     *
+     * @param name name of the scope, unique among time entry scopes.
+     */
+    public static SyncScope<TimeEntry> timeEntries(String name, Params filter) {
+        return new SyncScope<>("time_entries/" + name, TimeEntry.class,
+                Collections.unmodifiableList(new ArrayList<>(filter.getList())), null,
+                TimeEntry::getId, TimeEntry::getUpdatedOn);
+    }
+
+    public static SyncScope<Project> projects() {
+        return new SyncScope<>("projects", Project.class, Collections.emptyList(), null,
+                Project::getId, Project::getUpdatedOn);
+    }
+
+    /**
+     * Versions of the project, including shared versions of other projects.
+     */
+    public static SyncScope<Version> versions(int projectId) {
+        return new SyncScope<>("versions/" + projectId, Version.class, Collections.emptyList(), projectId,
+                Version::getId, Version::getUpdatedOn);
+    }
+
+    /**
+     * Returns the same scope reading objects with the given parser, e.g. a projection created by
+     * {@link com.taskadapter.redmineapi.internal.RedmineJSONParser#issueParser(java.util.Collection)}. The parser must
+     * read the id and <code>updated_on</code>. Not supported for versions.
+     */
+    public SyncScope<T> withParser(JsonObjectParser<T> parser) {
+        if (projectId != null) {
+            throw new UnsupportedOperationException("Versions are read with the default parser");
+        }
+        return new SyncScope<>(key, objectClass, filter, projectId, id, updatedOn, parser);
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public Class<T> getObjectClass() {
+        return objectClass;
+    }
+
+    List<RequestParam> getFilter() {
+        return filter;
+    }
+
+    /**
+     * @return <code>true</code> if the server can filter the objects by <code>updated_on</code>.
+     */
+    boolean isFilteredOnServer() {
+        return objectClass == Issue.class || objectClass == TimeEntry.class;
+    }
+
+    Integer getProjectId() {
+        return projectId;
+    }
+
+    /**
+     * @return parser set with {@link #withParser(JsonObjectParser)}, NULL for the default one.
+     */
+    JsonObjectParser<T> getParser() {
+        return parser;
+    }
+
+    public int idOf(T object) {
+        return id.apply(object);
+    }
+
+    /**
+     * @return <code>updated_on</code> in milliseconds, 0 if the server did not send it.
+     */
+    public long updatedOf(T object) {
+        final Date date = updatedOn.apply(object);
+        return date == null ? 0 : date.getTime();
+    }
+
+    @Override
+    public String toString() {
+        return "SyncScope [" + key + "]";
+    }
+}
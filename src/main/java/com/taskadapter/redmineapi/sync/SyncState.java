@@ -0,0 +1,120 @@
+package com.taskadapter.redmineapi.sync;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * High-water mark of a {@link SyncScope}: the latest <code>updated_on</code> seen, plus ids and timestamps of objects
+ * updated shortly before it. Redmine timestamps have a precision of one second and an update may be committed after
+ * later ones, so every poll asks for objects updated since the mark minus an overlap and skips those remembered here.
+ * States are immutable.
+ */
+public final class SyncState {
+    private static final long NO_MARK = Long.MIN_VALUE;
+
+    static final SyncState INITIAL = new SyncState(NO_MARK, Collections.emptyMap());
+
+    private final long markMillis;
+    private final Map<Integer, Long> recent;
+
+    private SyncState(long markMillis, Map<Integer, Long> recent) {
+        this.markMillis = markMillis;
+        this.recent = recent;
+    }
+
+    /**
+     * @return latest <code>updated_on</code> seen, NULL before the first sync.
+     */
+    public Instant getHighWaterMark() {
+        return markMillis == NO_MARK ? null : Instant.ofEpochMilli(markMillis);
+    }
+
+    /**
+     * @return number of objects remembered within the overlap before the mark.
+     */
+    public int getRecentCount() {
+        return recent.size();
+    }
+
+    boolean isInitial() {
+        return markMillis == NO_MARK;
+    }
+
+    long getMarkMillis() {
+        return markMillis;
+    }
+
+    /**
+     * @return <code>true</code> if the object was not seen with this or a later timestamp. Objects updated before
+     * the overlap window are considered seen.
+     */
+    boolean isChanged(int id, long updatedMillis, long overlapMillis) {
+        if (markMillis != NO_MARK && updatedMillis < markMillis - overlapMillis) {
+            return false;
+        }
+        final Long seen = recent.get(id);
+        return seen == null || seen < updatedMillis;
+    }
+
+    /**
+     * @return state after seeing the given objects, forgetting objects older than the overlap before the new mark.
+     */
+    SyncState advance(Map<Integer, Long> seen, long overlapMillis) {
+        long newMark = markMillis;
+        for (long updated : seen.values()) {
+            newMark = Math.max(newMark, updated);
+        }
+        final long oldest = newMark - overlapMillis;
+        final Map<Integer, Long> newRecent = new HashMap<>();
+        recent.forEach((id, updated) -> {
+            if (updated >= oldest) {
+                newRecent.put(id, updated);
+            }
+        });
+        seen.forEach((id, updated) -> {
+            if (updated >= oldest) {
+                newRecent.merge(id, updated, Math::max);
+            }
+        });
+        return new SyncState(newMark, Collections.unmodifiableMap(newRecent));
+    }
+
+    /**
+     * @return text form, e.g. <code>1580551200000;10:1580551200000,11:1580551199000</code>.
+     */
+    String encode() {
+        final StringBuilder result = new StringBuilder().append(markMillis).append(';');
+        boolean first = true;
+        for (Map.Entry<Integer, Long> entry : recent.entrySet()) {
+            if (!first) {
+                result.append(',');
+            }
+            result.append(entry.getKey()).append(':').append(entry.getValue());
+            first = false;
+        }
+        return result.toString();
+    }
+
+    static SyncState decode(String text) {
+        final int separator = text.indexOf(';');
+        if (separator < 0) {
+            throw new IllegalArgumentException("Illegal sync state " + text);
+        }
+        final long mark = Long.parseLong(text.substring(0, separator));
+        final Map<Integer, Long> recent = new HashMap<>();
+        if (separator + 1 < text.length()) {
+            for (String entry : text.substring(separator + 1).split(",")) {
+                final int colon = entry.indexOf(':');
+                recent.put(Integer.parseInt(entry.substring(0, colon)), Long.parseLong(entry.substring(colon + 1)));
+            }
+        }
+        return new SyncState(mark, Collections.unmodifiableMap(recent));
+    }
+
+    @Override
+    public String toString() {
+        return "SyncState [highWaterMark=" + getHighWaterMark() + ", recent=" + recent.size() + "]";
+    }
+}
@@ -0,0 +1,44 @@
+package com.taskadapter.redmineapi.sync;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Persists {@link SyncState} of every scope, so a restarted {@link SyncEngine} continues where it stopped.
+ *
+ * @see FileSyncStateStore
+ */
+public interface SyncStateStore {
+    /**
+     * @return saved state of the scope, NULL if the scope was never synchronized.
+     */
+    SyncState load(String scope) throws IOException;
+
+    void save(String scope, SyncState state) throws IOException;
+
+    void remove(String scope) throws IOException;
+
+    /**
+     * @return store keeping states in memory only, e.g. for tests or for the first sync of a new mirror.
+     */
+    static SyncStateStore inMemory() {
+        final Map<String, SyncState> states = new ConcurrentHashMap<>();
+        return new SyncStateStore() {
+            @Override
+            public SyncState load(String scope) {
+                return states.get(scope);
+            }
+
+            @Override
+            public void save(String scope, SyncState state) {
+                states.put(scope, state);
+            }
+
+            @Override
+            public void remove(String scope) {
+                states.remove(scope);
+            }
+        };
+    }
+}
@@ -0,0 +1,260 @@
+package com.taskadapter.redmineapi;
+
+import com.taskadapter.redmineapi.internal.Transport;
+import com.taskadapter.redmineapi.internal.URIConfigurator;
+import com.taskadapter.redmineapi.internal.comm.Communicator;
+import com.taskadapter.redmineapi.internal.comm.ContentHandler;
+import org.apache.hc.core5.http.ClassicHttpRequest;
+import org.apache.hc.core5.http.ClassicHttpResponse;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.NameValuePair;
+import org.apache.hc.core5.http.io.entity.StringEntity;
+import org.apache.hc.core5.http.message.BasicClassicHttpResponse;
+import org.apache.hc.core5.net.URIBuilder;
+
+import java.net.URISyntaxException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Serves objects from memory the way Redmine filters, sorts and pages list requests. Supports short filters
+ * (<code>updated_on=&gt;=2020-01-01T00:00:00Z</code>, <code>issue_id=&gt;&lt;1|100</code>,
+ * <code>status_id=2|3</code>), filters sent as <code>f[]</code>, <code>op[field]</code> and <code>v[field][]</code>,
+ * <code>sort</code>, <code>limit</code> and <code>offset</code>.
+ * <p>
+ * Objects are maps of json fields. Integer fields named <code>xxx_id</code> are sent as <code>{"xxx": {"id": 1,
+ * "name": "xxx 1"}}</code>, timestamps (<code>Instant</code>) and dates (<code>LocalDate</code>) as text.
+ */
+public final class FakeRedmineServer implements Communicator<ClassicHttpResponse> {
+    private static final int CLOSED_STATUS = 5;
+
+    private final Map<String, TreeMap<Integer, Map<String, Object>>> collections = new LinkedHashMap<>();
+    public final List<String> requests = Collections.synchronizedList(new ArrayList<>());
+
+    public Transport transport() {
+        return new Transport(new URIConfigurator("http://localhost"), this);
+    }
+
+    /**
+     * Adds or replaces an object.
+     *
+     * @param fields pairs of field names and values.
+     */
+    public synchronized Map<String, Object> put(String collection, int id, Object... fields) {
+        final Map<String, Object> object = new LinkedHashMap<>();
+        object.put("id", id);
+        for (int i = 0; i < fields.length; i += 2) {
+            object.put((String) fields[i], fields[i + 1]);
+        }
+        collections.computeIfAbsent(collection, key -> new TreeMap<>()).put(id, object);
+        return object;
+    }
+
+    public synchronized void remove(String collection, int id) {
+        collections.getOrDefault(collection, new TreeMap<>()).remove(id);
+    }
+
+    public synchronized Map<String, Object> get(String collection, int id) {
+        return collections.getOrDefault(collection, new TreeMap<>()).get(id);
+    }
+
+    @Override
+    public <R> R sendRequest(ClassicHttpRequest request, ContentHandler<ClassicHttpResponse, R> handler)
+            throws RedmineException {
+        requests.add(request.getRequestUri());
+        final String json;
+        try {
+            json = respond(new URIBuilder(request.getUri()));
+        } catch (URISyntaxException e) {
+            throw new IllegalStateException(e);
+        }
+        final BasicClassicHttpResponse response = new BasicClassicHttpResponse(200);
+        response.setEntity(new StringEntity(json, ContentType.APPLICATION_JSON));
+        return handler.processContent(response);
+    }
+
+    private synchronized String respond(URIBuilder uri) {
+        final String path = uri.getPath();
+        final String collection = path.substring(path.lastIndexOf('/') + 1, path.indexOf(".json"));
+        final Map<String, List<String>> params = new LinkedHashMap<>();
+        for (NameValuePair pair : uri.getQueryParams()) {
+            params.computeIfAbsent(pair.getName(), key -> new ArrayList<>()).add(pair.getValue());
+        }
+        List<Map<String, Object>> objects = new ArrayList<>(collections.getOrDefault(collection, new TreeMap<>()).values());
+        if (params.containsKey("f[]")) {
+            /* like Redmine, short filters are ignored when fields are given */
+            for (String field : params.get("f[]")) {
+                if (!field.isEmpty()) {
+                    final String expression = expression(first(params, "op[" + field + "]", "="),
+                            params.getOrDefault("v[" + field + "][]", List.of()));
+                    objects.removeIf(object -> !matches(object, field, expression));
+                }
+            }
+        } else {
+            for (Map.Entry<String, List<String>> param : params.entrySet()) {
+                final String name = param.getKey();
+                if (name.equals("sort") || name.equals("limit") || name.equals("offset") || name.equals("include")
+                        || name.equals("set_filter")) {
+                    continue;
+                }
+                for (String expression : param.getValue()) {
+                    objects.removeIf(object -> !matches(object, name, expression));
+                }
+            }
+        }
+        objects.sort(order(first(params, "sort", "id:desc")));
+        final int total = objects.size();
+        final int offset = Integer.parseInt(first(params, "offset", "0"));
+        final int limit = Integer.parseInt(first(params, "limit", "25"));
+        final List<Map<String, Object>> page = objects.subList(Math.min(offset, total), Math.min(offset + limit, total));
+        return page.stream().map(FakeRedmineServer::toJson)
+                .collect(Collectors.joining(",", "{\"" + collection + "\": [",
+                        "], \"total_count\": " + total + ", \"offset\": " + offset + ", \"limit\": " + limit + "}"));
+    }
+
+    /**
+     * @return short filter expression of an <code>op[field]</code> operator and its <code>v[field][]</code> values.
+     */
+    private static String expression(String operator, List<String> values) {
+        switch (operator) {
+            case "=":
+                return String.join("|", values);
+            case "!":
+                return "!" + String.join("|", values);
+            case "><":
+                return "><" + values.get(0) + "|" + values.get(1);
+            case ">=":
+            case "<=":
+            case "~":
+            case "!~":
+                return operator + values.get(0);
+            case "*":
+            case "!*":
+            case "o":
+            case "c":
+                return operator;
+            default:
+                throw new UnsupportedOperationException("Operator " + operator);
+        }
+    }
+
+    private static boolean matches(Map<String, Object> object, String name, String expression) {
+        final String field = name.equals("issue_id") ? "id" : name;
+        final Object value = object.get(field);
+        if (name.equals("status_id")) {
+            if (expression.equals("*")) {
+                return true;
+            }
+            final boolean closed = Integer.valueOf(CLOSED_STATUS).equals(value);
+            if (expression.equals("o") || expression.equals("open")) {
+                return !closed;
+            }
+            if (expression.equals("c") || expression.equals("closed")) {
+                return closed;
+            }
+        }
+        if (expression.equals("*")) {
+            return value != null;
+        }
+        if (expression.equals("!*")) {
+            return value == null;
+        }
+        if (expression.startsWith("~") || expression.startsWith("!~")) {
+            final boolean negate = expression.startsWith("!");
+            final String text = expression.substring(negate ? 2 : 1).toLowerCase();
+            return negate != (value != null && value.toString().toLowerCase().contains(text));
+        }
+        for (String operator : new String[]{"><", ">=", "<="}) {
+            if (expression.startsWith(operator)) {
+                if (value == null) {
+                    return false;
+                }
+                final String[] bounds = expression.substring(2).split("\\|");
+                final int low = operator.equals("<=") ? 0 : compare(value, bounds[0]);
+                final int high = operator.equals(">=") ? 0
+                        : compare(value, bounds[operator.equals("><") ? 1 : 0]);
+                return low >= 0 && high <= 0;
+            }
+        }
+        final boolean negate = expression.startsWith("!");
+        final List<String> values = List.of((negate ? expression.substring(1) : expression).split("\\|"));
+        return negate != (value != null && values.contains(String.valueOf(value)));
+    }
+
+    /**
+     * Compares a field with a filter value, timestamps at the precision of the filter value.
+     */
+    private static int compare(Object value, String bound) {
+        if (value instanceof Instant) {
+            if (bound.length() == 10) {
+                return LocalDate.ofInstant((Instant) value, java.time.ZoneOffset.UTC).compareTo(LocalDate.parse(bound));
+            }
+            return ((Instant) value).compareTo(Instant.parse(bound));
+        }
+        if (value instanceof LocalDate) {
+            return ((LocalDate) value).compareTo(LocalDate.parse(bound.substring(0, 10)));
+        }
+        return Long.compare(((Number) value).longValue(), Long.parseLong(bound));
+    }
+
+    /**
+     * Compares two values of a field, nulls first.
+     */
+    private static int compare(Object left, Object right) {
+        if (left == null || right == null) {
+            return left == null ? (right == null ? 0 : -1) : 1;
+        }
+        if (left instanceof Instant) {
+            return ((Instant) left).compareTo((Instant) right);
+        }
+        if (left instanceof LocalDate) {
+            return ((LocalDate) left).compareTo((LocalDate) right);
+        }
+        if (left instanceof Number) {
+            return Long.compare(((Number) left).longValue(), ((Number) right).longValue());
+        }
+        return left.toString().compareTo(right.toString());
+    }
+
+    private static Comparator<Map<String, Object>> order(String sort) {
+        Comparator<Map<String, Object>> result = null;
+        for (String criterion : sort.split(",")) {
+            final boolean descending = criterion.endsWith(":desc");
+            final String field = criterion.replace(":desc", "").replace(":asc", "");
+            Comparator<Map<String, Object>> comparator = (left, right) -> compare(left.get(field), right.get(field));
+            if (descending) {
+                comparator = comparator.reversed();
+            }
+            result = result == null ? comparator : result.thenComparing(comparator);
+        }
+        return result;
+    }
+
+    private static String first(Map<String, List<String>> params, String name, String defaultValue) {
+        final List<String> values = params.get(name);
+        return values == null ? defaultValue : values.get(0);
+    }
+
+    private static String toJson(Map<String, Object> object) {
+        return object.entrySet().stream().map(field -> {
+            final String name = field.getKey();
+            final Object value = field.getValue();
+            if (name.endsWith("_id") && value instanceof Integer) {
+                final String reference = name.substring(0, name.length() - 3);
+                return "\"" + reference + "\": {\"id\": " + value + ", \"name\": \"" + reference + " " + value + "\"}";
+            }
+            if (value instanceof Number || value instanceof Boolean) {
+                return "\"" + name + "\": " + value;
+            }
+            return "\"" + name + "\": \"" + value.toString().replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+        }).collect(Collectors.joining(", ", "{", "}"));
+    }
+}
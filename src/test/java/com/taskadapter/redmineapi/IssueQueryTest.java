@@ -0,0 +1,147 @@
+package com.taskadapter.redmineapi;
+
+import com.taskadapter.redmineapi.bean.Issue;
+import com.taskadapter.redmineapi.bean.TimeEntry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+
+public class IssueQueryTest {
+    private static final Instant T0 = Instant.parse("2020-02-01T10:00:00Z");
+
+    private final FakeRedmineServer server = new FakeRedmineServer();
+
+    @Test
+    public void filtersAreSentAsFieldsOperatorsAndValues() {
+        final IssueQuery query = new IssueQuery()
+                .status(1, 2)
+                .customField(3, FilterQuery.Operator.CONTAINS, "backend")
+                .updatedSince(Instant.parse("2020-01-01T10:00:00.250Z"))
+                .include(Include.journals, Include.relations)
+                .sortDescending("priority").sort("id")
+                .limit(50);
+
+        assertThat(pairs(query.toParams())).containsExactly(
+                "set_filter=1",
+                "f[]=status_id", "op[status_id]==", "v[status_id][]=1", "v[status_id][]=2",
+                "f[]=cf_3", "op[cf_3]=~", "v[cf_3][]=backend",
+                "f[]=updated_on", "op[updated_on]=>=", "v[updated_on][]=2020-01-01T10:00:00Z",
+                "sort=priority:desc,id",
+                "limit=50",
+                "include=journals,relations");
+        assertThat(pairs(new IssueQuery().toParams())).containsExactly("set_filter=1", "f[]=");
+    }
+
+    @Test
+    public void serverAppliesAllFilters() throws Exception {
+        for (int id = 1; id <= 60; id++) {
+            server.put("issues", id, "subject", id % 2 == 0 ? "Fix login page" : "Update docs",
+                    "status_id", id % 5 + 1, "tracker_id", id % 3 + 1, "cf_3", "team " + id % 4,
+                    "updated_on", T0.plusSeconds(id * 60));
+        }
+        final IssueQuery query = new IssueQuery()
+                .openIssues()
+                .tracker(1, 2)
+                .subjectContains("login")
+                .customField(3, FilterQuery.Operator.NOT_EQUALS, "team 0")
+                .updatedSince(T0.plusSeconds(600))
+                .sort("id")
+                .limit(100);
+
+        final List<Integer> ids = new IssueManager(server.transport()).getIssues(query).getResults().stream()
+                .map(Issue::getId).collect(Collectors.toList());
+
+        assertThat(ids).isNotEmpty().allMatch(id -> id % 2 == 0 && id % 5 != 4 && id % 3 != 2 && id % 4 != 0
+                && id >= 10);
+        assertThat(ids).hasSize((int) IntStream.rangeClosed(10, 60)
+                .filter(id -> id % 2 == 0 && id % 5 != 4 && id % 3 != 2 && id % 4 != 0).count());
+        assertThat(server.requests.get(0)).contains("f%5B%5D=status_id").contains("f%5B%5D=tracker_id")
+                .contains("v%5Btracker_id%5D%5B%5D=1").contains("v%5Btracker_id%5D%5B%5D=2");
+    }
+
+    @Test
+    public void timeEntriesAreFilteredBySpentOnAndHours() throws Exception {
+        for (int id = 1; id <= 40; id++) {
+            server.put("time_entries", id, "spent_on", LocalDate.of(2020, 1, 1).plusDays(id), "hours", id % 8,
+                    "user_id", id % 2 + 7);
+        }
+        final TimeEntryQuery query = new TimeEntryQuery()
+                .spentBetween(LocalDate.of(2020, 1, 11), LocalDate.of(2020, 1, 30))
+                .hours(FilterQuery.Operator.GREATER_OR_EQUAL, 4.0)
+                .user(7)
+                .limit(100);
+        assertThat(pairs(query.toParams())).contains("v[hours][]=4");
+
+        final List<TimeEntry> entries = new TimeEntryManager(server.transport()).getTimeEntries(query).getResults();
+
+        assertThat(entries).extracting(TimeEntry::getId).containsOnly(12, 14, 20, 22, 28);
+    }
+
+    @Test
+    public void countsAreReadFromSingleIssuePages() throws Exception {
+        for (int id = 1; id <= 90; id++) {
+            server.put("issues", id, "subject", "issue " + id, "status_id", id % 5 + 1);
+            if (id % 3 != 0) {
+                server.put("issues", id, "subject", "issue " + id, "status_id", id % 5 + 1, "assigned_to_id", id % 3);
+            }
+        }
+        final IssueManager issueManager = new IssueManager(server.transport());
+        final IssueQuery query = new IssueQuery().status(1, 2, 3).sort("id").limit(100);
+
+        assertThat(issueManager.count(query)).isEqualTo(54);
+        assertThat(issueManager.count(new IssueQuery())).isEqualTo(90);
+        assertThat(server.requests).allMatch(request -> request.contains("limit=1&") && !request.contains("sort="));
+
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            final Map<Integer, Integer> perAssignee = issueManager.facetCounts(query, IssueQuery.Dimension.ASSIGNEE,
+                    Arrays.asList(2, 1, null), pool);
+            assertThat(perAssignee).containsExactly(entry(2, 18), entry(1, 18), entry(null, 18));
+            final Map<Integer, Integer> perStatus = issueManager.facetCounts(query, IssueQuery.Dimension.STATUS,
+                    Arrays.asList(1, 5), pool);
+            assertThat(perStatus).containsExactly(entry(1, 18), entry(5, 18));
+        } finally {
+            pool.shutdown();
+        }
+        assertThat(server.requests).hasSize(7);
+    }
+
+    @Test
+    public void timeEntriesAreCountedPerUser() throws Exception {
+        for (int id = 1; id <= 30; id++) {
+            server.put("time_entries", id, "spent_on", LocalDate.of(2020, 1, 1).plusDays(id), "hours", 1,
+                    "user_id", id % 3 + 7);
+        }
+        final TimeEntryManager timeEntryManager = new TimeEntryManager(server.transport());
+        final TimeEntryQuery query = new TimeEntryQuery().spentOn(FilterQuery.Operator.GREATER_OR_EQUAL,
+                LocalDate.of(2020, 1, 22));
+        assertThat(timeEntryManager.count(query)).isEqualTo(10);
+        assertThat(timeEntryManager.facetCounts(query, TimeEntryQuery.Dimension.USER, Arrays.asList(7, 8, 9, 10)))
+                .containsExactly(entry(7, 4), entry(8, 3), entry(9, 3), entry(10, 0));
+    }
+
+    @Test
+    public void operatorTakesItsNumberOfValues() {
+        assertThatThrownBy(() -> new IssueQuery().tracker()).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new IssueQuery().dueDate(FilterQuery.Operator.BETWEEN, LocalDate.of(2020, 1, 1)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new IssueQuery().filter("status_id", FilterQuery.Operator.OPEN, "1"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static List<String> pairs(Params params) {
+        return params.getList().stream().map(param -> param.getName() + "=" + param.getValue())
+                .collect(Collectors.toList());
+    }
+}
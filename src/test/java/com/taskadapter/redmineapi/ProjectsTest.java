@@ -3,7 +3,7 @@ package com.taskadapter.redmineapi;
 import com.taskadapter.redmineapi.bean.Project;
 import com.taskadapter.redmineapi.internal.RedmineJSONParser;
 import com.taskadapter.redmineapi.internal.json.JsonInput;
-import org.json.JSONObject;
+import com.taskadapter.redmineapi.internal.json.JsonObject;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -19,7 +19,7 @@ public class ProjectsTest {
     // Is executed before each test method
     public void setup() throws Exception {
 		String text = MyIOUtils.getResourceAsString("project/redmine_projects.json");
-		final JSONObject object = RedmineJSONParser.getResponse(text);
+		final JsonObject object = RedmineJSONParser.getResponse(text);
 		projectsList = JsonInput.getListNotNull(object, "projects", RedmineJSONParser::parseProject);
     }
 
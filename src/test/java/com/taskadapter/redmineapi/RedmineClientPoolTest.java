@@ -0,0 +1,90 @@
+package com.taskadapter.redmineapi;
+
+import com.taskadapter.redmineapi.internal.comm.Communicator;
+import com.taskadapter.redmineapi.internal.comm.ContentHandler;
+import com.taskadapter.redmineapi.internal.comm.LimitingCommunicator;
+import org.apache.hc.client5.http.classic.methods.HttpGet;
+import org.apache.hc.core5.http.ClassicHttpRequest;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class RedmineClientPoolTest {
+
+    @Test
+    public void clientIsSharedPerServer() {
+        try (RedmineClientPool pool = new RedmineClientPool()) {
+            final RedmineManager first = pool.createWithApiKey("http://redmine.example.com", "key1");
+            final RedmineManager second = pool.createWithApiKey("http://REDMINE.example.com/", "key2");
+            pool.createWithUserAuth("http://redmine.example.com/redmine", "user", "password");
+            assertThat(pool.getServerCount()).isEqualTo(1);
+            assertThat(first).isNotSameAs(second);
+
+            pool.createWithApiKey("https://redmine.example.com", "key1");
+            assertThat(pool.getServerCount()).isEqualTo(2);
+
+            pool.createWithApiKey("https://redmine.example.com", "key3", "acme");
+            assertThat(pool.getQuotas().getUsage()).hasSize(4).containsKeys("user:user", "acme");
+            assertThat(pool.getQuotas().getUsage().keySet()).noneMatch(tenant -> tenant.contains("key1"));
+        }
+    }
+
+    @Test
+    public void closedPoolCreatesNoManagers() {
+        final RedmineClientPool pool = new RedmineClientPool();
+        pool.createWithApiKey("http://redmine.example.com", "key");
+        pool.close();
+        assertThat(pool.getServerCount()).isZero();
+        assertThatThrownBy(() -> pool.createWithApiKey("http://redmine.example.com", "key"))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    public void limitsAreValidated() {
+        assertThatThrownBy(() -> new RedmineClientPool(10, 11, 1000)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new RedmineClientPool(0, 0, 1000)).isInstanceOf(IllegalArgumentException.class);
+        try (RedmineClientPool pool = new RedmineClientPool()) {
+            assertThatThrownBy(() -> pool.createWithApiKey("", "key")).isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Test
+    public void tenantWaitsForFreePermit() throws Exception {
+        final Semaphore permits = new Semaphore(1, true);
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final Communicator<String> slow = new LimitingCommunicator<>(new Communicator<String>() {
+            @Override
+            public <R> R sendRequest(ClassicHttpRequest request, ContentHandler<String, R> handler)
+                    throws RedmineException {
+                started.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return handler.processContent("done");
+            }
+        }, permits, 10);
+        final Thread holder = new Thread(() -> {
+            try {
+                slow.sendRequest(new HttpGet("http://localhost/a"), content -> content);
+            } catch (RedmineException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        holder.start();
+        started.await(5, TimeUnit.SECONDS);
+
+        assertThatThrownBy(() -> slow.sendRequest(new HttpGet("http://localhost/b"), content -> content))
+                .isInstanceOf(RedmineTransportException.class);
+        release.countDown();
+        holder.join();
+        assertThat(permits.availablePermits()).isEqualTo(1);
+    }
+}
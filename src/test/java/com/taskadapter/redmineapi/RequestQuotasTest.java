@@ -0,0 +1,175 @@
+package com.taskadapter.redmineapi;
+
+import com.taskadapter.redmineapi.internal.comm.Communicator;
+import com.taskadapter.redmineapi.internal.comm.ContentHandler;
+import org.apache.hc.client5.http.classic.methods.HttpGet;
+import org.apache.hc.client5.http.classic.methods.HttpPost;
+import org.apache.hc.core5.http.ClassicHttpRequest;
+import org.apache.hc.core5.http.ClassicHttpResponse;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.HttpResponse;
+import org.apache.hc.core5.http.io.entity.EntityUtils;
+import org.apache.hc.core5.http.io.entity.StringEntity;
+import org.apache.hc.core5.http.message.BasicClassicHttpResponse;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class RequestQuotasTest {
+    private final List<String> served = Collections.synchronizedList(new ArrayList<>());
+
+    @Test
+    public void requestsAndBytesAreCounted() throws Exception {
+        final RequestQuotas quotas = new RequestQuotas();
+        final Communicator<HttpResponse> communicator = quotas.communicator(server("a"), "a", 1000);
+        final HttpPost post = new HttpPost("http://localhost/issues.json");
+        post.setEntity(new StringEntity("12345", ContentType.APPLICATION_JSON));
+        assertThat(communicator.sendRequest(post, RequestQuotasTest::body)).isEqualTo("response");
+        communicator.sendRequest(new HttpGet("http://localhost/issues.json"), RequestQuotasTest::body);
+
+        final UsageStats usage = quotas.getUsage().get("a");
+        assertThat(usage.getRequests()).isEqualTo(2);
+        assertThat(usage.getBytesSent()).isEqualTo(5);
+        assertThat(usage.getBytesReceived()).isEqualTo(16);
+        assertThat(usage.getThrottledRequests()).isZero();
+
+        assertThat(quotas.takeUsage().get("a").getRequests()).isEqualTo(2);
+        assertThat(quotas.getUsage().get("a").getRequests()).isZero();
+    }
+
+    @Test
+    public void tenantQuotaDelaysAndRejectsRequests() throws Exception {
+        final RequestQuotas quotas = new RequestQuotas(QuotaPolicy.UNLIMITED, ticking(10));
+        quotas.setPolicy("a", QuotaPolicy.perSecond(20, 1));
+        final Communicator<HttpResponse> patient = quotas.communicator(server("a"), "a", 1000);
+        for (int i = 0; i < 3; i++) {
+            patient.sendRequest(new HttpGet("http://localhost/"), RequestQuotasTest::body);
+        }
+        /* a token every 50 ms, the clock reads after the previous grant are 10 ms apart */
+        assertThat(quotas.getUsage().get("a").getThrottledRequests()).isEqualTo(2);
+        assertThat(quotas.getUsage().get("a").getWaitMillis()).isGreaterThanOrEqualTo(80);
+
+        final Communicator<HttpResponse> impatient = quotas.communicator(server("a"), "a", 5);
+        assertThatThrownBy(() -> impatient.sendRequest(new HttpGet("http://localhost/"), RequestQuotasTest::body))
+                .isInstanceOf(RedmineTransportException.class);
+        final UsageStats usage = quotas.getUsage().get("a");
+        assertThat(usage.getRequests()).isEqualTo(3);
+        assertThat(usage.getRejectedRequests()).isEqualTo(1);
+
+        final Communicator<HttpResponse> other = quotas.communicator(server("b"), "b", 5);
+        other.sendRequest(new HttpGet("http://localhost/"), RequestQuotasTest::body);
+        assertThat(quotas.getPolicy("b")).isSameAs(QuotaPolicy.UNLIMITED);
+    }
+
+    @Test
+    public void quotaAndPermitWaitsShareOneLimit() throws Exception {
+        final RequestQuotas quotas = new RequestQuotas(QuotaPolicy.UNLIMITED, ticking(100));
+        quotas.setPolicy("a", QuotaPolicy.perSecond(5, 1));
+        final Semaphore permits = new Semaphore(1, true);
+        final Communicator<HttpResponse> communicator = quotas.communicator(server("a"), permits, "a", 300);
+        communicator.sendRequest(new HttpGet("http://localhost/"), RequestQuotasTest::body);
+        permits.acquire();
+
+        final Throwable thrown = catchThrowable(
+                () -> communicator.sendRequest(new HttpGet("http://localhost/"), RequestQuotasTest::body));
+        final UsageStats usage = quotas.getUsage().get("a");
+        /* the permit wait gets what is left of the 300 ms after the quota wait */
+        assertThat(usage.getWaitMillis()).isPositive();
+        assertThat(thrown).isInstanceOf(RedmineTransportException.class)
+                .hasMessageContaining("No free connection")
+                .hasMessageContaining("within " + (300 - usage.getWaitMillis()) + " ms");
+        assertThat(usage.getThrottledRequests()).isEqualTo(1);
+        assertThat(usage.getRequests()).isEqualTo(1);
+        assertThat(usage.getRejectedRequests()).isEqualTo(1);
+    }
+
+    @Test
+    public void globalRateIsSharedByWeight() throws Exception {
+        final RequestQuotas quotas = new RequestQuotas(QuotaPolicy.perSecond(25, 1));
+        quotas.setPolicy("heavy", QuotaPolicy.UNLIMITED.withWeight(3));
+        final Communicator<HttpResponse> heavy = quotas.communicator(server("heavy"), "heavy", 10_000);
+        final Communicator<HttpResponse> light = quotas.communicator(server("light"), "light", 10_000);
+        /* uses the initial token, so all following requests queue */
+        light.sendRequest(new HttpGet("http://localhost/"), RequestQuotasTest::body);
+        served.clear();
+
+        final List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            threads.add(send(light));
+            threads.add(send(heavy));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        final List<String> order = new ArrayList<>(served);
+        assertThat(order).hasSize(16);
+        assertThat(order.subList(0, 8).stream().filter("heavy"::equals).count()).isGreaterThanOrEqualTo(5);
+    }
+
+    @Test
+    public void policiesAreValidated() {
+        assertThatThrownBy(() -> QuotaPolicy.perSecond(0, 1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> QuotaPolicy.perSecond(1, 0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> QuotaPolicy.UNLIMITED.withWeight(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * Clock advancing by the given step on every read.
+     */
+    private static LongSupplier ticking(long stepMillis) {
+        final AtomicLong now = new AtomicLong();
+        return () -> now.getAndAdd(TimeUnit.MILLISECONDS.toNanos(stepMillis));
+    }
+
+    private Thread send(Communicator<HttpResponse> communicator) {
+        return new Thread(() -> {
+            try {
+                communicator.sendRequest(new HttpGet("http://localhost/"), RequestQuotasTest::body);
+            } catch (RedmineException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+    }
+
+    private Communicator<HttpResponse> server(String tenant) {
+        return new Communicator<HttpResponse>() {
+            @Override
+            public <R> R sendRequest(ClassicHttpRequest request, ContentHandler<HttpResponse, R> handler)
+                    throws RedmineException {
+                served.add(tenant);
+                if (request.getEntity() != null) {
+                    try {
+                        request.getEntity().writeTo(new ByteArrayOutputStream());
+                    } catch (IOException e) {
+                        throw new RedmineTransportException(e);
+                    }
+                }
+                final BasicClassicHttpResponse response = new BasicClassicHttpResponse(200);
+                response.setEntity(new StringEntity("response", ContentType.TEXT_PLAIN));
+                return handler.processContent(response);
+            }
+        };
+    }
+
+    private static String body(HttpResponse response) throws RedmineException {
+        try {
+            return EntityUtils.toString(((ClassicHttpResponse) response).getEntity());
+        } catch (Exception e) {
+            throw new RedmineTransportException(e);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.taskadapter.redmineapi.bean;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class IntListTest {
+
+    @Test
+    public void listBehavesAsBoxedList() {
+        final IntList list = new IntList();
+        for (int i = 0; i < 10; i++) {
+            list.addInt(i * 10);
+        }
+        list.add(0, -1);
+        list.remove(Integer.valueOf(50));
+        list.set(1, 5);
+        assertThat(list).containsExactly(-1, 5, 10, 20, 30, 40, 60, 70, 80, 90);
+        assertThat(list.getInt(2)).isEqualTo(10);
+        assertThat(list.contains(60)).isTrue();
+        assertThat(list.indexOf(70)).isEqualTo(7);
+        assertThat(list.toIntArray()).containsExactly(-1, 5, 10, 20, 30, 40, 60, 70, 80, 90);
+        assertThat(list).isEqualTo(Arrays.asList(-1, 5, 10, 20, 30, 40, 60, 70, 80, 90));
+        assertThat(new IntList(List.of(1, 2))).isEqualTo(IntList.of(1, 2));
+    }
+
+    @Test
+    public void indexesAreChecked() {
+        final IntList list = IntList.of(1);
+        assertThatThrownBy(() -> list.getInt(1)).isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> list.add(3, 1)).isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> list.add(null)).isInstanceOf(NullPointerException.class);
+    }
+}
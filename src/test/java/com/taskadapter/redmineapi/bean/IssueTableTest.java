@@ -0,0 +1,100 @@
+package com.taskadapter.redmineapi.bean;
+
+import com.taskadapter.redmineapi.internal.RedmineJSONParser;
+import com.taskadapter.redmineapi.internal.json.JsonArray;
+import com.taskadapter.redmineapi.internal.json.JsonCodecs;
+import com.taskadapter.redmineapi.internal.json.JsonInput;
+import org.json.JSONException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class IssueTableTest {
+    private static final String ISSUES = "{\"issues\": ["
+            + "{\"id\": 10, \"project\": {\"id\": 1, \"name\": \"Main\"}, \"status\": {\"id\": 5, \"name\": \"Closed\"},"
+            + " \"assigned_to\": {\"id\": 7, \"name\": \"Ann\"}, \"author\": {\"id\": 8, \"name\": \"Bob\"},"
+            + " \"done_ratio\": 100, \"spent_hours\": 2.5, \"start_date\": \"2020-02-01\","
+            + " \"created_on\": \"2020-02-01T10:00:00Z\", \"closed_on\": \"2020-02-03T10:00:00Z\"},"
+            + "{\"id\": 11, \"project\": {\"id\": 1, \"name\": \"Main\"}, \"status\": {\"id\": 1, \"name\": \"New\"},"
+            + " \"estimated_hours\": null, \"spent_hours\": 1.5},"
+            + "{\"id\": 12, \"project\": {\"id\": 2, \"name\": \"Other\"}, \"status\": {\"id\": 5, \"name\": \"Closed\"},"
+            + " \"spent_hours\": 4}]}";
+
+    @Test
+    public void issuesAreDecodedIntoColumns() throws JSONException {
+        final IssueTable table = parse(ISSUES);
+        assertThat(table.size()).isEqualTo(3);
+        assertThat(table.ids()).containsExactly(10, 11, 12);
+        assertThat(table.projectIds()).containsExactly(1, 1, 2);
+        assertThat(table.statusIds()).containsExactly(5, 1, 5);
+        assertThat(table.assigneeIds()).containsExactly(7, IssueTable.NO_VALUE, IssueTable.NO_VALUE);
+        assertThat(table.authorIds()).containsExactly(8, IssueTable.NO_VALUE, IssueTable.NO_VALUE);
+        assertThat(table.doneRatios()).containsExactly(100, IssueTable.NO_VALUE, IssueTable.NO_VALUE);
+        assertThat(table.spentHours()).containsExactly(2.5f, 1.5f, 4f);
+        assertThat(table.estimatedHours()[1]).isNaN();
+        assertThat(table.startDates()[0]).isEqualTo(LocalDate.of(2020, 2, 1).atStartOfDay(ZoneOffset.UTC).toInstant().toEpochMilli());
+        assertThat(table.closedOn()[0]).isEqualTo(Instant.parse("2020-02-03T10:00:00Z").toEpochMilli());
+        assertThat(table.closedOn()[1]).isEqualTo(IssueTable.NO_DATE);
+        assertThat(table.rowOf(12)).isEqualTo(2);
+        assertThat(table.rowOf(13)).isEqualTo(-1);
+    }
+
+    @Test
+    public void namesAreDictionaryEncoded() throws JSONException {
+        final IssueTable table = parse(ISSUES);
+        final IssueTable.StringColumn statuses = table.statusNames();
+        assertThat(statuses.dictionary()).containsExactly("Closed", "New");
+        assertThat(statuses.codes()).containsExactly(0, 1, 0);
+        assertThat(statuses.get(2)).isEqualTo("Closed");
+        assertThat(statuses.codeOf("New")).isEqualTo(1);
+        assertThat(statuses.codeOf("Rejected")).isEqualTo(IssueTable.NO_VALUE);
+        assertThat(table.assigneeNames().get(0)).isEqualTo("Ann");
+        assertThat(table.assigneeNames().get(1)).isNull();
+        assertThat(table.trackerNames().dictionary()).isEmpty();
+    }
+
+    @Test
+    public void columnsCanBeAggregatedInParallel() throws JSONException {
+        final IssueTable table = parse(ISSUES);
+        final int closed = table.statusNames().codeOf("Closed");
+        final int[] status = table.statusNames().codes();
+        final float[] hours = table.spentHours();
+        final double closedHours = table.rows().parallel()
+                .filter(row -> status[row] == closed)
+                .mapToDouble(row -> hours[row])
+                .sum();
+        assertThat(closedHours).isEqualTo(6.5);
+    }
+
+    @Test
+    public void builderGrowsAndKeepsBuiltTablesUnchanged() {
+        final IssueTable.Builder builder = new IssueTable.Builder();
+        assertThatThrownBy(() -> builder.doneRatio(1)).isInstanceOf(IllegalStateException.class);
+        for (int id = 1; id <= 1000; id++) {
+            builder.addRow(id).status(id % 3, "S" + id % 3).doneRatio(id % 101);
+        }
+        final IssueTable first = builder.build();
+        builder.addRow(1001);
+        final IssueTable second = builder.build();
+        assertThat(first.size()).isEqualTo(1000);
+        assertThat(first.ids()).hasSize(1000);
+        assertThat(first.statusNames().get(999)).isEqualTo("S1");
+        assertThat(first.statusNames().dictionary()).hasSize(3);
+        assertThat(second.size()).isEqualTo(1001);
+        assertThat(second.statusIds()[1000]).isEqualTo(IssueTable.NO_VALUE);
+    }
+
+    private static IssueTable parse(String json) throws JSONException {
+        final JsonArray issues = JsonInput.getArrayNotNull(JsonCodecs.fast().parse(json), "issues");
+        final IssueTable.Builder builder = new IssueTable.Builder();
+        for (int i = 0; i < issues.length(); i++) {
+            RedmineJSONParser.parseIssueRow(issues.getObject(i), builder);
+        }
+        return builder.build();
+    }
+}
@@ -3,6 +3,8 @@ package com.taskadapter.redmineapi.bean;
 
 import org.junit.jupiter.api.Test;
 
+import java.time.LocalDate;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 public class IssueTest {
@@ -16,4 +18,15 @@ public class IssueTest {
         issue.addCustomField(duplicateField);
         assertThat(issue.getCustomFields().size()).isEqualTo(1);
     }
+
+    @Test
+    public void localDatesRoundTripThroughLegacyDates() {
+        Issue issue = new Issue();
+        issue.setStartLocalDate(LocalDate.of(2016, 2, 29));
+        assertThat(issue.getStartLocalDate()).isEqualTo(LocalDate.of(2016, 2, 29));
+        assertThat(issue.getStartDate()).isNotNull();
+        issue.setDueLocalDate(null);
+        assertThat(issue.getDueDate()).isNull();
+        assertThat(issue.getStorage().isPropertySet(Issue.DUE_DATE)).isTrue();
+    }
 }
@@ -0,0 +1,56 @@
+package com.taskadapter.redmineapi.bean;
+
+import com.taskadapter.redmineapi.internal.RedmineJSONParser;
+import com.taskadapter.redmineapi.internal.json.JsonCodec;
+import com.taskadapter.redmineapi.internal.json.JsonCodecs;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures heap retained per issue bean produced by {@link RedmineJSONParser#parseIssue}, from json as a list query
+ * returns it.
+ * <p>
+ * Not a unit test. Run it with a fixed heap, e.g. <code>java -Xms1g -Xmx1g -cp ... PropertyStorageBenchmark</code>.
+ */
+public final class PropertyStorageBenchmark {
+
+    public static void main(String[] args) throws InterruptedException {
+        final int count = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        final JsonCodec codec = JsonCodecs.getDefault();
+        final List<byte[]> json = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            json.add(issue(i));
+        }
+
+        final long before = usedHeap();
+        final List<Issue> issues = new ArrayList<>(count);
+        for (byte[] content : json) {
+            issues.add(RedmineJSONParser.parseIssue(codec.parse(content)));
+        }
+        final long after = usedHeap();
+        System.out.printf("%d issues: %,d bytes, %d bytes per issue%n",
+                issues.size(), after - before, (after - before) / issues.size());
+    }
+
+    private static byte[] issue(int id) {
+        return ("{\"id\": " + id + ", \"project\": {\"id\": " + id % 10 + ", \"name\": \"Project\"},"
+                + " \"tracker\": {\"id\": 1, \"name\": \"Bug\"}, \"status\": {\"id\": 1, \"name\": \"New\"},"
+                + " \"priority\": {\"id\": 2, \"name\": \"Normal\"}, \"author\": {\"id\": 3, \"name\": \"Author\"},"
+                + " \"assigned_to\": {\"id\": 4, \"name\": \"Assignee\"}, \"subject\": \"Subject " + id + "\","
+                + " \"description\": \"Description\", \"start_date\": \"2020-01-01\", \"done_ratio\": 0,"
+                + " \"is_private\": false, \"estimated_hours\": null,"
+                + " \"created_on\": \"2020-01-01T10:00:00Z\", \"updated_on\": \"2020-01-02T10:00:00Z\"}")
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        final Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
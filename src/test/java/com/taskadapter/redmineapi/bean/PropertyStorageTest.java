@@ -0,0 +1,72 @@
+package com.taskadapter.redmineapi.bean;
+
+import com.taskadapter.redmineapi.internal.RedmineJSONParser;
+import com.taskadapter.redmineapi.internal.json.JsonCodecs;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PropertyStorageTest {
+
+    @Test
+    public void nullValuesAreSet() {
+        final PropertyStorage storage = new PropertyStorage();
+        assertThat(storage.isPropertySet(Issue.SUBJECT)).isFalse();
+        storage.set(Issue.SUBJECT, null);
+        assertThat(storage.isPropertySet(Issue.SUBJECT)).isTrue();
+        assertThat(storage.get(Issue.SUBJECT)).isNull();
+        assertThat(storage.isPropertySet(Issue.DESCRIPTION)).isFalse();
+    }
+
+    @Test
+    public void propertiesAreListedInDeclarationOrder() {
+        final PropertyStorage storage = new PropertyStorage();
+        storage.set(Issue.DESCRIPTION, "text");
+        storage.set(Issue.DATABASE_ID, 5);
+        storage.set(Issue.SUBJECT, "subject");
+        assertThat(storage.getProperties()).extracting(Map.Entry::getKey)
+                .containsExactly(Issue.DATABASE_ID, Issue.SUBJECT, Issue.DESCRIPTION);
+    }
+
+    @Test
+    public void emptySetsAreCreatedOnAccess() {
+        final Issue issue = new Issue();
+        final PropertyStorage storage = issue.getStorage();
+        assertThat(storage.isPropertySet(Issue.JOURNALS)).isTrue();
+        assertThat(storage.getLoadedProperties()).isEmpty();
+
+        issue.addCustomField(CustomFieldFactory.create(1, "name", "value"));
+        assertThat(storage.getLoadedProperties()).extracting(Map.Entry::getKey)
+                .containsExactly(Issue.CUSTOM_FIELDS);
+        assertThat(storage.getProperties()).hasSize(7);
+        assertThat(storage.get(Issue.JOURNALS)).isEmpty();
+        assertThat(new Issue().getStorage().get(Issue.JOURNALS))
+                .isNotSameAs(new Issue().getStorage().get(Issue.JOURNALS));
+    }
+
+    @Test
+    public void parsedIssueCreatesOnlyNonEmptySets() {
+        final Issue issue = RedmineJSONParser.parseIssue(JsonCodecs.getDefault().parse(
+                "{\"id\": 1, \"subject\": \"s\", \"journals\": [], \"watchers\": [{\"id\": 3}]}"));
+        assertThat(issue.getStorage().getLoadedProperties()).extracting(Map.Entry::getKey)
+                .contains(Issue.DATABASE_ID, Issue.SUBJECT, Issue.WATCHERS)
+                .doesNotContain(Issue.JOURNALS, Issue.CUSTOM_FIELDS, Issue.ATTACHMENTS, Issue.RELATIONS,
+                        Issue.CHANGESETS, Issue.CHILDREN);
+        assertThat(issue.getJournals()).isEmpty();
+    }
+
+    @Test
+    public void propertiesOfOtherBeansAreKept() {
+        final PropertyStorage storage = new PropertyStorage();
+        storage.set(Issue.SUBJECT, "issue");
+        storage.set(Project.NAME, "project");
+        assertThat(storage.get(Issue.SUBJECT)).isEqualTo("issue");
+        assertThat(storage.get(Project.NAME)).isEqualTo("project");
+        assertThat(storage.isPropertySet(Project.DESCRIPTION)).isFalse();
+        assertThat(storage.getProperties().stream().map(Map.Entry::getValue).collect(Collectors.toList()))
+                .containsExactly("issue", "project");
+    }
+}
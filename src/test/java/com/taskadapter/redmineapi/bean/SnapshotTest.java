@@ -0,0 +1,99 @@
+package com.taskadapter.redmineapi.bean;
+
+import com.taskadapter.redmineapi.internal.RedmineJSONParser;
+import com.taskadapter.redmineapi.internal.json.JsonCodecs;
+import com.taskadapter.redmineapi.internal.json.JsonObjectParser;
+import org.json.JSONException;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class SnapshotTest {
+    private static final String ISSUE = "{\"id\": 5, \"subject\": \"Subject\", \"tracker\": {\"id\": 1, \"name\": \"Bug\"},"
+            + " \"custom_fields\": [{\"id\": 2, \"name\": \"Customer\", \"value\": \"ACME\"}],"
+            + " \"journals\": [{\"id\": 7, \"notes\": \"note\", \"user\": {\"id\": 3, \"name\": \"Ann\"}}],"
+            + " \"relations\": [{\"id\": 9, \"issue_id\": 5, \"issue_to_id\": 6, \"relation_type\": \"relates\"}]}";
+
+    @Test
+    public void snapshotIsImmutableCopy() {
+        final Issue issue = new Issue().setId(1).setSubject("subject");
+        issue.addCustomField(CustomFieldFactory.create(2, "name", "value"));
+        final Issue snapshot = issue.snapshot();
+
+        assertThat(snapshot.isSnapshot()).isTrue();
+        assertThat(snapshot.snapshot()).isSameAs(snapshot);
+        assertThat(snapshot.getSubject()).isEqualTo("subject");
+        assertThatThrownBy(() -> snapshot.setSubject("other")).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> snapshot.addWatchers(List.of(new Watcher().setId(1))))
+                .isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> snapshot.getCustomFieldById(2).setValue("other"))
+                .isInstanceOf(UnsupportedOperationException.class);
+
+        issue.setSubject("changed");
+        issue.getCustomFieldById(2).setValue("changed");
+        assertThat(issue.isSnapshot()).isFalse();
+        assertThat(snapshot.getSubject()).isEqualTo("subject");
+        assertThat(snapshot.getCustomFieldById(2).getValue()).isEqualTo("value");
+    }
+
+    @Test
+    public void parserModeFreezesParsedBeansInPlace() throws JSONException {
+        final Issue issue = parse(RedmineJSONParser.snapshotParser(RedmineJSONParser::parseIssue));
+        assertThat(issue.isSnapshot()).isTrue();
+        assertThat(issue.getJournals()).allMatch(Journal::isSnapshot);
+        assertThat(issue.getJournals().iterator().next().getUser().isSnapshot()).isTrue();
+        assertThat(issue.getCustomFields()).allMatch(CustomField::isSnapshot);
+        final IssueRelation relation = issue.getRelations().iterator().next();
+        assertThat(relation.getIssueToId()).isEqualTo(6);
+        assertThatThrownBy(() -> relation.addIssueToId(8)).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> issue.getTracker().setName("Feature")).isInstanceOf(UnsupportedOperationException.class);
+
+        issue.setTransport(null);
+        assertThat(issue.isSnapshot()).isTrue();
+    }
+
+    @Test
+    public void lazyIssueIsDecodedWhenFrozen() throws JSONException {
+        final Issue snapshot = parse(RedmineJSONParser::parseLazyIssue).snapshot();
+        assertThat(snapshot.getSubject()).isEqualTo("Subject");
+        assertThat(snapshot.getJournals()).extracting(Journal::getNotes).containsExactly("note");
+    }
+
+    @Test
+    public void otherBeansHaveSnapshots() {
+        final Project project = new Project(null).setName("project");
+        final User user = new User(null).setLogin("login");
+        final Version version = new Version().setName("1.0");
+        final TimeEntry entry = new TimeEntry(null).setHours(1f);
+        assertThatThrownBy(() -> project.snapshot().setName("other")).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> user.snapshot().setLogin("other")).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> version.snapshot().setName("other")).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> entry.snapshot().setHours(2f)).isInstanceOf(UnsupportedOperationException.class);
+        assertThat(version.snapshot().getCustomFields()).isEmpty();
+    }
+
+    @Test
+    public void sharedTrackerStaysFrozenWhenDeserialized() throws Exception {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(Tracker.reference(1, "Bug"));
+            out.writeObject(new Tracker().setId(2));
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            final Tracker shared = (Tracker) in.readObject();
+            assertThatThrownBy(() -> shared.setName("Feature")).isInstanceOf(UnsupportedOperationException.class);
+            assertThat(((Tracker) in.readObject()).setName("Task").getName()).isEqualTo("Task");
+        }
+    }
+
+    private static Issue parse(JsonObjectParser<Issue> parser) throws JSONException {
+        return parser.parse(JsonCodecs.fast().parse(ISSUE));
+    }
+}
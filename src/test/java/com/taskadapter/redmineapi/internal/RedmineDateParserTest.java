@@ -3,14 +3,18 @@ package com.taskadapter.redmineapi.internal;
 import org.junit.jupiter.api.Test;
 
 import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.time.Instant;
+import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Date;
 
 import static com.taskadapter.redmineapi.internal.RedmineDateParser.parse;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
 public class RedmineDateParserTest {
-    private static final LocalDateFormat FULL_DATE_FORMAT_V3 = new LocalDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSSz");
+    private static final String FULL_DATE_PATTERN_V3 = "yyyy-MM-dd'T'HH:mm:ss.SSSz";
 
     @Test
     public void allRedmineDateFormatsAreParsed() throws ParseException {
@@ -28,6 +32,41 @@ public class RedmineDateParserTest {
         dateIsParsedTo("2015-03-12T00:22:37.123Z", "2015-03-11T17:22:37.123PDT");
     }
 
+    @Test
+    public void timeZoneVariantsAreParsed() throws ParseException {
+        dateIsParsedTo("2015-03-12T02:22:37+02:00", "2015-03-11T17:22:37.000PDT");
+        dateIsParsedTo("2015-03-11T21:22:37-0300", "2015-03-11T17:22:37.000PDT");
+        dateIsParsedTo("2015-03-12T05:22:37+05", "2015-03-11T17:22:37.000PDT");
+        dateIsParsedTo("2015-03-12T00:22:37.5Z", "2015-03-11T17:22:37.500PDT");
+        dateIsParsedTo("2015-03-12T00:22:37.123456Z", "2015-03-11T17:22:37.123PDT");
+        assertThat(RedmineDateParser.parseInstant("1969-12-31T23:59:59Z"))
+                .isEqualTo(Instant.ofEpochSecond(-1));
+        assertThat(RedmineDateParser.parseInstant("2000-02-29T12:00:00Z"))
+                .isEqualTo(Instant.parse("2000-02-29T12:00:00Z"));
+    }
+
+    @Test
+    public void malformedDatesAreRejected() {
+        for (String text : Arrays.asList("", "2015", "2015-3-11", "2015-02-30", "2015-13-01",
+                "2015/03-11", "2015-03-11X00:22:37Z", "2015-03-11T25:00:00Z", "2015-03-11T00:22:37",
+                "2015-03-11T00:22:37Zx", "2015-03-11T00:22:37.Z", "2015-03-11T00:22:37+0")) {
+            assertThrows(ParseException.class, () -> parse(text), text);
+        }
+    }
+
+    @Test
+    public void formatsMatchSimpleDateFormat() throws ParseException {
+        for (String text : Arrays.asList("2015-03-12T00:22:37Z", "1999-12-31T23:59:59Z",
+                "2016-02-29T12:00:00Z", "1960-07-01T08:30:00Z")) {
+            final Date date = parse(text);
+            assertThat(RedmineDateParser.formatFullDate(date))
+                    .isEqualTo(new SimpleDateFormat("yyyy/MM/dd HH:mm:ss Z").format(date));
+            assertThat(RedmineDateParser.formatShortDate(date))
+                    .isEqualTo(new SimpleDateFormat("yyyy-MM-dd").format(date));
+            assertThat(parse(RedmineDateParser.formatFullDate(date))).isEqualTo(date);
+        }
+    }
+
     private void dateIsParsedTo(String originalDateString, String expectedDateString) throws ParseException {
         assertThat(parse(originalDateString)).isEqualTo(getDate(expectedDateString));
     }
@@ -38,7 +77,7 @@ public class RedmineDateParserTest {
 
     private static Date getDate(String str) {
         try {
-            return FULL_DATE_FORMAT_V3.get().parse(str);
+            return new SimpleDateFormat(FULL_DATE_PATTERN_V3).parse(str);
         } catch (ParseException e) {
             throw new RuntimeException(e);
         }
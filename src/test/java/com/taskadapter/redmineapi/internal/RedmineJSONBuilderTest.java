@@ -1,15 +1,32 @@
 package com.taskadapter.redmineapi.internal;
 
+import com.taskadapter.redmineapi.RedmineException;
 import com.taskadapter.redmineapi.bean.CustomField;
 import com.taskadapter.redmineapi.bean.CustomFieldFactory;
 import com.taskadapter.redmineapi.bean.Group;
 import com.taskadapter.redmineapi.bean.Issue;
+import com.taskadapter.redmineapi.bean.IssueRelation;
+import com.taskadapter.redmineapi.bean.Membership;
+import com.taskadapter.redmineapi.bean.Role;
 import com.taskadapter.redmineapi.bean.User;
 import com.taskadapter.redmineapi.bean.Version;
+import com.taskadapter.redmineapi.bean.Watcher;
+import com.taskadapter.redmineapi.internal.comm.Communicator;
+import com.taskadapter.redmineapi.internal.comm.ContentHandler;
+import com.taskadapter.redmineapi.internal.json.JsonCodecs;
+import org.apache.hc.core5.http.ClassicHttpRequest;
+import org.apache.hc.core5.http.ClassicHttpResponse;
+import org.apache.hc.core5.http.ParseException;
+import org.apache.hc.core5.http.io.entity.EntityUtils;
+import org.apache.hc.core5.http.message.BasicClassicHttpResponse;
+import org.json.JSONException;
 import org.junit.jupiter.api.Test;
 
 
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.List;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -86,4 +103,91 @@ public class RedmineJSONBuilderTest {
 		assertThat(generatedJSONWithName).contains("\"name\":\"some name\"");
 	}
 
+	@Test
+	public void updateOfLoadedIssueContainsChangedFieldsOnly() throws JSONException {
+		final Issue issue = RedmineJSONParser.parseIssue(JsonCodecs.fast().parse("{\"id\": 5, \"subject\": \"old\","
+				+ " \"description\": \"text\", \"done_ratio\": 10, \"watchers\": [{\"id\": 3, \"name\": \"W\"}],"
+				+ " \"custom_fields\": [{\"id\": 1, \"name\": \"a\", \"value\": \"x\"},"
+				+ " {\"id\": 2, \"name\": \"b\", \"value\": \"y\"}]}"));
+		assertThat(RedmineJSONBuilder.toSimpleJSON("issue", issue, RedmineJSONBuilder::writeIssueChanges))
+				.isEqualTo("{\"issue\":{}}");
+
+		issue.setSubject("new");
+		issue.getCustomFieldById(2).setValue("z");
+		final String json = RedmineJSONBuilder.toSimpleJSON("issue", issue, RedmineJSONBuilder::writeIssueChanges);
+		assertThat(json).isEqualTo("{\"issue\":{\"subject\":\"new\",\"custom_field_values\":{\"2\":\"z\"}}}");
+
+		final String full = RedmineJSONBuilder.toSimpleJSON("issue", issue, RedmineJSONBuilder::writeIssue);
+		assertThat(full).contains("\"description\":\"text\"").contains("\"watcher_user_ids\":[3]");
+	}
+
+	@Test
+	public void lazyIssueWritesOnlyPropertiesItsJsonContains() throws JSONException {
+		final Issue issue = RedmineJSONParser.parseLazyIssue(JsonCodecs.fast().parse("{\"id\": 5,"
+				+ " \"subject\": \"s\", \"estimated_hours\": null, \"status\": {\"id\": 2, \"name\": \"Open\"}}"));
+		assertThat(issue.getStorage().isPropertySet(Issue.DESCRIPTION)).isFalse();
+		assertThat(RedmineJSONBuilder.toSimpleJSON("issue", issue, RedmineJSONBuilder::writeIssue))
+				.isEqualTo("{\"issue\":{\"id\":5,\"subject\":\"s\",\"estimated_hours\":null,\"status_id\":2}}");
+		assertThat(issue.getDescription()).isNull();
+		assertThat(issue.getStorage().isPropertySet(Issue.DESCRIPTION)).isFalse();
+	}
+
+	@Test
+	public void customFieldsAreSentOnlyByTheUpdateChangingThem() throws Exception {
+		final List<String> bodies = new ArrayList<>();
+		final Transport transport = new Transport(new URIConfigurator("http://localhost"),
+				new Communicator<ClassicHttpResponse>() {
+					@Override
+					public <R> R sendRequest(ClassicHttpRequest request, ContentHandler<ClassicHttpResponse, R> handler)
+							throws RedmineException {
+						try {
+							bodies.add(EntityUtils.toString(request.getEntity()));
+						} catch (IOException | ParseException e) {
+							throw new IllegalStateException(e);
+						}
+						return handler.processContent(new BasicClassicHttpResponse(204));
+					}
+				});
+		final Issue issue = RedmineJSONParser.parseIssue(JsonCodecs.fast().parse("{\"id\": 5, \"subject\": \"old\","
+				+ " \"custom_fields\": [{\"id\": 2, \"name\": \"b\", \"value\": \"y\"}]}"));
+		issue.setTransport(transport);
+
+		issue.getCustomFieldById(2).setValue("z");
+		issue.update();
+		issue.setSubject("new");
+		issue.update();
+		assertThat(bodies.get(0)).isEqualTo("{\"issue\":{\"custom_field_values\":{\"2\":\"z\"}}}");
+		assertThat(bodies.get(1)).isEqualTo("{\"issue\":{\"subject\":\"new\"}}");
+	}
+
+	@Test
+	public void updateOfNewIssueContainsAllSetFields() {
+		final Issue issue = new Issue().setId(5).setSubject("subj").setDoneRatio(20);
+		assertThat(RedmineJSONBuilder.toSimpleJSON("issue", issue, RedmineJSONBuilder::writeIssueChanges))
+				.isEqualTo(RedmineJSONBuilder.toSimpleJSON("issue", issue, RedmineJSONBuilder::writeIssue));
+
+		issue.getStorage().clearChanges();
+		issue.setDoneRatio(30);
+		assertThat(RedmineJSONBuilder.toSimpleJSON("issue", issue, RedmineJSONBuilder::writeIssueChanges))
+				.isEqualTo("{\"issue\":{\"done_ratio\":30}}");
+	}
+
+	@Test
+	public void relationTargetsAreJoined() {
+		final IssueRelation relation = new IssueRelation(null, 1, 2, "relates").addIssueToId(3);
+		assertThat(RedmineJSONBuilder.toSimpleJSON("relation", relation, RedmineJSONBuilder::writeRelation))
+				.contains("\"issue_to_id\":\"2,3\"");
+		assertThat(relation.getIssueToId()).isEqualTo(2);
+	}
+
+	@Test
+	public void watchersAndRolesWithoutIdAreSkipped() {
+		final Issue issue = new Issue().addWatchers(List.of(new Watcher().setId(3), new Watcher()));
+		assertThat(RedmineJSONBuilder.toSimpleJSON("issue", issue, RedmineJSONBuilder::writeIssue))
+				.contains("\"watcher_user_ids\":[3]");
+
+		final Membership membership = new Membership(null).addRoles(List.of(new Role().setId(5), new Role().setName("x")));
+		assertThat(RedmineJSONBuilder.toSimpleJSON("membership", membership, RedmineJSONBuilder::writeMembership))
+				.contains("\"role_ids\":[5]");
+	}
 }
@@ -4,9 +4,9 @@ import com.taskadapter.redmineapi.bean.Issue;
 import com.taskadapter.redmineapi.bean.IssueRelation;
 import com.taskadapter.redmineapi.bean.Project;
 import com.taskadapter.redmineapi.bean.TimeEntry;
+import com.taskadapter.redmineapi.internal.json.JsonObject;
 import com.taskadapter.redmineapi.internal.json.JsonObjectParser;
 import org.json.JSONException;
-import org.json.JSONObject;
 import org.junit.jupiter.api.Test;
 
 
@@ -49,7 +49,7 @@ public class RedmineJSONDefaultsTest {
 
 	private static <T> T parse(String text, String tag,
 			JsonObjectParser<T> parser) throws JSONException {
-		final JSONObject content = RedmineJSONParser.getResponseSingleObject(
+		final JsonObject content = RedmineJSONParser.getResponseSingleObject(
             text, tag);
 		return parser.parse(content);
 	}
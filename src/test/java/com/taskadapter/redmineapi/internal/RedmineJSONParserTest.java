@@ -6,6 +6,7 @@ import com.taskadapter.redmineapi.RedmineTestUtils;
 import com.taskadapter.redmineapi.bean.Issue;
 import com.taskadapter.redmineapi.bean.IssueCategory;
 import com.taskadapter.redmineapi.bean.IssueStatus;
+import com.taskadapter.redmineapi.bean.Journal;
 import com.taskadapter.redmineapi.bean.News;
 import com.taskadapter.redmineapi.bean.Project;
 import com.taskadapter.redmineapi.bean.TimeEntry;
@@ -97,6 +98,101 @@ public class RedmineJSONParserTest {
 				"issues", RedmineJSONParser::parseIssue);
 	}
 
+	@Test
+	public void sharedReferencesAreReusedAndUnmodifiable() throws IOException, JSONException {
+		String json = MyIOUtils.getResourceAsString(REDMINE_ISSUES);
+		final ReferenceCache references = new ReferenceCache();
+		final List<Issue> issues = JsonInput.getListOrEmpty(RedmineJSONParser.getResponse(json),
+				"issues", RedmineJSONParser.issueParser(references));
+		final List<Issue> full = loadRedmine11Issues();
+		for (int i = 0; i < issues.size(); i++) {
+			final Tracker tracker = issues.get(i).getTracker();
+			assertThat(tracker.getId()).isEqualTo(full.get(i).getTracker().getId());
+			assertThat(tracker.getName()).isEqualTo(full.get(i).getTracker().getName());
+			for (Issue other : issues)
+				if (other.getTracker().getId().equals(tracker.getId()))
+					assertThat(other.getTracker()).isSameAs(tracker);
+		}
+		assertThat(references.size()).isLessThan(issues.size());
+		assertThrows(UnsupportedOperationException.class, () -> issues.get(0).getTracker().setName("x"));
+
+		final String reference = "\"fixed_version\":{\"id\":3,\"name\":\"1.0\"},"
+				+ "\"category\":{\"id\":4,\"name\":\"UI\"},"
+				+ "\"journals\":[{\"id\":5,\"user\":{\"id\":6,\"name\":\"John Smith\"}}]";
+		final List<Issue> two = JsonInput.getListOrEmpty(RedmineJSONParser.getResponse(
+				"{\"issues\":[{\"id\":1," + reference + "},{\"id\":2," + reference + "}]}"),
+				"issues", RedmineJSONParser.issueParser(references));
+		assertThat(two.get(1).getTargetVersion()).isSameAs(two.get(0).getTargetVersion());
+		assertThat(two.get(1).getCategory()).isSameAs(two.get(0).getCategory());
+		final User author = two.get(0).getJournals().iterator().next().getUser();
+		assertThat(two.get(1).getJournals().iterator().next().getUser()).isSameAs(author);
+		assertThat(author.getFullName()).isEqualTo("John Smith");
+		assertThat(two.get(0).getTargetVersion().getName()).isEqualTo("1.0");
+		assertThat(two.get(0).getCategory().getName()).isEqualTo("UI");
+		assertThrows(UnsupportedOperationException.class, () -> two.get(0).getTargetVersion().setName("2.0"));
+		assertThrows(UnsupportedOperationException.class, () -> author.setLogin("john"));
+	}
+
+	@Test
+	public void issueProjectionReadsOnlyRequestedFields() throws IOException, JSONException {
+		String json = MyIOUtils.getResourceAsString(REDMINE_ISSUES);
+		final List<Issue> issues = JsonInput.getListOrEmpty(RedmineJSONParser.getResponse(json),
+				"issues", RedmineJSONParser.issueParser(Arrays.asList(Issue.SUBJECT, Issue.STATUS_NAME)));
+		final List<Issue> full = loadRedmine11Issues();
+		assertThat(issues).hasSameSizeAs(full);
+		for (int i = 0; i < issues.size(); i++) {
+			final Issue issue = issues.get(i);
+			assertThat(issue.getId()).isEqualTo(full.get(i).getId());
+			assertThat(issue.getSubject()).isEqualTo(full.get(i).getSubject());
+			assertThat(issue.getStatusName()).isEqualTo(full.get(i).getStatusName());
+			assertThat(issue.getDescription()).isNull();
+			assertThat(issue.getCreatedOn()).isNull();
+			assertThat(issue.getStatusId()).isNull();
+			assertThat(issue.getCustomFields()).isEmpty();
+		}
+	}
+
+	@Test
+	public void lazyIssuesMatchEagerIssues() throws IOException, JSONException {
+		String json = MyIOUtils.getResourceAsString(REDMINE_ISSUES);
+		final List<Issue> lazy = JsonInput.getListOrEmpty(RedmineJSONParser.getResponse(json),
+				"issues", RedmineJSONParser::parseLazyIssue);
+		final List<Issue> full = loadRedmine11Issues();
+		assertThat(lazy).hasSameSizeAs(full);
+		for (int i = 0; i < lazy.size(); i++) {
+			final Issue issue = lazy.get(i);
+			final Issue expected = full.get(i);
+			assertThat(issue.getId()).isEqualTo(expected.getId());
+			assertThat(issue.getSubject()).isEqualTo(expected.getSubject());
+			assertThat(issue.getDescription()).isEqualTo(expected.getDescription());
+			assertThat(issue.getCreatedOn()).isEqualTo(expected.getCreatedOn());
+			assertThat(issue.getAssigneeName()).isEqualTo(expected.getAssigneeName());
+			assertThat(issue.getTracker()).isEqualTo(expected.getTracker());
+			assertThat(issue.getCustomFields()).containsExactlyInAnyOrderElementsOf(expected.getCustomFields());
+		}
+	}
+
+	@Test
+	public void lazyIssueCachesDecodedValuesAndKeepsExplicitOnes() throws JSONException {
+		final String json = "{\"issue\":{\"id\":5,\"subject\":\"s\",\"description\":\"d\","
+				+ "\"tracker\":{\"id\":1,\"name\":\"Bug\"},"
+				+ "\"journals\":[{\"id\":7,\"notes\":\"n\",\"details\":[{\"property\":\"attr\",\"name\":\"status_id\",\"new_value\":\"2\"}]}]}}";
+		final Issue issue = RedmineJSONParser.parseLazyIssue(
+				RedmineJSONParser.getResponseSingleObject(json, "issue"));
+		assertThat(issue.getId()).isEqualTo(5);
+		assertThat(issue.getTracker()).isSameAs(issue.getTracker());
+		issue.setSubject("changed");
+		assertThat(issue.getSubject()).isEqualTo("changed");
+		assertThat(issue.getDescription()).isEqualTo("d");
+		final Journal journal = issue.getJournals().iterator().next();
+		assertThat(journal.getId()).isEqualTo(7);
+		assertThat(journal.getNotes()).isEqualTo("n");
+		assertThat(journal.getDetails()).hasSize(1);
+		assertThat(journal.getDetails().get(0).getNewValue()).isEqualTo("2");
+		assertThat(issue.getStorage().isPropertySet(Issue.DONE_RATIO)).isFalse();
+		assertThat(issue.getDoneRatio()).isNull();
+	}
+
 	/* Gson parser is bad at detecting errors :( */
     @Disabled
 	@Test
@@ -0,0 +1,125 @@
+package com.taskadapter.redmineapi.internal;
+
+import com.taskadapter.redmineapi.RedmineException;
+import com.taskadapter.redmineapi.RedmineTransportException;
+import com.taskadapter.redmineapi.RequestContext;
+import com.taskadapter.redmineapi.bean.User;
+import com.taskadapter.redmineapi.internal.comm.BaseCommunicator;
+import com.taskadapter.redmineapi.internal.comm.Communicator;
+import com.taskadapter.redmineapi.internal.comm.ContentHandler;
+import org.apache.hc.client5.http.classic.methods.HttpUriRequestBase;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.core5.http.ClassicHttpRequest;
+import org.apache.hc.core5.http.ClassicHttpResponse;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.io.entity.StringEntity;
+import org.apache.hc.core5.http.message.BasicClassicHttpResponse;
+import org.apache.hc.core5.util.TimeValue;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TransportTest {
+    private static final Instant NOW = Instant.parse("2020-01-01T00:00:00Z");
+
+    private final RecordingCommunicator communicator = new RecordingCommunicator();
+    private final Transport transport = new Transport(new URIConfigurator("http://localhost"), communicator);
+
+    @Test
+    public void contextsDoNotAffectEachOther() throws RedmineException {
+        final Transport ann = transport.withContext(RequestContext.DEFAULT.withSwitchUser("ann"));
+        final Transport bob = transport.withContext(RequestContext.DEFAULT.withSwitchUser("bob").withPageSize(7));
+
+        ann.getCurrentUser();
+        bob.getObjectsList(User.class, Collections.emptyList());
+        transport.getCurrentUser();
+
+        assertThat(switchUser(communicator.requests.get(0))).isEqualTo("ann");
+        assertThat(switchUser(communicator.requests.get(1))).isEqualTo("bob");
+        assertThat(communicator.requests.get(1).getRequestUri()).contains("limit=7");
+        assertThat(switchUser(communicator.requests.get(2))).isNull();
+        assertThat(transport.getContext()).isSameAs(RequestContext.DEFAULT);
+    }
+
+    @Test
+    public void onBehalfOfUserIsKeptInContext() throws RedmineException {
+        transport.setOnBehalfOfUser("ann");
+        transport.getCurrentUser();
+        assertThat(switchUser(communicator.requests.get(0))).isEqualTo("ann");
+        assertThat(transport.getContext().getSwitchUser()).isEqualTo("ann");
+    }
+
+    @Test
+    public void deadlineLimitsResponseTimeAndStopsRequests() throws RedmineException {
+        final RequestContext context = RequestContext.DEFAULT
+                .withClock(Clock.fixed(NOW, ZoneOffset.UTC))
+                .withTimeout(Duration.ofSeconds(3))
+                .withTag("tenant", "acme");
+        transport.withContext(context).getCurrentUser();
+        final HttpUriRequestBase request = (HttpUriRequestBase) communicator.requests.get(0);
+        assertThat(request.getConfig().getResponseTimeout().toMilliseconds()).isEqualTo(3000);
+
+        final Transport late = transport.withContext(context.withClock(Clock.fixed(NOW.plusSeconds(3), ZoneOffset.UTC)));
+        assertThatThrownBy(late::getCurrentUser).isInstanceOf(RedmineTransportException.class);
+        assertThat(communicator.requests).hasSize(1);
+    }
+
+    @Test
+    public void deadlineKeepsOtherSettingsOfTheClient() throws Exception {
+        final RequestConfig defaults = RequestConfig.custom()
+                .setRedirectsEnabled(false)
+                .setConnectionKeepAlive(TimeValue.ofSeconds(7))
+                .build();
+        try (CloseableHttpClient client = HttpClients.custom().setDefaultRequestConfig(defaults).build()) {
+            assertThat(new BaseCommunicator(client).getDefaultConfig()).isSameAs(defaults);
+        }
+        transport.setDefaultRequestConfig(defaults);
+        transport.withContext(RequestContext.DEFAULT.withClock(Clock.fixed(NOW, ZoneOffset.UTC))
+                .withTimeout(Duration.ofSeconds(3))).getCurrentUser();
+        final RequestConfig config = ((HttpUriRequestBase) communicator.requests.get(0)).getConfig();
+        assertThat(config.getResponseTimeout().toMilliseconds()).isEqualTo(3000);
+        assertThat(config.getConnectionRequestTimeout().toMilliseconds()).isEqualTo(3000);
+        assertThat(config.isRedirectsEnabled()).isFalse();
+        assertThat(config.getConnectionKeepAlive()).isEqualTo(TimeValue.ofSeconds(7));
+    }
+
+    @Test
+    public void contextValidatesPageSize() {
+        assertThatThrownBy(() -> RequestContext.DEFAULT.withPageSize(-1)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(RequestContext.DEFAULT.getRemainingMillis()).isEqualTo(Long.MAX_VALUE);
+        assertThat(RequestContext.DEFAULT.withTag("a", "b").getTags()).containsEntry("a", "b");
+        assertThat(RequestContext.DEFAULT.getTags()).isEmpty();
+    }
+
+    private static String switchUser(ClassicHttpRequest request) {
+        return request.getFirstHeader("X-Redmine-Switch-User") == null
+                ? null : request.getFirstHeader("X-Redmine-Switch-User").getValue();
+    }
+
+    private static final class RecordingCommunicator implements Communicator<ClassicHttpResponse> {
+        final List<ClassicHttpRequest> requests = new ArrayList<>();
+
+        @Override
+        public <R> R sendRequest(ClassicHttpRequest request, ContentHandler<ClassicHttpResponse, R> handler)
+                throws RedmineException {
+            requests.add(request);
+            final BasicClassicHttpResponse response = new BasicClassicHttpResponse(200);
+            final String body = request.getRequestUri().contains("users.json")
+                    ? "{\"users\": [{\"id\": 1}], \"total_count\": 1}"
+                    : "{\"user\": {\"id\": 1}}";
+            response.setEntity(new StringEntity(body, ContentType.APPLICATION_JSON));
+            return handler.processContent(response);
+        }
+    }
+}
@@ -44,6 +44,16 @@ public class URIConfiguratorTest {
                         "two", "value"));
     }
 
+    @Test
+    public void distinctKeepsValuesOfArrayParams() {
+        final List<RequestParam> params = Arrays.asList(new RequestParam("f[]", "status_id"),
+                new RequestParam("op[status_id]", "="), new RequestParam("v[status_id][]", "1"),
+                new RequestParam("f[]", "tracker_id"), new RequestParam("v[status_id][]", "2"),
+                new RequestParam("f[]", "status_id"), new RequestParam("op[status_id]", "!"));
+        assertThat(URIConfigurator.distinct(params)).containsExactly(params.get(0), params.get(1), params.get(2),
+                params.get(3), params.get(4));
+    }
+
     @Test
     public void toNameValueConvertsCollection() {
         assertThat(URIConfigurator.toNameValue(Arrays.asList(param1, param2))).containsOnly(
@@ -0,0 +1,182 @@
+package com.taskadapter.redmineapi.internal.json;
+
+import com.taskadapter.redmineapi.MyIOUtils;
+import com.taskadapter.redmineapi.bean.Issue;
+import com.taskadapter.redmineapi.internal.RedmineJSONParser;
+import org.json.JSONException;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class FastJsonCodecTest {
+	private final JsonCodec codec = JsonCodecs.fast();
+
+	@Test
+	public void nestedValuesAreAccessible() throws JSONException {
+		final JsonObject root = codec.parse("{\"a\": {\"b\": [1, {\"c\": \"d\"}, []]}, \"e\": {}}");
+		final JsonArray array = root.getObject("a").getArray("b");
+		assertThat(array.length()).isEqualTo(3);
+		assertThat(array.opt(0)).isEqualTo(1);
+		assertThat(array.getObject(1).getString("c")).isEqualTo("d");
+		assertThat(((JsonArray) array.opt(2)).length()).isZero();
+		assertThat(array.opt(0)).isEqualTo(1);
+		assertThat(root.getObject("e").has("a")).isFalse();
+		assertThat(root.has("e")).isTrue();
+	}
+
+	@Test
+	public void stringsAreUnescaped() throws JSONException {
+		final JsonObject root = codec.parse(
+				"{\"k\\\"ey\": \"a\\\"b\\\\c\\/d\\n\\u0041\\u00e9\", \"utf\": \"Привет ✓\"}");
+		assertThat(root.getString("k\"ey")).isEqualTo("a\"b\\c/d\nAé");
+		assertThat(root.getString("utf")).isEqualTo("Привет ✓");
+	}
+
+	@Test
+	public void utf8BytesAreDecoded() throws JSONException {
+		final byte[] bytes = "{\"ключ\":\"значение\"}".getBytes(StandardCharsets.UTF_8);
+		assertThat(codec.parse(bytes).getString("ключ")).isEqualTo("значение");
+	}
+
+	@Test
+	public void numbersAreDecoded() throws JSONException {
+		final JsonObject root = codec.parse(
+				"{\"i\":-42,\"l\":12345678901,\"d\":2.5,\"e\":1e3,\"s\":\"17\",\"big\":123456789012345678901}");
+		assertThat(root.getInt("i")).isEqualTo(-42);
+		assertThat(root.opt("i")).isEqualTo(-42);
+		assertThat(root.getLong("l")).isEqualTo(12345678901L);
+		assertThat(root.opt("l")).isEqualTo(12345678901L);
+		assertThat(root.getDouble("d")).isEqualTo(2.5);
+		assertThat(root.getDouble("e")).isEqualTo(1000.0);
+		assertThat(root.getInt("s")).isEqualTo(17);
+		assertThat(root.opt("big")).isEqualTo(new BigDecimal("123456789012345678901"));
+		assertThat(root.optInt("missing", 7)).isEqualTo(7);
+	}
+
+	@Test
+	public void literalsAreDecoded() throws JSONException {
+		final JsonObject root = codec.parse("{\"t\":true,\"f\":false,\"n\":null}");
+		assertThat(root.getBoolean("t")).isTrue();
+		assertThat(root.getBoolean("f")).isFalse();
+		assertThat(root.isNull("n")).isTrue();
+		assertThat(root.has("n")).isTrue();
+		assertThat(root.opt("n")).isNull();
+		assertThat(root.optString("n")).isEmpty();
+		assertThat(root.isNull("missing")).isTrue();
+	}
+
+	@Test
+	public void malformedInputIsRejected() {
+		for (String text : Arrays.asList("", "[]", "<html>", "{", "{\"a\"}",
+				"{\"a\":}", "{\"a\":1,}", "{\"a\":tru}", "{\"a\":\"b}",
+				"{\"a\":1} x", "{\"a\":-}", "{\"a\":\"\t\"}")) {
+			assertThrows(JSONException.class, () -> codec.parse(text), text);
+		}
+	}
+
+	@Test
+	public void malformedNumbersAreRejected() throws JSONException {
+		for (String number : Arrays.asList("1.2.3", "1e", "1.", "0123", "-0123", ".5", "+1", "1e+", "1.e3",
+				"--1", "1E2.5")) {
+			final String text = "{\"a\":" + number + "}";
+			assertThrows(JSONException.class, () -> codec.parse(text), text);
+		}
+		final JsonObject root = codec.parse("{\"a\":[0, -0, 0.5, -0.5e-3, 10E+2]}");
+		final JsonArray array = root.getArray("a");
+		assertThat(array.opt(0)).isEqualTo(0);
+		assertThat(array.opt(2)).isEqualTo(0.5);
+		assertThat(array.opt(3)).isEqualTo(-0.0005);
+		assertThat(array.opt(4)).isEqualTo(1000.0);
+	}
+
+	@Test
+	public void illegalEscapesAreRejected() {
+		for (String escape : Arrays.asList("\\x", "\\a", "\\'", "\\u12", "\\u12g4", "\\U0041")) {
+			final String text = "{\"a\":\"" + escape + "\"}";
+			assertThrows(JSONException.class, () -> codec.parse(text), text);
+		}
+	}
+
+	@Test
+	public void stringIsBooleanOnlyIfTrueOrFalse() throws JSONException {
+		final JsonObject root = codec.parse("{\"t\":\"TRUE\",\"f\":\"false\",\"x\":\"yes\",\"n\":1}");
+		assertThat(root.getBoolean("t")).isTrue();
+		assertThat(root.getBoolean("f")).isFalse();
+		assertThrows(JSONException.class, () -> root.getBoolean("x"));
+		assertThrows(JSONException.class, () -> root.getBoolean("n"));
+	}
+
+	@Test
+	public void missingValuesAreReported() throws JSONException {
+		final JsonObject root = codec.parse("{\"a\":\"b\"}");
+		assertThrows(JSONException.class, () -> root.getString("x"));
+		assertThrows(JSONException.class, () -> root.getInt("a"));
+		assertThrows(JSONException.class, () -> root.getObject("a"));
+	}
+
+	@Test
+	public void bothCodecsProduceSameIssues() throws IOException, JSONException {
+		final String json = MyIOUtils.getResourceAsString("issue/redmine_issues.json");
+		final List<Issue> fast = JsonInput.getListNotNull(JsonCodecs.fast()
+				.parse(json), "issues", RedmineJSONParser::parseIssue);
+		final List<Issue> orgJson = JsonInput.getListNotNull(JsonCodecs.orgJson()
+				.parse(json), "issues", RedmineJSONParser::parseIssue);
+		assertThat(fast).hasSameSizeAs(orgJson);
+		for (int i = 0; i < fast.size(); i++) {
+			final Issue a = fast.get(i);
+			final Issue b = orgJson.get(i);
+			assertThat(a.getId()).isEqualTo(b.getId());
+			assertThat(a.getSubject()).isEqualTo(b.getSubject());
+			assertThat(a.getDescription()).isEqualTo(b.getDescription());
+			assertThat(a.getCreatedOn()).isEqualTo(b.getCreatedOn());
+			assertThat(a.getDoneRatio()).isEqualTo(b.getDoneRatio());
+			assertThat(a.getEstimatedHours()).isEqualTo(b.getEstimatedHours());
+			assertThat(a.getAssigneeName()).isEqualTo(b.getAssigneeName());
+			assertThat(a.getCustomFields()).containsExactlyElementsOf(b.getCustomFields());
+		}
+	}
+
+	@Test
+	public void writerEscapesStrings() throws JSONException {
+		final StringBuilder out = new StringBuilder();
+		codec.newWriter(out).object().key("a\"b").value("line\n\u0001\u2028\\")
+				.endObject();
+		assertThat(out.toString()).isEqualTo("{\"a\\\"b\":\"line\\n\\u0001\\u2028\\\\\"}");
+	}
+
+	@Test
+	public void writerSeparatesMembersAndFormatsNumbers() throws JSONException {
+		final Map<String, Object> map = new LinkedHashMap<>();
+		map.put("x", 1);
+		map.put("y", null);
+		final StringBuilder out = new StringBuilder();
+		codec.newWriter(out).object()
+				.key("a").value(1)
+				.key("b").value(2.50)
+				.key("c").value(2.0)
+				.key("d").array().value(true).value(Arrays.asList("p", 3)).endArray()
+				.key("e").value(map)
+				.key("f").value((Object) null)
+				.endObject();
+		assertThat(out.toString()).isEqualTo(
+				"{\"a\":1,\"b\":2.5,\"c\":2,\"d\":[true,[\"p\",3]],\"e\":{\"x\":1,\"y\":null},\"f\":null}");
+	}
+
+	@Test
+	public void writerOutputIsReadable() throws JSONException {
+		final StringBuilder out = new StringBuilder();
+		codec.newWriter(out).object().key("s").value("\"Привет\"\t").endObject();
+		assertThat(codec.parse(out.toString()).getString("s")).isEqualTo("\"Привет\"\t");
+		assertThat(JsonCodecs.orgJson().parse(out.toString()).getString("s"))
+				.isEqualTo("\"Привет\"\t");
+	}
+}
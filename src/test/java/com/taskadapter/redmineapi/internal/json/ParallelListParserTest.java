@@ -0,0 +1,76 @@
+package com.taskadapter.redmineapi.internal.json;
+
+import com.taskadapter.redmineapi.bean.Issue;
+import com.taskadapter.redmineapi.internal.RedmineJSONParser;
+import org.json.JSONException;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ParallelListParserTest {
+	private static ForkJoinPool pool;
+
+	@BeforeAll
+	public static void createPool() {
+		pool = new ForkJoinPool(4);
+	}
+
+	@AfterAll
+	public static void shutdownPool() {
+		pool.shutdown();
+	}
+
+	@Test
+	public void largeListKeepsElementOrder() throws JSONException {
+		final JsonObject response = JsonCodecs.fast().parse(issues(1000));
+		final List<Issue> parallel = new ParallelListParser(pool, 10)
+				.getListOrNull(response, "issues", RedmineJSONParser::parseIssue);
+		final List<Issue> sequential = JsonInput.getListOrNull(response, "issues",
+				RedmineJSONParser::parseIssue);
+		assertThat(parallel).hasSize(1000);
+		for (int i = 0; i < parallel.size(); i++) {
+			assertThat(parallel.get(i).getId()).isEqualTo(i);
+			assertThat(parallel.get(i).getSubject()).isEqualTo(sequential.get(i).getSubject());
+			assertThat(parallel.get(i).getStatusName()).isEqualTo("New");
+		}
+	}
+
+	@Test
+	public void smallAndMissingListsAreParsed() throws JSONException {
+		final ParallelListParser parser = new ParallelListParser(pool, 10);
+		final JsonObject response = JsonCodecs.fast().parse(issues(3));
+		assertThat(parser.getListOrNull(response, "issues", RedmineJSONParser::parseIssue))
+				.extracting(Issue::getId).containsExactly(0, 1, 2);
+		assertThat(parser.getListOrNull(response, "missing", RedmineJSONParser::parseIssue))
+				.isNull();
+	}
+
+	@Test
+	public void parserErrorsArePropagated() {
+		final JsonObject response = JsonCodecs.fast().parse(issues(100));
+		assertThrows(JSONException.class, () -> new ParallelListParser(pool, 10)
+				.getListOrNull(response, "issues", object -> {
+					if (object.getInt("id") == 57)
+						throw new JSONException("bad issue");
+					return object;
+				}));
+	}
+
+	private static String issues(int count) {
+		final StringBuilder result = new StringBuilder("{\"issues\":[");
+		for (int i = 0; i < count; i++) {
+			if (i > 0)
+				result.append(',');
+			result.append("{\"id\":").append(i).append(",\"subject\":\"Issue ").append(i)
+					.append("\",\"status\":{\"id\":1,\"name\":\"New\"},\"description\":\"text ")
+					.append(i).append("\"}");
+		}
+		return result.append("],\"total_count\":").append(count).append('}').toString();
+	}
+}
@@ -0,0 +1,81 @@
+package com.taskadapter.redmineapi.internal.json;
+
+import com.taskadapter.redmineapi.bean.Issue;
+import com.taskadapter.redmineapi.internal.RedmineJSONParser;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures heap retained by parsed issues with and without a {@link SymbolTable}.
+ * <p>
+ * Not a unit test. Run it with a fixed heap, e.g.
+ * <code>java -Xms2g -Xmx2g -cp ... SymbolTableBenchmark 200000</code>. Heap is measured after a few
+ * explicit collections, so the numbers are approximate but stable across runs.
+ */
+public final class SymbolTableBenchmark {
+	private static final int PAGE_SIZE = 100;
+
+	public static void main(String[] args) throws InterruptedException {
+		final int issues = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+		final List<byte[]> pages = pages(issues);
+
+		final long plain = retained(pages, JsonCodecs.fast());
+		final long shared = retained(pages, JsonCodecs.fast().withSymbols(new SymbolTable()));
+		System.out.printf("%d issues: %,d bytes without symbols, %,d bytes with symbols (%.1f%% less)%n",
+				issues, plain, shared, 100.0 * (plain - shared) / plain);
+	}
+
+	private static long retained(List<byte[]> pages, JsonCodec codec) throws InterruptedException {
+		final long before = usedHeap();
+		final List<Issue> result = new ArrayList<>();
+		for (byte[] page : pages)
+			result.addAll(JsonInput.getListNotNull(codec.parse(page), "issues", RedmineJSONParser::parseIssue));
+		final long after = usedHeap();
+		if (result.size() != pages.size() * PAGE_SIZE)
+			throw new AssertionError("Unexpected number of issues " + result.size());
+		return after - before;
+	}
+
+	private static long usedHeap() throws InterruptedException {
+		final Runtime runtime = Runtime.getRuntime();
+		for (int i = 0; i < 3; i++) {
+			System.gc();
+			Thread.sleep(100);
+		}
+		return runtime.totalMemory() - runtime.freeMemory();
+	}
+
+	/**
+	 * Pages of issues resembling a large export: 12 statuses, 6 trackers, 40 projects, 300 users.
+	 */
+	private static List<byte[]> pages(int issues) {
+		final String[] statuses = {"New", "In Progress", "Resolved", "Feedback", "Closed", "Rejected",
+				"Blocked", "Review", "Testing", "Deployed", "Reopened", "Duplicate"};
+		final String[] trackers = {"Bug", "Feature", "Support", "Task", "Epic", "Story"};
+		final List<byte[]> result = new ArrayList<>();
+		for (int page = 0; page * PAGE_SIZE < issues; page++) {
+			final StringBuilder text = new StringBuilder("{\"issues\":[");
+			for (int i = 0; i < PAGE_SIZE; i++) {
+				final int id = page * PAGE_SIZE + i;
+				if (i > 0)
+					text.append(',');
+				text.append("{\"id\":").append(id)
+						.append(",\"project\":{\"id\":").append(id % 40).append(",\"name\":\"Project number ").append(id % 40)
+						.append("\"},\"tracker\":{\"id\":").append(id % 6).append(",\"name\":\"").append(trackers[id % 6])
+						.append("\"},\"status\":{\"id\":").append(id % 12).append(",\"name\":\"").append(statuses[id % 12])
+						.append("\"},\"priority\":{\"id\":").append(id % 4).append(",\"name\":\"Priority ").append(id % 4)
+						.append("\"},\"author\":{\"id\":").append(id % 300).append(",\"name\":\"Author ").append(id % 300)
+						.append("\"},\"assigned_to\":{\"id\":").append(id % 97).append(",\"name\":\"Assignee ").append(id % 97)
+						.append("\"},\"subject\":\"Subject of issue ").append(id)
+						.append("\",\"custom_fields\":[{\"id\":1,\"name\":\"Customer\",\"value\":\"C").append(id % 50)
+						.append("\"},{\"id\":2,\"name\":\"Component\",\"value\":\"Core\"}]")
+						.append(",\"created_on\":\"2015-03-11T17:22:37Z\"}");
+			}
+			result.add(text.append("],\"total_count\":").append(issues).append('}').toString()
+					.getBytes(StandardCharsets.UTF_8));
+		}
+		return result;
+	}
+}
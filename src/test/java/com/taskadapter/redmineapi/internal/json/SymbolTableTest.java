@@ -0,0 +1,79 @@
+package com.taskadapter.redmineapi.internal.json;
+
+import com.taskadapter.redmineapi.bean.Issue;
+import com.taskadapter.redmineapi.internal.RedmineJSONParser;
+import org.json.JSONException;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SymbolTableTest {
+	private static final String ISSUES = "{\"issues\": ["
+			+ "{\"id\": 1, \"subject\": \"First\", \"status\": {\"id\": 1, \"name\": \"New\"},"
+			+ " \"tracker\": {\"id\": 2, \"name\": \"Feature\"}, \"author\": {\"id\": 3, \"name\": \"J\\u00fcrgen M\"},"
+			+ " \"project\": {\"id\": 4, \"name\": \"Проект\"}},"
+			+ "{\"id\": 2, \"subject\": \"Second\", \"status\": {\"id\": 1, \"name\": \"New\"},"
+			+ " \"tracker\": {\"id\": 2, \"name\": \"Feature\"}, \"author\": {\"id\": 3, \"name\": \"Jürgen M\"},"
+			+ " \"project\": {\"id\": 4, \"name\": \"Проект\"}}]}";
+
+	@Test
+	public void fastCodecSharesNames() throws JSONException {
+		namesAreShared(JsonCodecs.fast());
+	}
+
+	@Test
+	public void orgJsonCodecSharesNames() throws JSONException {
+		namesAreShared(JsonCodecs.orgJson());
+	}
+
+	@Test
+	public void namesAreNotSharedWithoutTable() throws JSONException {
+		final List<Issue> issues = parse(JsonCodecs.fast());
+		assertThat(issues.get(0).getStatusName()).isEqualTo(issues.get(1).getStatusName())
+				.isNotSameAs(issues.get(1).getStatusName());
+	}
+
+	@Test
+	public void tableIsBounded() {
+		final SymbolTable table = new SymbolTable(16, 8);
+		for (int i = 0; i < 1000; i++)
+			table.intern("name" + i);
+		assertThat(table.size()).isLessThanOrEqualTo(16);
+
+		final String longValue = "a value longer than the limit";
+		assertThat(table.intern(longValue)).isSameAs(longValue);
+		assertThat(table.intern(new String(longValue))).isNotSameAs(longValue);
+		assertThat(table.intern(null)).isNull();
+	}
+
+	@Test
+	public void bytesAndStringsMapToTheSameSymbol() {
+		final SymbolTable table = new SymbolTable();
+		final String value = table.intern("Closed");
+		final byte[] text = "\"Closed\"".getBytes();
+		assertThat(table.intern(text, 1, 7)).isSameAs(value);
+		table.clear();
+		assertThat(table.size()).isZero();
+	}
+
+	private static void namesAreShared(JsonCodec codec) throws JSONException {
+		final SymbolTable table = new SymbolTable();
+		final List<Issue> first = parse(codec.withSymbols(table));
+		final List<Issue> second = parse(codec.withSymbols(table));
+		for (Issue issue : List.of(first.get(1), second.get(0), second.get(1))) {
+			assertThat(issue.getStatusName()).isSameAs(first.get(0).getStatusName());
+			assertThat(issue.getTracker().getName()).isSameAs(first.get(0).getTracker().getName());
+			assertThat(issue.getAuthorName()).isSameAs(first.get(0).getAuthorName());
+			assertThat(issue.getProjectName()).isSameAs(first.get(0).getProjectName());
+		}
+		assertThat(first.get(0).getAuthorName()).isEqualTo("Jürgen M");
+		assertThat(first.get(0).getProjectName()).isEqualTo("Проект");
+		assertThat(first.get(0).getSubject()).isEqualTo("First");
+	}
+
+	private static List<Issue> parse(JsonCodec codec) throws JSONException {
+		return JsonInput.getListNotNull(codec.parse(ISSUES), "issues", RedmineJSONParser::parseIssue);
+	}
+}
@@ -0,0 +1,65 @@
+package com.taskadapter.redmineapi.mirror;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.TreeSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class IdBitmapTest {
+
+    @Test
+    public void behavesLikeASortedSetForSparseAndDenseChunks() {
+        final Random random = new Random(42);
+        final IdBitmap a = new IdBitmap();
+        final IdBitmap b = new IdBitmap();
+        final TreeSet<Integer> expectedA = new TreeSet<>();
+        final TreeSet<Integer> expectedB = new TreeSet<>();
+        /* dense first chunk, sparse later ones */
+        for (int i = 0; i < 60_000; i++) {
+            final int id = i < 40_000 ? random.nextInt(65_536) : random.nextInt(1_000_000);
+            assertThat(a.add(id)).isEqualTo(expectedA.add(id));
+            final int other = random.nextInt(200_000);
+            b.add(other);
+            expectedB.add(other);
+        }
+        for (int i = 0; i < 20_000; i++) {
+            final int id = random.nextInt(65_536);
+            assertThat(a.remove(id)).isEqualTo(expectedA.remove(id));
+        }
+
+        assertThat(a.cardinality()).isEqualTo(expectedA.size());
+        assertThat(a.toArray()).containsExactly(expectedA.stream().mapToInt(Integer::intValue).toArray());
+        assertThat(a.contains(expectedA.first())).isTrue();
+
+        final TreeSet<Integer> and = new TreeSet<>(expectedA);
+        and.retainAll(expectedB);
+        assertThat(IdBitmap.and(a, b).toArray()).containsExactly(and.stream().mapToInt(Integer::intValue).toArray());
+        assertThat(IdBitmap.andCardinality(a, b)).isEqualTo(and.size());
+
+        final TreeSet<Integer> or = new TreeSet<>(expectedA);
+        or.addAll(expectedB);
+        assertThat(IdBitmap.or(a, b).toArray()).containsExactly(or.stream().mapToInt(Integer::intValue).toArray());
+
+        final TreeSet<Integer> andNot = new TreeSet<>(expectedA);
+        andNot.removeAll(expectedB);
+        assertThat(IdBitmap.andNot(a, b).toArray())
+                .containsExactly(andNot.stream().mapToInt(Integer::intValue).toArray());
+
+        assertThat(a.cardinality()).isEqualTo(expectedA.size());
+    }
+
+    @Test
+    public void emptiedSetHasNoChunks() {
+        final IdBitmap bitmap = new IdBitmap();
+        for (int id = 0; id < 10_000; id++) {
+            bitmap.add(id);
+        }
+        for (int id = 0; id < 10_000; id++) {
+            assertThat(bitmap.remove(id)).isTrue();
+        }
+        assertThat(bitmap.isEmpty()).isTrue();
+        assertThat(bitmap.remove(5)).isFalse();
+    }
+}
@@ -0,0 +1,133 @@
+package com.taskadapter.redmineapi.mirror;
+
+import com.taskadapter.redmineapi.Params;
+import com.taskadapter.redmineapi.bean.Issue;
+import com.taskadapter.redmineapi.bean.IssueStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+
+public class IssueIndexTest {
+    private static final List<IssueStatus> STATUSES = List.of(
+            new IssueStatus().setId(1).setName("New"),
+            new IssueStatus().setId(2).setName("In progress"),
+            closed(new IssueStatus().setId(5).setName("Closed")));
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void filtersCombineLikeServerFilters() throws Exception {
+        try (MirrorStore store = MirrorStore.open(directory)) {
+            fill(store);
+            final IssueIndex index = IssueIndex.attach(store, STATUSES);
+
+            assertThat(index.size()).isEqualTo(100);
+            /* open issues unless a status is given */
+            assertThat(index.count(new Params())).isEqualTo(80);
+            assertThat(index.count(new Params().add("status_id", "*"))).isEqualTo(100);
+            assertThat(index.count(new Params().add("status_id", "closed"))).isEqualTo(20);
+            assertThat(index.count(new Params().add("status_id", "2|5"))).isEqualTo(60);
+
+            assertThat(index.find(new Params().add("project_id", "1").add("assigned_to_id", "!*").add("status_id", "*")))
+                    .containsExactly(IntStream.iterate(3, id -> id <= 99, id -> id + 6).toArray());
+            assertThat(index.count(new Params().add("assigned_to_id", "*").add("status_id", "*"))).isEqualTo(67);
+            assertThat(index.count(new Params().add("assigned_to_id", "!7").add("status_id", "*"))).isEqualTo(33);
+            assertThat(index.find(new Params().add("cf_3", "B|C").add("status_id", "*")))
+                    .containsExactly(10, 20, 30, 40, 50, 60, 70, 80, 90, 100);
+            assertThat(index.count(new Params().add("issue_id", "><10|19").add("sort", "id:desc"))).isEqualTo(8);
+        }
+    }
+
+    @Test
+    public void dateFiltersUseDaysOrTimestamps() throws Exception {
+        try (MirrorStore store = MirrorStore.open(directory)) {
+            fill(store);
+            final IssueIndex index = IssueIndex.attach(store, STATUSES);
+
+            /* issue N was updated at N hours after 2020-03-01T00:00:00Z */
+            assertThat(index.count(new Params().add("status_id", "*").add("updated_on", "2020-03-02")))
+                    .isEqualTo(24);
+            assertThat(index.find(new Params().add("status_id", "*").add("updated_on", "<=2020-03-01T03:00:00Z")))
+                    .containsExactly(1, 2, 3);
+            assertThat(index.count(new Params().add("status_id", "*")
+                    .add("updated_on", "><2020-03-01T10:00:00Z|2020-03-02")))
+                    .isEqualTo(38);
+            assertThat(index.count(new Params().add("status_id", "*").add("start_date", "*"))).isEqualTo(50);
+            assertThat(index.count(new Params().add("status_id", "*").add("start_date", "!*"))).isEqualTo(50);
+            assertThat(index.count(new Params().add("status_id", "*").add("start_date", ">=2020-04-10")))
+                    .isEqualTo(33);
+        }
+    }
+
+    @Test
+    public void facetsCountMatchingIssuesByValue() throws Exception {
+        try (MirrorStore store = MirrorStore.open(directory)) {
+            fill(store);
+            final IssueIndex index = IssueIndex.attach(store, STATUSES);
+
+            assertThat(index.facetCounts(new Params().add("status_id", "*"), "status_id"))
+                    .containsExactly(entry("1", 40), entry("2", 40), entry("5", 20));
+            assertThat(index.facetCounts(new Params().add("project_id", "2"), "assigned_to_id"))
+                    .containsEntry(IssueIndex.NONE, 13)
+                    .containsEntry("7", 27);
+            assertThatThrownBy(() -> index.facetCounts(new Params(), "subject"))
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Test
+    public void followsChangesOfTheStore() throws Exception {
+        try (MirrorStore store = MirrorStore.open(directory)) {
+            fill(store);
+            final IssueIndex index = IssueIndex.attach(store, STATUSES);
+            assertThat(index.count(new Params().add("project_id", "3"))).isZero();
+
+            store.put(Issue.class, 4, 1, issue(4, 3, 1, null, "X", null));
+            store.delete(Issue.class, 6);
+            assertThat(index.find(new Params().add("project_id", "3"))).containsExactly(4);
+            assertThat(index.find(new Params().add("cf_3", "X"))).containsExactly(4);
+            assertThat(index.count(new Params().add("status_id", "*"))).isEqualTo(99);
+            assertThat(index.count(new Params().add("project_id", "2").add("status_id", "*"))).isEqualTo(48);
+        }
+    }
+
+    /**
+     * Issues 1..100: odd ones in project 1, even ones in project 2; status 5 for every fifth, else 1 and 2
+     * alternating; assignee 7 unless divisible by 3; custom field 3 "B" for every tenth.
+     */
+    private static void fill(MirrorStore store) throws Exception {
+        for (int id = 1; id <= 100; id++) {
+            final int status = id % 5 == 0 ? 5 : (id % 2 == 1 ? 1 : 2);
+            store.put(Issue.class, id, id, issue(id, 2 - id % 2, status, id % 3 == 0 ? null : 7,
+                    id % 10 == 0 ? "B" : "A", id % 2 == 0 ? "2020-04-" + String.format("%02d", id / 4 + 1) : null));
+        }
+    }
+
+    private static byte[] issue(int id, int project, int status, Integer assignee, String cf, String startDate) {
+        final String json = "{\"id\": " + id
+                + ", \"project\": {\"id\": " + project + ", \"name\": \"p\"}"
+                + ", \"tracker\": {\"id\": 1, \"name\": \"Bug\"}"
+                + ", \"status\": {\"id\": " + status + ", \"name\": \"s\"}"
+                + (assignee == null ? "" : ", \"assigned_to\": {\"id\": " + assignee + ", \"name\": \"u\"}")
+                + ", \"subject\": \"issue " + id + "\""
+                + (startDate == null ? "" : ", \"start_date\": \"" + startDate + "\"")
+                + ", \"updated_on\": \"" + Instant.parse("2020-03-01T00:00:00Z").plusSeconds(id * 3600L) + "\""
+                + ", \"custom_fields\": [{\"id\": 3, \"name\": \"Severity\", \"value\": \"" + cf + "\"}]}";
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static IssueStatus closed(IssueStatus status) {
+        status.setClosed(true);
+        return status;
+    }
+}
@@ -0,0 +1,68 @@
+package com.taskadapter.redmineapi.mirror;
+
+import com.taskadapter.redmineapi.FakeRedmineServer;
+import com.taskadapter.redmineapi.Params;
+import com.taskadapter.redmineapi.bean.Issue;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MirrorReconcilerTest {
+    private static final Instant T0 = Instant.parse("2020-02-01T10:00:00Z");
+
+    @TempDir
+    Path directory;
+
+    private final FakeRedmineServer server = new FakeRedmineServer();
+
+    @Test
+    public void findsFewDeletionsWithFewRequests() throws Exception {
+        for (int id = 1; id <= 20_000; id++) {
+            if (id % 7 != 0) {
+                server.put("issues", id, "subject", "issue " + id, "updated_on", T0.plusSeconds(id));
+            }
+        }
+        try (MirrorStore store = MirrorStore.open(directory)) {
+            store.load(server.transport(), Issue.class, new Params().add("status_id", "*").getList());
+            server.remove("issues", 1234);
+            server.remove("issues", 15_002);
+            server.remove("issues", 20_000);
+            server.put("issues", 9_999, "subject", "changed", "updated_on", T0.plusSeconds(50_000));
+            server.requests.clear();
+
+            final MirrorReconciler.Result result = new MirrorReconciler(server.transport(), store).reconcile();
+
+            assertThat(result.getDeleted()).isEqualTo(3);
+            assertThat(result.getStored()).isEqualTo(1);
+            assertThat(result.getRequests()).isEqualTo(server.requests.size()).isLessThan(60);
+            assertThat(store.get(Issue.class, 1234)).isNull();
+            assertThat(store.get(Issue.class, 9_999).getSubject()).isEqualTo("changed");
+            assertThat(store.size(Issue.class)).isEqualTo(20_000 - 20_000 / 7 - 3);
+
+            final MirrorReconciler.Result again = new MirrorReconciler(server.transport(), store).reconcile();
+            assertThat(again.getRequests()).isEqualTo(2);
+            assertThat(again.getDeleted()).isZero();
+        }
+    }
+
+    @Test
+    public void emptyServerRangeDeletesLocalIssues() throws Exception {
+        for (int id = 1; id <= 300; id++) {
+            server.put("issues", id, "subject", "issue " + id, "updated_on", T0);
+        }
+        try (MirrorStore store = MirrorStore.open(directory)) {
+            store.load(server.transport(), Issue.class, new Params().add("status_id", "*").getList());
+            for (int id = 101; id <= 300; id++) {
+                server.remove("issues", id);
+            }
+            final MirrorReconciler reconciler = new MirrorReconciler(server.transport(), store);
+            reconciler.setLeafSize(10);
+            assertThat(reconciler.reconcile().getDeleted()).isEqualTo(200);
+            assertThat(store.getIds(Issue.class)).hasSize(100).endsWith(100);
+        }
+    }
+}
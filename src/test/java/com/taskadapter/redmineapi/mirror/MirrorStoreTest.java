@@ -0,0 +1,190 @@
+package com.taskadapter.redmineapi.mirror;
+
+import com.taskadapter.redmineapi.FakeRedmineServer;
+import com.taskadapter.redmineapi.bean.Issue;
+import com.taskadapter.redmineapi.bean.Project;
+import com.taskadapter.redmineapi.bean.User;
+import com.taskadapter.redmineapi.sync.SyncEngine;
+import com.taskadapter.redmineapi.sync.SyncScope;
+import com.taskadapter.redmineapi.sync.SyncStateStore;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MirrorStoreTest {
+    private static final Instant T0 = Instant.parse("2020-02-01T10:00:00Z");
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void storesLatestVersionOfObjects() throws Exception {
+        try (MirrorStore store = MirrorStore.open(directory)) {
+            store.put(Issue.class, 7, 1000, issue(7, "first"));
+            store.put(Issue.class, 7, 2000, issue(7, "second"));
+            store.put(Project.class, 7, 0, project(7));
+
+            assertThat(store.get(Issue.class, 7).getSubject()).isEqualTo("second");
+            assertThat(store.getUpdatedOn(Issue.class, 7)).isEqualTo(Instant.ofEpochMilli(2000));
+            assertThat(store.get(Project.class, 7).getName()).isEqualTo("project 7");
+            assertThat(store.get(Issue.class, 8)).isNull();
+            assertThat(store.getJson(Issue.class, 8)).isNull();
+            assertThat(store.size(Issue.class)).isEqualTo(1);
+            assertThat(store.getGarbageSize()).isPositive();
+
+            final long size = store.getLogSize();
+            store.put(Issue.class, 7, 2000, issue(7, "second"));
+            assertThat(store.getLogSize()).isEqualTo(size);
+        }
+    }
+
+    @Test
+    public void deletedObjectsAreGone() throws Exception {
+        try (MirrorStore store = MirrorStore.open(directory)) {
+            store.put(Issue.class, 1, 1000, issue(1, "one"));
+            store.put(Issue.class, 2, 1000, issue(2, "two"));
+            assertThat(store.delete(Issue.class, 1)).isTrue();
+            assertThat(store.delete(Issue.class, 1)).isFalse();
+            assertThat(store.get(Issue.class, 1)).isNull();
+            assertThat(store.getIds(Issue.class)).containsExactly(2);
+        }
+        try (MirrorStore store = MirrorStore.open(directory)) {
+            assertThat(store.getIds(Issue.class)).containsExactly(2);
+        }
+    }
+
+    @Test
+    public void changesAfterLastFlushAreRecoveredOnOpen() throws Exception {
+        final MirrorStore store = MirrorStore.open(directory, 4096);
+        for (int id = 1; id <= 50; id++) {
+            store.put(Issue.class, id, id, issue(id, "issue " + id));
+        }
+        store.flush();
+        for (int id = 51; id <= 100; id++) {
+            store.put(Issue.class, id, id, issue(id, "issue " + id));
+        }
+        store.delete(Issue.class, 3);
+        /* not closed: simulates a process crash, the mapped files keep the records */
+
+        try (MirrorStore reopened = MirrorStore.open(directory, 4096)) {
+            assertThat(reopened.size(Issue.class)).isEqualTo(99);
+            assertThat(reopened.get(Issue.class, 100).getSubject()).isEqualTo("issue 100");
+            assertThat(reopened.get(Issue.class, 3)).isNull();
+            final List<Integer> ids = new ArrayList<>();
+            reopened.forEach(Issue.class, issue -> ids.add(issue.getId()));
+            assertThat(ids).hasSize(99).isSorted();
+        }
+    }
+
+    @Test
+    public void compactionDropsReplacedRecords() throws Exception {
+        try (MirrorStore store = MirrorStore.open(directory, 4096)) {
+            for (int version = 1; version <= 5; version++) {
+                for (int id = 1; id <= 40; id++) {
+                    store.put(Issue.class, id, version, issue(id, "version " + version));
+                }
+            }
+            store.delete(Issue.class, 40);
+            final long size = store.getLogSize();
+            store.compact();
+
+            assertThat(store.getGarbageSize()).isZero();
+            assertThat(store.getLogSize()).isLessThan(size / 4);
+            assertThat(store.get(Issue.class, 1).getSubject()).isEqualTo("version 5");
+            assertThat(store.size(Issue.class)).isEqualTo(39);
+            assertThat(fileNames()).noneMatch(name -> name.contains("-0."));
+
+            store.put(Issue.class, 41, 1, issue(41, "after compaction"));
+        }
+        try (MirrorStore store = MirrorStore.open(directory, 4096)) {
+            assertThat(store.size(Issue.class)).isEqualTo(40);
+            assertThat(store.get(Issue.class, 41).getSubject()).isEqualTo("after compaction");
+        }
+    }
+
+    @Test
+    public void attachedScopeStoresJsonReceivedBySync() throws Exception {
+        final FakeRedmineServer server = new FakeRedmineServer();
+        server.put("issues", 1, "project_id", 1, "subject", "one", "custom_note", "kept", "updated_on", T0);
+        server.put("issues", 2, "project_id", 1, "subject", "two", "updated_on", T0.plusSeconds(1));
+        server.put("projects", 1, "name", "project 1", "identifier", "p1", "updated_on", T0);
+        final SyncEngine engine = new SyncEngine(server.transport(), SyncStateStore.inMemory());
+
+        try (MirrorStore store = MirrorStore.open(directory)) {
+            store.attach(engine, SyncScope.issues());
+            store.attach(engine, SyncScope.projects());
+            engine.poll();
+            assertThat(store.getIds(Issue.class)).containsExactly(1, 2);
+            assertThat(new String(store.getJson(Issue.class, 1), StandardCharsets.UTF_8)).contains("\"custom_note\"");
+            assertThat(store.get(Project.class, 1).getIdentifier()).isEqualTo("p1");
+
+            server.put("issues", 2, "project_id", 1, "subject", "two again", "updated_on", T0.plusSeconds(60));
+            engine.poll();
+            assertThat(store.get(Issue.class, 2).getSubject()).isEqualTo("two again");
+            assertThat(store.getUpdatedOn(Issue.class, 2)).isEqualTo(T0.plusSeconds(60));
+        }
+    }
+
+    @Test
+    public void attachedListedScopeStoresEveryBatch() throws Exception {
+        final FakeRedmineServer server = new FakeRedmineServer();
+        for (int id = 1; id <= 5; id++) {
+            server.put("projects", id, "name", "project " + id, "identifier", "p" + id,
+                    "updated_on", T0.plusSeconds(id));
+        }
+        final SyncEngine engine = new SyncEngine(server.transport(), SyncStateStore.inMemory());
+        engine.setPageSize(2);
+
+        try (MirrorStore store = MirrorStore.open(directory)) {
+            store.attach(engine, SyncScope.projects());
+            assertThat(engine.poll()).isEqualTo(5);
+            assertThat(store.getIds(Project.class)).containsExactly(1, 2, 3, 4, 5);
+            assertThat(store.get(Project.class, 5).getIdentifier()).isEqualTo("p5");
+
+            server.put("projects", 4, "name", "project 4", "identifier", "p4b", "updated_on", T0.plusSeconds(60));
+            assertThat(engine.poll()).isEqualTo(1);
+            assertThat(store.get(Project.class, 4).getIdentifier()).isEqualTo("p4b");
+        }
+    }
+
+    @Test
+    public void loadStoresObjectsWithoutUpdatedOn() throws Exception {
+        final FakeRedmineServer server = new FakeRedmineServer();
+        for (int id = 1; id <= 30; id++) {
+            server.put("users", id, "login", "user" + id, "firstname", "First", "lastname", "Last " + id);
+        }
+        try (MirrorStore store = MirrorStore.open(directory)) {
+            store.load(server.transport(), User.class, Collections.emptyList());
+            assertThat(store.size(User.class)).isEqualTo(30);
+            assertThat(store.get(User.class, 12).getLogin()).isEqualTo("user12");
+            assertThat(store.getUpdatedOn(User.class, 12)).isNull();
+        }
+    }
+
+    private List<String> fileNames() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> file.getFileName().toString()).toList();
+        }
+    }
+
+    private static byte[] issue(int id, String subject) {
+        return ("{\"id\": " + id + ", \"subject\": \"" + subject + "\", \"project\": {\"id\": 1, \"name\": \"p\"}}")
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] project(int id) {
+        return ("{\"id\": " + id + ", \"name\": \"project " + id + "\", \"identifier\": \"p" + id + "\"}")
+                .getBytes(StandardCharsets.UTF_8);
+    }
+}
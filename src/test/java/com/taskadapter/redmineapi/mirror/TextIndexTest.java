@@ -0,0 +1,127 @@
+package com.taskadapter.redmineapi.mirror;
+
+import com.taskadapter.redmineapi.bean.Issue;
+import com.taskadapter.redmineapi.internal.RedmineJSONParser;
+import com.taskadapter.redmineapi.internal.json.JsonCodecs;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TextIndexTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void tokenizerFoldsCaseAndAccents() {
+        assertThat(TextIndex.tokenize("Résumé: Proxy-TIMEOUT on server_2, a 5 x"))
+                .containsExactly("resume", "proxy", "timeout", "on", "server", "2", "5");
+    }
+
+    @Test
+    public void searchFindsIssuesWithAllWordsRankedBySubject() throws Exception {
+        try (TextIndex index = TextIndex.open(directory.resolve("text.idx"))) {
+            index.put(parse(issue(1, "Printer jams", "The proxy times out when printing", "")));
+            index.put(parse(issue(2, "Proxy timeout", "Requests through the proxy fail", "")));
+            index.put(parse(issue(3, "Login page", "Nothing to do with it", "proxy timeout seen again")));
+
+            assertThat(ids(index.search("proxy", 10))).containsExactly(2, 1, 3);
+            assertThat(ids(index.search("PROXY timeout", 10))).containsExactly(2, 3);
+            assertThat(ids(index.search("tim*", 10))).containsExactlyInAnyOrder(1, 2, 3);
+            assertThat(ids(index.search("print* proxy", 10))).containsExactly(1);
+            assertThat(index.search("proxy", 1)).hasSize(1);
+            assertThat(index.search("  ", 10)).isEmpty();
+            assertThat(index.search("unknown proxy", 10)).isEmpty();
+        }
+    }
+
+    @Test
+    public void updatesReplaceWordsButKeepNotesOfIssuesFetchedWithoutJournals() throws Exception {
+        try (TextIndex index = TextIndex.open(directory.resolve("text.idx"))) {
+            index.put(parse(issue(1, "Old subject", "", "note about database")));
+            index.put(parse(issue(1, "New subject", "", null)));
+
+            assertThat(index.search("old", 10)).isEmpty();
+            assertThat(ids(index.search("new database", 10))).containsExactly(1);
+
+            index.remove(1);
+            assertThat(index.search("database", 10)).isEmpty();
+            assertThat(index.getWordCount()).isZero();
+        }
+    }
+
+    @Test
+    public void indexSurvivesRestart() throws Exception {
+        final Path file = directory.resolve("text.idx");
+        try (TextIndex index = TextIndex.open(file)) {
+            for (int id = 1; id <= 200; id++) {
+                index.put(parse(issue(id, "Issue number " + id, "common words and word" + id % 7, "note " + id)));
+            }
+        }
+        try (TextIndex index = TextIndex.open(file)) {
+            assertThat(index.size()).isEqualTo(200);
+            assertThat(ids(index.search("word3", 100))).hasSize(29);
+            assertThat(ids(index.search("number 150", 10))).containsExactly(150);
+            assertThat(ids(index.search("note 42", 10))).containsExactly(42);
+        }
+    }
+
+    @Test
+    public void followsMirrorAndSkipsUnchangedIssuesOnRestart() throws Exception {
+        final Path file = directory.resolve("text.idx");
+        try (MirrorStore store = MirrorStore.open(directory.resolve("mirror"))) {
+            store.put(Issue.class, 1, 1000, issue(1, "Disk full", "", null));
+            store.put(Issue.class, 2, 1000, issue(2, "Disk slow", "", null));
+            try (TextIndex index = TextIndex.attach(store, file)) {
+                assertThat(ids(index.search("disk", 10))).containsExactlyInAnyOrder(1, 2);
+                store.put(Issue.class, 2, 2000, issue(2, "Network slow", "", null));
+                store.delete(Issue.class, 1);
+                assertThat(index.search("disk", 10)).isEmpty();
+                store.removeListener(index);
+            }
+            store.put(Issue.class, 3, 3000, issue(3, "Network down", "", null));
+            try (TextIndex index = TextIndex.attach(store, file)) {
+                assertThat(ids(index.search("network", 10))).containsExactlyInAnyOrder(2, 3);
+            }
+        }
+    }
+
+    @Test
+    public void dropsIssuesDeletedFromMirrorWhileDetached() throws Exception {
+        final Path file = directory.resolve("text.idx");
+        try (MirrorStore store = MirrorStore.open(directory.resolve("mirror"))) {
+            store.put(Issue.class, 1, 1000, issue(1, "Disk full", "", null));
+            store.put(Issue.class, 2, 1000, issue(2, "Disk slow", "", null));
+            try (TextIndex index = TextIndex.attach(store, file)) {
+                store.removeListener(index);
+            }
+            store.delete(Issue.class, 1);
+            try (TextIndex index = TextIndex.attach(store, file)) {
+                assertThat(index.size()).isEqualTo(1);
+                assertThat(ids(index.search("disk", 10))).containsExactly(2);
+                assertThat(store.get(Issue.class, 2)).isNotNull();
+            }
+        }
+    }
+
+    private static List<Integer> ids(List<TextIndex.Hit> hits) {
+        return hits.stream().map(TextIndex.Hit::getId).collect(Collectors.toList());
+    }
+
+    private static Issue parse(byte[] json) {
+        return RedmineJSONParser.parseIssue(JsonCodecs.getDefault().parse(json));
+    }
+
+    private static byte[] issue(int id, String subject, String description, String note) {
+        return ("{\"id\": " + id + ", \"subject\": \"" + subject + "\", \"description\": \"" + description + "\""
+                + ", \"updated_on\": \"2020-01-01T00:00:0" + (id % 10) + "Z\""
+                + (note == null ? "" : ", \"journals\": [{\"id\": " + id + ", \"notes\": \"" + note + "\"}]")
+                + "}").getBytes(StandardCharsets.UTF_8);
+    }
+}
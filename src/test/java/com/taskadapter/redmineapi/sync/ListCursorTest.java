@@ -0,0 +1,164 @@
+package com.taskadapter.redmineapi.sync;
+
+import com.taskadapter.redmineapi.FakeRedmineServer;
+import com.taskadapter.redmineapi.Params;
+import com.taskadapter.redmineapi.bean.Issue;
+import com.taskadapter.redmineapi.bean.Project;
+import org.json.JSONException;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ListCursorTest {
+    private static final Instant T0 = Instant.parse("2020-02-01T10:00:00Z");
+
+    private final FakeRedmineServer server = new FakeRedmineServer();
+
+    @Test
+    public void resumesAfterLastCompletedPage() throws Exception {
+        for (int id = 1; id <= 250; id++) {
+            server.put("issues", id, "subject", "issue " + id, "updated_on", T0.plusSeconds(id % 100));
+        }
+        final List<Integer> exported = new ArrayList<>();
+        final ListCursor<Issue> first = ListCursor.open(server.transport(), Issue.class,
+                new Params().add("status_id", "*").add("sort", "id"));
+        first.nextPage().forEach(issue -> exported.add(issue.getId()));
+        first.nextPage().forEach(issue -> exported.add(issue.getId()));
+        final String saved = first.getCheckpoint().encode();
+        assertThat(first.getCheckpoint().getOffset()).isEqualTo(200);
+        assertThat(first.getCheckpoint().getTotalCount()).isEqualTo(250);
+
+        server.requests.clear();
+        final ListCursor<Issue> resumed = ListCursor.resume(server.transport(), Issue.class, Checkpoint.decode(saved));
+        while (!resumed.isDone()) {
+            resumed.nextPage().forEach(issue -> exported.add(issue.getId()));
+        }
+        assertThat(server.requests).hasSize(1);
+        assertThat(server.requests.get(0)).contains("offset=200").contains("sort=id");
+        assertThat(exported).hasSize(250).doesNotHaveDuplicates().isSorted();
+        assertThat(resumed.getCheckpoint().getDelivered()).isEqualTo(250);
+        assertThat(resumed.getCheckpoint().getHighWaterMark()).isEqualTo(T0.plusSeconds(99));
+        assertThat(resumed.nextPage()).isEmpty();
+    }
+
+    @Test
+    public void failedPageIsReadAgain() throws Exception {
+        for (int id = 1; id <= 30; id++) {
+            server.put("issues", id, "subject", "issue " + id);
+        }
+        final ListCursor<Issue> cursor = ListCursor.open(server.transport(), Issue.class, new Params().add("sort", "id"));
+        cursor.setPageSize(10);
+        assertThatThrownBy(() -> cursor.nextPage(json -> {
+            throw new JSONException("disk full");
+        })).hasMessageContaining("disk full");
+        assertThat(cursor.getCheckpoint().getOffset()).isZero();
+        assertThat(cursor.nextPage()).extracting(Issue::getId).startsWith(1).hasSize(10);
+    }
+
+    @Test
+    public void keysetByIdIsStableWhileIssuesAreCreatedAndDeleted() throws Exception {
+        for (int id = 1; id <= 250; id++) {
+            server.put("issues", id, "subject", "issue " + id);
+        }
+        final ListCursor<Issue> cursor = ListCursor.open(server.transport(), Issue.class,
+                new Params().add("status_id", "*"), ListCursor.Paging.ID);
+        final List<Integer> listed = new ArrayList<>();
+        cursor.nextPage().forEach(issue -> listed.add(issue.getId()));
+        server.remove("issues", 3);
+        server.remove("issues", 50);
+        server.put("issues", 251, "subject", "created while listing");
+
+        final ListCursor<Issue> resumed = ListCursor.resume(server.transport(), Issue.class,
+                Checkpoint.decode(cursor.getCheckpoint().encode()));
+        while (!resumed.isDone()) {
+            resumed.nextPage().forEach(issue -> listed.add(issue.getId()));
+        }
+        assertThat(listed).hasSize(251).doesNotHaveDuplicates().isSorted().endsWith(250, 251);
+        assertThat(server.requests).last().asString().contains("issue_id=%3E%3D201").contains("offset=0");
+        assertThat(resumed.getCheckpoint().getTotalCount()).isEqualTo(251);
+    }
+
+    @Test
+    public void keysetByUpdatedOnContinuesWithinTheSameSecond() throws Exception {
+        for (int id = 1; id <= 250; id++) {
+            server.put("issues", id, "subject", "issue " + id, "updated_on", T0.plusSeconds(id / 120));
+        }
+        final ListCursor<Issue> cursor = ListCursor.open(server.transport(), Issue.class, new Params(),
+                ListCursor.Paging.UPDATED_ON);
+        cursor.setPageSize(50);
+        final List<Integer> listed = new ArrayList<>();
+        cursor.nextPage().forEach(issue -> listed.add(issue.getId()));
+        cursor.nextPage().forEach(issue -> listed.add(issue.getId()));
+        assertThat(cursor.getCheckpoint().getOffset()).isEqualTo(100);
+        server.put("issues", 10, "subject", "changed while listing", "updated_on", T0.plusSeconds(10));
+        while (!cursor.isDone()) {
+            cursor.nextPage().forEach(issue -> listed.add(issue.getId()));
+        }
+        /* issue 10 was read and moved, so the second was read again from its start */
+        assertThat(listed).hasSize(350).containsOnlyOnce(119, 120, 239, 240, 250).endsWith(10);
+        assertThat(listed.subList(100, 218)).doesNotContain(10).startsWith(1).endsWith(119);
+        assertThat(cursor.getCheckpoint().getHighWaterMark()).isEqualTo(T0.plusSeconds(10));
+        assertThat(server.requests.get(1)).contains("limit=51").contains("offset=49");
+        /* the anchor was found at another offset */
+        assertThat(server.requests.get(2)).contains("offset=99");
+        assertThat(server.requests.get(3)).contains("offset=0");
+        assertThat(server.requests)
+                .anyMatch(request -> request.contains("updated_on=%3E%3D2020-02-01T10%3A00%3A01Z"));
+    }
+
+    @Test
+    public void keysetByUpdatedOnPositionsObjectsOfASecondByOffsetOnly() throws Exception {
+        /* later ids were updated earlier within the second */
+        for (int id = 1; id <= 6; id++) {
+            server.put("issues", id, "subject", "issue " + id, "updated_on", T0.plusMillis((6 - id) * 100));
+        }
+        final ListCursor<Issue> cursor = ListCursor.open(server.transport(), Issue.class, new Params(),
+                ListCursor.Paging.UPDATED_ON);
+        cursor.setPageSize(2);
+        final List<Integer> listed = new ArrayList<>();
+        while (!cursor.isDone()) {
+            cursor.nextPage().forEach(issue -> listed.add(issue.getId()));
+        }
+        assertThat(listed).containsExactly(6, 5, 4, 3, 2, 1);
+    }
+
+    @Test
+    public void keysetNeedsAFilterableKey() {
+        assertThatThrownBy(() -> ListCursor.open(server.transport(), Project.class, new Params(),
+                ListCursor.Paging.ID)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ListCursor.open(server.transport(), Issue.class, new Params().add("sort", "id"),
+                ListCursor.Paging.ID)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void checkpointsSurviveEncodingAndSerialization() throws Exception {
+        final Checkpoint checkpoint = Checkpoint.start(Issue.class,
+                        new Params().add("subject", "~a&b:c=d").add("f[]", "status_id").getList(),
+                        ListCursor.Paging.OFFSET)
+                .next(100, 1000, T0.toEpochMilli(), false);
+
+        final Checkpoint decoded = Checkpoint.decode(checkpoint.encode());
+        assertThat(decoded.getParams().getList()).isEqualTo(checkpoint.getParams().getList());
+        assertThat(decoded.getOffset()).isEqualTo(100);
+        assertThat(decoded.getHighWaterMark()).isEqualTo(T0);
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(checkpoint);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            assertThat(((Checkpoint) in.readObject()).encode()).isEqualTo(checkpoint.encode());
+        }
+        assertThatThrownBy(() -> ListCursor.resume(server.transport(), Project.class, checkpoint))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
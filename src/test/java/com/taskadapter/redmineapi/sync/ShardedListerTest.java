@@ -0,0 +1,86 @@
+package com.taskadapter.redmineapi.sync;
+
+import com.taskadapter.redmineapi.FakeRedmineServer;
+import com.taskadapter.redmineapi.Params;
+import com.taskadapter.redmineapi.bean.Issue;
+import com.taskadapter.redmineapi.bean.TimeEntry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ShardedListerTest {
+    private static final Instant T0 = Instant.parse("2020-02-01T10:00:00Z");
+
+    private final FakeRedmineServer server = new FakeRedmineServer();
+    private final ForkJoinPool pool = new ForkJoinPool(4);
+
+    @AfterEach
+    public void shutdownPool() {
+        pool.shutdown();
+    }
+
+    @Test
+    public void denseIdRangesAreSplitIntoSmallerWindows() throws Exception {
+        int expected = 0;
+        for (int id = 1; id <= 1_000_000; id += id < 3000 ? 1 : 997) {
+            server.put("issues", id, "subject", "issue " + id, "status_id", id % 10 == 0 ? 5 : 1);
+            expected++;
+        }
+        final ShardedLister<Issue> lister = new ShardedLister<>(server.transport(), Issue.class,
+                new Params().add("status_id", "*"), ShardedLister.Dimension.ID);
+        lister.setPool(pool);
+        lister.setWindowSize(500);
+
+        final List<Integer> ids = lister.list().stream().map(Issue::getId).collect(Collectors.toList());
+
+        assertThat(ids).hasSize(expected).doesNotHaveDuplicates().isSorted();
+        assertThat(lister.getWindows()).isGreaterThan(expected / 500);
+        assertThat(lister.getRequests()).isEqualTo(server.requests.size()).isLessThan(expected / 40);
+        assertThat(server.requests).filteredOn(request -> request.contains("offset="))
+                .allMatch(request -> request.contains("issue_id=%3E%3C"));
+    }
+
+    @Test
+    public void dayWithMoreEntriesThanAWindowIsReadByPages() throws Exception {
+        for (int id = 1; id <= 2000; id++) {
+            final LocalDate day = id <= 1200 ? LocalDate.of(2020, 3, 2) : LocalDate.of(2020, 1, 1).plusDays(id % 90);
+            server.put("time_entries", id, "spent_on", day, "hours", 1, "created_on", T0.plusSeconds(id));
+        }
+        final ShardedLister<TimeEntry> lister = new ShardedLister<>(server.transport(), TimeEntry.class,
+                new Params(), ShardedLister.Dimension.SPENT_ON);
+        lister.setPool(pool);
+        lister.setWindowSize(300);
+        lister.setPageSize(50);
+
+        final List<TimeEntry> entries = lister.list();
+
+        assertThat(entries).hasSize(2000).extracting(TimeEntry::getId).doesNotHaveDuplicates();
+        assertThat(entries).extracting(TimeEntry::getSpentOn).isSorted();
+        assertThat(server.requests).anyMatch(request -> request.contains("spent_on=%3E%3C2020-03-02%7C2020-03-02"));
+    }
+
+    @Test
+    public void emptyQueryNeedsOneRequest() throws Exception {
+        final ShardedLister<Issue> lister = new ShardedLister<>(server.transport(), Issue.class, new Params(),
+                ShardedLister.Dimension.CREATED_ON);
+        assertThat(lister.list()).isEmpty();
+        assertThat(server.requests).hasSize(1);
+    }
+
+    @Test
+    public void dimensionMustBeFilterable() {
+        assertThatThrownBy(() -> new ShardedLister<>(server.transport(), TimeEntry.class, new Params(),
+                ShardedLister.Dimension.ID)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new ShardedLister<>(server.transport(), Issue.class,
+                new Params().add("created_on", ">=2020-01-01"), ShardedLister.Dimension.CREATED_ON))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,115 @@
+package com.taskadapter.redmineapi.sync;
+
+import com.taskadapter.redmineapi.FakeRedmineServer;
+import com.taskadapter.redmineapi.internal.Transport;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class SyncEngineTest {
+    private static final long T0 = Instant.parse("2020-02-01T10:00:00Z").toEpochMilli();
+
+    private final FakeRedmineServer server = new FakeRedmineServer();
+    private final Transport transport = server.transport();
+    private final List<Integer> delivered = new ArrayList<>();
+
+    @Test
+    public void firstPollDeliversAllThenOnlyChanges() throws Exception {
+        for (int id = 1; id <= 250; id++) {
+            put("issues", id, T0 + id * 1000L);
+        }
+        final SyncEngine engine = engine(SyncStateStore.inMemory());
+        assertThat(engine.poll()).isEqualTo(250);
+        assertThat(delivered).hasSize(250).doesNotHaveDuplicates();
+        assertThat(engine.getState(SyncScope.issues()).getHighWaterMark()).isEqualTo(Instant.ofEpochMilli(T0 + 250_000));
+
+        delivered.clear();
+        server.requests.clear();
+        assertThat(engine.poll()).isZero();
+        assertThat(server.requests).hasSize(1);
+        assertThat(server.requests.get(0)).contains("updated_on=%3E%3D2020-02-01T10%3A03%3A10Z");
+
+        /* same second as the mark, later, and committed late within the overlap */
+        put("issues", 300, T0 + 250_000);
+        put("issues", 7, T0 + 260_000);
+        put("issues", 301, T0 + 245_000);
+        assertThat(engine.poll()).isEqualTo(3);
+        assertThat(delivered).containsExactly(301, 300, 7);
+    }
+
+    @Test
+    public void objectsUpdatedInOneSecondArePagedByOffset() throws Exception {
+        for (int id = 1; id <= 230; id++) {
+            put("issues", id, id <= 20 ? T0 : T0 + 5000);
+        }
+        final SyncEngine engine = engine(SyncStateStore.inMemory());
+        engine.setPageSize(50);
+        assertThat(engine.poll()).isEqualTo(230);
+        assertThat(delivered).hasSize(230).doesNotHaveDuplicates();
+    }
+
+    @Test
+    public void failedBatchIsDeliveredAgain() throws Exception {
+        for (int id = 1; id <= 30; id++) {
+            put("issues", id, T0 + id * 1000L);
+        }
+        final SyncStateStore store = SyncStateStore.inMemory();
+        final SyncEngine failing = new SyncEngine(transport, store);
+        failing.setPageSize(10);
+        failing.register(SyncScope.issues(), batch -> {
+            if (batch.getChanges().stream().anyMatch(issue -> issue.getId() == 25)) {
+                throw new IllegalStateException("disk full");
+            }
+        });
+        assertThatThrownBy(failing::poll).isInstanceOf(IllegalStateException.class);
+        assertThat(store.load("issues/all").getHighWaterMark()).isEqualTo(Instant.ofEpochMilli(T0 + 20_000));
+
+        final SyncEngine engine = engine(store);
+        assertThat(engine.poll()).isEqualTo(10);
+        assertThat(delivered).containsExactly(21, 22, 23, 24, 25, 26, 27, 28, 29, 30);
+    }
+
+    @Test
+    public void listedScopesAreFilteredLocally() throws Exception {
+        put("projects", 1, T0);
+        put("projects", 2, T0 + 1000);
+        final SyncEngine engine = new SyncEngine(transport, SyncStateStore.inMemory());
+        engine.register(SyncScope.projects(), batch -> batch.getChanges().forEach(project -> delivered.add(project.getId())));
+        assertThat(engine.poll()).isEqualTo(2);
+        put("projects", 1, T0 + 2000);
+        assertThat(engine.poll()).isEqualTo(1);
+        assertThat(delivered).containsExactly(1, 2, 1);
+    }
+
+    @Test
+    public void stateSurvivesRestart(@TempDir Path dir) throws Exception {
+        put("issues", 1, T0);
+        put("issues", 2, T0 + 1000);
+        final Path file = dir.resolve("sync.properties");
+        engine(new FileSyncStateStore(file)).poll();
+
+        delivered.clear();
+        put("issues", 3, T0 + 2000);
+        final FileSyncStateStore reopened = new FileSyncStateStore(file);
+        assertThat(reopened.load("issues/all").getRecentCount()).isEqualTo(2);
+        assertThat(engine(reopened).poll()).isEqualTo(1);
+        assertThat(delivered).containsExactly(3);
+    }
+
+    private void put(String collection, int id, long updatedOn) {
+        server.put(collection, id, "name", "n", "updated_on", Instant.ofEpochMilli(updatedOn));
+    }
+
+    private SyncEngine engine(SyncStateStore store) {
+        final SyncEngine engine = new SyncEngine(transport, store);
+        engine.register(SyncScope.issues(), batch -> batch.getChanges().forEach(issue -> delivered.add(issue.getId())));
+        return engine;
+    }
+}